@@ -1,13 +1,18 @@
 package de.signaliduna.elpa.hint.http.client;
 
 import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.model.HintQueryRequest;
 import de.signaliduna.elpa.hint.model.HintSearchRequest;
+import de.signaliduna.elpa.hint.model.HintSummary;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +24,14 @@ public interface HintClient {
 	@GetMapping("/api/hints/{id}")
 	ResponseEntity<HintDto> getHintById(@PathVariable String id);
 
+	/**
+	 * Returns the first page of the hints matching the filters, the hint-service caps the page size.
+	 *
+	 * @deprecated does not return all matching hints since {@code GET /api/hints} is paged, use
+	 * {@link #searchHints(HintSearchRequest)} or {@link #searchAllHints(HintSearchRequest)} for all of them and
+	 * {@link #searchHintsPage(HintSearchRequest, Optional)} for a single page
+	 */
+	@Deprecated
 	@GetMapping("/api/hints")
 	ResponseEntity<List<HintDto>> getHints(
 		@RequestParam("hintSource") Optional<String> hintSource,
@@ -30,18 +43,146 @@ public interface HintClient {
 		@RequestParam("resourceId") Optional<String> resourceId
 	);
 
+	/**
+	 * Returns one page of hints. The token of the next page is returned in the
+	 * {@link HintQueryRequest#CONTINUATION_TOKEN_HEADER} header, see {@link #searchAllHints(HintSearchRequest)}.
+	 * {@code createdAfter} and {@code createdBefore} are ISO-8601 local date-times.
+	 */
+	@GetMapping("/api/hints")
+	ResponseEntity<List<HintDto>> getHintsPage(
+		@RequestParam("hintSource") Optional<String> hintSource,
+		@RequestParam("hintTextOriginal") Optional<String> hintTextOriginal,
+		@RequestParam("hintTextSearch") Optional<String> hintTextSearch,
+		@RequestParam("hintCategory") Optional<String> hintCategory,
+		@RequestParam("showToUser") Optional<Boolean> showToUser,
+		@RequestParam("processId") Optional<String> processId,
+		@RequestParam("processVersion") Optional<String> processVersion,
+		@RequestParam("resourceId") Optional<String> resourceId,
+		@RequestParam("createdAfter") Optional<String> createdAfter,
+		@RequestParam("createdBefore") Optional<String> createdBefore,
+		@RequestParam(HintQueryRequest.PAGE_SIZE_PARAM) Optional<Integer> pageSize,
+		@RequestParam(HintQueryRequest.CONTINUATION_TOKEN_PARAM) Optional<String> continuationToken
+	);
+
+	/**
+	 * Returns all matching hints in one list, the pages are requested one after another. For large results prefer
+	 * {@link #searchAllHints(HintSearchRequest)}, which holds only one page in memory.
+	 */
 	default ResponseEntity<List<HintDto>> searchHints(HintSearchRequest request) {
-		return getHints(
+		final List<HintDto> hints = new ArrayList<>();
+		searchAllHints(request).forEach(hints::add);
+		return ResponseEntity.ok(hints);
+	}
+
+	/**
+	 * Returns all matching hints. The pages are requested lazily while iterating, only one page is held in memory.
+	 */
+	default Iterable<HintDto> searchAllHints(HintSearchRequest request) {
+		return () -> new HintPageIterator(continuationToken -> searchHintsPage(request, continuationToken));
+	}
+
+	/**
+	 * Returns the page of the matching hints following {@code continuationToken}, or the first page if it is empty.
+	 * The token of the next page is returned in the {@link HintQueryRequest#CONTINUATION_TOKEN_HEADER} header.
+	 */
+	default ResponseEntity<List<HintDto>> searchHintsPage(HintSearchRequest request, Optional<String> continuationToken) {
+		return getHintsPage(
 			Optional.ofNullable(request.hintSource()),
 			Optional.ofNullable(request.hintTextOriginal()),
+			Optional.ofNullable(request.hintTextSearch()),
 			Optional.ofNullable(request.hintCategory()),
 			Optional.ofNullable(request.showToUser()),
 			Optional.ofNullable(request.processId()),
 			Optional.ofNullable(request.processVersion()),
-			Optional.ofNullable(request.resourceId())
+			Optional.ofNullable(request.resourceId()),
+			Optional.ofNullable(request.createdAfter()).map(HintClient::formatDateTime),
+			Optional.ofNullable(request.createdBefore()).map(HintClient::formatDateTime),
+			Optional.ofNullable(request.pageSize()),
+			continuationToken
 		);
 	}
 
+	/**
+	 * Returns the hints whose message contains the words of {@code hintTextSearch} or the text of
+	 * {@code hintTextOriginal} (at least 3 characters), best matches first. Not paged, the page size is capped by the
+	 * hint-service.
+	 */
+	@GetMapping("/api/hints/search")
+	ResponseEntity<List<HintDto>> getRankedHints(
+		@RequestParam("hintSource") Optional<String> hintSource,
+		@RequestParam("hintTextOriginal") Optional<String> hintTextOriginal,
+		@RequestParam("hintTextSearch") Optional<String> hintTextSearch,
+		@RequestParam("hintCategory") Optional<String> hintCategory,
+		@RequestParam("showToUser") Optional<Boolean> showToUser,
+		@RequestParam("processId") Optional<String> processId,
+		@RequestParam("processVersion") Optional<String> processVersion,
+		@RequestParam("resourceId") Optional<String> resourceId,
+		@RequestParam("createdAfter") Optional<String> createdAfter,
+		@RequestParam("createdBefore") Optional<String> createdBefore,
+		@RequestParam(HintQueryRequest.PAGE_SIZE_PARAM) Optional<Integer> pageSize
+	);
+
+	/**
+	 * Returns the best matches of the message search of the request.
+	 */
+	default ResponseEntity<List<HintDto>> searchHintsByMessage(HintSearchRequest request) {
+		return getRankedHints(
+			Optional.ofNullable(request.hintSource()),
+			Optional.ofNullable(request.hintTextOriginal()),
+			Optional.ofNullable(request.hintTextSearch()),
+			Optional.ofNullable(request.hintCategory()),
+			Optional.ofNullable(request.showToUser()),
+			Optional.ofNullable(request.processId()),
+			Optional.ofNullable(request.processVersion()),
+			Optional.ofNullable(request.resourceId()),
+			Optional.ofNullable(request.createdAfter()).map(HintClient::formatDateTime),
+			Optional.ofNullable(request.createdBefore()).map(HintClient::formatDateTime),
+			Optional.ofNullable(request.pageSize())
+		);
+	}
+
+	/**
+	 * Returns the number of matching hints per hint category and, if {@code groupByHintSource} is set, per hint source.
+	 */
+	@GetMapping("/api/hints/summary")
+	ResponseEntity<List<HintSummary>> getSummary(
+		@RequestParam("hintSource") Optional<String> hintSource,
+		@RequestParam("hintTextOriginal") Optional<String> hintTextOriginal,
+		@RequestParam("hintTextSearch") Optional<String> hintTextSearch,
+		@RequestParam("hintCategory") Optional<String> hintCategory,
+		@RequestParam("showToUser") Optional<Boolean> showToUser,
+		@RequestParam("processId") Optional<String> processId,
+		@RequestParam("processVersion") Optional<String> processVersion,
+		@RequestParam("resourceId") Optional<String> resourceId,
+		@RequestParam("createdAfter") Optional<String> createdAfter,
+		@RequestParam("createdBefore") Optional<String> createdBefore,
+		@RequestParam(HintSummary.GROUP_BY_HINT_SOURCE_PARAM) boolean groupByHintSource
+	);
+
+	/**
+	 * Counts the hints matching the filters of the request per hint category and, if {@code groupByHintSource} is set,
+	 * per hint source. The page size of the request is ignored.
+	 */
+	default ResponseEntity<List<HintSummary>> summarize(HintSearchRequest request, boolean groupByHintSource) {
+		return getSummary(
+			Optional.ofNullable(request.hintSource()),
+			Optional.ofNullable(request.hintTextOriginal()),
+			Optional.ofNullable(request.hintTextSearch()),
+			Optional.ofNullable(request.hintCategory()),
+			Optional.ofNullable(request.showToUser()),
+			Optional.ofNullable(request.processId()),
+			Optional.ofNullable(request.processVersion()),
+			Optional.ofNullable(request.resourceId()),
+			Optional.ofNullable(request.createdAfter()).map(HintClient::formatDateTime),
+			Optional.ofNullable(request.createdBefore()).map(HintClient::formatDateTime),
+			groupByHintSource
+		);
+	}
+
+	private static String formatDateTime(LocalDateTime dateTime) {
+		return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime);
+	}
+
 	@PostMapping("/api/hints")
 	ResponseEntity<Void> saveHints(List<HintDto> hints);
 }
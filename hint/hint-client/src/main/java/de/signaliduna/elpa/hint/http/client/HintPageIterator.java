@@ -0,0 +1,51 @@
+package de.signaliduna.elpa.hint.http.client;
+
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.model.HintQueryRequest;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Iterates over all pages of a hint search. The next page is requested with the continuation token of the previous
+ * response when the current page is exhausted.
+ */
+public class HintPageIterator implements Iterator<HintDto> {
+	private final Function<Optional<String>, ResponseEntity<List<HintDto>>> pageFetcher;
+	private Iterator<HintDto> currentPage = Collections.emptyIterator();
+	private Optional<String> continuationToken = Optional.empty();
+	private boolean lastPageFetched;
+
+	public HintPageIterator(Function<Optional<String>, ResponseEntity<List<HintDto>>> pageFetcher) {
+		this.pageFetcher = pageFetcher;
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (!currentPage.hasNext() && !lastPageFetched) {
+			fetchNextPage();
+		}
+		return currentPage.hasNext();
+	}
+
+	@Override
+	public HintDto next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return currentPage.next();
+	}
+
+	private void fetchNextPage() {
+		final ResponseEntity<List<HintDto>> response = pageFetcher.apply(continuationToken);
+		final List<HintDto> hints = response.getBody();
+		currentPage = hints == null ? Collections.emptyIterator() : hints.iterator();
+		continuationToken = Optional.ofNullable(response.getHeaders().getFirst(HintQueryRequest.CONTINUATION_TOKEN_HEADER));
+		lastPageFetched = continuationToken.isEmpty();
+	}
+}
@@ -3,7 +3,9 @@ package de.signaliduna.elpa.hint.http.client;
 import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.model.HintQueryRequest;
 import de.signaliduna.elpa.hint.model.HintSearchRequest;
+import de.signaliduna.elpa.hint.model.HintSummary;
 import de.signaliduna.elpa.jwtadapter.core.JwtAdapter;
 import feign.FeignException;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -24,7 +26,9 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.wiremock.spring.EnableWireMock;
 import tools.jackson.databind.json.JsonMapper;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -145,6 +149,7 @@ class HintClientIT {
 			stubFor(get(urlPathEqualTo(HINTS_ENDPOINT))
 				.withQueryParam("hintSource", equalTo("hintSource-value"))
 				.withQueryParam("hintTextOriginal", equalTo("hintTextOriginal-value"))
+				.withQueryParam("hintTextSearch", equalTo("hintTextSearch-value"))
 				.withQueryParam("hintCategory", equalTo("hintCategory-value"))
 				.withQueryParam("showToUser", equalTo("true"))
 				.withQueryParam("processId", equalTo(PROCESS_ID))
@@ -160,6 +165,7 @@ class HintClientIT {
 			final ResponseEntity<List<HintDto>> response = hintClient.searchHints(HintSearchRequest.builder()
 				.hintSource("hintSource-value")
 				.hintTextOriginal("hintTextOriginal-value")
+				.hintTextSearch("hintTextSearch-value")
 				.hintCategory("hintCategory-value")
 				.showToUser(true)
 				.processId(PROCESS_ID)
@@ -171,6 +177,78 @@ class HintClientIT {
 			assertThat(response.getBody()).isEqualTo(List.of(HINT_DTO_TEST_DATA));
 		}
 
+		@Test
+		void happyPath_searchByCreationDateRange() {
+			//given
+			final var hintDtoListJsonString = jsonMapper.writeValueAsString(List.of(HINT_DTO_TEST_DATA));
+			stubFor(get(urlPathEqualTo(HINTS_ENDPOINT))
+				.withQueryParam("processId", equalTo(PROCESS_ID))
+				.withQueryParam("createdAfter", equalTo("2024-05-01T00:00:00"))
+				.withQueryParam("createdBefore", equalTo("2024-06-01T00:00:00"))
+				.withHeader(HttpHeaders.AUTHORIZATION, equalTo("Bearer " + FAKE_JWT))
+				.willReturn(ResponseDefinitionBuilder.responseDefinition()
+					.withStatus(HttpStatus.OK_200)
+					.withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+					.withBody(hintDtoListJsonString))
+			);
+
+			//when
+			final ResponseEntity<List<HintDto>> response = hintClient.searchHints(HintSearchRequest.builder()
+				.processId(PROCESS_ID)
+				.createdAfter(LocalDateTime.of(2024, 5, 1, 0, 0))
+				.createdBefore(LocalDateTime.of(2024, 6, 1, 0, 0))
+				.build());
+
+			//then
+			assertThat(response.getStatusCode().value()).isEqualTo(HttpStatus.OK_200);
+			assertThat(response.getBody()).isEqualTo(List.of(HINT_DTO_TEST_DATA));
+		}
+
+		@Test
+		void searchAllHints_followsContinuationToken() {
+			//given
+			stubPages();
+
+			//when
+			final List<HintDto> hints = new ArrayList<>();
+			hintClient.searchAllHints(HintSearchRequest.builder().processId(PROCESS_ID).pageSize(1).build())
+				.forEach(hints::add);
+
+			//then
+			assertThat(hints).containsExactly(HINT_DTO_TEST_DATA, HINT_DTO_TEST_DATA);
+			verify(2, getRequestedFor(urlPathEqualTo(HINTS_ENDPOINT)));
+		}
+
+		@Test
+		void searchHints_returnsAllPages() {
+			//given
+			stubPages();
+
+			//when
+			final ResponseEntity<List<HintDto>> response = hintClient.searchHints(HintSearchRequest.builder()
+				.processId(PROCESS_ID).pageSize(1).build());
+
+			//then
+			assertThat(response.getStatusCode().value()).isEqualTo(HttpStatus.OK_200);
+			assertThat(response.getBody()).containsExactly(HINT_DTO_TEST_DATA, HINT_DTO_TEST_DATA);
+			verify(2, getRequestedFor(urlPathEqualTo(HINTS_ENDPOINT)));
+		}
+
+		@Test
+		void searchHintsPage_returnsContinuationToken() {
+			//given
+			stubPages();
+
+			//when
+			final ResponseEntity<List<HintDto>> response = hintClient.searchHintsPage(HintSearchRequest.builder()
+				.processId(PROCESS_ID).pageSize(1).build(), Optional.empty());
+
+			//then
+			assertThat(response.getBody()).containsExactly(HINT_DTO_TEST_DATA);
+			assertThat(response.getHeaders().getFirst(HintQueryRequest.CONTINUATION_TOKEN_HEADER)).isEqualTo("next-token");
+			verify(1, getRequestedFor(urlPathEqualTo(HINTS_ENDPOINT)));
+		}
+
 		@Test
 		void shouldThrowUnauthorizedExceptionForUnauthorizedRequest() {
 			//given
@@ -185,6 +263,98 @@ class HintClientIT {
 				hintClient.searchHints(HintSearchRequest.builder().processId(PROCESS_ID).build())
 			).isInstanceOf(FeignException.Unauthorized.class).message().contains("401 Unauthorized");
 		}
+
+		private void stubPages() {
+			final var hintDtoListJsonString = jsonMapper.writeValueAsString(List.of(HINT_DTO_TEST_DATA));
+			stubFor(get(urlPathEqualTo(HINTS_ENDPOINT))
+				.withQueryParam("processId", equalTo(PROCESS_ID))
+				.withQueryParam("pageSize", equalTo("1"))
+				.withQueryParam("continuationToken", absent())
+				.withHeader(HttpHeaders.AUTHORIZATION, equalTo("Bearer " + FAKE_JWT))
+				.willReturn(ResponseDefinitionBuilder.responseDefinition()
+					.withStatus(HttpStatus.OK_200)
+					.withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+					.withHeader(HintQueryRequest.CONTINUATION_TOKEN_HEADER, "next-token")
+					.withBody(hintDtoListJsonString))
+			);
+			stubFor(get(urlPathEqualTo(HINTS_ENDPOINT))
+				.withQueryParam("processId", equalTo(PROCESS_ID))
+				.withQueryParam("pageSize", equalTo("1"))
+				.withQueryParam("continuationToken", equalTo("next-token"))
+				.withHeader(HttpHeaders.AUTHORIZATION, equalTo("Bearer " + FAKE_JWT))
+				.willReturn(ResponseDefinitionBuilder.responseDefinition()
+					.withStatus(HttpStatus.OK_200)
+					.withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+					.withBody(hintDtoListJsonString))
+			);
+		}
+	}
+
+	@Nested
+	class searchHintsByMessage {
+
+		@Test
+		void happyPath() {
+			//given
+			final var hintDtoListJsonString = jsonMapper.writeValueAsString(List.of(HINT_DTO_TEST_DATA));
+			stubFor(get(urlPathEqualTo(HINTS_ENDPOINT + "/search"))
+				.withQueryParam("hintTextSearch", equalTo("PLZ abweichend"))
+				.withQueryParam("processId", equalTo(PROCESS_ID))
+				.withQueryParam("createdAfter", equalTo("2024-05-01T00:00:00"))
+				.withQueryParam("pageSize", equalTo("10"))
+				.withQueryParam("continuationToken", absent())
+				.withHeader(HttpHeaders.AUTHORIZATION, equalTo("Bearer " + FAKE_JWT))
+				.willReturn(ResponseDefinitionBuilder.responseDefinition()
+					.withStatus(HttpStatus.OK_200)
+					.withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+					.withBody(hintDtoListJsonString))
+			);
+
+			//when
+			final ResponseEntity<List<HintDto>> response = hintClient.searchHintsByMessage(HintSearchRequest.builder()
+				.hintTextSearch("PLZ abweichend")
+				.processId(PROCESS_ID)
+				.createdAfter(LocalDateTime.of(2024, 5, 1, 0, 0))
+				.pageSize(10)
+				.build());
+
+			//then
+			assertThat(response.getStatusCode().value()).isEqualTo(HttpStatus.OK_200);
+			assertThat(response.getBody()).isEqualTo(List.of(HINT_DTO_TEST_DATA));
+		}
+	}
+
+	@Nested
+	class summarize {
+
+		@Test
+		void happyPath() {
+			//given
+			final List<HintSummary> summary = List.of(new HintSummary("AppDetails", HintDto.Category.INFO, 2));
+			stubFor(get(urlPathEqualTo(HINTS_ENDPOINT + "/summary"))
+				.withQueryParam("processId", equalTo(PROCESS_ID))
+				.withQueryParam("createdBefore", equalTo("2024-06-01T00:00:00"))
+				.withQueryParam(HintSummary.GROUP_BY_HINT_SOURCE_PARAM, equalTo("true"))
+				.withQueryParam("pageSize", absent())
+				.withHeader(HttpHeaders.AUTHORIZATION, equalTo("Bearer " + FAKE_JWT))
+				.willReturn(ResponseDefinitionBuilder.responseDefinition()
+					.withStatus(HttpStatus.OK_200)
+					.withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+					.withBody("""
+						[{"hintSource":"AppDetails","hintCategory":"INFO","count":2}]"""))
+			);
+
+			//when
+			final ResponseEntity<List<HintSummary>> response = hintClient.summarize(HintSearchRequest.builder()
+				.processId(PROCESS_ID)
+				.createdBefore(LocalDateTime.of(2024, 6, 1, 0, 0))
+				.pageSize(10)
+				.build(), true);
+
+			//then
+			assertThat(response.getStatusCode().value()).isEqualTo(HttpStatus.OK_200);
+			assertThat(response.getBody()).isEqualTo(summary);
+		}
 	}
 
 	@Nested
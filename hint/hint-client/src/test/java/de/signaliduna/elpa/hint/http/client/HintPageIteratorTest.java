@@ -0,0 +1,61 @@
+package de.signaliduna.elpa.hint.http.client;
+
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.model.HintQueryRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HintPageIteratorTest {
+	private static final HintDto HINT_1 = hint("first");
+	private static final HintDto HINT_2 = hint("second");
+
+	private static HintDto hint(String message) {
+		return HintDto.builder().hintSource("AppDetails").message(message).hintCategory(HintDto.Category.INFO)
+			.showToUser(true).processId("processId").creationDate(LocalDateTime.of(2024, 5, 7, 12, 1)).build();
+	}
+
+	private static ResponseEntity<List<HintDto>> page(List<HintDto> hints, String continuationToken) {
+		ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+		if (continuationToken != null) {
+			builder.header(HintQueryRequest.CONTINUATION_TOKEN_HEADER, continuationToken);
+		}
+		return builder.body(hints);
+	}
+
+	@Test
+	void shouldFollowContinuationTokensUntilLastPage() {
+		final List<Optional<String>> requestedTokens = new ArrayList<>();
+		final HintPageIterator classUnderTest = new HintPageIterator(continuationToken -> {
+			requestedTokens.add(continuationToken);
+			return switch (continuationToken.orElse("")) {
+				case "" -> page(List.of(HINT_1), "token-1");
+				// an empty page in between must not end the iteration
+				case "token-1" -> page(null, "token-2");
+				default -> page(List.of(HINT_2), null);
+			};
+		});
+
+		final List<HintDto> hints = new ArrayList<>();
+		classUnderTest.forEachRemaining(hints::add);
+
+		assertThat(hints).containsExactly(HINT_1, HINT_2);
+		assertThat(requestedTokens).containsExactly(Optional.empty(), Optional.of("token-1"), Optional.of("token-2"));
+	}
+
+	@Test
+	void shouldThrowWhenExhausted() {
+		final HintPageIterator classUnderTest = new HintPageIterator(continuationToken -> page(List.of(), null));
+
+		assertThat(classUnderTest.hasNext()).isFalse();
+		assertThatThrownBy(classUnderTest::next).isInstanceOf(NoSuchElementException.class);
+	}
+}
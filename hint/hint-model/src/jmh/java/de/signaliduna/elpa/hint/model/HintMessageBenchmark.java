@@ -0,0 +1,87 @@
+package de.signaliduna.elpa.hint.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Renders and parses every {@link HintMessage} constant once per invocation. {@code String.format} and a linear scan
+ * over one regex per template are the baselines for {@link HintMessageFormat} and {@link HintMessageParser}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(HintMessageBenchmark.MESSAGE_COUNT)
+public class HintMessageBenchmark {
+	static final int MESSAGE_COUNT = 82;
+
+	private static final Object[] ARGS = {"C000001243352665", "590227672", "Telefon"};
+
+	private final HintMessage[] messages = HintMessage.values();
+	private final String[] rendered = new String[messages.length];
+	private final Pattern[] patterns = new Pattern[messages.length];
+
+	@Setup
+	public void setUp() {
+		if (messages.length != MESSAGE_COUNT) {
+			throw new IllegalStateException("Update MESSAGE_COUNT to " + messages.length);
+		}
+		for (HintMessage message : messages) {
+			rendered[message.ordinal()] = message.format(ARGS);
+			patterns[message.ordinal()] = Pattern.compile(String.join("(.*?)",
+				message.compiledMessage.parts().stream().map(Pattern::quote).toList()), Pattern.DOTALL);
+		}
+	}
+
+	@Benchmark
+	public void formatWithStringFormat(Blackhole blackhole) {
+		for (HintMessage message : messages) {
+			blackhole.consume(String.format(message.message, ARGS));
+		}
+	}
+
+	@Benchmark
+	public void formatPrecompiled(Blackhole blackhole) {
+		for (HintMessage message : messages) {
+			blackhole.consume(message.format(ARGS));
+		}
+	}
+
+	@Benchmark
+	public void parseWithRegexScan(Blackhole blackhole) {
+		for (String text : rendered) {
+			blackhole.consume(matchRegex(text));
+		}
+	}
+
+	@Benchmark
+	public void parseWithTrie(Blackhole blackhole) {
+		for (String text : rendered) {
+			blackhole.consume(HintMessageTemplates.match(text));
+		}
+	}
+
+	private String[] matchRegex(String text) {
+		// skips STRING_PLACEHOLDER like HintMessageTemplates
+		for (int i = 1; i < patterns.length; i++) {
+			final Matcher matcher = patterns[i].matcher(text);
+			if (matcher.matches()) {
+				final String[] args = new String[matcher.groupCount()];
+				Arrays.setAll(args, group -> matcher.group(group + 1));
+				return args;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,208 @@
+package de.signaliduna.elpa.hint.model;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary alternative to JSON for {@link HintDto} payloads on Kafka, sent with the content type
+ * {@value #CONTENT_TYPE}. Known hint sources are written as {@link HintSource} ordinal and messages matching a
+ * {@link HintMessage} template as template ordinal plus arguments, so both enums must only be extended at the end.
+ * <p>
+ * Layout: version byte, flag byte, category ordinal (if set), hint source, message, process id, creation date as epoch
+ * seconds and nanos (if set), process version, resource id, idempotency key. Integers are unsigned varints, the epoch
+ * seconds a zigzag varint; strings are UTF-8 prefixed with their length + 1, {@code 0} stands for {@code null}.
+ */
+public final class HintBinaryCodec {
+	public static final String CONTENT_TYPE = "application/vnd.elpa.hint+binary";
+	static final byte VERSION = 1;
+
+	private static final int SHOW_TO_USER = 1;
+	private static final int HINT_CATEGORY = 1 << 1;
+	private static final int SOURCE_ORDINAL = 1 << 2;
+	private static final int MESSAGE_TEMPLATE = 1 << 3;
+	private static final int CREATION_DATE = 1 << 4;
+
+	private static final HintDto.Category[] CATEGORIES = HintDto.Category.values();
+	private static final HintSource[] SOURCES = HintSource.values();
+	private static final HintMessage[] MESSAGES = HintMessage.values();
+	private static final Map<String, HintSource> SOURCES_BY_MESSAGE = new HashMap<>();
+
+	static {
+		for (HintSource source : SOURCES) {
+			SOURCES_BY_MESSAGE.putIfAbsent(source.message, source);
+		}
+	}
+
+	private HintBinaryCodec() {}
+
+	/**
+	 * @throws IllegalArgumentException if the message arguments do not fit the message template
+	 */
+	public static byte[] encode(HintDto hint) {
+		final Writer writer = new Writer();
+		final HintSource source = hint.hintSource() == null ? null : SOURCES_BY_MESSAGE.get(hint.hintSource());
+		final HintDto compact = HintMessageTemplates.compact(hint);
+		final HintMessage template = compact.messageTemplate();
+		int flags = hint.showToUser() ? SHOW_TO_USER : 0;
+		flags |= hint.hintCategory() == null ? 0 : HINT_CATEGORY;
+		flags |= source == null ? 0 : SOURCE_ORDINAL;
+		flags |= template == null ? 0 : MESSAGE_TEMPLATE;
+		flags |= hint.creationDate() == null ? 0 : CREATION_DATE;
+		writer.write(VERSION);
+		writer.write(flags);
+		if (hint.hintCategory() != null) {
+			writer.write(hint.hintCategory().ordinal());
+		}
+		if (source == null) {
+			writer.writeString(hint.hintSource());
+		} else {
+			writer.writeVarInt(source.ordinal());
+		}
+		if (template == null) {
+			writer.writeString(hint.message());
+		} else {
+			writer.writeVarInt(template.ordinal());
+			writer.writeVarInt(compact.messageArgs().size());
+			for (String arg : compact.messageArgs()) {
+				writer.writeString(arg);
+			}
+		}
+		writer.writeString(hint.processId());
+		if (hint.creationDate() != null) {
+			writer.writeVarLong(zigzag(hint.creationDate().toEpochSecond(ZoneOffset.UTC)));
+			writer.writeVarInt(hint.creationDate().getNano());
+		}
+		writer.writeString(hint.processVersion());
+		writer.writeString(hint.resourceId());
+		writer.writeString(hint.idempotencyKey());
+		return writer.toByteArray();
+	}
+
+	/**
+	 * Decodes messages written as template into the template form.
+	 *
+	 * @throws IllegalArgumentException if the payload is no hint of a supported version
+	 */
+	public static HintDto decode(byte[] payload) {
+		final ByteBuffer buffer = ByteBuffer.wrap(payload);
+		try {
+			final byte version = buffer.get();
+			if (version != VERSION) {
+				throw new IllegalArgumentException("Unsupported binary hint version " + version);
+			}
+			final int flags = buffer.get();
+			final HintDto.Category category = (flags & HINT_CATEGORY) == 0 ? null : element(CATEGORIES, buffer.get());
+			final String source = (flags & SOURCE_ORDINAL) == 0 ? readString(buffer)
+				: element(SOURCES, readVarInt(buffer)).message;
+			final boolean template = (flags & MESSAGE_TEMPLATE) != 0;
+			final String message = template ? null : readString(buffer);
+			final HintMessage messageTemplate = template ? element(MESSAGES, readVarInt(buffer)) : null;
+			final List<String> messageArgs = template ? readArgs(buffer) : null;
+			final String processId = readString(buffer);
+			final LocalDateTime creationDate = (flags & CREATION_DATE) == 0 ? null
+				: LocalDateTime.ofEpochSecond(unzigzag(readVarLong(buffer)), readVarInt(buffer), ZoneOffset.UTC);
+			return new HintDto(source, message, category, (flags & SHOW_TO_USER) != 0, processId, creationDate,
+				readString(buffer), readString(buffer), readString(buffer), messageTemplate, messageArgs);
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("Truncated binary hint", e);
+		} catch (DateTimeException e) {
+			throw new IllegalArgumentException("Invalid creation date of binary hint", e);
+		}
+	}
+
+	private static List<String> readArgs(ByteBuffer buffer) {
+		final int count = readVarInt(buffer);
+		// every argument takes at least one byte
+		if (count < 0 || count > buffer.remaining()) {
+			throw new BufferUnderflowException();
+		}
+		final String[] args = new String[count];
+		for (int i = 0; i < args.length; i++) {
+			args[i] = readString(buffer);
+		}
+		return Arrays.asList(args);
+	}
+
+	private static <T> T element(T[] values, int ordinal) {
+		if (ordinal < 0 || ordinal >= values.length) {
+			throw new IllegalArgumentException("Unknown ordinal " + ordinal + " of " + values.getClass().getComponentType().getSimpleName());
+		}
+		return values[ordinal];
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		final int length = readVarInt(buffer) - 1;
+		if (length < 0) {
+			return null;
+		}
+		if (length > buffer.remaining()) {
+			throw new BufferUnderflowException();
+		}
+		final String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+		buffer.position(buffer.position() + length);
+		return value;
+	}
+
+	private static int readVarInt(ByteBuffer buffer) {
+		return (int) readVarLong(buffer);
+	}
+
+	private static long readVarLong(ByteBuffer buffer) {
+		long value = 0;
+		int shift = 0;
+		byte current;
+		do {
+			current = buffer.get();
+			value |= (long) (current & 0x7F) << shift;
+			shift += 7;
+		} while (current < 0);
+		return value;
+	}
+
+	private static long zigzag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static long unzigzag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static final class Writer extends ByteArrayOutputStream {
+
+		Writer() {
+			super(128);
+		}
+
+		void writeVarInt(int value) {
+			writeVarLong(value & 0xFFFFFFFFL);
+		}
+
+		void writeVarLong(long value) {
+			long remaining = value;
+			while ((remaining & ~0x7FL) != 0) {
+				write((int) ((remaining & 0x7F) | 0x80));
+				remaining >>>= 7;
+			}
+			write((int) remaining);
+		}
+
+		void writeString(String value) {
+			if (value == null) {
+				writeVarInt(0);
+				return;
+			}
+			final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			writeVarInt(bytes.length + 1);
+			write(bytes, 0, bytes.length);
+		}
+	}
+}
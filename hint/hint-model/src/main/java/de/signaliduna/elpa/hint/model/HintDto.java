@@ -1,18 +1,26 @@
 package de.signaliduna.elpa.hint.model;
 
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Dto class for Hints. Used as REST model class as well as for asynchronous APIs (Kafka).
  *
+ * @param message         rendered message, not set if the hint is given in the template form
+ * @param idempotencyKey  hints with the same idempotency key and creation date are stored once, derived from all other
+ *                        fields by the hint service if not set
+ * @param messageTemplate template of the message, rendered with {@code messageArgs}; replaces {@code message} if set.
+ *                        Hints read from the hint service always carry the rendered message instead
+ * @param messageArgs     arguments of the message template
  */
 public record HintDto(
 	@NotEmpty
 	String hintSource,
-	@NotEmpty
 	String message,
 	@NotNull
 	HintDto.Category hintCategory,
@@ -22,40 +30,86 @@ public record HintDto(
 	@NotNull
 	LocalDateTime creationDate,
 	String processVersion,
-	String resourceId
-
+	String resourceId,
+	@Size(max = 128)
+	String idempotencyKey,
+	HintMessage messageTemplate,
+	List<@NotNull String> messageArgs
 ) {
 
+	public HintDto(String hintSource, String message, HintDto.Category hintCategory, boolean showToUser, String processId,
+		LocalDateTime creationDate, String processVersion, String resourceId) {
+		this(hintSource, message, hintCategory, showToUser, processId, creationDate, processVersion, resourceId, null);
+	}
+
+	public HintDto(String hintSource, String message, HintDto.Category hintCategory, boolean showToUser, String processId,
+		LocalDateTime creationDate, String processVersion, String resourceId, String idempotencyKey) {
+		this(hintSource, message, hintCategory, showToUser, processId, creationDate, processVersion, resourceId,
+			idempotencyKey, null, null);
+	}
+
+	/**
+	 * Validated as property {@code message}: a hint needs a message or a message template. Not serialized, Jackson does
+	 * not detect {@code has} accessors.
+	 */
+	@AssertTrue(message = "must not be empty if messageTemplate is not set")
+	public boolean hasMessage() {
+		return messageTemplate != null || (message != null && !message.isEmpty());
+	}
+
 	public HintDto withHintSource(String hintSource) {
-		return new HintDto(hintSource, message, hintCategory, showToUser, processId, creationDate, processVersion, resourceId);
+		return new HintDto(hintSource, message, hintCategory, showToUser, processId, creationDate, processVersion, resourceId,
+			idempotencyKey, messageTemplate, messageArgs);
 	}
 
 	public HintDto withMessage(String message) {
-		return new HintDto(hintSource, message, hintCategory, showToUser, processId, creationDate, processVersion, resourceId);
+		return new HintDto(hintSource, message, hintCategory, showToUser, processId, creationDate, processVersion, resourceId,
+			idempotencyKey, messageTemplate, messageArgs);
 	}
 
 	public HintDto withHintCategory(HintDto.Category hintCategory) {
-		return new HintDto(hintSource, message, hintCategory, showToUser, processId, creationDate, processVersion, resourceId);
+		return new HintDto(hintSource, message, hintCategory, showToUser, processId, creationDate, processVersion, resourceId,
+			idempotencyKey, messageTemplate, messageArgs);
 	}
 
 	public HintDto withShowToUser(boolean showToUser) {
-		return new HintDto(hintSource, message, hintCategory, showToUser, processId, creationDate, processVersion, resourceId);
+		return new HintDto(hintSource, message, hintCategory, showToUser, processId, creationDate, processVersion, resourceId,
+			idempotencyKey, messageTemplate, messageArgs);
 	}
 
 	public HintDto withProcessId(String processId) {
-		return new HintDto(hintSource, message, hintCategory, showToUser, processId, creationDate, processVersion, resourceId);
+		return new HintDto(hintSource, message, hintCategory, showToUser, processId, creationDate, processVersion, resourceId,
+			idempotencyKey, messageTemplate, messageArgs);
 	}
 
 	public HintDto withCreationDate(LocalDateTime creationDate) {
-		return new HintDto(hintSource, message, hintCategory, showToUser, processId, creationDate, processVersion, resourceId);
+		return new HintDto(hintSource, message, hintCategory, showToUser, processId, creationDate, processVersion, resourceId,
+			idempotencyKey, messageTemplate, messageArgs);
 	}
 
 	public HintDto withProcessVersion(String processVersion) {
-		return new HintDto(hintSource, message, hintCategory, showToUser, processId, creationDate, processVersion, resourceId);
+		return new HintDto(hintSource, message, hintCategory, showToUser, processId, creationDate, processVersion, resourceId,
+			idempotencyKey, messageTemplate, messageArgs);
 	}
 
 	public HintDto withResourceId(String resourceId) {
-		return new HintDto(hintSource, message, hintCategory, showToUser, processId, creationDate, processVersion, resourceId);
+		return new HintDto(hintSource, message, hintCategory, showToUser, processId, creationDate, processVersion, resourceId,
+			idempotencyKey, messageTemplate, messageArgs);
+	}
+
+	public HintDto withIdempotencyKey(String idempotencyKey) {
+		return new HintDto(hintSource, message, hintCategory, showToUser, processId, creationDate, processVersion, resourceId,
+			idempotencyKey, messageTemplate, messageArgs);
+	}
+
+	public HintDto withMessageTemplate(HintMessage messageTemplate) {
+		return new HintDto(hintSource, message, hintCategory, showToUser, processId, creationDate, processVersion, resourceId,
+			idempotencyKey, messageTemplate, messageArgs);
+	}
+
+	public HintDto withMessageArgs(List<String> messageArgs) {
+		return new HintDto(hintSource, message, hintCategory, showToUser, processId, creationDate, processVersion, resourceId,
+			idempotencyKey, messageTemplate, messageArgs);
 	}
 
 	public enum Category {
@@ -83,6 +137,12 @@ public record HintDto(
 
 		private String resourceId;
 
+		private String idempotencyKey;
+
+		private HintMessage messageTemplate;
+
+		private List<String> messageArgs;
+
 		private Builder() {
 		}
 
@@ -126,9 +186,25 @@ public record HintDto(
 			return this;
 		}
 
+		public Builder idempotencyKey(String idempotencyKey) {
+			this.idempotencyKey = idempotencyKey;
+			return this;
+		}
+
+		public Builder messageTemplate(HintMessage messageTemplate) {
+			this.messageTemplate = messageTemplate;
+			return this;
+		}
+
+		public Builder messageArgs(List<String> messageArgs) {
+			this.messageArgs = messageArgs;
+			return this;
+		}
+
 		public HintDto build() {
 			return new HintDto(this.hintSource, this.message, this.hintCategory,
-				this.showToUser, this.processId, this.creationDate, this.processVersion, this.resourceId);
+				this.showToUser, this.processId, this.creationDate, this.processVersion, this.resourceId, this.idempotencyKey,
+				this.messageTemplate, this.messageArgs);
 		}
 	}
 }
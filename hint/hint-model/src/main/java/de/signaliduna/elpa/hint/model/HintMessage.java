@@ -1,5 +1,10 @@
 package de.signaliduna.elpa.hint.model;
 
+/**
+ * Hint message templates. The ordinal is part of the {@link HintBinaryCodec} format and identifies the template of
+ * stored hints, new templates are appended. Stored hints are rendered with the text of their template, so the text of a
+ * constant is never changed; new wording is a new constant. The template migration fails otherwise.
+ */
 public enum HintMessage {
 	STRING_PLACEHOLDER("%s"),
 
@@ -112,13 +117,15 @@ public enum HintMessage {
 	VNR_NEW_FOR_SECTOR("VNR '%s' wurde zur '%s' neu vergeben.");
 
 	public final String message;
+	final HintMessageFormat compiledMessage;
 
 	HintMessage(String message) {
 		this.message = message;
+		this.compiledMessage = HintMessageFormat.compile(message);
 	}
 
 	public String format(Object... args) {
-		return String.format(message, args);
+		return compiledMessage.format(args);
 	}
 
 }
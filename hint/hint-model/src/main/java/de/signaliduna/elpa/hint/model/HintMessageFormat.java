@@ -0,0 +1,66 @@
+package de.signaliduna.elpa.hint.model;
+
+import java.util.List;
+import java.util.MissingFormatArgumentException;
+
+/**
+ * Message template split at its {@code %s} placeholders once, so rendering appends the literal parts and arguments
+ * without parsing the pattern like {@link String#format} does on every call. Renders like {@code String.format} for
+ * templates that only contain {@code %s} placeholders, which holds for all {@link HintMessage} constants.
+ */
+public final class HintMessageFormat {
+	private static final String PLACEHOLDER = "%s";
+
+	private final String[] parts;
+	private final int literalLength;
+
+	private HintMessageFormat(String[] parts) {
+		this.parts = parts;
+		int length = 0;
+		for (String part : parts) {
+			length += part.length();
+		}
+		this.literalLength = length;
+	}
+
+	public static HintMessageFormat compile(String template) {
+		return new HintMessageFormat(template.split(PLACEHOLDER, -1));
+	}
+
+	/**
+	 * Literal parts around the placeholders, one more than {@link #argumentCount()}.
+	 */
+	public List<String> parts() {
+		return List.of(parts);
+	}
+
+	public int argumentCount() {
+		return parts.length - 1;
+	}
+
+	/**
+	 * Renders the template, surplus arguments are ignored. Like {@code String.format} a {@code null} array renders
+	 * every placeholder as {@code "null"}.
+	 *
+	 * @throws MissingFormatArgumentException if there are fewer arguments than placeholders
+	 */
+	public String format(Object... args) {
+		if (parts.length == 1) {
+			return parts[0];
+		}
+		if (args != null && args.length < parts.length - 1) {
+			throw new MissingFormatArgumentException(PLACEHOLDER);
+		}
+		final String[] values = new String[parts.length - 1];
+		int length = literalLength;
+		for (int i = 0; i < values.length; i++) {
+			values[i] = String.valueOf(args == null ? null : args[i]);
+			length += values[i].length();
+		}
+		final StringBuilder message = new StringBuilder(length).append(parts[0]);
+		for (int i = 0; i < values.length; i++) {
+			message.append(values[i]).append(parts[i + 1]);
+		}
+		return message.toString();
+	}
+}
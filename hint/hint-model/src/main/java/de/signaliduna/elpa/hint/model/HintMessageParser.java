@@ -0,0 +1,121 @@
+package de.signaliduna.elpa.hint.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Maps a rendered message back to its {@link HintMessage} template and arguments. The templates are kept in a prefix
+ * trie over their first literal part, so the text is walked once to find every template whose prefix it starts with.
+ * These candidates are tried from the longest prefix down by locating their remaining literal parts in the rest of the
+ * text; on equal prefixes the first template in ordinal order wins.
+ */
+final class HintMessageParser {
+	private final Node root = new Node();
+
+	HintMessageParser(Iterable<HintMessage> templates) {
+		for (HintMessage template : templates) {
+			final String[] parts = template.compiledMessage.parts().toArray(String[]::new);
+			Node node = root;
+			for (int i = 0; i < parts[0].length(); i++) {
+				node = node.childOrCreate(parts[0].charAt(i));
+			}
+			node.templates.add(new Template(template, parts));
+		}
+	}
+
+	Optional<HintMessageTemplates.Match> parse(String text) {
+		final Node[] path = new Node[text.length() + 1];
+		path[0] = root;
+		int depth = 0;
+		while (depth < text.length()) {
+			final Node child = path[depth].child(text.charAt(depth));
+			if (child == null) {
+				break;
+			}
+			path[++depth] = child;
+		}
+		for (; depth >= 0; depth--) {
+			for (Template template : path[depth].templates) {
+				final List<String> args = template.matchRest(text, depth);
+				if (args != null) {
+					return Optional.of(new HintMessageTemplates.Match(template.message(), args));
+				}
+			}
+		}
+		return Optional.empty();
+	}
+
+	private record Template(HintMessage message, String[] parts) {
+
+		/**
+		 * Matches the text after the first literal part, each argument ends at the next occurrence of the following
+		 * literal part and the last literal part has to end the text.
+		 *
+		 * @return the arguments, or null if the text is not rendered from this template
+		 */
+		List<String> matchRest(String text, int start) {
+			if (parts.length == 1) {
+				return start == text.length() ? List.of() : null;
+			}
+			final String suffix = parts[parts.length - 1];
+			final int end = text.length() - suffix.length();
+			if (end < start || !text.endsWith(suffix)) {
+				return null;
+			}
+			final List<String> args = new ArrayList<>(parts.length - 1);
+			int position = start;
+			for (int i = 1; i < parts.length - 1; i++) {
+				final int index = text.indexOf(parts[i], position);
+				if (index < 0 || index + parts[i].length() > end) {
+					return null;
+				}
+				args.add(text.substring(position, index));
+				position = index + parts[i].length();
+			}
+			args.add(text.substring(position, end));
+			return List.copyOf(args);
+		}
+	}
+
+	/**
+	 * Trie node, the children are sorted by their character for a binary search.
+	 */
+	private static final class Node {
+		private char[] keys = new char[0];
+		private Node[] children = new Node[0];
+		private final List<Template> templates = new ArrayList<>(1);
+
+		Node child(char key) {
+			final int index = Arrays.binarySearch(keys, key);
+			return index < 0 ? null : children[index];
+		}
+
+		Node childOrCreate(char key) {
+			final int index = Arrays.binarySearch(keys, key);
+			if (index >= 0) {
+				return children[index];
+			}
+			final int insertAt = -index - 1;
+			final Node child = new Node();
+			keys = insert(keys, insertAt, key);
+			children = insert(children, insertAt, child);
+			return child;
+		}
+
+		private static char[] insert(char[] array, int index, char value) {
+			final char[] result = Arrays.copyOf(array, array.length + 1);
+			System.arraycopy(array, index, result, index + 1, array.length - index);
+			result[index] = value;
+			return result;
+		}
+
+		private static Node[] insert(Node[] array, int index, Node value) {
+			final Node[] result = Arrays.copyOf(array, array.length + 1);
+			System.arraycopy(array, index, result, index + 1, array.length - index);
+			result[index] = value;
+			return result;
+		}
+	}
+}
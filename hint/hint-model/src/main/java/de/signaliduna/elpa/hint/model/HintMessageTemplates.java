@@ -0,0 +1,81 @@
+package de.signaliduna.elpa.hint.model;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Converts hint messages between the rendered text and the {@link HintMessage} template plus arguments. Hints are
+ * stored and sent in the template form if their message matches a template, and rendered when they are read.
+ */
+public final class HintMessageTemplates {
+	// every message matches the bare placeholder, storing it as template saves nothing
+	private static final HintMessageParser PARSER = new HintMessageParser(
+		EnumSet.complementOf(EnumSet.of(HintMessage.STRING_PLACEHOLDER)));
+
+	private HintMessageTemplates() {}
+
+	/**
+	 * Finds the template the given message was rendered from.
+	 *
+	 * @return the template with its arguments, empty for free text
+	 */
+	public static Optional<Match> match(String message) {
+		return PARSER.parse(message);
+	}
+
+	/**
+	 * Returns the hint in the template form if its message matches a template, otherwise the hint itself. A given
+	 * template replaces the message.
+	 *
+	 * @throws IllegalArgumentException if the arguments do not fit the given template
+	 */
+	public static HintDto compact(HintDto hint) {
+		if (hint.messageTemplate() != null) {
+			final List<String> args = hint.messageArgs() == null ? List.of() : hint.messageArgs();
+			final int argumentCount = hint.messageTemplate().compiledMessage.argumentCount();
+			if (args.size() != argumentCount || args.stream().anyMatch(Objects::isNull)) {
+				throw new IllegalArgumentException("Message template " + hint.messageTemplate() + " expects "
+					+ argumentCount + " non-null arguments");
+			}
+			return hint.withMessage(null).withMessageArgs(List.copyOf(args));
+		}
+		if (hint.message() == null) {
+			return hint;
+		}
+		return match(hint.message())
+			.map(match -> hint.withMessage(null).withMessageTemplate(match.template()).withMessageArgs(match.args()))
+			.orElse(hint);
+	}
+
+	/**
+	 * Returns the hint with its rendered message and without template.
+	 */
+	public static HintDto render(HintDto hint) {
+		if (hint.messageTemplate() == null) {
+			return hint;
+		}
+		return hint.withMessage(render(hint.message(), hint.messageTemplate(), hint.messageArgs()))
+			.withMessageTemplate(null)
+			.withMessageArgs(null);
+	}
+
+	/**
+	 * Renders a message stored in either form.
+	 *
+	 * @return the message if no template is given
+	 */
+	public static String render(String message, HintMessage template, List<String> args) {
+		if (template == null) {
+			return message;
+		}
+		return args == null || args.isEmpty() ? template.message : template.format(args.toArray());
+	}
+
+	/**
+	 * Template and arguments a message was rendered from.
+	 */
+	public record Match(HintMessage template, List<String> args) {
+	}
+}
@@ -5,11 +5,14 @@ public enum HintParams {
 	HINT_SOURCE("hintSource"),
 	HINT_SOURCE_PREFIX("hintSourcePrefix"),
 	HINT_TEXT_ORIGINAL("hintTextOriginal"),
+	HINT_TEXT_SEARCH("hintTextSearch"),
 	HINT_CATEGORY("hintCategory"),
 	SHOW_TO_USER("showToUser"),
 	PROCESS_ID("processId"),
 	PROCESS_VERSION("processVersion"),
 	RESOURCE_ID("resourceId"),
+	CREATED_AFTER("createdAfter"),
+	CREATED_BEFORE("createdBefore"),
 	UNKNOWN("unknown");
 
 	private final String name;
@@ -1,18 +1,40 @@
 package de.signaliduna.elpa.hint.model;
 
+import java.time.LocalDateTime;
 import java.util.EnumMap;
 import java.util.Map;
 
+/**
+ * Query parameters of {@code GET /hints}. {@code createdAfter} (inclusive) and {@code createdBefore} (exclusive) restrict
+ * the creation date, which lets the database skip the partitions outside of the range. {@code hintTextOriginal} matches
+ * hints whose message contains the text, {@code hintTextSearch} hints whose message contains the words (German word
+ * forms, web search syntax like {@code "PLZ abweichend" -Ort}).
+ */
 public record HintQueryRequest(
 	String hintSourcePrefix,
 	String hintSource,
 	String hintTextOriginal,
+	String hintTextSearch,
 	String hintCategory,
 	Boolean showToUser,
 	String processId,
 	String processVersion,
-	String resourceId
+	String resourceId,
+	LocalDateTime createdAfter,
+	LocalDateTime createdBefore,
+	Integer pageSize,
+	String continuationToken
 ) {
+	public static final String PAGE_SIZE_PARAM = "pageSize";
+	public static final String CONTINUATION_TOKEN_PARAM = "continuationToken";
+	/**
+	 * Response header carrying the token of the next page. Missing on the last page.
+	 */
+	public static final String CONTINUATION_TOKEN_HEADER = "X-Continuation-Token";
+
+	/**
+	 * Returns the filter parameters only, paging is not part of the query.
+	 */
 	public Map<HintParams, Object> toQueryParams() {
 		Map<HintParams, Object> queryParams = new EnumMap<>(
 			HintParams.class
@@ -23,11 +45,14 @@ public record HintQueryRequest(
 			queryParams.put(HintParams.HINT_SOURCE_PREFIX, hintSourcePrefix());
 		}
 		if (hintTextOriginal() != null) queryParams.put(HintParams.HINT_TEXT_ORIGINAL, hintTextOriginal());
+		if (hintTextSearch() != null) queryParams.put(HintParams.HINT_TEXT_SEARCH, hintTextSearch());
 		if (hintCategory() != null) queryParams.put(HintParams.HINT_CATEGORY, hintCategory().toUpperCase());
 		if (showToUser() != null) queryParams.put(HintParams.SHOW_TO_USER, showToUser());
 		if (processId() != null) queryParams.put(HintParams.PROCESS_ID, processId());
 		if (processVersion() != null) queryParams.put(HintParams.PROCESS_VERSION, processVersion());
 		if (resourceId() != null) queryParams.put(HintParams.RESOURCE_ID, resourceId());
+		if (createdAfter() != null) queryParams.put(HintParams.CREATED_AFTER, createdAfter());
+		if (createdBefore() != null) queryParams.put(HintParams.CREATED_BEFORE, createdBefore());
 		return queryParams;
 	}
 }
@@ -0,0 +1,17 @@
+package de.signaliduna.elpa.hint.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published on the hint-saved topic for every stored hint, keyed by the process id. The event only identifies the hint,
+ * the complete hint is read with {@code GET /hints/{hintId}}. Events are delivered at least once; a consumer skips
+ * events whose hint id it already handled.
+ */
+public record HintSavedEvent(
+	long hintId,
+	String processId,
+	String hintSource,
+	HintDto.Category hintCategory,
+	LocalDateTime creationDate
+) {
+}
@@ -2,17 +2,25 @@ package de.signaliduna.elpa.hint.model;
 
 import jakarta.annotation.Nullable;
 
+import java.time.LocalDateTime;
+
 /**
- * Defines a hint search request with several optional filter parameters.
+ * Defines a hint search request with several optional filter parameters. The optional page size is capped by the
+ * hint-service. {@code createdAfter} is inclusive and {@code createdBefore} exclusive. {@code hintTextOriginal} matches a
+ * part of the message, {@code hintTextSearch} the words of the message.
  */
 public record HintSearchRequest(
 	@Nullable String hintSource,
 	@Nullable String hintTextOriginal,
+	@Nullable String hintTextSearch,
 	@Nullable String hintCategory,
 	@Nullable Boolean showToUser,
 	@Nullable String processId,
 	@Nullable String processVersion,
-	@Nullable String resourceId
+	@Nullable String resourceId,
+	@Nullable LocalDateTime createdAfter,
+	@Nullable LocalDateTime createdBefore,
+	@Nullable Integer pageSize
 ) {
 
 	public static Builder builder() {
@@ -25,6 +33,8 @@ public record HintSearchRequest(
 		@Nullable
 		private String hintTextOriginal;
 		@Nullable
+		private String hintTextSearch;
+		@Nullable
 		private String hintCategory;
 		@Nullable
 		private Boolean showToUser;
@@ -34,6 +44,12 @@ public record HintSearchRequest(
 		private String processVersion;
 		@Nullable
 		private String resourceId;
+		@Nullable
+		private LocalDateTime createdAfter;
+		@Nullable
+		private LocalDateTime createdBefore;
+		@Nullable
+		private Integer pageSize;
 
 		private Builder() {
 		}
@@ -48,6 +64,11 @@ public record HintSearchRequest(
 			return this;
 		}
 
+		public Builder hintTextSearch(String hintTextSearch) {
+			this.hintTextSearch = hintTextSearch;
+			return this;
+		}
+
 		public Builder hintCategory(String hintCategory) {
 			this.hintCategory = hintCategory;
 			return this;
@@ -73,9 +94,25 @@ public record HintSearchRequest(
 			return this;
 		}
 
+		public Builder createdAfter(LocalDateTime createdAfter) {
+			this.createdAfter = createdAfter;
+			return this;
+		}
+
+		public Builder createdBefore(LocalDateTime createdBefore) {
+			this.createdBefore = createdBefore;
+			return this;
+		}
+
+		public Builder pageSize(Integer pageSize) {
+			this.pageSize = pageSize;
+			return this;
+		}
+
 		public HintSearchRequest build() {
-			return new HintSearchRequest(this.hintSource, this.hintTextOriginal,
-				this.hintCategory, this.showToUser, this.processId, this.processVersion, this.resourceId);
+			return new HintSearchRequest(this.hintSource, this.hintTextOriginal, this.hintTextSearch,
+				this.hintCategory, this.showToUser, this.processId, this.processVersion, this.resourceId, this.createdAfter, this.createdBefore,
+				this.pageSize);
 		}
 	}
 }
@@ -1,5 +1,8 @@
 package de.signaliduna.elpa.hint.model;
 
+/**
+ * Known hint sources. The ordinal is part of the {@link HintBinaryCodec} format, new sources are appended.
+ */
 public enum HintSource {
 	VALIDATIONS(HintSourcePrefix.PARTNER_SYNC.message +  "-Validations"),
 	IDENTIFICATION(HintSourcePrefix.PARTNER_SYNC.message +  "-Identifizierung"),
@@ -0,0 +1,15 @@
+package de.signaliduna.elpa.hint.model;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Number of hints of one category, returned by {@code GET /hints/summary}. The hint source is only set if the counts
+ * are grouped by hint source, see {@link #GROUP_BY_HINT_SOURCE_PARAM}.
+ */
+public record HintSummary(
+	@Nullable String hintSource,
+	HintDto.Category hintCategory,
+	long count
+) {
+	public static final String GROUP_BY_HINT_SOURCE_PARAM = "groupByHintSource";
+}
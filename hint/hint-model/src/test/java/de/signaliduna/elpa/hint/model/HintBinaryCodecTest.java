@@ -0,0 +1,124 @@
+package de.signaliduna.elpa.hint.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HintBinaryCodecTest {
+
+	private static final HintDto HINT_DTO = new HintDto(HintSource.VNR_ASSIGNMENT.message,
+		HintMessage.VNR_DIFFERENT.format("123456", "654321"), HintDto.Category.WARNING, true, "processId",
+		LocalDateTime.of(2024, 5, 20, 12, 0, 0, 123_456_789), "processVersion", "resourceId", "idempotencyKey");
+
+	@Test
+	void testRoundTripWithTemplate() {
+		final byte[] payload = HintBinaryCodec.encode(HINT_DTO);
+
+		assertThat(HintBinaryCodec.decode(payload)).isEqualTo(HintMessageTemplates.compact(HINT_DTO));
+		assertThat(payload.length).isLessThan(HINT_DTO.hintSource().length() + HINT_DTO.message().length());
+	}
+
+	@Test
+	void testRoundTripWithTemplateWithoutArgs() {
+		final HintDto hint = HINT_DTO.withMessage(HintMessage.PARTNER_UPDATE_PROFESSION_REQUESTED.message);
+
+		assertRoundTrip(hint);
+	}
+
+	@Test
+	void testRoundTripWithDerivedTemplate() {
+		final HintDto hint = HINT_DTO.withMessage(HintMessage.PARTNER_UPDATE_PROFESSION_SUCCESS.format("4711"));
+
+		assertRoundTrip(hint);
+	}
+
+	@Test
+	void testRoundTripWithArgsContainingTemplateText() {
+		final HintDto hint = HINT_DTO.withMessage(HintMessage.VNR_DIFFERENT.format("1', abweichend von Antrags-VNR '2",
+			"50%\n3"));
+
+		assertRoundTrip(hint);
+	}
+
+	@Test
+	void testRoundTripInTemplateForm() {
+		final HintDto hint = HINT_DTO.withMessage(null).withMessageTemplate(HintMessage.VNR_DIFFERENT)
+			.withMessageArgs(List.of("1", "2"));
+
+		assertThat(HintBinaryCodec.decode(HintBinaryCodec.encode(hint))).isEqualTo(hint);
+	}
+
+	@Test
+	void testRoundTripWithFreeText() {
+		final HintDto hint = HINT_DTO.withHintSource("hintSource").withMessage("Freitext mit Umlauten: äöü");
+		final byte[] payload = HintBinaryCodec.encode(hint);
+
+		assertThat(HintBinaryCodec.decode(payload)).isEqualTo(hint);
+		assertThat(new String(payload, StandardCharsets.UTF_8)).contains("hintSource", "Freitext mit Umlauten: äöü");
+	}
+
+	@Test
+	void testRoundTripWithNulls() {
+		final HintDto hint = new HintDto(null, null, null, false, null, null, null, null, null);
+
+		assertRoundTrip(hint);
+	}
+
+	@Test
+	void testRoundTripBeforeEpoch() {
+		final HintDto hint = HINT_DTO.withCreationDate(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 1));
+
+		assertRoundTrip(hint);
+	}
+
+	@Test
+	void testUnsupportedVersion() {
+		final byte[] payload = HintBinaryCodec.encode(HINT_DTO);
+		payload[0] = HintBinaryCodec.VERSION + 1;
+
+		assertThatThrownBy(() -> HintBinaryCodec.decode(payload))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("version");
+	}
+
+	@Test
+	void testUnknownOrdinal() {
+		final byte[] payload = {HintBinaryCodec.VERSION, 1 << 2, 127};
+
+		assertThatThrownBy(() -> HintBinaryCodec.decode(payload))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("HintSource");
+	}
+
+	@Test
+	void testTruncatedPayload() {
+		final byte[] payload = HintBinaryCodec.encode(HINT_DTO);
+
+		assertThatThrownBy(() -> HintBinaryCodec.decode(Arrays.copyOf(payload, payload.length - 1)))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void testInvalidCreationDate() {
+		// creation date flag, null strings, epoch second 0 with 1_000_000_000 nanos as varint
+		final byte[] payload = {HintBinaryCodec.VERSION, 1 << 4, 0, 0, 0, 0, (byte) 0x80, (byte) 0x94, (byte) 0xeb,
+			(byte) 0xdc, 0x03, 0, 0, 0};
+
+		assertThatThrownBy(() -> HintBinaryCodec.decode(payload))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("creation date");
+	}
+
+	private static void assertRoundTrip(HintDto hint) {
+		final HintDto decoded = HintBinaryCodec.decode(HintBinaryCodec.encode(hint));
+
+		assertThat(decoded).isEqualTo(HintMessageTemplates.compact(hint));
+		assertThat(HintMessageTemplates.render(decoded)).isEqualTo(hint);
+	}
+}
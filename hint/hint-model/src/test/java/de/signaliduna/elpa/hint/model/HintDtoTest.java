@@ -3,6 +3,7 @@ package de.signaliduna.elpa.hint.model;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -10,7 +11,7 @@ class HintDtoTest {
 
 	private static final HintDto HINT_DTO = new HintDto("hintSource", "message",
 		HintDto.Category.INFO, true, "processId",
-		LocalDateTime.of(2024, 05, 20, 12, 0, 0, 0), "processVersion", "resourceId");
+		LocalDateTime.of(2024, 05, 20, 12, 0, 0, 0), "processVersion", "resourceId", "idempotencyKey");
 
 	@Test
 	void testBuilder() {
@@ -23,6 +24,7 @@ class HintDtoTest {
 			.creationDate(HINT_DTO.creationDate())
 			.processVersion(HINT_DTO.processVersion())
 			.resourceId(HINT_DTO.resourceId())
+			.idempotencyKey(HINT_DTO.idempotencyKey())
 			.build()).isEqualTo(HINT_DTO);
 	}
 
@@ -37,6 +39,36 @@ class HintDtoTest {
 			.withCreationDate(HINT_DTO.creationDate())
 			.withProcessVersion(HINT_DTO.processVersion())
 			.withResourceId(HINT_DTO.resourceId())
+			.withIdempotencyKey(HINT_DTO.idempotencyKey())
 		).isEqualTo(HINT_DTO);
 	}
+
+	@Test
+	void testWithoutIdempotencyKey() {
+		assertThat(new HintDto(HINT_DTO.hintSource(), HINT_DTO.message(), HINT_DTO.hintCategory(), HINT_DTO.showToUser(),
+			HINT_DTO.processId(), HINT_DTO.creationDate(), HINT_DTO.processVersion(), HINT_DTO.resourceId()))
+			.isEqualTo(HINT_DTO.withIdempotencyKey(null));
+	}
+
+	@Test
+	void testTemplateForm() {
+		final HintDto hint = HintDto.builder()
+			.messageTemplate(HintMessage.VNR_DIFFERENT)
+			.messageArgs(List.of("1", "2"))
+			.build();
+
+		assertThat(HintDto.builder().build()
+			.withMessageTemplate(HintMessage.VNR_DIFFERENT)
+			.withMessageArgs(List.of("1", "2"))
+		).isEqualTo(hint);
+		assertThat(hint.message()).isNull();
+	}
+
+	@Test
+	void testHasMessage() {
+		assertThat(HINT_DTO.hasMessage()).isTrue();
+		assertThat(HINT_DTO.withMessage(null).withMessageTemplate(HintMessage.VNR_DIFFERENT).hasMessage()).isTrue();
+		assertThat(HINT_DTO.withMessage(null).hasMessage()).isFalse();
+		assertThat(HINT_DTO.withMessage("").hasMessage()).isFalse();
+	}
 }
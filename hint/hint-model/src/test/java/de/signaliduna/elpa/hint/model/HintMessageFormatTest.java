@@ -0,0 +1,50 @@
+package de.signaliduna.elpa.hint.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.MissingFormatArgumentException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HintMessageFormatTest {
+
+	@Test
+	void testFormatLikeStringFormat() {
+		for (HintMessage message : HintMessage.values()) {
+			final Object[] args = {"C000001243352665", 590227672, null};
+
+			assertThat(message.format(args)).as(message.name()).isEqualTo(String.format(message.message, args));
+		}
+	}
+
+	@Test
+	void testParts() {
+		final HintMessageFormat format = HintMessageFormat.compile(HintMessage.VNR_DIFFERENT.message);
+
+		assertThat(format.argumentCount()).isEqualTo(2);
+		assertThat(format.parts()).containsExactly("VNR zugeordnet '", "', abweichend von Antrags-VNR '", "'.");
+		assertThat(HintMessageFormat.compile("%s%s").parts()).containsExactly("", "", "");
+	}
+
+	@Test
+	void testFormatWithoutPlaceholders() {
+		final HintMessageFormat format = HintMessageFormat.compile("Ort abweichend.");
+
+		assertThat(format.argumentCount()).isZero();
+		assertThat(format.format()).isEqualTo("Ort abweichend.");
+		assertThat(format.format((Object[]) null)).isEqualTo("Ort abweichend.");
+	}
+
+	@Test
+	void testFormatWithNullArray() {
+		assertThat(HintMessage.VNR_DIFFERENT.format((Object[]) null))
+			.isEqualTo(String.format(HintMessage.VNR_DIFFERENT.message, (Object[]) null));
+	}
+
+	@Test
+	void testFormatWithMissingArgs() {
+		assertThatThrownBy(() -> HintMessage.VNR_DIFFERENT.format("1"))
+			.isInstanceOf(MissingFormatArgumentException.class);
+	}
+}
@@ -0,0 +1,55 @@
+package de.signaliduna.elpa.hint.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HintMessageParserTest {
+
+	private final HintMessageParser parser = new HintMessageParser(
+		EnumSet.complementOf(EnumSet.of(HintMessage.STRING_PLACEHOLDER)));
+
+	@Test
+	void testParseRendersBackForAllTemplates() {
+		for (HintMessage message : EnumSet.complementOf(EnumSet.of(HintMessage.STRING_PLACEHOLDER))) {
+			final String text = message.format("C000001243352665", "590227672", "Telefon");
+
+			assertThat(parser.parse(text)).as(message.name()).hasValueSatisfying(match ->
+				assertThat(match.template().format(match.args().toArray())).isEqualTo(text));
+		}
+	}
+
+	@Test
+	void testParsePrefersLongestPrefix() {
+		assertThat(parser.parse(HintMessage.PARTNER_UPDATE_PAPER_WAIVER_REQUESTED.message)).contains(
+			new HintMessageTemplates.Match(HintMessage.PARTNER_UPDATE_PAPER_WAIVER_REQUESTED, List.of()));
+		assertThat(parser.parse(HintMessage.PARTNER_UPDATE_REQUESTED.format("der Bankdaten"))).contains(
+			new HintMessageTemplates.Match(HintMessage.PARTNER_UPDATE_REQUESTED, List.of("der Bankdaten")));
+	}
+
+	@Test
+	void testParseArgsContainingLiteralParts() {
+		final String text = HintMessage.VNR_DIFFERENT.format("1', abweichend von Antrags-VNR '2", "3'.\n4");
+
+		assertThat(parser.parse(text)).contains(new HintMessageTemplates.Match(HintMessage.VNR_DIFFERENT,
+			List.of("1", "2', abweichend von Antrags-VNR '3'.\n4")));
+	}
+
+	@Test
+	void testParseEmptyArgs() {
+		assertThat(parser.parse(HintMessage.VNR_DIFFERENT.format("", ""))).contains(
+			new HintMessageTemplates.Match(HintMessage.VNR_DIFFERENT, List.of("", "")));
+	}
+
+	@Test
+	void testParseFreeText() {
+		assertThat(parser.parse("")).isEmpty();
+		assertThat(parser.parse("Ort abweichend")).isEmpty();
+		assertThat(parser.parse("Ort abweichend. Bitte prüfen.")).isEmpty();
+		assertThat(parser.parse("VNR zugeordnet '1'.")).isEmpty();
+		assertThat(parser.parse("VNR zugeordnet '1', abweichend")).isEmpty();
+	}
+}
@@ -0,0 +1,83 @@
+package de.signaliduna.elpa.hint.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HintMessageTemplatesTest {
+
+	private static final HintDto HINT_DTO = new HintDto("hintSource",
+		HintMessage.PARTNER_VALIDATION_PANR_ASSIGNED.format("C000001243352665", "590227672"), HintDto.Category.INFO, true,
+		"processId", LocalDateTime.of(2024, 5, 20, 12, 0), "processVersion", "resourceId");
+
+	@Test
+	void testMatchTemplateWithArgs() {
+		assertThat(HintMessageTemplates.match(HINT_DTO.message())).contains(
+			new HintMessageTemplates.Match(HintMessage.PARTNER_VALIDATION_PANR_ASSIGNED, List.of("C000001243352665", "590227672")));
+	}
+
+	@Test
+	void testMatchTemplateWithoutArgs() {
+		assertThat(HintMessageTemplates.match(HintMessage.CITY_DIFFERENT.message))
+			.contains(new HintMessageTemplates.Match(HintMessage.CITY_DIFFERENT, List.of()));
+	}
+
+	@Test
+	void testMatchFreeText() {
+		assertThat(HintMessageTemplates.match("PAID 'C000001243352665' zugeordnet")).isEmpty();
+	}
+
+	@Test
+	void testCompactAndRender() {
+		final HintDto compact = HintMessageTemplates.compact(HINT_DTO);
+
+		assertThat(compact.message()).isNull();
+		assertThat(compact.messageTemplate()).isEqualTo(HintMessage.PARTNER_VALIDATION_PANR_ASSIGNED);
+		assertThat(compact.messageArgs()).containsExactly("C000001243352665", "590227672");
+		assertThat(HintMessageTemplates.render(compact)).isEqualTo(HINT_DTO);
+	}
+
+	@Test
+	void testCompactKeepsFreeText() {
+		final HintDto hint = HINT_DTO.withMessage("Freitext");
+
+		assertThat(HintMessageTemplates.compact(hint)).isSameAs(hint);
+		assertThat(HintMessageTemplates.render(hint)).isSameAs(hint);
+		assertThat(HintMessageTemplates.compact(hint.withMessage(null)).message()).isNull();
+	}
+
+	@Test
+	void testCompactPrefersGivenTemplate() {
+		final HintDto hint = HINT_DTO.withMessage("ignored").withMessageTemplate(HintMessage.CITY_DIFFERENT);
+
+		final HintDto compact = HintMessageTemplates.compact(hint);
+
+		assertThat(compact.message()).isNull();
+		assertThat(compact.messageArgs()).isEmpty();
+		assertThat(HintMessageTemplates.render(compact).message()).isEqualTo(HintMessage.CITY_DIFFERENT.message);
+	}
+
+	@Test
+	void testCompactRejectsArgsNotFittingTheTemplate() {
+		final HintDto hint = HINT_DTO.withMessageTemplate(HintMessage.PARTNER_VALIDATION_PANR_ASSIGNED);
+
+		assertThatThrownBy(() -> HintMessageTemplates.compact(hint.withMessageArgs(List.of("C000001243352665"))))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("PARTNER_VALIDATION_PANR_ASSIGNED");
+		assertThatThrownBy(() -> HintMessageTemplates.compact(hint.withMessageArgs(Arrays.asList("C000001243352665", null))))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void testRenderMessage() {
+		assertThat(HintMessageTemplates.render("Freitext", null, null)).isEqualTo("Freitext");
+		assertThat(HintMessageTemplates.render(null, HintMessage.CITY_DIFFERENT, null)).isEqualTo(HintMessage.CITY_DIFFERENT.message);
+		assertThat(HintMessageTemplates.render(null, HintMessage.VNR_DIFFERENT, List.of("1", "2")))
+			.isEqualTo(HintMessage.VNR_DIFFERENT.format("1", "2"));
+	}
+}
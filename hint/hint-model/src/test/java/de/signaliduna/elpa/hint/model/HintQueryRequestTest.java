@@ -2,6 +2,7 @@ package de.signaliduna.elpa.hint.model;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -10,7 +11,7 @@ class HintQueryRequestTest {
 
 	@Test
 	void shouldReturnEmptyMap_whenAllFieldsAreNull() {
-		HintQueryRequest request = new HintQueryRequest(null, null, null, null, null, null, null, null);
+		HintQueryRequest request = new HintQueryRequest(null, null, null, null, null, null, null, null, null, null, null, null, null);
 
 		Map<HintParams, Object> result = request.toQueryParams();
 
@@ -20,8 +21,8 @@ class HintQueryRequestTest {
 	@Test
 	void shouldIncludeAllFields() {
 		HintQueryRequest request = new HintQueryRequest(
-			"PREFIX", "SOURCE", "OriginalText", "info",
-			true, "PID", "1", "RID"
+			"PREFIX", "SOURCE", "OriginalText", "search words", "info",
+			true, "PID", "1", "RID", LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 2, 1, 0, 0), 50, "token"
 		);
 
 		Map<HintParams, Object> result = request.toQueryParams();
@@ -29,18 +30,22 @@ class HintQueryRequestTest {
 		assertThat(result).containsEntry(HintParams.HINT_SOURCE_PREFIX, "PREFIX")
 			.doesNotContainKey(HintParams.HINT_SOURCE)
 			.containsEntry(HintParams.HINT_TEXT_ORIGINAL, "OriginalText")
+			.containsEntry(HintParams.HINT_TEXT_SEARCH, "search words")
 			.containsEntry(HintParams.HINT_CATEGORY, "INFO")
 			.containsEntry(HintParams.SHOW_TO_USER, true)
 			.containsEntry(HintParams.PROCESS_ID, "PID")
 			.containsEntry(HintParams.PROCESS_VERSION, "1")
-			.containsEntry(HintParams.RESOURCE_ID, "RID");
+			.containsEntry(HintParams.RESOURCE_ID, "RID")
+			.containsEntry(HintParams.CREATED_AFTER, LocalDateTime.of(2024, 1, 1, 0, 0))
+			.containsEntry(HintParams.CREATED_BEFORE, LocalDateTime.of(2024, 2, 1, 0, 0))
+			.hasSize(10);
 	}
 
 	@Test
 	void shouldIncludeOnlyHintSource_whenNoPrefixProvided() {
 		HintQueryRequest request = new HintQueryRequest(
-			null, "SOURCE", null, null,
-			null, null, null, null
+			null, "SOURCE", null, null, null,
+			null, null, null, null, null, null, null, null
 		);
 
 		Map<HintParams, Object> result = request.toQueryParams();
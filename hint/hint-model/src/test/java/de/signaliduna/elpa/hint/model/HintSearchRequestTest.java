@@ -2,20 +2,25 @@ package de.signaliduna.elpa.hint.model;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class HintSearchRequestTest {
 
 	private static final HintSearchRequest HINT_SEARCH_REQUEST = new HintSearchRequest(
-		"hintSource", "hintTextOriginal", "hintCategory",
-		true, "processId", "processVersion", "resourceId"
+		"hintSource", "hintTextOriginal", "hintTextSearch", "hintCategory",
+		true, "processId", "processVersion", "resourceId",
+		LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 2, 1, 0, 0), 50
 	);
 
 	@Test
 	void testBuilder() {
 		assertThat(HintSearchRequest.builder()
-			.hintSource("hintSource").hintTextOriginal("hintTextOriginal")
+			.hintSource("hintSource").hintTextOriginal("hintTextOriginal").hintTextSearch("hintTextSearch")
 			.hintCategory("hintCategory").showToUser(true).processId("processId").processVersion("processVersion").resourceId("resourceId")
+			.createdAfter(LocalDateTime.of(2024, 1, 1, 0, 0)).createdBefore(LocalDateTime.of(2024, 2, 1, 0, 0))
+			.pageSize(50)
 			.build()
 		).isEqualTo(HINT_SEARCH_REQUEST);
 	}
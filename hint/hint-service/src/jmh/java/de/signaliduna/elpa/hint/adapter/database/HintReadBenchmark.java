@@ -0,0 +1,142 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.adapter.database.model.HintEntity;
+import de.signaliduna.elpa.hint.adapter.database.model.HintRow;
+import de.signaliduna.elpa.hint.adapter.mapper.HintMapper;
+import de.signaliduna.elpa.hint.model.HintDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceConfiguration;
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.hibernate.SpringBeanContainer;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares reading one process worth of hints as managed entities mapped by MapStruct with reading them as
+ * {@link HintRow} constructor projections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HintReadBenchmark {
+	// same image as ContainerImageNames.POSTGRES, the test sources are not on the jmh classpath
+	private static final String POSTGRES_IMAGE = "hub.docker.system.local/postgres:16-alpine";
+	private static final String SCHEMA = "hint";
+	private static final String PROCESS_ID = "benchmark-process";
+	private static final int INSERT_BATCH_SIZE = 50;
+
+	@Param({"100", "1000", "10000"})
+	public int hintCount;
+
+	private PostgreSQLContainer postgres;
+	private EntityManagerFactory entityManagerFactory;
+	private EntityManager entityManager;
+	private HintRepository hintRepository;
+	private final HintMapper hintMapper = Mappers.getMapper(HintMapper.class);
+
+	@Setup(Level.Trial)
+	public void setUp() throws SQLException {
+		postgres = new PostgreSQLContainer(DockerImageName.parse(POSTGRES_IMAGE).asCompatibleSubstituteFor(PostgreSQLContainer.IMAGE));
+		postgres.start();
+		Flyway.configure()
+			.dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+			.schemas(SCHEMA)
+			.load()
+			.migrate();
+		insertHints();
+
+		final JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+			postgres.getJdbcUrl() + "&currentSchema=" + SCHEMA, postgres.getUsername(), postgres.getPassword()));
+		final HintSourceDictionary hintSourceDictionary = new HintSourceDictionary(jdbcTemplate);
+		// the HintSourceConverter of the entity gets the dictionary from the bean container, like in the service
+		final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerSingleton("hintSourceDictionary", hintSourceDictionary);
+		entityManagerFactory = new PersistenceConfiguration("hint-read-benchmark")
+			.managedClass(HintEntity.class)
+			.property(AvailableSettings.BEAN_CONTAINER, new SpringBeanContainer(beanFactory))
+			.property(PersistenceConfiguration.JDBC_URL, postgres.getJdbcUrl())
+			.property(PersistenceConfiguration.JDBC_USER, postgres.getUsername())
+			.property(PersistenceConfiguration.JDBC_PASSWORD, postgres.getPassword())
+			.property("hibernate.default_schema", SCHEMA)
+			.createEntityManagerFactory();
+		entityManager = entityManagerFactory.createEntityManager();
+		hintRepository = new JpaRepositoryFactory(entityManager)
+			.getRepository(HintRepository.class, RepositoryFragments.just(new HintRowRepositoryImpl(entityManager),
+				// not benchmarked, HintRepository needs an implementation of every fragment
+				new HintInsertRepositoryImpl(jdbcTemplate, hintSourceDictionary, INSERT_BATCH_SIZE)));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		entityManager.close();
+		entityManagerFactory.close();
+		postgres.stop();
+	}
+
+	@Benchmark
+	public List<HintDto> entityAndMapper() {
+		return inReadTransaction(() -> new ArrayList<>(hintRepository.findAllByProcessId(PROCESS_ID)).stream()
+			.map(hintMapper::entityToDto)
+			.toList());
+	}
+
+	@Benchmark
+	public List<HintDto> rowProjection() {
+		return inReadTransaction(() -> hintRepository.findRowsByProcessId(PROCESS_ID, 0, Limit.of(hintCount)).stream()
+			.map(HintRow::hint)
+			.toList());
+	}
+
+	private <T> T inReadTransaction(Supplier<T> read) {
+		entityManager.getTransaction().begin();
+		try {
+			return read.get();
+		} finally {
+			entityManager.getTransaction().rollback();
+			entityManager.clear();
+		}
+	}
+
+	private void insertHints() throws SQLException {
+		try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+				 Statement sources = connection.createStatement();
+				 PreparedStatement statement = connection.prepareStatement("insert into " + SCHEMA + ".hint"
+					 + " (hint_source_id, message, hint_category, show_to_user, creation_date, process_id, process_version, resource_id)"
+					 + " select hint_source.id, 'benchmark message ' || n, 'INFO', true, now(), ?, '1', 'resource-' || n"
+					 + " from generate_series(1, ?) n join " + SCHEMA + ".hint_source on hint_source.name = 'BENCHMARK_' || n % 10")) {
+			sources.execute("insert into " + SCHEMA + ".hint_source (name) select 'BENCHMARK_' || n from generate_series(0, 9) n");
+			statement.setString(1, PROCESS_ID);
+			statement.setInt(2, hintCount);
+			statement.executeUpdate();
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package de.signaliduna.elpa.hint.adapter.message;
+
+import de.signaliduna.elpa.hint.adapter.message.consumer.HintDtoDeserializer;
+import de.signaliduna.elpa.hint.model.HintBinaryCodec;
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.model.HintMessage;
+import de.signaliduna.elpa.hint.model.HintSource;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.messaging.MessageHeaders;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encoding and decoding a hintCreated payload as JSON with the binary format of {@link HintBinaryCodec}. The
+ * encode benchmarks report the payload size as {@code payloadBytes}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HintPayloadBenchmark {
+
+	/**
+	 * Known hint source and template message like the partner sync sends them, or free text.
+	 */
+	@Param({"template", "freeText"})
+	public String message;
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+	private final HintDtoDeserializer hintDtoDeserializer = new HintDtoDeserializer(jsonMapper);
+	private final RecordHeaders jsonHeaders = new RecordHeaders();
+	private final RecordHeaders binaryHeaders = new RecordHeaders();
+	private HintDto hint;
+	private byte[] json;
+	private byte[] binary;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class PayloadSize {
+		public long payloadBytes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			payloadBytes = 0;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		hint = "template".equals(message)
+			? new HintDto(HintSource.VNR_ASSIGNMENT.message, HintMessage.VNR_DIFFERENT.format("123456789", "987654321"),
+				HintDto.Category.WARNING, true, "a3f1c2d4-5b6e-4f70-8a9b-0c1d2e3f4a5b", LocalDateTime.now(), "17",
+				"resource-4711")
+			: new HintDto("ELPA-Antragsprüfung", "Der Antrag wurde ohne Unterschrift des Versicherungsnehmers eingereicht.",
+				HintDto.Category.WARNING, true, "a3f1c2d4-5b6e-4f70-8a9b-0c1d2e3f4a5b", LocalDateTime.now(), "17",
+				"resource-4711");
+		json = jsonMapper.writeValueAsBytes(hint);
+		binary = HintBinaryCodec.encode(hint);
+		jsonHeaders.add(MessageHeaders.CONTENT_TYPE, "\"application/json\"".getBytes(StandardCharsets.UTF_8));
+		binaryHeaders.add(MessageHeaders.CONTENT_TYPE,
+			("\"" + HintBinaryCodec.CONTENT_TYPE + "\"").getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Benchmark
+	public byte[] encodeJson(PayloadSize payloadSize) {
+		final byte[] payload = jsonMapper.writeValueAsBytes(hint);
+		payloadSize.payloadBytes = payload.length;
+		return payload;
+	}
+
+	@Benchmark
+	public byte[] encodeBinary(PayloadSize payloadSize) {
+		final byte[] payload = HintBinaryCodec.encode(hint);
+		payloadSize.payloadBytes = payload.length;
+		return payload;
+	}
+
+	@Benchmark
+	public HintDto decodeJson() {
+		return hintDtoDeserializer.deserialize("elpa-hint-created", jsonHeaders, json);
+	}
+
+	@Benchmark
+	public HintDto decodeBinary() {
+		return hintDtoDeserializer.deserialize("elpa-hint-created", binaryHeaders, binary);
+	}
+}
@@ -0,0 +1,99 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the indexes of the partitioned hint table without blocking its writes: the index of the partitioned table is
+ * created on it only, every partition builds its index concurrently and attaches it, and the index of the partitioned
+ * table becomes valid with the last attached partition. Partitions created meanwhile get the index when they are
+ * attached. Has to run outside of a transaction. Every step is skipped once done, so a failed migration can be
+ * repeated; the invalid index a failed concurrent build leaves behind is dropped and built again.
+ */
+final class HintPartitionIndexes {
+	private static final String INDEX_PREFIX = "idx_hint";
+	private static final String PARTITIONS_QUERY = """
+		select child.relname
+		from pg_inherits
+		join pg_class child on child.oid = pg_inherits.inhrelid
+		where pg_inherits.inhparent = 'hint'::regclass
+		order by child.relname""";
+	private static final String ATTACHED_QUERY = """
+		select exists (
+			select from pg_inherits
+			join pg_index on pg_index.indexrelid = pg_inherits.inhrelid
+			where pg_inherits.inhparent = to_regclass(?) and pg_index.indrelid = to_regclass(?))""";
+	private static final String INVALID_QUERY =
+		"select exists (select from pg_index where indexrelid = to_regclass(?) and not indisvalid)";
+
+	private HintPartitionIndexes() {
+	}
+
+	/**
+	 * Creates the index on all partitions of hint.
+	 *
+	 * @param indexName  name of the index of hint, starting with {@code idx_hint_}; the index of a partition is named
+	 *                   after the partition and the rest of the name
+	 * @param definition definition of the index following the table name, e.g. {@code (process_id, id)}
+	 */
+	static void createIndex(Connection connection, String indexName, String definition) throws SQLException {
+		create(connection, "index", indexName, definition);
+	}
+
+	/**
+	 * Creates the unique index on all partitions of hint, see {@link #createIndex(Connection, String, String)}.
+	 */
+	static void createUniqueIndex(Connection connection, String indexName, String definition) throws SQLException {
+		create(connection, "unique index", indexName, definition);
+	}
+
+	private static void create(Connection connection, String kind, String indexName, String definition)
+		throws SQLException {
+		execute(connection, "create %s if not exists %s on only hint %s".formatted(kind, indexName, definition));
+		for (String partitionName : findPartitionNames(connection)) {
+			if (query(connection, ATTACHED_QUERY, indexName, partitionName)) {
+				continue;
+			}
+			final String partitionIndexName = partitionName + indexName.substring(INDEX_PREFIX.length());
+			if (query(connection, INVALID_QUERY, partitionIndexName)) {
+				execute(connection, "drop index concurrently " + partitionIndexName);
+			}
+			execute(connection, "create %s concurrently if not exists %s on %s %s"
+				.formatted(kind, partitionIndexName, partitionName, definition));
+			execute(connection, "alter index %s attach partition %s".formatted(indexName, partitionIndexName));
+		}
+	}
+
+	private static List<String> findPartitionNames(Connection connection) throws SQLException {
+		final List<String> partitionNames = new ArrayList<>();
+		try (Statement statement = connection.createStatement();
+				 ResultSet rows = statement.executeQuery(PARTITIONS_QUERY)) {
+			while (rows.next()) {
+				partitionNames.add(rows.getString(1));
+			}
+		}
+		return partitionNames;
+	}
+
+	private static boolean query(Connection connection, String query, String... parameters) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(query)) {
+			for (int i = 0; i < parameters.length; i++) {
+				statement.setString(i + 1, parameters[i]);
+			}
+			try (ResultSet rows = statement.executeQuery()) {
+				return rows.next() && rows.getBoolean(1);
+			}
+		}
+	}
+
+	private static void execute(Connection connection, String sql) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute(sql);
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package db.migration;
+
+import de.signaliduna.elpa.hint.model.HintMessage;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fills the template dictionary of {@code V14__hint_message_template.sql} from {@link HintMessage} and generates the
+ * {@code hint_search_text} function of {@code V16__hint_message_search.sql} from it. The checksum covers all templates,
+ * so Flyway runs the migration again whenever a template is added or changed.
+ * <p>
+ * The templates are append-only: stored hints reference their template by id and their idempotency key and message
+ * search indexes contain the rendered text. The migration fails if a stored id belongs to another constant, has another
+ * text or has no constant anymore; new wording needs a new constant.
+ */
+public class R__Hint_message_templates extends BaseJavaMigration {
+	private static final String SELECT_STATEMENT = "select id, name, template from hint_message_template";
+	private static final String INSERT_STATEMENT = "insert into hint_message_template (id, name, template) values (?, ?, ?)";
+	private static final String SEARCH_TEXT_STATEMENT = "select create_hint_search_text()";
+
+	@Override
+	public Integer getChecksum() {
+		return Arrays.hashCode(Arrays.stream(HintMessage.values()).map(message -> message.name() + message.message).toArray());
+	}
+
+	@Override
+	public void migrate(Context context) throws Exception {
+		final Connection connection = context.getConnection();
+		final Map<Short, StoredTemplate> storedTemplates = loadTemplates(connection);
+		try (PreparedStatement statement = connection.prepareStatement(INSERT_STATEMENT)) {
+			for (HintMessage message : HintMessage.values()) {
+				final StoredTemplate storedTemplate = storedTemplates.remove((short) message.ordinal());
+				if (storedTemplate != null) {
+					verify(storedTemplate, message);
+					continue;
+				}
+				statement.setShort(1, (short) message.ordinal());
+				statement.setString(2, message.name());
+				statement.setString(3, message.message);
+				statement.addBatch();
+			}
+			if (!storedTemplates.isEmpty()) {
+				throw new FlywayException("Hint message templates %s are stored but have no constant in HintMessage anymore"
+					.formatted(storedTemplates.values().stream().map(StoredTemplate::name).sorted().toList()));
+			}
+			statement.executeBatch();
+		}
+		try (Statement statement = connection.createStatement()) {
+			statement.execute(SEARCH_TEXT_STATEMENT);
+		}
+	}
+
+	private static void verify(StoredTemplate storedTemplate, HintMessage message) {
+		if (!storedTemplate.name().equals(message.name())) {
+			throw new FlywayException(("Hint message template %d is stored as %s but is %s in HintMessage, new constants"
+				+ " must be appended").formatted(message.ordinal(), storedTemplate.name(), message.name()));
+		}
+		if (!storedTemplate.template().equals(message.message)) {
+			throw new FlywayException(("Text of hint message template %s differs from the stored text, stored hints would"
+				+ " be rendered differently; add a new constant for new wording").formatted(message.name()));
+		}
+	}
+
+	private static Map<Short, StoredTemplate> loadTemplates(Connection connection) throws SQLException {
+		final Map<Short, StoredTemplate> templates = new HashMap<>();
+		try (Statement statement = connection.createStatement();
+				 ResultSet rows = statement.executeQuery(SELECT_STATEMENT)) {
+			while (rows.next()) {
+				templates.put(rows.getShort("id"), new StoredTemplate(rows.getString("name"), rows.getString("template")));
+			}
+		}
+		return templates;
+	}
+
+	private record StoredTemplate(String name, String template) {
+	}
+}
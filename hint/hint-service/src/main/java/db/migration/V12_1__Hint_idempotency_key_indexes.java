@@ -0,0 +1,28 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+
+/**
+ * Indexes of the idempotency key of {@code V12__hint_idempotency_key.sql}, built concurrently on every partition by
+ * {@link HintPartitionIndexes}.
+ */
+public class V12_1__Hint_idempotency_key_indexes extends BaseJavaMigration {
+
+	@Override
+	public boolean canExecuteInTransaction() {
+		return false;
+	}
+
+	@Override
+	public void migrate(Context context) throws Exception {
+		final Connection connection = context.getConnection();
+		// the partition key has to be part of unique indexes, duplicates always share the creation date of the hint
+		HintPartitionIndexes.createUniqueIndex(connection, "idx_hint_idempotency_key", "(idempotency_key, creation_date)");
+		// rows inserted before V12, keyed and deduplicated in chunks by HintDeduplication; stays empty afterwards
+		HintPartitionIndexes.createIndex(connection, "idx_hint_missing_idempotency_key",
+			"(id) where idempotency_key is null");
+	}
+}
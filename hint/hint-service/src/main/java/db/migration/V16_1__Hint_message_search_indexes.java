@@ -0,0 +1,29 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+
+/**
+ * Message search indexes over {@code hint_search_text} of {@code V16__hint_message_search.sql}, built concurrently on
+ * every partition by {@link HintPartitionIndexes}: a trigram index for the substring match of hintTextOriginal and a
+ * German tsvector for the word search of hintTextSearch.
+ */
+public class V16_1__Hint_message_search_indexes extends BaseJavaMigration {
+	private static final String SEARCH_TEXT = "hint_search_text(message, message_template_id, message_args)";
+
+	@Override
+	public boolean canExecuteInTransaction() {
+		return false;
+	}
+
+	@Override
+	public void migrate(Context context) throws Exception {
+		final Connection connection = context.getConnection();
+		HintPartitionIndexes.createIndex(connection, "idx_hint_message_trgm",
+			"using gin (%s gin_trgm_ops)".formatted(SEARCH_TEXT));
+		HintPartitionIndexes.createIndex(connection, "idx_hint_message_tsv",
+			"using gin (to_tsvector('german', %s))".formatted(SEARCH_TEXT));
+	}
+}
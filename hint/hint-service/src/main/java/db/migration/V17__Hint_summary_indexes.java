@@ -0,0 +1,30 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+
+/**
+ * GET /hints/summary counts the hints per hint_category and hint_source_id; with the category included, the counts of a
+ * process or a hint source are read from the index alone (index-only scan), the heap is only visited for the pages
+ * vacuum has not yet marked all-visible. A hintSourcePrefix is resolved to the ids of the matching sources by the
+ * service and looked up with in (...); the hint_source text indexes of V8 are dropped with the column by
+ * HintSourceBackfill. Built concurrently on every partition by {@link HintPartitionIndexes}.
+ */
+public class V17__Hint_summary_indexes extends BaseJavaMigration {
+
+	@Override
+	public boolean canExecuteInTransaction() {
+		return false;
+	}
+
+	@Override
+	public void migrate(Context context) throws Exception {
+		final Connection connection = context.getConnection();
+		HintPartitionIndexes.createIndex(connection, "idx_hint_process_id_hint_source_id_category",
+			"(process_id, hint_source_id) include (hint_category)");
+		HintPartitionIndexes.createIndex(connection, "idx_hint_hint_source_id_category",
+			"(hint_source_id) include (hint_category)");
+	}
+}
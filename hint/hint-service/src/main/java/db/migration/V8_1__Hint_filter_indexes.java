@@ -0,0 +1,31 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+
+/**
+ * Indexes for the filters of HintSpecifications on the partitions of {@code V8__partition_hint_by_creation_date.sql},
+ * built concurrently by {@link HintPartitionIndexes}.
+ */
+public class V8_1__Hint_filter_indexes extends BaseJavaMigration {
+
+	@Override
+	public boolean canExecuteInTransaction() {
+		return false;
+	}
+
+	@Override
+	public void migrate(Context context) throws Exception {
+		final Connection connection = context.getConnection();
+		// keyset pages of one process: process_id = ? and id > ? order by id
+		HintPartitionIndexes.createIndex(connection, "idx_hint_process_id_id", "(process_id, id)");
+		// like 'prefix%' can only use a btree with text_pattern_ops under a non-C collation, text_pattern_ops also
+		// supports equality, so hint_source needs no plain index
+		HintPartitionIndexes.createIndex(connection, "idx_hint_process_id_hint_source_pattern",
+			"(process_id, hint_source text_pattern_ops)");
+		HintPartitionIndexes.createIndex(connection, "idx_hint_hint_source_pattern", "(hint_source text_pattern_ops)");
+		HintPartitionIndexes.createIndex(connection, "idx_hint_resource_id", "(resource_id)");
+	}
+}
@@ -0,0 +1,23 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Hints are inserted in creation_date order, a BRIN index stores only the min/max creation_date per block range and
+ * stays a few pages small; built concurrently on every partition by {@link HintPartitionIndexes}. Autosummarize
+ * summarizes a block range as soon as the next one is filled, unsummarized ranges are always scanned.
+ */
+public class V9__Hint_creation_date_brin extends BaseJavaMigration {
+
+	@Override
+	public boolean canExecuteInTransaction() {
+		return false;
+	}
+
+	@Override
+	public void migrate(Context context) throws Exception {
+		HintPartitionIndexes.createIndex(context.getConnection(), "idx_hint_creation_date_brin",
+			"using brin (creation_date) with (pages_per_range = 32, autosummarize = on)");
+	}
+}
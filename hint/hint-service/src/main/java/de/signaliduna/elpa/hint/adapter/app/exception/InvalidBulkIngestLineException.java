@@ -0,0 +1,17 @@
+package de.signaliduna.elpa.hint.adapter.app.exception;
+
+/**
+ * Thrown for a line of a bulk ingest upload that is no valid hint. All chunks before the line are already committed.
+ */
+public class InvalidBulkIngestLineException extends RuntimeException {
+	private final long line;
+
+	public InvalidBulkIngestLineException(long line, String reason, Throwable cause) {
+		super("Line %d: %s".formatted(line, reason), cause);
+		this.line = line;
+	}
+
+	public long getLine() {
+		return line;
+	}
+}
@@ -0,0 +1,14 @@
+package de.signaliduna.elpa.hint.adapter.app.exception;
+
+/**
+ * Thrown for an unusable page size or continuation token.
+ */
+public class InvalidPageRequestException extends RuntimeException {
+	public InvalidPageRequestException(String message) {
+		super(message);
+	}
+
+	public InvalidPageRequestException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
@@ -0,0 +1,10 @@
+package de.signaliduna.elpa.hint.adapter.app.exception;
+
+/**
+ * Thrown for a message search without search text or with a too short one.
+ */
+public class InvalidSearchRequestException extends RuntimeException {
+	public InvalidSearchRequestException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,51 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.core.HintConsumerOffset;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores the consumer positions of the exactly-once ingest in {@code hint_consumer_offset}, see
+ * {@code V11__hint_consumer_offset.sql}. Joins the surrounding transaction, so the positions are committed together
+ * with the hints.
+ */
+@Component
+public class HintConsumerOffsetRepository {
+	private final JdbcTemplate jdbcTemplate;
+
+	public HintConsumerOffsetRepository(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	public void saveOffsets(List<HintConsumerOffset> offsets) {
+		jdbcTemplate.batchUpdate("""
+				insert into hint_consumer_offset (consumer_group, topic, partition_id, next_offset) values (?, ?, ?, ?)
+				on conflict (consumer_group, topic, partition_id) do update set next_offset = excluded.next_offset""",
+			offsets, offsets.size(), (statement, offset) -> {
+				statement.setString(1, offset.consumerGroup());
+				statement.setString(2, offset.topic());
+				statement.setInt(3, offset.partition());
+				statement.setLong(4, offset.nextOffset());
+			});
+	}
+
+	/**
+	 * Returns the stored next offsets of the given partitions, partitions without stored offset are missing.
+	 */
+	public Map<Integer, Long> findOffsets(String consumerGroup, String topic, Collection<Integer> partitions) {
+		final Map<Integer, Long> offsets = new HashMap<>();
+		jdbcTemplate.query("""
+				select partition_id, next_offset from hint_consumer_offset
+				where consumer_group = ? and topic = ? and partition_id = any (?)""",
+			resultSet -> {
+				offsets.put(resultSet.getInt("partition_id"), resultSet.getLong("next_offset"));
+			},
+			consumerGroup, topic, partitions.toArray(Integer[]::new));
+		return offsets;
+	}
+}
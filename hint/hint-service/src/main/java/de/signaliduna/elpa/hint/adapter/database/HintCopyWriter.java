@@ -0,0 +1,173 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.model.HintMessageTemplates;
+import org.postgresql.PGConnection;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Writes hints with {@code COPY ... FROM STDIN (FORMAT binary)} into a temporary staging table and moves them into the
+ * hint table with {@code insert ... on conflict do nothing}, so hints with an already stored idempotency key are
+ * skipped. Bypasses the persistence context completely, the ids are taken from the column default. Messages matching a
+ * {@code HintMessage} template are stored as template plus arguments, the sources as ids of the
+ * {@link HintSourceDictionary}.
+ */
+@Component
+public class HintCopyWriter {
+	// dropped at the end of the transaction
+	static final String CREATE_STAGING_TABLE = """
+		create temp table hint_copy (
+			hint_source_id smallint not null,
+			message text,
+			message_template_id smallint,
+			message_args text[],
+			hint_category text not null,
+			show_to_user boolean,
+			creation_date timestamp not null,
+			process_id text not null,
+			process_version text,
+			resource_id text,
+			idempotency_key text
+		) on commit drop""";
+	static final String COPY_STATEMENT = "COPY hint_copy (hint_source_id, message, message_template_id, message_args, "
+		+ "hint_category, show_to_user, creation_date, process_id, process_version, resource_id, idempotency_key) "
+		+ "FROM STDIN (FORMAT binary)";
+	static final String INSERT_STATEMENT = """
+		insert into hint (hint_source_id, message, message_template_id, message_args, hint_category, show_to_user,
+			creation_date, process_id, process_version, resource_id, idempotency_key)
+		select hint_source_id, message, message_template_id, message_args, hint_category, show_to_user, creation_date,
+			process_id, process_version, resource_id, idempotency_key
+		from hint_copy
+		on conflict (idempotency_key, creation_date) do nothing""";
+	private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+	private static final short FIELD_COUNT = 11;
+	private static final int NULL_LENGTH = -1;
+	private static final int TEXT_OID = 25;
+	private static final LocalDateTime POSTGRES_EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+	private static final int ESTIMATED_ROW_SIZE = 256;
+
+	private final DataSource dataSource;
+	private final HintSourceDictionary hintSourceDictionary;
+
+	public HintCopyWriter(DataSource dataSource, HintSourceDictionary hintSourceDictionary) {
+		this.dataSource = dataSource;
+		this.hintSourceDictionary = hintSourceDictionary;
+	}
+
+	/**
+	 * Copies the given hints in one transaction.
+	 *
+	 * @return number of rows written, without the skipped duplicates
+	 * @throws IllegalArgumentException if the arguments of a hint do not fit its message template
+	 */
+	public long copy(List<HintDto> hints) throws SQLException, IOException {
+		final byte[] rows = encode(hints);
+		try (Connection connection = dataSource.getConnection()) {
+			connection.setAutoCommit(false);
+			try (Statement statement = connection.createStatement()) {
+				statement.execute(CREATE_STAGING_TABLE);
+				connection.unwrap(PGConnection.class).getCopyAPI()
+					.copyIn(COPY_STATEMENT, new ByteArrayInputStream(rows));
+				long inserted = statement.executeUpdate(INSERT_STATEMENT);
+				connection.commit();
+				return inserted;
+			} catch (SQLException | IOException e) {
+				connection.rollback();
+				throw e;
+			}
+		}
+	}
+
+	private byte[] encode(List<HintDto> hints) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(hints.size() * ESTIMATED_ROW_SIZE);
+		DataOutputStream out = new DataOutputStream(buffer);
+		out.write(SIGNATURE);
+		out.writeInt(0); // flags
+		out.writeInt(0); // header extension length
+		for (HintDto hint : hints) {
+			final HintDto compactHint = HintMessageTemplates.compact(hint);
+			out.writeShort(FIELD_COUNT);
+			writeHintSource(out, hint.hintSource());
+			writeText(out, compactHint.message());
+			writeTemplate(out, compactHint);
+			writeText(out, hint.hintCategory() == null ? null : hint.hintCategory().name());
+			out.writeInt(1);
+			out.writeBoolean(hint.showToUser());
+			writeTimestamp(out, hint.creationDate());
+			writeText(out, hint.processId());
+			writeText(out, hint.processVersion());
+			writeText(out, hint.resourceId());
+			writeText(out, hint.idempotencyKey());
+		}
+		out.writeShort(-1); // trailer
+		return buffer.toByteArray();
+	}
+
+	private static void writeText(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(NULL_LENGTH);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private void writeHintSource(DataOutputStream out, String hintSource) throws IOException {
+		if (hintSource == null) {
+			out.writeInt(NULL_LENGTH);
+			return;
+		}
+		out.writeInt(Short.BYTES);
+		out.writeShort(hintSourceDictionary.getOrCreateId(hintSource));
+	}
+
+	private static void writeTemplate(DataOutputStream out, HintDto hint) throws IOException {
+		if (hint.messageTemplate() == null) {
+			out.writeInt(NULL_LENGTH);
+			out.writeInt(NULL_LENGTH);
+			return;
+		}
+		out.writeInt(Short.BYTES);
+		out.writeShort(hint.messageTemplate().ordinal());
+		if (hint.messageArgs().isEmpty()) {
+			out.writeInt(NULL_LENGTH);
+			return;
+		}
+		// one-dimensional text array: header, dimension and elements with their length
+		final ByteArrayOutputStream array = new ByteArrayOutputStream();
+		final DataOutputStream arrayOut = new DataOutputStream(array);
+		arrayOut.writeInt(1); // dimensions
+		arrayOut.writeInt(0); // has nulls
+		arrayOut.writeInt(TEXT_OID);
+		arrayOut.writeInt(hint.messageArgs().size());
+		arrayOut.writeInt(1); // lower bound
+		for (String arg : hint.messageArgs()) {
+			writeText(arrayOut, arg);
+		}
+		out.writeInt(array.size());
+		array.writeTo(out);
+	}
+
+	private static void writeTimestamp(DataOutputStream out, LocalDateTime value) throws IOException {
+		if (value == null) {
+			out.writeInt(NULL_LENGTH);
+			return;
+		}
+		out.writeInt(Long.BYTES);
+		out.writeLong(ChronoUnit.MICROS.between(POSTGRES_EPOCH, value));
+	}
+}
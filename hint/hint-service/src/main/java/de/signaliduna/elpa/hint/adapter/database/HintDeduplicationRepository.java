@@ -0,0 +1,79 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keys and deduplicates the hints stored before {@code V12__hint_idempotency_key.sql}. Joins the surrounding
+ * transaction, so the rows of one chunk are only locked until the chunk is done.
+ */
+@Component
+public class HintDeduplicationRepository {
+	// arbitrary key of the advisory lock, only one instance deduplicates the hints at a time
+	private static final long DEDUPLICATION_LOCK_KEY = 0x68696e74646564L;
+	// same key as the insert trigger, derived from the rendered message
+	private static final String IDEMPOTENCY_KEY = """
+		hint_idempotency_key(hint_source_name(hint_source_id), hint_message(message, message_template_id, message_args),
+			hint_category, show_to_user, creation_date, process_id, process_version, resource_id)""";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public HintDeduplicationRepository(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Returns the ids of the next hints without idempotency key in ascending order. Hints whose source id is not yet
+	 * stored by {@code HintSourceBackfill} are left for a later chunk, their key would miss the source.
+	 */
+	public List<Long> findIdsWithoutIdempotencyKey(int limit) {
+		return jdbcTemplate.queryForList("""
+				select id from hint where idempotency_key is null and hint_source_id is not null order by id limit ?""",
+			Long.class, limit);
+	}
+
+	/**
+	 * Deletes the given hints whose derived idempotency key is already stored or shared with a given hint of a lower id.
+	 *
+	 * @return number of deleted hints
+	 */
+	public int deleteDuplicates(List<Long> ids) {
+		return jdbcTemplate.update("""
+				delete from hint
+				where id in (
+					select id
+					from (
+						select chunk.id,
+							row_number() over (partition by chunk.idempotency_key, chunk.creation_date order by chunk.id) as position,
+							exists (
+								select 1 from hint stored
+								where stored.idempotency_key = chunk.idempotency_key and stored.creation_date = chunk.creation_date
+							) as already_stored
+						from (select id, creation_date, %s as idempotency_key from hint where id = any (?)) chunk
+					) ranked
+					where position > 1 or already_stored)""".formatted(IDEMPOTENCY_KEY),
+			(Object) ids.toArray(Long[]::new));
+	}
+
+	/**
+	 * Stores the derived idempotency key of the given hints.
+	 *
+	 * @return number of updated hints
+	 */
+	public int setIdempotencyKeys(List<Long> ids) {
+		return jdbcTemplate.update("update hint set idempotency_key = %s where id = any (?) and idempotency_key is null"
+			.formatted(IDEMPOTENCY_KEY), (Object) ids.toArray(Long[]::new));
+	}
+
+	/**
+	 * Takes a transaction scoped advisory lock, has to be called within a transaction.
+	 *
+	 * @return false if another transaction holds the lock
+	 */
+	public boolean tryLockDeduplication() {
+		return Boolean.TRUE.equals(
+			jdbcTemplate.queryForObject("select pg_try_advisory_xact_lock(?)", Boolean.class, DEDUPLICATION_LOCK_KEY));
+	}
+}
@@ -0,0 +1,130 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import com.zaxxer.hikari.HikariDataSource;
+import de.signaliduna.elpa.hint.config.properties.HintProcessQueryCacheProperties;
+import de.signaliduna.elpa.hint.core.HintProcessQueryCache;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Listens on the {@code hint_inserted} channel, see {@code V10__hint_inserted_notification.sql}, and invalidates the
+ * cached query pages of the processes of inserted hints. Refreshes the {@link HintSourceDictionary} on the
+ * {@code hint_source_inserted} channel of {@code V15__hint_source_dictionary.sql}, so a hint source prefix of a page
+ * read after the invalidation already includes the new source. Listens on a dedicated connection outside of the pool, the
+ * connection is held for as long as the listener runs and also reloads the dictionary. Notifications sent while the
+ * connection is lost cannot be recovered, so the whole cache is dropped and the dictionary reloaded whenever listening
+ * starts.
+ */
+@Component
+@ConditionalOnExpression(HintProcessQueryCacheProperties.ENABLED_CONDITION)
+public class HintInsertListener implements SmartLifecycle {
+	static final String CHANNEL = "hint_inserted";
+	static final String SOURCE_CHANNEL = "hint_source_inserted";
+	private static final Logger log = LoggerFactory.getLogger(HintInsertListener.class);
+
+	private final DataSource dataSource;
+	private final HintProcessQueryCache hintProcessQueryCache;
+	private final HintSourceDictionary hintSourceDictionary;
+	private final Duration pollTimeout;
+	private volatile boolean running;
+	private Thread listenerThread;
+
+	@Autowired
+	public HintInsertListener(DataSource dataSource, HintProcessQueryCache hintProcessQueryCache,
+		HintSourceDictionary hintSourceDictionary) throws SQLException {
+		this(unpooled(dataSource), hintProcessQueryCache, hintSourceDictionary, Duration.ofSeconds(5));
+	}
+
+	HintInsertListener(DataSource dataSource, HintProcessQueryCache hintProcessQueryCache,
+		HintSourceDictionary hintSourceDictionary, Duration pollTimeout) {
+		this.dataSource = dataSource;
+		this.hintProcessQueryCache = hintProcessQueryCache;
+		this.hintSourceDictionary = hintSourceDictionary;
+		this.pollTimeout = pollTimeout;
+	}
+
+	/**
+	 * Opens new connections with the settings of the pool, so listening does not take one of its few connections. The
+	 * schema of the pool is set as well, the dictionary is read with unqualified table names.
+	 */
+	static DataSource unpooled(DataSource dataSource) throws SQLException {
+		final HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+		final DriverManagerDataSource unpooled = new DriverManagerDataSource(pool.getJdbcUrl(), pool.getUsername(),
+			pool.getPassword());
+		unpooled.setSchema(pool.getSchema());
+		return unpooled;
+	}
+
+	@Override
+	public void start() {
+		running = true;
+		listenerThread = Thread.ofPlatform().name("hint-insert-listener").daemon().start(this::listen);
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+		listenerThread.interrupt();
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	private void listen() {
+		while (running) {
+			try {
+				listenUntilStopped();
+			} catch (SQLException | DataAccessException e) {
+				log.warn("Listening for inserted hints failed, reconnecting in {}.", pollTimeout, e);
+				pause();
+			}
+		}
+	}
+
+	private void listenUntilStopped() throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+				 Statement statement = connection.createStatement()) {
+			statement.execute("listen " + CHANNEL);
+			statement.execute("listen " + SOURCE_CHANNEL);
+			final JdbcTemplate listenerJdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+			hintSourceDictionary.refresh(listenerJdbcTemplate);
+			hintProcessQueryCache.invalidateAll();
+			final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+			while (running) {
+				for (PGNotification notification : pgConnection.getNotifications((int) pollTimeout.toMillis())) {
+					if (SOURCE_CHANNEL.equals(notification.getName())) {
+						hintSourceDictionary.refresh(listenerJdbcTemplate);
+					} else {
+						hintProcessQueryCache.invalidate(notification.getParameter());
+					}
+				}
+			}
+		}
+	}
+
+	private void pause() {
+		try {
+			Thread.sleep(pollTimeout);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
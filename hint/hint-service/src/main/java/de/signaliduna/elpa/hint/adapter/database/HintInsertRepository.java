@@ -0,0 +1,22 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.model.HintDto;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Repository fragment for idempotent inserts, see {@code V12__hint_idempotency_key.sql}.
+ */
+public interface HintInsertRepository {
+
+	/**
+	 * Inserts the hints with JDBC batches of {@code insert ... on conflict do nothing}. Hints whose idempotency key is
+	 * already stored for their creation date, or occurs earlier in the list, are skipped. The ids are taken from the
+	 * column default. Messages matching a {@code HintMessage} template are stored as template plus arguments.
+	 *
+	 * @throws IllegalArgumentException if the arguments of a hint do not fit its message template
+	 */
+	@Transactional
+	void insertHints(List<HintDto> hints);
+}
@@ -0,0 +1,65 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.model.HintMessageTemplates;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+class HintInsertRepositoryImpl implements HintInsertRepository {
+	static final String INSERT_STATEMENT = """
+		insert into hint (hint_source_id, message, hint_category, show_to_user, creation_date, process_id,
+			process_version, resource_id, idempotency_key, message_template_id, message_args)
+		values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+		on conflict (idempotency_key, creation_date) do nothing""";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final HintSourceDictionary hintSourceDictionary;
+	private final int batchSize;
+
+	HintInsertRepositoryImpl(JdbcTemplate jdbcTemplate, HintSourceDictionary hintSourceDictionary,
+		@Value("${elpa.hint.insert.batch-size:50}") int batchSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.hintSourceDictionary = hintSourceDictionary;
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public void insertHints(List<HintDto> hints) {
+		// the key is derived by the insert trigger if the client did not set it
+		final List<HintDto> compactHints = hints.stream().map(HintMessageTemplates::compact).toList();
+		// unknown sources are added before the batch, on the connection of the transaction
+		final Map<String, Short> hintSourceIds = new HashMap<>();
+		compactHints.stream().map(HintDto::hintSource).filter(Objects::nonNull).distinct()
+			.forEach(hintSource -> hintSourceIds.put(hintSource, hintSourceDictionary.getOrCreateId(hintSource)));
+		jdbcTemplate.batchUpdate(INSERT_STATEMENT, compactHints, batchSize, (statement, hint) -> {
+			if (hint.hintSource() == null) {
+				statement.setNull(1, Types.SMALLINT);
+			} else {
+				statement.setShort(1, hintSourceIds.get(hint.hintSource()));
+			}
+			statement.setString(2, hint.message());
+			statement.setString(3, hint.hintCategory().name());
+			statement.setBoolean(4, hint.showToUser());
+			statement.setObject(5, hint.creationDate());
+			statement.setString(6, hint.processId());
+			statement.setString(7, hint.processVersion());
+			statement.setString(8, hint.resourceId());
+			statement.setString(9, hint.idempotencyKey());
+			if (hint.messageTemplate() == null) {
+				statement.setNull(10, Types.SMALLINT);
+				statement.setNull(11, Types.ARRAY);
+			} else {
+				statement.setShort(10, (short) hint.messageTemplate().ordinal());
+				// templates without arguments store no array
+				statement.setArray(11, hint.messageArgs().isEmpty() ? null
+					: statement.getConnection().createArrayOf("text", hint.messageArgs().toArray()));
+			}
+		});
+	}
+}
@@ -0,0 +1,83 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.model.HintMessageTemplates;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts the messages of hints stored as rendered text into the template form of
+ * {@code V14__hint_message_template.sql}. Joins the surrounding transaction, so the rows of one chunk are only locked
+ * until the chunk is done.
+ */
+@Component
+public class HintMessageCompactionRepository {
+	// arbitrary key of the advisory lock, only one instance compacts the hint messages at a time
+	private static final long COMPACTION_LOCK_KEY = 0x68696e74636d70L;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public HintMessageCompactionRepository(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Returns the id of the last hint whose message was checked.
+	 */
+	public long findLastCheckedId() {
+		return jdbcTemplate.queryForObject("select last_id from hint_message_compaction", Long.class);
+	}
+
+	public void setLastCheckedId(long lastId) {
+		jdbcTemplate.update("update hint_message_compaction set last_id = ?", lastId);
+	}
+
+	/**
+	 * Returns the next hints with rendered message after the given id in ascending id order.
+	 */
+	public List<StoredMessage> findMessages(long afterId, int limit) {
+		return jdbcTemplate.query("""
+				select id, creation_date, message from hint
+				where id > ? and message is not null
+				order by id
+				limit ?""",
+			(rs, rowNum) -> new StoredMessage(rs.getLong("id"), rs.getTimestamp("creation_date").toLocalDateTime(),
+				rs.getString("message")),
+			afterId, limit);
+	}
+
+	/**
+	 * Replaces the messages of the given hints by their template and arguments.
+	 *
+	 * @return number of updated hints
+	 */
+	public int storeTemplates(Map<StoredMessage, HintMessageTemplates.Match> templates) {
+		final List<Object[]> updates = templates.entrySet().stream()
+			.map(entry -> new Object[]{(short) entry.getValue().template().ordinal(),
+				// templates without arguments store no array
+				entry.getValue().args().isEmpty() ? null : entry.getValue().args().toArray(String[]::new),
+				entry.getKey().id(), entry.getKey().creationDate()})
+			.toList();
+		return Arrays.stream(jdbcTemplate.batchUpdate("""
+				update hint set message = null, message_template_id = ?, message_args = ?
+				where id = ? and creation_date = ? and message is not null""", updates))
+			.sum();
+	}
+
+	/**
+	 * Takes a transaction scoped advisory lock, has to be called within a transaction.
+	 *
+	 * @return false if another transaction holds the lock
+	 */
+	public boolean tryLockCompaction() {
+		return Boolean.TRUE.equals(
+			jdbcTemplate.queryForObject("select pg_try_advisory_xact_lock(?)", Boolean.class, COMPACTION_LOCK_KEY));
+	}
+
+	public record StoredMessage(long id, LocalDateTime creationDate, String message) {
+	}
+}
@@ -0,0 +1,53 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.model.HintSavedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reads the hint-saved events queued by the trigger of {@code V13__hint_outbox.sql}. Joins the surrounding
+ * transaction, claimed events are only removed once it commits.
+ */
+@Component
+public class HintOutboxRepository {
+	// arbitrary key of the advisory lock, only one instance relays the events at a time
+	private static final long RELAY_LOCK_KEY = 0x68696e746f7574L;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public HintOutboxRepository(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Deletes the oldest queued events and returns them in hint id order. Must be called while holding the lock of
+	 * {@link #tryLockRelay()}, so no other instance publishes later events before these.
+	 */
+	public List<HintSavedEvent> claimEvents(int limit) {
+		final List<HintSavedEvent> events = jdbcTemplate.query("""
+				delete from hint_outbox
+				where hint_id in (select hint_id from hint_outbox order by hint_id limit ?)
+				returning hint_id, process_id, hint_source, hint_category, creation_date""",
+			(rs, rowNum) -> new HintSavedEvent(rs.getLong("hint_id"), rs.getString("process_id"),
+				rs.getString("hint_source"), HintDto.Category.valueOf(rs.getString("hint_category")),
+				rs.getTimestamp("creation_date").toLocalDateTime()),
+			limit);
+		// the returned rows are not ordered
+		return events.stream().sorted(Comparator.comparingLong(HintSavedEvent::hintId)).toList();
+	}
+
+	/**
+	 * Takes the relay lock for the surrounding transaction, so the events of a process are published in id order by
+	 * one instance at a time.
+	 *
+	 * @return false if another transaction holds the lock
+	 */
+	public boolean tryLockRelay() {
+		return Boolean.TRUE.equals(
+			jdbcTemplate.queryForObject("select pg_try_advisory_xact_lock(?)", Boolean.class, RELAY_LOCK_KEY));
+	}
+}
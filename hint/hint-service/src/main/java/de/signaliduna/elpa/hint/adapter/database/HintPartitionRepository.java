@@ -0,0 +1,192 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Manages the monthly range partitions {@code hint_yyyy_mm} of the hint table, see
+ * {@code V8__partition_hint_by_creation_date.sql}. Hints without a monthly partition wait in the default partition
+ * {@code hint_default} until the partition of their month is created or their month expires. The hints stored before
+ * the table was partitioned stay in the partition {@code hint_legacy}, which covers all creation dates before
+ * {@code hint_legacy_partition.upper_bound}, until they expire.
+ */
+@Component
+public class HintPartitionRepository {
+	static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyy_MM");
+	private static final Pattern PARTITION_NAME = Pattern.compile("hint_\\d{4}_\\d{2}");
+	// arbitrary key of the advisory lock, only one instance maintains the partitions at a time
+	private static final long MAINTENANCE_LOCK_KEY = 0x68696e74L;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public HintPartitionRepository(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Returns the months of all monthly partitions attached to the hint table in ascending order.
+	 */
+	public List<YearMonth> findPartitionMonths() {
+		return jdbcTemplate.queryForList("""
+				select child.relname
+				from pg_inherits
+				join pg_class parent on parent.oid = pg_inherits.inhparent
+				join pg_class child on child.oid = pg_inherits.inhrelid
+				where parent.oid = 'hint'::regclass""", String.class).stream()
+			.filter(name -> PARTITION_NAME.matcher(name).matches())
+			.map(name -> YearMonth.parse(name.substring("hint_".length()), PARTITION_MONTH))
+			.sorted()
+			.toList();
+	}
+
+	/**
+	 * Returns the months of the hints in the default partition in ascending order, these hints were stored before the
+	 * partition of their month existed.
+	 */
+	public List<YearMonth> findDefaultPartitionMonths() {
+		return jdbcTemplate.queryForList(
+				"select distinct to_char(creation_date, 'YYYY_MM') from hint_default", String.class).stream()
+			.map(month -> YearMonth.parse(month, PARTITION_MONTH))
+			.sorted()
+			.toList();
+	}
+
+	/**
+	 * Returns the months of the monthly partitions detached from the hint table but not yet dropped.
+	 */
+	public List<YearMonth> findDetachedPartitionMonths() {
+		return jdbcTemplate.queryForList("""
+				select relname
+				from pg_class
+				where relkind = 'r' and not relispartition
+					and relnamespace = (select relnamespace from pg_class where oid = 'hint'::regclass)""", String.class).stream()
+			.filter(name -> PARTITION_NAME.matcher(name).matches())
+			.map(name -> YearMonth.parse(name.substring("hint_".length()), PARTITION_MONTH))
+			.sorted()
+			.toList();
+	}
+
+	/**
+	 * Creates the partition of the month unless it exists and moves the hints of the month out of the default partition,
+	 * a partition cannot be attached while the default partition holds rows of its range. The partition is filled before
+	 * it is attached, so the insert triggers of hint do not fire again for the moved hints. Has to be called within a
+	 * transaction.
+	 */
+	public void createPartition(YearMonth month) {
+		final String partitionName = partitionName(month);
+		if (exists(partitionName)) {
+			return;
+		}
+		final LocalDate from = month.atDay(1);
+		final LocalDate to = month.plusMonths(1).atDay(1);
+		jdbcTemplate.execute("create table %s (like hint including all)".formatted(partitionName));
+		jdbcTemplate.update("""
+			with moved as (delete from hint_default where creation_date >= ? and creation_date < ? returning *)
+			insert into %s select * from moved""".formatted(partitionName), from, to);
+		jdbcTemplate.execute("alter table hint attach partition %s for values from ('%s') to ('%s')"
+			.formatted(partitionName, from, to));
+	}
+
+	/**
+	 * Detaches the partition unless it is already detached. Commit right after it, the hint table is locked until then.
+	 * {@code detach partition concurrently} is not possible as long as there is a default partition.
+	 */
+	public void detachPartition(YearMonth month) {
+		final String partitionName = partitionName(month);
+		if (findPartitionMonths().contains(month)) {
+			jdbcTemplate.execute("alter table hint detach partition " + partitionName);
+		}
+	}
+
+	/**
+	 * Drops a detached partition together with its hints, the hint table is not locked for it.
+	 */
+	public void dropDetachedPartition(YearMonth month) {
+		jdbcTemplate.execute("drop table if exists " + partitionName(month));
+	}
+
+	/**
+	 * Deletes the hints of the default partition created before the given month, they have no partition to be dropped
+	 * with.
+	 *
+	 * @return number of deleted hints
+	 */
+	public int deleteDefaultPartitionHintsBefore(YearMonth month) {
+		return jdbcTemplate.update("delete from hint_default where creation_date < ?", month.atDay(1));
+	}
+
+	/**
+	 * Returns the first month after the legacy partition, empty if there is none (left).
+	 */
+	public Optional<YearMonth> findLegacyPartitionEnd() {
+		return jdbcTemplate.queryForList("select upper_bound from hint_legacy_partition", LocalDateTime.class).stream()
+			.findFirst()
+			.map(YearMonth::from);
+	}
+
+	/**
+	 * Deletes a chunk of the hints of the legacy partition created before the given month. Only the deleted rows are
+	 * locked, the chunks keep the transactions short.
+	 *
+	 * @return number of deleted hints, less than the chunk size once all expired hints are deleted
+	 */
+	public int deleteLegacyPartitionHintsBefore(YearMonth month, int chunkSize) {
+		return jdbcTemplate.update("""
+			delete from hint_legacy
+			where ctid = any (array(select ctid from hint_legacy where creation_date < ? limit ?))""",
+			month.atDay(1), chunkSize);
+	}
+
+	/**
+	 * Detaches the legacy partition unless it is already detached. Commit right after it, the hint table is locked until
+	 * then.
+	 */
+	public void detachLegacyPartition() {
+		if (isLegacyPartitionAttached()) {
+			jdbcTemplate.execute("alter table hint detach partition hint_legacy");
+		}
+	}
+
+	/**
+	 * Drops the detached legacy partition together with its hints, the hint table is not locked for it. Does nothing
+	 * while the partition is attached.
+	 */
+	public void dropDetachedLegacyPartition() {
+		if (isLegacyPartitionAttached()) {
+			return;
+		}
+		jdbcTemplate.execute("drop table if exists hint_legacy");
+		jdbcTemplate.update("delete from hint_legacy_partition");
+	}
+
+	/**
+	 * Takes a transaction scoped advisory lock, has to be called within a transaction.
+	 *
+	 * @return false if another transaction holds the lock
+	 */
+	public boolean tryLockMaintenance() {
+		return Boolean.TRUE.equals(
+			jdbcTemplate.queryForObject("select pg_try_advisory_xact_lock(?)", Boolean.class, MAINTENANCE_LOCK_KEY));
+	}
+
+	private boolean isLegacyPartitionAttached() {
+		return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+			"select exists (select from pg_inherits where inhrelid = to_regclass('hint_legacy'))", Boolean.class));
+	}
+
+	private boolean exists(String tableName) {
+		return Boolean.TRUE.equals(jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, tableName));
+	}
+
+	static String partitionName(YearMonth month) {
+		return "hint_" + month.format(PARTITION_MONTH);
+	}
+}
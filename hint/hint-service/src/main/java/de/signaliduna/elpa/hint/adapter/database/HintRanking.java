@@ -0,0 +1,16 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.adapter.database.model.HintEntity;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Score of a hint for {@link HintRowRepository#findRankedRows}, higher scores come first. Created by
+ * {@link HintSpecifications#ranking}.
+ */
+@FunctionalInterface
+public interface HintRanking {
+
+	Expression<? extends Number> toExpression(Root<HintEntity> root, CriteriaBuilder criteriaBuilder);
+}
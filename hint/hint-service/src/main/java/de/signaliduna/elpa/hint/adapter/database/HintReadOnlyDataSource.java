@@ -0,0 +1,28 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Read-only target of the primary datasource: hands out replica connections while the replica is up to date and
+ * primary connections otherwise.
+ */
+public class HintReadOnlyDataSource extends DelegatingDataSource {
+	private final HintReplicaLagMonitor hintReplicaLagMonitor;
+
+	public HintReadOnlyDataSource(DataSource primaryDataSource, HintReplicaLagMonitor hintReplicaLagMonitor) {
+		super(primaryDataSource);
+		this.hintReplicaLagMonitor = hintReplicaLagMonitor;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		if (hintReplicaLagMonitor.isReplicaFresh()) {
+			return hintReplicaLagMonitor.getReplicaDataSource().getConnection();
+		}
+		return super.getConnection();
+	}
+}
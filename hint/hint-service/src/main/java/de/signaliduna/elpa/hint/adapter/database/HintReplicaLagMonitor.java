@@ -0,0 +1,77 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Measures the replication lag of the read replica and decides whether read-only transactions may use it. The replica
+ * counts as stale until the first successful measurement and whenever the lag cannot be determined, also while it is
+ * not streaming from the primary. Owns the replica connection pool.
+ */
+public class HintReplicaLagMonitor implements AutoCloseable {
+	private static final Logger log = LoggerFactory.getLogger(HintReplicaLagMonitor.class);
+	// a replica that replayed everything it received is up to date even if the primary was idle for a while, but only as
+	// long as it is streaming; without a connected WAL receiver it does not receive anything and the lag is unknown.
+	// pg_stat_wal_receiver shows the status only to roles with pg_read_all_stats (e.g. through pg_monitor), without
+	// it the replica always counts as stale
+	static final String LAG_QUERY = """
+		select case
+			when not pg_is_in_recovery() then 0
+			when not exists (select 1 from pg_stat_wal_receiver where status = 'streaming') then null
+			when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+			else (extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000)::bigint
+		end""";
+
+	private final HikariDataSource replicaDataSource;
+	private final Duration maxLag;
+	private volatile boolean replicaFresh;
+
+	public HintReplicaLagMonitor(HikariDataSource replicaDataSource, Duration maxLag) {
+		this.replicaDataSource = replicaDataSource;
+		this.maxLag = maxLag;
+	}
+
+	@Scheduled(fixedDelayString = "${elpa.hint.replica.lag-check-interval:5s}")
+	public void checkLag() {
+		final boolean fresh = measureLag().map(lag -> lag.compareTo(maxLag) <= 0).orElse(false);
+		if (fresh != replicaFresh) {
+			log.info("Hint replica is {}, reading from the {}.", fresh ? "up to date" : "stale", fresh ? "replica" : "primary");
+		}
+		replicaFresh = fresh;
+	}
+
+	public boolean isReplicaFresh() {
+		return replicaFresh;
+	}
+
+	public HikariDataSource getReplicaDataSource() {
+		return replicaDataSource;
+	}
+
+	@Override
+	public void close() {
+		replicaDataSource.close();
+	}
+
+	Optional<Duration> measureLag() {
+		try (Connection connection = replicaDataSource.getConnection();
+				 Statement statement = connection.createStatement();
+				 ResultSet lag = statement.executeQuery(LAG_QUERY)) {
+			lag.next();
+			final long lagMillis = lag.getLong(1);
+			return lag.wasNull() ? Optional.empty() : Optional.of(Duration.ofMillis(lagMillis));
+		} catch (SQLException e) {
+			log.warn("Replication lag of the hint replica could not be measured.", e);
+			return Optional.empty();
+		}
+	}
+}
@@ -1,13 +1,26 @@
 package de.signaliduna.elpa.hint.adapter.database;
 
 import de.signaliduna.elpa.hint.adapter.database.model.HintEntity;
+import de.signaliduna.elpa.hint.adapter.database.model.HintRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
-public interface HintRepository extends JpaRepository<HintEntity, Long>, JpaSpecificationExecutor<HintEntity> {
+public interface HintRepository extends JpaRepository<HintEntity, Long>, JpaSpecificationExecutor<HintEntity>,
+	HintRowRepository, HintInsertRepository {
 	List<HintEntity> findAllByProcessId(String processId);
-	List<HintEntity> findAllByProcessIdAndHintSourceStartingWith(String processId, String hintSourcePrefix);
-}
+	List<HintEntity> findAllByProcessIdAndHintSourceIn(String processId, Collection<String> hintSources);
+
+	// keyset pages as projections, ordered by id
+	@Query("select " + HintRow.SELECTION + " from hint h where h.processId = :processId and h.id > :afterId order by h.id")
+	List<HintRow> findRowsByProcessId(String processId, long afterId, Limit limit);
 
+	// the hint sources of a prefix, see HintSourceDictionary.findNames
+	@Query("select " + HintRow.SELECTION + " from hint h where h.processId = :processId"
+		+ " and h.hintSource in :hintSources and h.id > :afterId order by h.id")
+	List<HintRow> findRowsByProcessIdAndHintSources(String processId, Collection<String> hintSources, long afterId, Limit limit);
+}
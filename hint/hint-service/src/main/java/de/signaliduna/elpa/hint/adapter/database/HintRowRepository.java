@@ -0,0 +1,42 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.adapter.database.model.HintEntity;
+import de.signaliduna.elpa.hint.adapter.database.model.HintRow;
+import de.signaliduna.elpa.hint.model.HintSummary;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository fragment for read-only {@link HintRow} projections and counts of arbitrary {@link HintSpecifications}
+ * queries.
+ */
+public interface HintRowRepository {
+
+	/**
+	 * Returns at most {@code limit} matching rows ordered by id.
+	 */
+	@Transactional(readOnly = true)
+	List<HintRow> findRows(Specification<HintEntity> specification, int limit);
+
+	/**
+	 * Returns at most {@code limit} matching rows ordered by the ranking, best first, and by id within the same score.
+	 */
+	@Transactional(readOnly = true)
+	List<HintRow> findRankedRows(Specification<HintEntity> specification, HintRanking ranking, int limit);
+
+	/**
+	 * Counts the matching hints per category and, if {@code byHintSource} is set, per hint source, ordered by hint source
+	 * and category.
+	 */
+	@Transactional(readOnly = true)
+	List<HintSummary> countByCategory(Specification<HintEntity> specification, boolean byHintSource);
+
+	/**
+	 * Streams the matching rows ordered by id with a JDBC cursor. Has to be called inside a transaction and the stream
+	 * has to be closed.
+	 */
+	Stream<HintRow> streamRows(Specification<HintEntity> specification);
+}
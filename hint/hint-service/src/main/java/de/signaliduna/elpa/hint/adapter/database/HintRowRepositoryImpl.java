@@ -0,0 +1,99 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.adapter.database.model.HintEntity;
+import de.signaliduna.elpa.hint.adapter.database.model.HintRow;
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.model.HintSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+class HintRowRepositoryImpl implements HintRowRepository {
+	static final int FETCH_SIZE = 500;
+	private static final BiFunction<Root<HintEntity>, CriteriaBuilder, List<Order>> BY_ID =
+		(root, criteriaBuilder) -> List.of(criteriaBuilder.asc(root.get("id")));
+	// the ids of the hint sources do not follow the names, the few counts are sorted after the query
+	private static final Comparator<HintSummary> SUMMARY_ORDER = Comparator
+		.comparing(HintSummary::hintSource, Comparator.nullsFirst(Comparator.naturalOrder()))
+		.thenComparing(HintSummary::hintCategory);
+
+	private final EntityManager entityManager;
+
+	HintRowRepositoryImpl(EntityManager entityManager) {
+		this.entityManager = entityManager;
+	}
+
+	@Override
+	public List<HintRow> findRows(Specification<HintEntity> specification, int limit) {
+		return createQuery(specification, BY_ID)
+			.setMaxResults(limit)
+			.getResultList();
+	}
+
+	@Override
+	public List<HintRow> findRankedRows(Specification<HintEntity> specification, HintRanking ranking, int limit) {
+		return createQuery(specification, (root, criteriaBuilder) -> List.of(
+				criteriaBuilder.desc(ranking.toExpression(root, criteriaBuilder)), criteriaBuilder.asc(root.get("id"))))
+			.setMaxResults(limit)
+			.getResultList();
+	}
+
+	@Override
+	public List<HintSummary> countByCategory(Specification<HintEntity> specification, boolean byHintSource) {
+		final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		final CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+		final Root<HintEntity> root = query.from(HintEntity.class);
+		final Path<String> hintSource = root.get("hintSource");
+		final Path<HintDto.Category> hintCategory = root.get("hintCategory");
+		// count(hint_category) instead of count(id), the columns of the summary indexes suffice for an index-only scan
+		final Expression<Long> count = criteriaBuilder.count(hintCategory);
+		if (byHintSource) {
+			query.multiselect(hintSource, hintCategory, count).groupBy(hintSource, hintCategory);
+		} else {
+			query.multiselect(hintCategory, count).groupBy(hintCategory);
+		}
+		query.where(specification.toPredicate(root, query, criteriaBuilder));
+		return entityManager.createQuery(query)
+			.setHint(HibernateHints.HINT_READ_ONLY, true)
+			.getResultList().stream()
+			.map(tuple -> new HintSummary(byHintSource ? tuple.get(hintSource) : null, tuple.get(hintCategory),
+				tuple.get(count)))
+			.sorted(SUMMARY_ORDER)
+			.toList();
+	}
+
+	@Override
+	public Stream<HintRow> streamRows(Specification<HintEntity> specification) {
+		return createQuery(specification, BY_ID)
+			.setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+			.getResultStream();
+	}
+
+	private TypedQuery<HintRow> createQuery(Specification<HintEntity> specification,
+		BiFunction<Root<HintEntity>, CriteriaBuilder, List<Order>> ordering) {
+		final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		final CriteriaQuery<HintRow> query = criteriaBuilder.createQuery(HintRow.class);
+		final Root<HintEntity> root = query.from(HintEntity.class);
+		query.select(criteriaBuilder.construct(HintRow.class,
+				root.get("id"), root.get("hintSource"), root.get("message"), root.get("messageTemplate"),
+				root.get("messageArgs"), root.get("hintCategory"), root.get("showToUser"), root.get("processId"),
+				root.get("creationDate"), root.get("processVersion"), root.get("resourceId")))
+			.where(specification.toPredicate(root, query, criteriaBuilder))
+			.orderBy(ordering.apply(root, criteriaBuilder));
+		return entityManager.createQuery(query)
+			.setHint(HibernateHints.HINT_READ_ONLY, true);
+	}
+}
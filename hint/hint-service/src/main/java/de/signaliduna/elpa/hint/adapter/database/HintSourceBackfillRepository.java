@@ -0,0 +1,172 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores the source of the hints saved before {@code V15__hint_source_dictionary.sql} as id of the {@code hint_source}
+ * dictionary and completes the migration afterwards. Joins the surrounding transaction, so the rows of one chunk are
+ * only locked until the chunk is done.
+ */
+@Component
+public class HintSourceBackfillRepository {
+	// arbitrary key of the advisory lock, only one instance backfills the hint sources at a time
+	private static final long BACKFILL_LOCK_KEY = 0x68696e74737263L;
+	private static final String SOURCE_ID_PRESENT = "hint_source_id_present";
+	private static final String FOREIGN_KEY_SUFFIX = "_hint_source_id_fkey";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public HintSourceBackfillRepository(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Returns the id of the last hint whose source id was stored.
+	 */
+	public long findLastBackfilledId() {
+		return jdbcTemplate.queryForObject("select last_id from hint_source_backfill", Long.class);
+	}
+
+	public void setLastBackfilledId(long lastId) {
+		jdbcTemplate.update("update hint_source_backfill set last_id = ?", lastId);
+	}
+
+	/**
+	 * Returns whether the column {@code hint_source} is already dropped.
+	 */
+	public boolean isCompleted() {
+		return Boolean.TRUE.equals(jdbcTemplate.queryForObject("select completed from hint_source_backfill", Boolean.class));
+	}
+
+	/**
+	 * Returns the next hints without source id after the given id in ascending id order.
+	 */
+	public List<StoredSource> findSources(long afterId, int limit) {
+		return jdbcTemplate.query("""
+				select id, creation_date, hint_source from hint
+				where id > ? and hint_source_id is null
+				order by id
+				limit ?""",
+			(rs, rowNum) -> new StoredSource(rs.getLong("id"), rs.getTimestamp("creation_date").toLocalDateTime(),
+				rs.getString("hint_source")),
+			afterId, limit);
+	}
+
+	/**
+	 * Stores the given source ids of the hints.
+	 *
+	 * @return number of updated hints
+	 */
+	public int storeSourceIds(Map<StoredSource, Short> sourceIds) {
+		final List<Object[]> updates = sourceIds.entrySet().stream()
+			.map(entry -> new Object[]{entry.getValue(), entry.getKey().id(), entry.getKey().creationDate()})
+			.toList();
+		return Arrays.stream(jdbcTemplate.batchUpdate("""
+				update hint set hint_source_id = ?
+				where id = ? and creation_date = ? and hint_source_id is null""", updates))
+			.sum();
+	}
+
+	/**
+	 * Returns the names of all partitions of the hint table including the default partition.
+	 */
+	public List<String> findPartitionNames() {
+		return jdbcTemplate.queryForList("""
+			select child.relname
+			from pg_inherits
+			join pg_class child on child.oid = pg_inherits.inhrelid
+			where pg_inherits.inhparent = 'hint'::regclass
+			order by child.relname""", String.class);
+	}
+
+	/**
+	 * Validates the check of {@code V15__hint_source_dictionary.sql} that all hints have a source id. Scans the
+	 * partitions without blocking reads and writes of the hint table.
+	 */
+	public void validateSourceIds() {
+		if (constraintExists("hint", SOURCE_ID_PRESENT)) {
+			jdbcTemplate.execute("alter table hint validate constraint " + SOURCE_ID_PRESENT);
+		}
+	}
+
+	/**
+	 * Makes the source id not null and drops the validated check, which lets Postgres skip the scan of the partitions.
+	 */
+	public void setSourceIdNotNull() {
+		jdbcTemplate.execute("alter table hint alter column hint_source_id set not null");
+		jdbcTemplate.execute("alter table hint drop constraint if exists " + SOURCE_ID_PRESENT);
+	}
+
+	/**
+	 * Adds the foreign key to the dictionary to the partition without checking the existing hints. A partitioned table
+	 * cannot have a foreign key that is not valid, so it is added per partition first.
+	 */
+	public void addPartitionForeignKey(String partitionName) {
+		if (!constraintExists(partitionName, partitionName + FOREIGN_KEY_SUFFIX)) {
+			jdbcTemplate.execute("""
+				alter table %1$s add constraint %1$s%2$s foreign key (hint_source_id) references hint_source (id) not valid"""
+				.formatted(partitionName, FOREIGN_KEY_SUFFIX));
+		}
+	}
+
+	/**
+	 * Checks the existing hints of the partition against the foreign key without blocking reads and writes.
+	 */
+	public void validatePartitionForeignKey(String partitionName) {
+		jdbcTemplate.execute("alter table %1$s validate constraint %1$s%2$s".formatted(partitionName, FOREIGN_KEY_SUFFIX));
+	}
+
+	/**
+	 * Adds the foreign key to the hint table, the validated foreign keys of the partitions are attached to it without a
+	 * scan. Partitions created since they were validated are checked here.
+	 */
+	public void addForeignKey() {
+		if (!constraintExists("hint", "hint" + FOREIGN_KEY_SUFFIX)) {
+			jdbcTemplate.execute("alter table hint add constraint hint%s foreign key (hint_source_id) references hint_source (id)"
+				.formatted(FOREIGN_KEY_SUFFIX));
+		}
+	}
+
+	/**
+	 * Drops the column {@code hint_source} together with its indexes of {@code V8__partition_hint_by_creation_date.sql}
+	 * and marks the backfill as completed.
+	 */
+	public void dropSourceNames() {
+		jdbcTemplate.execute("alter table hint drop column if exists hint_source");
+		jdbcTemplate.update("update hint_source_backfill set completed = true");
+	}
+
+	/**
+	 * Limits the wait for table locks to the end of the surrounding transaction, has to be called within a transaction.
+	 */
+	public void setLockTimeout(Duration lockTimeout) {
+		jdbcTemplate.queryForObject("select set_config('lock_timeout', ?, true)", String.class,
+			lockTimeout.toMillis() + "ms");
+	}
+
+	/**
+	 * Takes a transaction scoped advisory lock, has to be called within a transaction.
+	 *
+	 * @return false if another transaction holds the lock
+	 */
+	public boolean tryLockBackfill() {
+		return Boolean.TRUE.equals(
+			jdbcTemplate.queryForObject("select pg_try_advisory_xact_lock(?)", Boolean.class, BACKFILL_LOCK_KEY));
+	}
+
+	private boolean constraintExists(String tableName, String constraintName) {
+		return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+			"select exists (select 1 from pg_constraint where conrelid = ?::regclass and conname = ?)", Boolean.class,
+			tableName, constraintName));
+	}
+
+	public record StoredSource(long id, LocalDateTime creationDate, String name) {
+	}
+}
@@ -0,0 +1,159 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory copy of the {@code hint_source} dictionary of {@code V15__hint_source_dictionary.sql}, maps the names of
+ * the hint sources to their ids and back. Sources are never changed or removed, so loaded entries stay valid. The copy
+ * is refreshed in the background every refresh interval and right away if the {@link HintInsertListener} runs; queries
+ * only read the copy and find sources another instance added after the next refresh.
+ * <p>
+ * Sources to be stored and unknown ids of read hints are looked up through the connection of the surrounding
+ * transaction, no second connection is taken and no lock is held. A source added for a hint is rolled back together
+ * with it and only enters the copy once its transaction is committed.
+ */
+@Component
+public class HintSourceDictionary {
+	private static final String SELECT_STATEMENT = "select id, name from hint_source";
+	private static final String SELECT_ID_STATEMENT = "select id from hint_source where name = ?";
+	private static final String SELECT_NAME_STATEMENT = "select name from hint_source where id = ?";
+	private static final String INSERT_STATEMENT = "insert into hint_source (name) values (?) on conflict (name) do nothing";
+
+	private final JdbcTemplate jdbcTemplate;
+	// null until the dictionary is loaded the first time
+	private final AtomicReference<Sources> sources = new AtomicReference<>();
+
+	public HintSourceDictionary(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Returns the id of the source to store it, an unknown source is added to the dictionary in the surrounding
+	 * transaction. Waits for a concurrent transaction adding the same source.
+	 */
+	public short getOrCreateId(String name) {
+		final Short id = current().idsByName().get(name);
+		if (id != null) {
+			return id;
+		}
+		jdbcTemplate.update(INSERT_STATEMENT, name);
+		// a new statement sees the source if a concurrent transaction added it first
+		final short createdId = jdbcTemplate.queryForObject(SELECT_ID_STATEMENT, Short.class, name);
+		afterCommit(() -> add(createdId, name));
+		return createdId;
+	}
+
+	/**
+	 * Returns the id of the source for a query, empty if no hint of this source has been stored.
+	 */
+	public Optional<Short> findId(String name) {
+		return Optional.ofNullable(current().idsByName().get(name));
+	}
+
+	/**
+	 * Returns the names of all sources starting with the given prefix.
+	 */
+	public List<String> findNames(String prefix) {
+		return current().idsByName().keySet().stream()
+			.filter(name -> name.startsWith(prefix))
+			.sorted()
+			.toList();
+	}
+
+	/**
+	 * Returns the name of the source with the given id.
+	 *
+	 * @throws IllegalStateException if there is no source with this id
+	 */
+	public String getName(short id) {
+		final String name = current().namesById().get(id);
+		if (name != null) {
+			return name;
+		}
+		final List<String> storedNames = jdbcTemplate.queryForList(SELECT_NAME_STATEMENT, String.class, id);
+		if (storedNames.isEmpty()) {
+			throw new IllegalStateException("Unknown hint source id " + id);
+		}
+		afterCommit(() -> add(id, storedNames.getFirst()));
+		return storedNames.getFirst();
+	}
+
+	/**
+	 * Loads the sources added by other instances, outside of the request path.
+	 */
+	@Scheduled(fixedDelayString = "${elpa.hint.source-dictionary.refresh-interval:10s}")
+	public void refresh() {
+		refresh(jdbcTemplate);
+	}
+
+	/**
+	 * Loads the sources through the given connection, see {@link HintInsertListener}.
+	 */
+	void refresh(JdbcOperations jdbcOperations) {
+		final Map<String, Short> idsByName = new HashMap<>();
+		final Map<Short, String> namesById = new HashMap<>();
+		jdbcOperations.query(SELECT_STATEMENT, rows -> {
+			idsByName.put(rows.getString("name"), rows.getShort("id"));
+			namesById.put(rows.getShort("id"), rows.getString("name"));
+		});
+		// sources are never removed, a concurrent refresh or add must not be lost
+		sources.accumulateAndGet(new Sources(idsByName, namesById), Sources::merge);
+	}
+
+	private Sources current() {
+		final Sources current = sources.get();
+		if (current != null) {
+			return current;
+		}
+		// only until the first scheduled refresh, through the connection of the caller
+		refresh();
+		return sources.get();
+	}
+
+	private void add(short id, String name) {
+		sources.accumulateAndGet(new Sources(Map.of(name, id), Map.of(id, name)), Sources::merge);
+	}
+
+	// outside of a transaction the source is already committed
+	private static void afterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+
+	private record Sources(Map<String, Short> idsByName, Map<Short, String> namesById) {
+		Sources {
+			idsByName = Map.copyOf(idsByName);
+			namesById = Map.copyOf(namesById);
+		}
+
+		static Sources merge(Sources current, Sources added) {
+			if (current == null) {
+				return added;
+			}
+			final Map<String, Short> idsByName = new HashMap<>(current.idsByName());
+			idsByName.putAll(added.idsByName());
+			final Map<Short, String> namesById = new HashMap<>(current.namesById());
+			namesById.putAll(added.namesById());
+			return new Sources(idsByName, namesById);
+		}
+	}
+}
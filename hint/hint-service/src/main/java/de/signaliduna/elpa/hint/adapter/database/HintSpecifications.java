@@ -2,18 +2,41 @@ package de.signaliduna.elpa.hint.adapter.database;
 
 import de.signaliduna.elpa.hint.adapter.database.model.HintEntity;
 import de.signaliduna.elpa.hint.model.HintParams;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
 
 
 public final class HintSpecifications {
+	private static final String CREATION_DATE = "creationDate";
+	// functions of V16__hint_message_search.sql, they match the expressions of the message search indexes
+	private static final String SEARCH_TEXT_FUNCTION = "hint_search_text";
+	private static final String MESSAGE = "message";
+	private static final String MESSAGE_TEMPLATE = "messageTemplate";
+	private static final String MESSAGE_ARGS = "messageArgs";
+	private static final String MATCHES_FUNCTION = "hint_message_matches";
+	private static final String RANK_FUNCTION = "hint_message_rank";
+	private static final String WORD_SIMILARITY_FUNCTION = "word_similarity";
+	private static final char LIKE_ESCAPE = '\\';
 
 	private HintSpecifications() {}
 
-	public static Specification<HintEntity> fromQuery(Map<HintParams, Object> queryParams) {
+	/**
+	 * Hint sources are looked up in the {@link HintSourceDictionary}, a source prefix becomes an {@code in (...)} over the
+	 * ids of the matching sources. Unknown sources match no hint. {@code hintTextOriginal} matches the messages containing
+	 * the text ignoring case, {@code hintTextSearch} the messages containing the words in the German text search
+	 * configuration.
+	 */
+	public static Specification<HintEntity> fromQuery(Map<HintParams, Object> queryParams,
+		HintSourceDictionary hintSourceDictionary) {
 			return ((root, query, criteriaBuilder) ->  {
 				List<Predicate> predicates = new ArrayList<>();
 				queryParams.forEach((hintParams, value) -> {
@@ -21,7 +44,23 @@ public final class HintSpecifications {
 						return;
 					}
 					if (hintParams.equals(HintParams.HINT_SOURCE_PREFIX)) {
-							predicates.add(criteriaBuilder.like(root.get(HintParams.HINT_SOURCE.getName()), String.format("%s%%", value)));
+						final List<String> hintSources = hintSourceDictionary.findNames(value.toString());
+						predicates.add(hintSources.isEmpty() ? criteriaBuilder.disjunction()
+							: root.get(HintParams.HINT_SOURCE.getName()).in(hintSources));
+					} else if (hintParams.equals(HintParams.HINT_SOURCE)) {
+						predicates.add(hintSourceDictionary.findId(value.toString()).isEmpty() ? criteriaBuilder.disjunction()
+							: criteriaBuilder.equal(root.get(HintParams.HINT_SOURCE.getName()), value));
+					} else if (hintParams.equals(HintParams.HINT_TEXT_ORIGINAL)) {
+						predicates.add(((HibernateCriteriaBuilder) criteriaBuilder).ilike(searchText(root, criteriaBuilder),
+							"%" + escapeLike(value.toString()) + "%", LIKE_ESCAPE));
+					} else if (hintParams.equals(HintParams.HINT_TEXT_SEARCH)) {
+						predicates.add(criteriaBuilder.isTrue(criteriaBuilder.function(MATCHES_FUNCTION, Boolean.class,
+							searchText(root, criteriaBuilder), criteriaBuilder.literal(value.toString()))));
+					} else if (hintParams.equals(HintParams.CREATED_AFTER)) {
+						// half-open range on the partition key, lets the database prune the monthly partitions
+						predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get(CREATION_DATE), (LocalDateTime) value));
+					} else if (hintParams.equals(HintParams.CREATED_BEFORE)) {
+						predicates.add(criteriaBuilder.lessThan(root.get(CREATION_DATE), (LocalDateTime) value));
 					} else{
 						predicates.add(criteriaBuilder.equal(root.get(hintParams.getName()), value));
 					}
@@ -29,4 +68,45 @@ public final class HintSpecifications {
 				return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
 			});
 	}
+
+	/**
+	 * Restricts {@link #fromQuery(Map, HintSourceDictionary)} to the hints with an id greater than {@code afterId}.
+	 */
+	public static Specification<HintEntity> fromQuery(Map<HintParams, Object> queryParams, long afterId,
+		HintSourceDictionary hintSourceDictionary) {
+		Specification<HintEntity> idGreaterThan = (root, query, criteriaBuilder) ->
+			criteriaBuilder.greaterThan(root.get(HintParams.ID.getName()), afterId);
+		return fromQuery(queryParams, hintSourceDictionary).and(idGreaterThan);
+	}
+
+	/**
+	 * Ranks the hints of a message search, by the text search rank of {@code hintTextSearch} if present, otherwise by the
+	 * trigram word similarity of {@code hintTextOriginal}; higher is better.
+	 *
+	 * @throws IllegalArgumentException if the query contains no message search
+	 */
+	public static HintRanking ranking(Map<HintParams, Object> queryParams) {
+		final Object search = queryParams.get(HintParams.HINT_TEXT_SEARCH);
+		if (search != null) {
+			return (root, criteriaBuilder) -> criteriaBuilder.function(RANK_FUNCTION, Float.class,
+				searchText(root, criteriaBuilder), criteriaBuilder.literal(search.toString()));
+		}
+		final Object text = queryParams.get(HintParams.HINT_TEXT_ORIGINAL);
+		if (text != null) {
+			return (root, criteriaBuilder) -> criteriaBuilder.function(WORD_SIMILARITY_FUNCTION, Float.class,
+				criteriaBuilder.literal(text.toString()), searchText(root, criteriaBuilder));
+		}
+		throw new IllegalArgumentException("Ranking requires " + HintParams.HINT_TEXT_SEARCH.getName() + " or "
+			+ HintParams.HINT_TEXT_ORIGINAL.getName());
+	}
+
+	// the message rendered from free text or template plus arguments
+	private static Expression<String> searchText(Root<HintEntity> root, CriteriaBuilder criteriaBuilder) {
+		return criteriaBuilder.function(SEARCH_TEXT_FUNCTION, String.class, root.get(MESSAGE), root.get(MESSAGE_TEMPLATE),
+			root.get(MESSAGE_ARGS));
+	}
+
+	private static String escapeLike(String text) {
+		return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
 }
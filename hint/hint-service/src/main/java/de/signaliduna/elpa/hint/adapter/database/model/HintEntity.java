@@ -1,19 +1,37 @@
 package de.signaliduna.elpa.hint.adapter.database.model;
 
 import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.model.HintMessage;
+import de.signaliduna.elpa.hint.model.HintMessageTemplates;
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity(name = "hint")
 public class HintEntity {
 	@Id
-	@GeneratedValue(strategy= GenerationType.IDENTITY)
+	// the hints are saved by HintInsertRepositoryImpl through the column default, the sequence is not pooled
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hint_id_seq")
+	@SequenceGenerator(name = "hint_id_seq", sequenceName = "hint_id_seq", allocationSize = 1)
 	@Column(name = "id", nullable = false)
 	private Long id;
-	@Column(name ="hint_source", nullable = false)
+	// stored as id of the hint_source dictionary
+	@Convert(converter = HintSourceConverter.class)
+	@Column(name ="hint_source_id", nullable = false)
 	private String hintSource;
-	@Column(name ="message", nullable = false)
+	// not set if the message is stored as template plus arguments
+	@Column(name ="message")
 	private String message;
+	@Enumerated(EnumType.ORDINAL)
+	@JdbcTypeCode(SqlTypes.SMALLINT)
+	@Column(name = "message_template_id")
+	private HintMessage messageTemplate;
+	@JdbcTypeCode(SqlTypes.ARRAY)
+	@Column(name = "message_args")
+	private List<String> messageArgs;
 	@Enumerated(EnumType.STRING)
 	@Column(name = "hint_category", nullable = false)
 	private  HintDto.Category hintCategory;
@@ -48,12 +66,36 @@ public class HintEntity {
 		this.hintSource = hintSource;
 	}
 
+	/**
+	 * Returns the message, rendered from the template if it is stored as template plus arguments.
+	 */
 	public String getMessage() {
-		return message;
+		return HintMessageTemplates.render(message, messageTemplate, messageArgs);
 	}
 
+	/**
+	 * Stores the message as free text.
+	 */
 	public void setMessage(String hintTextOriginal) {
 		this.message = hintTextOriginal;
+		this.messageTemplate = null;
+		this.messageArgs = null;
+	}
+
+	public HintMessage getMessageTemplate() {
+		return messageTemplate;
+	}
+
+	public void setMessageTemplate(HintMessage messageTemplate) {
+		this.messageTemplate = messageTemplate;
+	}
+
+	public List<String> getMessageArgs() {
+		return messageArgs;
+	}
+
+	public void setMessageArgs(List<String> messageArgs) {
+		this.messageArgs = messageArgs;
 	}
 
 	public HintDto.Category getHintCategory() {
@@ -121,6 +163,8 @@ public class HintEntity {
 		this.id = builder.id;
 		this.hintSource = builder.hintSource;
 		this.message = builder.message;
+		this.messageTemplate = builder.messageTemplate;
+		this.messageArgs = builder.messageArgs;
 		this.hintCategory = builder.hintCategory;
 		this.showToUser = builder.showToUser;
 		this.creationDate = builder.creationDate;
@@ -136,6 +180,10 @@ public class HintEntity {
 
 		private String message;
 
+		private HintMessage messageTemplate;
+
+		private List<String> messageArgs;
+
 		private HintDto.Category hintCategory;
 
 		private boolean showToUser;
@@ -165,6 +213,16 @@ public class HintEntity {
 			return this;
 		}
 
+		public Builder messageTemplate(HintMessage messageTemplate) {
+			this.messageTemplate = messageTemplate;
+			return this;
+		}
+
+		public Builder messageArgs(List<String> messageArgs) {
+			this.messageArgs = messageArgs;
+			return this;
+		}
+
 		public Builder hintCategory(HintDto.Category hintCategory) {
 			this.hintCategory = hintCategory;
 			return this;
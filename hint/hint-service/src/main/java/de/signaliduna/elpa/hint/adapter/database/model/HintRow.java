@@ -0,0 +1,29 @@
+package de.signaliduna.elpa.hint.adapter.database.model;
+
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.model.HintMessage;
+import de.signaliduna.elpa.hint.model.HintMessageTemplates;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read-only projection of a hint row. Instantiated by JPQL/Criteria constructor expressions, so no entity is hydrated
+ * and nothing is tracked by the persistence context. The id is kept for keyset paging, messages stored as template are
+ * rendered.
+ */
+public record HintRow(long id, HintDto hint) {
+	/**
+	 * JPQL constructor expression for the alias {@code h}.
+	 */
+	public static final String SELECTION = "new de.signaliduna.elpa.hint.adapter.database.model.HintRow(h.id, "
+		+ "h.hintSource, h.message, h.messageTemplate, h.messageArgs, h.hintCategory, h.showToUser, h.processId, "
+		+ "h.creationDate, h.processVersion, h.resourceId)";
+
+	public HintRow(Long id, String hintSource, String message, HintMessage messageTemplate, List<String> messageArgs,
+		HintDto.Category hintCategory, Boolean showToUser, String processId, LocalDateTime creationDate,
+		String processVersion, String resourceId) {
+		this(id, new HintDto(hintSource, HintMessageTemplates.render(message, messageTemplate, messageArgs), hintCategory,
+			Boolean.TRUE.equals(showToUser), processId, creationDate, processVersion, resourceId));
+	}
+}
@@ -0,0 +1,28 @@
+package de.signaliduna.elpa.hint.adapter.database.model;
+
+import de.signaliduna.elpa.hint.adapter.database.HintSourceDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores the hint source as its id in the {@link HintSourceDictionary}. Created by Hibernate through the Spring bean
+ * container, which injects the dictionary.
+ */
+@Converter
+public class HintSourceConverter implements AttributeConverter<String, Short> {
+	private final HintSourceDictionary hintSourceDictionary;
+
+	public HintSourceConverter(HintSourceDictionary hintSourceDictionary) {
+		this.hintSourceDictionary = hintSourceDictionary;
+	}
+
+	@Override
+	public Short convertToDatabaseColumn(String hintSource) {
+		return hintSource == null ? null : hintSourceDictionary.getOrCreateId(hintSource);
+	}
+
+	@Override
+	public String convertToEntityAttribute(Short hintSourceId) {
+		return hintSourceId == null ? null : hintSourceDictionary.getName(hintSourceId);
+	}
+}
@@ -0,0 +1,118 @@
+package de.signaliduna.elpa.hint.adapter.http.api;
+
+import de.signaliduna.elpa.hint.adapter.app.exception.InvalidBulkIngestLineException;
+import de.signaliduna.elpa.hint.adapter.message.retry.HintDeadLetterReplayResult;
+import de.signaliduna.elpa.hint.adapter.message.retry.HintDeadLetterReplayer;
+import de.signaliduna.elpa.hint.core.HintBulkIngestResult;
+import de.signaliduna.elpa.hint.core.HintBulkIngestService;
+import de.signaliduna.elpa.hint.model.HintDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("admin/hints")
+@PreAuthorize("isAuthenticated() and isAuthorizedUser()")
+public class HintAdminApi {
+	private static final Logger log = LoggerFactory.getLogger(HintAdminApi.class);
+
+	private final HintBulkIngestService hintBulkIngestService;
+	private final HintDeadLetterReplayer hintDeadLetterReplayer;
+	private final JsonMapper jsonMapper;
+	private final Validator validator;
+
+	public HintAdminApi(HintBulkIngestService hintBulkIngestService, HintDeadLetterReplayer hintDeadLetterReplayer,
+		JsonMapper jsonMapper, Validator validator) {
+		this.hintBulkIngestService = hintBulkIngestService;
+		this.hintDeadLetterReplayer = hintDeadLetterReplayer;
+		this.jsonMapper = jsonMapper;
+		this.validator = validator;
+	}
+
+	@PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+	@Operation(summary = "Bulk loads hints from a newline delimited JSON upload (one hint per line).")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "201", description = "CREATED", content = @Content(schema = @Schema(implementation = HintBulkIngestResult.class))),
+		@ApiResponse(responseCode = "400", description = "Invalid line, the chunks before it are committed"),
+		@ApiResponse(responseCode = "500", description = "Chunk could not be written, the chunks before it are committed")
+	})
+	public ResponseEntity<HintBulkIngestResult> bulkIngest(InputStream body) {
+		log.info("Starting bulk ingest of uploaded hints.");
+		Iterator<HintDto> hints = new ValidatingLineIterator(jsonMapper.readerFor(HintDto.class).readValues(body), validator);
+		HintBulkIngestResult result = hintBulkIngestService.ingest(hints);
+		return ResponseEntity.status(HttpStatus.CREATED).body(result);
+	}
+
+	@PostMapping(path = "/dead-letters/replay")
+	@Operation(summary = "Sends all hints parked on the dead letter topic back to the hintCreated topic.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = HintDeadLetterReplayResult.class))),
+		@ApiResponse(responseCode = "500", description = "Internal server error")
+	})
+	public ResponseEntity<HintDeadLetterReplayResult> replayDeadLetters() {
+		log.info("Starting replay of the dead letter topic.");
+		return ResponseEntity.ok(hintDeadLetterReplayer.replay());
+	}
+
+	/**
+	 * Parses and validates the uploaded hints one line at a time, like a single hint posted to {@code /hints}.
+	 */
+	private static final class ValidatingLineIterator implements Iterator<HintDto> {
+		private final Iterator<HintDto> lines;
+		private final Validator validator;
+		private long line;
+
+		private ValidatingLineIterator(Iterator<HintDto> lines, Validator validator) {
+			this.lines = lines;
+			this.validator = validator;
+		}
+
+		@Override
+		public boolean hasNext() {
+			try {
+				return lines.hasNext();
+			} catch (JacksonException e) {
+				throw new InvalidBulkIngestLineException(line + 1, e.getOriginalMessage(), e);
+			}
+		}
+
+		@Override
+		public HintDto next() {
+			line++;
+			final HintDto hint;
+			try {
+				hint = lines.next();
+			} catch (JacksonException e) {
+				throw new InvalidBulkIngestLineException(line, e.getOriginalMessage(), e);
+			}
+			final Set<ConstraintViolation<HintDto>> violations = validator.validate(hint);
+			if (!violations.isEmpty()) {
+				throw new InvalidBulkIngestLineException(line, violations.stream()
+					.map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+					.sorted()
+					.collect(Collectors.joining(", ")), null);
+			}
+			return hint;
+		}
+	}
+}
@@ -1,25 +1,40 @@
 package de.signaliduna.elpa.hint.adapter.http.api;
 
+import de.signaliduna.elpa.hint.adapter.app.exception.InvalidPageRequestException;
+import de.signaliduna.elpa.hint.adapter.app.exception.InvalidSearchRequestException;
+import de.signaliduna.elpa.hint.config.properties.HintPagingProperties;
+import de.signaliduna.elpa.hint.core.HintPage;
+import de.signaliduna.elpa.hint.core.HintPageRequest;
 import de.signaliduna.elpa.hint.core.HintService;
 import de.signaliduna.elpa.hint.model.HintDto;
 import de.signaliduna.elpa.hint.model.HintParams;
 import de.signaliduna.elpa.hint.model.HintQueryRequest;
+import de.signaliduna.elpa.hint.model.HintSummary;
 import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
@@ -29,24 +44,44 @@ import java.util.Map;
 @Validated
 public class HintApi {
 	private static final Logger log = LoggerFactory.getLogger(HintApi.class);
+	// the trigram index of the message search needs at least one trigram
+	static final int MIN_SEARCH_TEXT_LENGTH = 3;
 
 	private final HintService hintService;
+	private final HintPagingProperties hintPagingProperties;
+	private final JsonMapper jsonMapper;
 
-	public HintApi(HintService hintService) {
+	public HintApi(HintService hintService, HintPagingProperties hintPagingProperties, JsonMapper jsonMapper) {
 		this.hintService = hintService;
+		this.hintPagingProperties = hintPagingProperties;
+		this.jsonMapper = jsonMapper;
 	}
 
-	@GetMapping
-	@Operation(summary = "Returns all hints.")
+	// ALL keeps the JSON page the default for clients without Accept header, NDJSON has to be requested explicitly
+	@GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.ALL_VALUE})
+	@Operation(summary = "Returns one page of hints ordered by id. The next page is linked in the Link header (rel=next) "
+		+ "and its token is returned in the X-Continuation-Token header.")
 	@ApiResponses(value = {
 		@ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = HintDto.class))),
+		@ApiResponse(responseCode = "400", description = "Invalid page size or continuation token"),
 		@ApiResponse(responseCode = "500", description = "Internal server error")
 	})
-	public ResponseEntity<List<HintDto>> getHints(@ModelAttribute HintQueryRequest request) {
+	public ResponseEntity<List<HintDto>> getHints(@ModelAttribute HintQueryRequest request, HttpServletRequest httpServletRequest) {
 		Map<HintParams, Object> queryParams = request.toQueryParams();
-		log.info("Fetching hints with query params: {}", queryParams);
-		List<HintDto> hints = hintService.getHints(queryParams);
-		return ResponseEntity.ok(hints);
+		HintPageRequest pageRequest = toPageRequest(request);
+		log.info("Fetching hints with query params: {} and {}", queryParams, pageRequest);
+		HintPage page = hintService.getHints(queryParams, pageRequest);
+		if (!page.hasNext()) {
+			return ResponseEntity.ok(page.hints());
+		}
+		final String continuationToken = HintContinuationToken.encode(page.nextAfterId());
+		final String nextPage = ServletUriComponentsBuilder.fromRequest(httpServletRequest)
+			.replaceQueryParam(HintQueryRequest.CONTINUATION_TOKEN_PARAM, continuationToken)
+			.build().toUriString();
+		return ResponseEntity.ok()
+			.header(HintQueryRequest.CONTINUATION_TOKEN_HEADER, continuationToken)
+			.header(HttpHeaders.LINK, "<%s>; rel=\"next\"".formatted(nextPage))
+			.body(page.hints());
 	}
 
 	@GetMapping("/{id}")
@@ -62,6 +97,80 @@ public class HintApi {
 		return this.hintService.getHintById(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
 	}
 
+	@GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@Operation(summary = "Streams all matching hints ordered by id as newline delimited JSON (one hint per line). "
+		+ "Paging parameters are ignored.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "OK", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+			schema = @Schema(implementation = HintDto.class))),
+		@ApiResponse(responseCode = "500", description = "Internal server error")
+	})
+	public ResponseEntity<StreamingResponseBody> streamHints(@ModelAttribute HintQueryRequest request) {
+		Map<HintParams, Object> queryParams = request.toQueryParams();
+		log.info("Streaming hints with query params: {}", queryParams);
+		StreamingResponseBody body = outputStream -> hintService.streamHints(queryParams, hint -> {
+			try {
+				outputStream.write(jsonMapper.writeValueAsBytes(hint));
+				outputStream.write('\n');
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
+	@GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+	@Operation(summary = "Returns the hints whose message contains the words of hintTextSearch or the text of "
+		+ "hintTextOriginal, best matches first. The other filters of GET /hints apply, the page size is capped and there "
+		+ "is no next page.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = HintDto.class))),
+		@ApiResponse(responseCode = "400", description = "Missing or too short search text or invalid page size"),
+		@ApiResponse(responseCode = "500", description = "Internal server error")
+	})
+	public ResponseEntity<List<HintDto>> searchHints(@ModelAttribute HintQueryRequest request) {
+		if (!StringUtils.hasText(request.hintTextSearch()) && !StringUtils.hasText(request.hintTextOriginal())) {
+			throw new InvalidSearchRequestException("Search requires hintTextSearch or hintTextOriginal.");
+		}
+		if (request.hintTextOriginal() != null && request.hintTextOriginal().length() < MIN_SEARCH_TEXT_LENGTH) {
+			throw new InvalidSearchRequestException("hintTextOriginal must contain at least " + MIN_SEARCH_TEXT_LENGTH
+				+ " characters.");
+		}
+		Map<HintParams, Object> queryParams = request.toQueryParams();
+		final int limit = toPageSize(request.pageSize(), hintPagingProperties.getMaxSearchResults());
+		log.info("Searching hints with query params: {} and limit {}", queryParams, limit);
+		return ResponseEntity.ok(hintService.searchHints(queryParams, limit));
+	}
+
+	@GetMapping(value = "/summary", produces = MediaType.APPLICATION_JSON_VALUE)
+	@Operation(summary = "Returns the number of matching hints per hint category and, with groupByHintSource, per hint "
+		+ "source. Takes the filters of GET /hints, paging parameters are ignored.")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "OK", content = @Content(schema = @Schema(implementation = HintSummary.class))),
+		@ApiResponse(responseCode = "500", description = "Internal server error")
+	})
+	public ResponseEntity<List<HintSummary>> summarizeHints(@ModelAttribute HintQueryRequest request,
+		@RequestParam(name = HintSummary.GROUP_BY_HINT_SOURCE_PARAM, defaultValue = "false") boolean groupByHintSource) {
+		Map<HintParams, Object> queryParams = request.toQueryParams();
+		log.info("Summarizing hints with query params: {}, grouped by hint source: {}", queryParams, groupByHintSource);
+		return ResponseEntity.ok(hintService.summarizeHints(queryParams, groupByHintSource));
+	}
+
+	private HintPageRequest toPageRequest(HintQueryRequest request) {
+		final int effectivePageSize = toPageSize(request.pageSize(), hintPagingProperties.getMaxPageSize());
+		if (request.continuationToken() == null) {
+			return HintPageRequest.firstPage(effectivePageSize);
+		}
+		return new HintPageRequest(HintContinuationToken.decode(request.continuationToken()), effectivePageSize);
+	}
+
+	private static int toPageSize(Integer pageSize, int maxPageSize) {
+		if (pageSize != null && pageSize < 1) {
+			throw new InvalidPageRequestException("Page size must be positive.");
+		}
+		return pageSize == null ? maxPageSize : Math.min(pageSize, maxPageSize);
+	}
+
 	@PostMapping
 	@Operation(summary = "Saves given hints.")
 	@ApiResponses(value = {
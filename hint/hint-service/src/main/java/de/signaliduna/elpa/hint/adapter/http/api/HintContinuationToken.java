@@ -0,0 +1,36 @@
+package de.signaliduna.elpa.hint.adapter.http.api;
+
+import de.signaliduna.elpa.hint.adapter.app.exception.InvalidPageRequestException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token of GET /hints. Wraps the id of the last hint of a page as url safe base64.
+ */
+final class HintContinuationToken {
+
+	private HintContinuationToken() {}
+
+	static String encode(long afterId) {
+		final byte[] bytes = ByteBuffer.allocate(Long.BYTES).putLong(afterId).array();
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+
+	static long decode(String token) {
+		final byte[] bytes;
+		try {
+			bytes = Base64.getUrlDecoder().decode(token);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidPageRequestException("Invalid continuation token.", e);
+		}
+		if (bytes.length != Long.BYTES) {
+			throw new InvalidPageRequestException("Invalid continuation token.");
+		}
+		final long afterId = ByteBuffer.wrap(bytes).getLong();
+		if (afterId <= 0) {
+			throw new InvalidPageRequestException("Invalid continuation token.");
+		}
+		return afterId;
+	}
+}
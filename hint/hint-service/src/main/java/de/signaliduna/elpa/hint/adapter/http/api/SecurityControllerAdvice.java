@@ -1,6 +1,10 @@
 package de.signaliduna.elpa.hint.adapter.http.api;
 
+import de.signaliduna.elpa.hint.adapter.app.exception.InvalidBulkIngestLineException;
+import de.signaliduna.elpa.hint.adapter.app.exception.InvalidPageRequestException;
+import de.signaliduna.elpa.hint.adapter.app.exception.InvalidSearchRequestException;
 import de.signaliduna.elpa.hint.adapter.app.exception.SiErrorMessage;
+import de.signaliduna.elpa.hint.core.HintBulkIngestException;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,4 +51,43 @@ public class SecurityControllerAdvice {
 		final SiErrorMessage siErrorMessage = new SiErrorMessage("Request invalid", ex.getMessage());
 		return new ResponseEntity<>(siErrorMessage, HttpStatus.BAD_REQUEST);
 	}
+
+	@ExceptionHandler(InvalidPageRequestException.class)
+	public ResponseEntity<SiErrorMessage> handleInvalidPageRequestException(InvalidPageRequestException ex) {
+		final SiErrorMessage siErrorMessage = new SiErrorMessage("Request invalid", ex.getMessage());
+		return new ResponseEntity<>(siErrorMessage, HttpStatus.BAD_REQUEST);
+	}
+
+	@ExceptionHandler(InvalidSearchRequestException.class)
+	public ResponseEntity<SiErrorMessage> handleInvalidSearchRequestException(InvalidSearchRequestException ex) {
+		final SiErrorMessage siErrorMessage = new SiErrorMessage("Request invalid", ex.getMessage());
+		return new ResponseEntity<>(siErrorMessage, HttpStatus.BAD_REQUEST);
+	}
+
+	@ExceptionHandler(InvalidBulkIngestLineException.class)
+	public ResponseEntity<SiErrorMessage> handleInvalidBulkIngestLineException(InvalidBulkIngestLineException ex) {
+		log.warn("Bulk ingest stopped at invalid line {}.", ex.getLine());
+		final SiErrorMessage siErrorMessage = new SiErrorMessage("Request invalid", ex.getMessage());
+		return new ResponseEntity<>(siErrorMessage, HttpStatus.BAD_REQUEST);
+	}
+
+	// every line of the upload is one hint, the failed chunk starts after the consumed ones; the message of the driver is
+	// only logged, it may contain the statement and the values of the hints
+	@ExceptionHandler(HintBulkIngestException.class)
+	public ResponseEntity<SiErrorMessage> handleHintBulkIngestException(HintBulkIngestException ex) {
+		final long firstLine = ex.getConsumedHints() + 1;
+		final long lastLine = ex.getConsumedHints() + ex.getChunkHints();
+		if (ex.isCausedByInvalidHints()) {
+			log.warn("Bulk ingest stopped at the invalid hints of lines {} to {}.", firstLine, lastLine, ex);
+			final SiErrorMessage siErrorMessage = new SiErrorMessage("Request invalid",
+				"Lines %d to %d: chunk contains hints the database rejected, the %d lines before are committed"
+					.formatted(firstLine, lastLine, ex.getConsumedHints()));
+			return new ResponseEntity<>(siErrorMessage, HttpStatus.BAD_REQUEST);
+		}
+		log.error("Bulk ingest failed at lines {} to {}.", firstLine, lastLine, ex);
+		final SiErrorMessage siErrorMessage = new SiErrorMessage("Bulk ingest failed",
+			"Lines %d to %d: chunk could not be written, the %d lines before are committed"
+				.formatted(firstLine, lastLine, ex.getConsumedHints()));
+		return new ResponseEntity<>(siErrorMessage, HttpStatus.INTERNAL_SERVER_ERROR);
+	}
 }
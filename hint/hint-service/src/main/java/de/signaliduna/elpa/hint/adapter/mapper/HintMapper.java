@@ -11,6 +11,10 @@ public interface HintMapper {
 	@Mapping(target = "id", ignore = true)
 	HintEntity dtoToEntity(HintDto dto);
 
+	// the idempotency key is only used to skip duplicates when saving, the message is rendered by the entity
+	@Mapping(target = "idempotencyKey", ignore = true)
+	@Mapping(target = "messageTemplate", ignore = true)
+	@Mapping(target = "messageArgs", ignore = true)
 	HintDto entityToDto(HintEntity entity);
 }
 
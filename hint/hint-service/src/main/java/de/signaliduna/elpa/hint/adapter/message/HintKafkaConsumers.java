@@ -0,0 +1,42 @@
+package de.signaliduna.elpa.hint.adapter.message;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates plain Kafka consumers outside of the bindings. The binder configuration lives in the child context of the
+ * binder, so the consumers are configured from the binder properties.
+ */
+public final class HintKafkaConsumers {
+	private static final String BINDER_PREFIX = "spring.cloud.stream.kafka.binder";
+
+	private HintKafkaConsumers() {}
+
+	/**
+	 * Creates a consumer of raw records that commits manually and starts at the earliest offset of partitions without
+	 * committed offset.
+	 *
+	 * @param overrides consumer configuration replacing the binder configuration
+	 */
+	public static Consumer<byte[], byte[]> create(Environment environment, String group, Map<String, ?> overrides) {
+		final Binder binder = Binder.get(environment);
+		final Map<String, Object> configuration = new HashMap<>(binder.bind(BINDER_PREFIX + ".configuration",
+			Bindable.mapOf(String.class, Object.class)).orElseGet(Map::of));
+		configuration.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, binder.bind(BINDER_PREFIX + ".brokers", String.class).get());
+		configuration.put(ConsumerConfig.GROUP_ID_CONFIG, group);
+		configuration.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+		configuration.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+		configuration.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+		configuration.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+		configuration.putAll(overrides);
+		return new KafkaConsumer<>(configuration);
+	}
+}
@@ -0,0 +1,40 @@
+package de.signaliduna.elpa.hint.adapter.message;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates plain Kafka producers outside of the bindings, for senders that need the result of every send. Like
+ * {@link HintKafkaConsumers}, the producers are configured from the binder properties.
+ */
+public final class HintKafkaProducers {
+	private static final String BINDER_PREFIX = "spring.cloud.stream.kafka.binder";
+
+	private HintKafkaProducers() {}
+
+	/**
+	 * Creates a producer of raw records.
+	 *
+	 * @param overrides producer configuration replacing the binder configuration
+	 */
+	public static Producer<byte[], byte[]> create(Environment environment, Map<String, ?> overrides) {
+		final Binder binder = Binder.get(environment);
+		final Map<String, Object> configuration = new HashMap<>(binder.bind(BINDER_PREFIX + ".configuration",
+			Bindable.mapOf(String.class, Object.class)).orElseGet(Map::of));
+		configuration.putAll(binder.bind(BINDER_PREFIX + ".producer-properties",
+			Bindable.mapOf(String.class, Object.class)).orElseGet(Map::of));
+		configuration.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, binder.bind(BINDER_PREFIX + ".brokers", String.class).get());
+		configuration.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+		configuration.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+		configuration.putAll(overrides);
+		return new KafkaProducer<>(configuration);
+	}
+}
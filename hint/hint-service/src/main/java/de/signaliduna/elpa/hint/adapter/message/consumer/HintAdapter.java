@@ -1,25 +1,48 @@
 package de.signaliduna.elpa.hint.adapter.message.consumer;
 
+import de.signaliduna.elpa.hint.adapter.message.retry.HintIngestRecoverer;
 import de.signaliduna.elpa.hint.model.HintDto;
-import de.signaliduna.elpa.hint.core.HintService;
+import de.signaliduna.elpa.hint.core.HintParallelWriter;
+import de.signaliduna.elpa.hint.core.HintShardSaveException;
 import io.github.springwolf.core.asyncapi.annotations.AsyncListener;
 import io.github.springwolf.core.asyncapi.annotations.AsyncOperation;
 import io.github.springwolf.bindings.kafka.annotations.KafkaAsyncOperationBinding;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Consumer;
 
 @Component
 public class HintAdapter {
 	private static final Logger log = LoggerFactory.getLogger(HintAdapter.class);
-	private final HintService hintService;
+	private static final LogAccessor deserializationLog = new LogAccessor(HintAdapter.class);
+	private final HintParallelWriter hintParallelWriter;
+	private final HintIngestRecoverer hintIngestRecoverer;
+	private final HintIngestBackpressure hintIngestBackpressure;
+	private final ObjectProvider<HintExactlyOnceIngest> hintExactlyOnceIngest;
 
-	public HintAdapter(HintService hintService) {
-		this.hintService = hintService;
+	public HintAdapter(HintParallelWriter hintParallelWriter, HintIngestRecoverer hintIngestRecoverer,
+		HintIngestBackpressure hintIngestBackpressure, ObjectProvider<HintExactlyOnceIngest> hintExactlyOnceIngest) {
+		this.hintParallelWriter = hintParallelWriter;
+		this.hintIngestRecoverer = hintIngestRecoverer;
+		this.hintIngestBackpressure = hintIngestBackpressure;
+		this.hintExactlyOnceIngest = hintExactlyOnceIngest;
 	}
 
 	@Bean
@@ -29,10 +52,82 @@ public class HintAdapter {
 		payloadType = HintDto.class
 	))
 	@KafkaAsyncOperationBinding
-	public Consumer<HintDto> hintCreated() {
-		return hintDto -> {
-			log.info("Saved hint: {} for process-id: {}", hintDto, hintDto.processId());
-			this.hintService.saveHints(List.of(hintDto));
+	// bound in batch mode, the offsets of a poll are committed after all of its records are saved
+	public Consumer<Message<List<HintDto>>> hintCreated() {
+		// null if exactly-once ingest is disabled
+		final HintExactlyOnceIngest exactlyOnceIngest = this.hintExactlyOnceIngest.getIfAvailable();
+		return received -> {
+			final Message<List<HintDto>> batch = deadLetterUndecodableRecords(received);
+			final List<HintDto> hintDtos = batch.getPayload();
+			final long start = System.nanoTime();
+			try {
+				if (exactlyOnceIngest == null) {
+					this.hintParallelWriter.saveHints(hintDtos);
+				} else {
+					// one transaction for the whole batch, so the offsets are stored together with all of its hints
+					exactlyOnceIngest.saveHints(batch);
+				}
+				log.info("Saved {} hints for process-ids: {}", hintDtos.size(),
+					hintDtos.stream().map(HintDto::processId).distinct().toList());
+			} catch (HintShardSaveException e) {
+				// the other shards are committed, only the failed ones are parked on the retry topic
+				this.hintIngestRecoverer.recover(e.getFailedHints(), 0, e.getCause());
+			} catch (RuntimeException e) {
+				// parks the batch on the retry topic instead of blocking the partition
+				this.hintIngestRecoverer.recover(hintDtos, 0, e);
+				if (exactlyOnceIngest != null) {
+					exactlyOnceIngest.skipHints(batch);
+				}
+			} finally {
+				this.hintIngestBackpressure.recordSave(Duration.ofNanos(System.nanoTime() - start));
+			}
 		};
 	}
+
+	/**
+	 * Sends the records the {@link HintDtoDeserializer} could not read to the dead letter topic as they were received,
+	 * the ErrorHandlingDeserializer hands them over as null and keeps their raw value in a header. The headers of the
+	 * batch are kept, so their offsets are committed with it.
+	 */
+	private Message<List<HintDto>> deadLetterUndecodableRecords(Message<List<HintDto>> batch) {
+		final List<HintDto> received = batch.getPayload();
+		if (received.stream().noneMatch(Objects::isNull)) {
+			return batch;
+		}
+		final List<?> recordHeaders = batch.getHeaders().get(KafkaHeaders.BATCH_CONVERTED_HEADERS, List.class);
+		final List<?> keys = batch.getHeaders().get(KafkaHeaders.RECEIVED_KEY, List.class);
+		final List<HintDto> hintDtos = new ArrayList<>(received.size());
+		for (int index = 0; index < received.size(); index++) {
+			if (received.get(index) != null) {
+				hintDtos.add(received.get(index));
+				continue;
+			}
+			final DeserializationException failure =
+				deserializationException(recordHeaders == null ? Map.of() : (Map<?, ?>) recordHeaders.get(index));
+			final byte[] key = keys != null && keys.get(index) instanceof byte[] bytes ? bytes : null;
+			this.hintIngestRecoverer.deadLetterUndecodable(failure.getData(), key,
+				HintDtoDeserializer.contentType(failure.getHeaders()), failure);
+		}
+		return MessageBuilder.withPayload(List.copyOf(hintDtos)).copyHeaders(batch.getHeaders()).build();
+	}
+
+	// the header mapper passes the header through or returns its raw bytes
+	private static DeserializationException deserializationException(Map<?, ?> recordHeaders) {
+		final Object header = recordHeaders.get(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER);
+		DeserializationException failure = null;
+		if (header instanceof DeserializationException exception) {
+			failure = exception;
+		} else if (header instanceof Header kafkaHeader) {
+			failure = SerializationUtils.byteArrayToDeserializationException(deserializationLog, kafkaHeader);
+		} else if (header instanceof byte[] value) {
+			failure = SerializationUtils.byteArrayToDeserializationException(deserializationLog,
+				new RecordHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, value));
+		}
+		if (failure == null) {
+			// fails the batch, so the record is delivered again instead of being lost
+			throw new IllegalStateException("Undecodable record without readable "
+				+ SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER + " header");
+		}
+		return failure;
+	}
 }
@@ -0,0 +1,64 @@
+package de.signaliduna.elpa.hint.adapter.message.consumer;
+
+import de.signaliduna.elpa.hint.model.HintBinaryCodec;
+import de.signaliduna.elpa.hint.model.HintDto;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.util.MimeTypeUtils;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads hintCreated records as JSON or, if their content type header is {@value HintBinaryCodec#CONTENT_TYPE}, in the
+ * binary format of {@link HintBinaryCodec}. The batch binding decodes the records natively with this deserializer,
+ * because the message conversion of a batch only sees the content type of the first record.
+ */
+public class HintDtoDeserializer implements Deserializer<HintDto> {
+	private final JsonMapper jsonMapper;
+
+	// instantiated by the Kafka consumer
+	public HintDtoDeserializer() {
+		this(JsonMapper.builder().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).build());
+	}
+
+	public HintDtoDeserializer(JsonMapper jsonMapper) {
+		this.jsonMapper = jsonMapper;
+	}
+
+	@Override
+	public HintDto deserialize(String topic, byte[] data) {
+		return deserialize(topic, null, data);
+	}
+
+	@Override
+	public HintDto deserialize(String topic, Headers headers, byte[] data) {
+		if (data == null) {
+			return null;
+		}
+		try {
+			return isBinary(headers) ? HintBinaryCodec.decode(data) : jsonMapper.readValue(data, HintDto.class);
+		} catch (JacksonException | IllegalArgumentException e) {
+			throw new SerializationException("Record of " + topic + " is no hint", e);
+		}
+	}
+
+	/**
+	 * Returns the content type the record was written in, so a record forwarded as raw bytes is read the same way again.
+	 */
+	public static String contentType(Headers headers) {
+		return isBinary(headers) ? HintBinaryCodec.CONTENT_TYPE : MimeTypeUtils.APPLICATION_JSON_VALUE;
+	}
+
+	private static boolean isBinary(Headers headers) {
+		final Header contentType = headers == null ? null : headers.lastHeader(MessageHeaders.CONTENT_TYPE);
+		// the binder writes the header as JSON string, other producers as plain text
+		return contentType != null && contentType.value() != null
+			&& new String(contentType.value(), StandardCharsets.UTF_8).contains(HintBinaryCodec.CONTENT_TYPE);
+	}
+}
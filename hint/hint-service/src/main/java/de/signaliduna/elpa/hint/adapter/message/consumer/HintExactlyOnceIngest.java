@@ -0,0 +1,88 @@
+package de.signaliduna.elpa.hint.adapter.message.consumer;
+
+import de.signaliduna.elpa.hint.config.properties.HintConsumerProperties;
+import de.signaliduna.elpa.hint.core.HintConsumerOffset;
+import de.signaliduna.elpa.hint.core.HintService;
+import de.signaliduna.elpa.hint.model.HintDto;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.stream.binder.kafka.KafkaBindingRebalanceListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Stores the offsets of the consumed hintCreated records in the same transaction as their hints and seeks to the stored
+ * offsets whenever partitions are assigned, so a crash between saving and the Kafka offset commit neither duplicates
+ * nor loses hints. The Kafka offset commits are kept, partitions without stored offset start from them.
+ */
+@Component
+@ConditionalOnProperty(prefix = HintConsumerProperties.PREFIX, name = "exactly-once", havingValue = "true")
+public class HintExactlyOnceIngest implements KafkaBindingRebalanceListener {
+	static final String BINDING = "hintCreated-in-0";
+	private static final Logger log = LoggerFactory.getLogger(HintExactlyOnceIngest.class);
+
+	private final HintService hintService;
+	private final String consumerGroup;
+
+	public HintExactlyOnceIngest(HintService hintService,
+		@Value("${spring.cloud.stream.bindings.hintCreated-in-0.group}") String consumerGroup) {
+		this.hintService = hintService;
+		this.consumerGroup = consumerGroup;
+	}
+
+	/**
+	 * Saves the hints of a batch together with the offsets following its records.
+	 */
+	public void saveHints(Message<List<HintDto>> batch) {
+		hintService.saveHints(batch.getPayload(), offsets(batch));
+	}
+
+	/**
+	 * Stores the offsets following the records of a batch whose hints were handed over to the retry topic.
+	 */
+	public void skipHints(Message<List<HintDto>> batch) {
+		hintService.saveOffsets(offsets(batch));
+	}
+
+	@Override
+	public void onPartitionsAssigned(String bindingName, Consumer<?, ?> consumer, Collection<TopicPartition> partitions,
+		boolean initial) {
+		if (!BINDING.equals(bindingName)) {
+			return;
+		}
+		partitions.stream().collect(Collectors.groupingBy(TopicPartition::topic,
+				Collectors.mapping(TopicPartition::partition, Collectors.toList())))
+			.forEach((topic, topicPartitions) -> hintService.getOffsets(consumerGroup, topic, topicPartitions)
+				.forEach((partition, nextOffset) -> {
+					log.info("Seeking {}-{} to the stored offset {}.", topic, partition, nextOffset);
+					consumer.seek(new TopicPartition(topic, partition), nextOffset);
+				}));
+	}
+
+	// in batch mode the record headers are lists with one entry per record
+	private List<HintConsumerOffset> offsets(Message<List<HintDto>> batch) {
+		final List<?> topics = batch.getHeaders().get(KafkaHeaders.RECEIVED_TOPIC, List.class);
+		final List<?> partitions = batch.getHeaders().get(KafkaHeaders.RECEIVED_PARTITION, List.class);
+		final List<?> offsets = batch.getHeaders().get(KafkaHeaders.OFFSET, List.class);
+		final Map<TopicPartition, Long> nextOffsets = new LinkedHashMap<>();
+		for (int index = 0; index < offsets.size(); index++) {
+			nextOffsets.merge(new TopicPartition((String) topics.get(index), (Integer) partitions.get(index)),
+				(Long) offsets.get(index) + 1, Math::max);
+		}
+		return nextOffsets.entrySet().stream()
+			.map(nextOffset -> new HintConsumerOffset(consumerGroup, nextOffset.getKey().topic(),
+				nextOffset.getKey().partition(), nextOffset.getValue()))
+			.toList();
+	}
+}
@@ -0,0 +1,98 @@
+package de.signaliduna.elpa.hint.adapter.message.consumer;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import de.signaliduna.elpa.hint.config.properties.HintConsumerProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.stream.binding.BindingsLifecycleController;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.IntSupplier;
+
+/**
+ * Pauses the hintCreated binding while the database is saturated, so the REST reads still get connections of the pool.
+ * Saturation is detected by the threads waiting for a connection of the primary pool and by the latency of the last
+ * saved batch. A paused binding keeps its partitions, the records are consumed once it is resumed.
+ */
+@Component
+public class HintIngestBackpressure {
+	static final String BINDING = "hintCreated-in-0";
+	private static final Logger log = LoggerFactory.getLogger(HintIngestBackpressure.class);
+
+	private final BindingsLifecycleController bindingsLifecycleController;
+	private final IntSupplier pendingConnections;
+	private final HintConsumerProperties.Backpressure backpressure;
+	private final Clock clock;
+	private volatile Duration lastSaveLatency = Duration.ZERO;
+	private volatile Instant pausedAt;
+
+	@Autowired
+	public HintIngestBackpressure(BindingsLifecycleController bindingsLifecycleController, DataSource dataSource,
+		HintConsumerProperties hintConsumerProperties, MeterRegistry meterRegistry) {
+		this(bindingsLifecycleController, () -> pendingConnections(dataSource), hintConsumerProperties, meterRegistry,
+			Clock.systemUTC());
+	}
+
+	HintIngestBackpressure(BindingsLifecycleController bindingsLifecycleController, IntSupplier pendingConnections,
+		HintConsumerProperties hintConsumerProperties, MeterRegistry meterRegistry, Clock clock) {
+		this.bindingsLifecycleController = bindingsLifecycleController;
+		this.pendingConnections = pendingConnections;
+		this.backpressure = hintConsumerProperties.getBackpressure();
+		this.clock = clock;
+		Gauge.builder("hint.ingest.throttled", this, hintIngestBackpressure -> hintIngestBackpressure.isThrottled() ? 1 : 0)
+			.description("1 while the hintCreated binding is paused because the database is saturated")
+			.register(meterRegistry);
+	}
+
+	public void recordSave(Duration latency) {
+		lastSaveLatency = latency;
+	}
+
+	public boolean isThrottled() {
+		return pausedAt != null;
+	}
+
+	@Scheduled(fixedDelayString = "${elpa.hint.consumer.backpressure.check-interval:1s}")
+	public void check() {
+		if (!backpressure.isEnabled()) {
+			return;
+		}
+		final int pending = pendingConnections.getAsInt();
+		if (pausedAt == null) {
+			if (pending > backpressure.getMaxPendingConnections()
+				|| lastSaveLatency.compareTo(backpressure.getMaxSaveLatency()) > 0) {
+				log.warn("Database is saturated ({} threads waiting for a connection, last batch saved in {}), pausing {}.",
+					pending, lastSaveLatency, BINDING);
+				bindingsLifecycleController.changeState(BINDING, BindingsLifecycleController.State.PAUSED);
+				pausedAt = clock.instant();
+			}
+		} else if (pending <= backpressure.getResumePendingConnections()
+			&& !clock.instant().isBefore(pausedAt.plus(backpressure.getMinPause()))) {
+			log.info("Database recovered after a pause of {}, resuming {}.", Duration.between(pausedAt, clock.instant()), BINDING);
+			// the latency of the batches saved before the pause says nothing about the recovered database
+			lastSaveLatency = Duration.ZERO;
+			bindingsLifecycleController.changeState(BINDING, BindingsLifecycleController.State.RESUMED);
+			pausedAt = null;
+		}
+	}
+
+	// the primary datasource may be wrapped for the read replica, the pool is created with the first connection
+	static int pendingConnections(DataSource dataSource) {
+		try {
+			final HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+			return pool == null ? 0 : pool.getThreadsAwaitingConnection();
+		} catch (SQLException e) {
+			throw new IllegalStateException("Primary datasource is no Hikari pool", e);
+		}
+	}
+}
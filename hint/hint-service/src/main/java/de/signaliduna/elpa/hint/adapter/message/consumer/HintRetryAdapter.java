@@ -0,0 +1,64 @@
+package de.signaliduna.elpa.hint.adapter.message.consumer;
+
+import de.signaliduna.elpa.hint.adapter.message.retry.HintIngestRecoverer;
+import de.signaliduna.elpa.hint.core.HintService;
+import de.signaliduna.elpa.hint.model.HintDto;
+import io.github.springwolf.bindings.kafka.annotations.KafkaAsyncOperationBinding;
+import io.github.springwolf.core.asyncapi.annotations.AsyncListener;
+import io.github.springwolf.core.asyncapi.annotations.AsyncOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Component
+public class HintRetryAdapter {
+	private static final Logger log = LoggerFactory.getLogger(HintRetryAdapter.class);
+	private final HintService hintService;
+	private final HintIngestRecoverer hintIngestRecoverer;
+
+	public HintRetryAdapter(HintService hintService, HintIngestRecoverer hintIngestRecoverer) {
+		this.hintService = hintService;
+		this.hintIngestRecoverer = hintIngestRecoverer;
+	}
+
+	@Bean
+	@AsyncListener(operation = @AsyncOperation(
+		channelName = "${topics.hintCreatedRetry}",
+		description = "Retries a hint that could not be saved",
+		payloadType = HintDto.class
+	))
+	@KafkaAsyncOperationBinding
+	// waits until the backoff of the record has passed, this blocks only the partition of the retry topic; the binding
+	// polls one record at a time, so the wait plus a save blocked on the pool stays within max.poll.interval.ms
+	public Consumer<Message<HintDto>> hintCreatedRetry() {
+		return message -> {
+			final int attempt = HintIngestRecoverer.attempt(message);
+			waitUntil(HintIngestRecoverer.notBefore(message));
+			try {
+				this.hintService.saveHints(List.of(message.getPayload()));
+				log.info("Saved hint for process-id: {} in retry attempt {}", message.getPayload().processId(), attempt);
+			} catch (RuntimeException e) {
+				this.hintIngestRecoverer.recover(List.of(message.getPayload()), attempt, e);
+			}
+		};
+	}
+
+	private static void waitUntil(Instant notBefore) {
+		final Duration backoff = Duration.between(Instant.now(), notBefore);
+		if (backoff.isPositive()) {
+			try {
+				Thread.sleep(backoff);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for the retry backoff", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package de.signaliduna.elpa.hint.adapter.message.outbox;
+
+import de.signaliduna.elpa.hint.adapter.database.HintOutboxRepository;
+import de.signaliduna.elpa.hint.adapter.message.HintKafkaProducers;
+import de.signaliduna.elpa.hint.config.properties.HintOutboxProperties;
+import de.signaliduna.elpa.hint.model.HintSavedEvent;
+import io.github.springwolf.bindings.kafka.annotations.KafkaAsyncOperationBinding;
+import io.github.springwolf.core.asyncapi.annotations.AsyncOperation;
+import io.github.springwolf.core.asyncapi.annotations.AsyncPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Publishes the hint-saved events queued in the outbox table, so consumers react to new hints instead of polling
+ * {@code GET /hints}. Each batch is claimed, published and deleted in one transaction in hint id order; the batches
+ * are relayed by one instance at a time, the others skip the run. The events of a batch are sent at once and the
+ * transaction commits after all of them are acknowledged. If publishing fails, the batch stays queued and is published
+ * again, so events may be delivered twice.
+ * <p>
+ * The binding of Spring Cloud Stream does not return the result of an asynchronous send, so the events are sent with a
+ * plain producer configured from the binder properties.
+ */
+@Component
+@ConditionalOnProperty(prefix = HintOutboxProperties.PREFIX, name = "enabled", matchIfMissing = true)
+public class HintOutboxRelay implements AutoCloseable {
+	private static final Logger log = LoggerFactory.getLogger(HintOutboxRelay.class);
+
+	private final HintOutboxRepository hintOutboxRepository;
+	private final Producer<byte[], byte[]> producer;
+	private final JsonMapper jsonMapper;
+	private final String topic;
+	private final TransactionOperations transactionOperations;
+	private final int batchSize;
+	private final Counter publishedEvents;
+
+	@Autowired
+	public HintOutboxRelay(HintOutboxRepository hintOutboxRepository, Environment environment, JsonMapper jsonMapper,
+		@Value("${topics.hintSaved}") String topic, TransactionOperations transactionOperations,
+		HintOutboxProperties hintOutboxProperties, MeterRegistry meterRegistry) {
+		this(hintOutboxRepository, HintKafkaProducers.create(environment, hintOutboxProperties.getProducer()), jsonMapper,
+			topic, transactionOperations, hintOutboxProperties, meterRegistry);
+	}
+
+	HintOutboxRelay(HintOutboxRepository hintOutboxRepository, Producer<byte[], byte[]> producer, JsonMapper jsonMapper,
+		String topic, TransactionOperations transactionOperations, HintOutboxProperties hintOutboxProperties,
+		MeterRegistry meterRegistry) {
+		this.hintOutboxRepository = hintOutboxRepository;
+		this.producer = producer;
+		this.jsonMapper = jsonMapper;
+		this.topic = topic;
+		this.transactionOperations = transactionOperations;
+		this.batchSize = hintOutboxProperties.getBatchSize();
+		this.publishedEvents = Counter.builder("hint.outbox.published")
+			.description("Hint-saved events published from the outbox")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Publishes batches until a batch is not full anymore or another instance holds the relay lock.
+	 *
+	 * @return number of published events
+	 */
+	@Scheduled(fixedDelayString = "${elpa.hint.outbox.interval:500ms}")
+	public long relay() {
+		long published = 0;
+		int batch;
+		do {
+			batch = transactionOperations.execute(status -> publishBatch());
+			published += batch;
+		} while (batch == batchSize);
+		log.debug("Published {} hint-saved events.", published);
+		return published;
+	}
+
+	private int publishBatch() {
+		if (!hintOutboxRepository.tryLockRelay()) {
+			log.debug("Hint-saved events are relayed by another instance.");
+			return 0;
+		}
+		final List<HintSavedEvent> events = hintOutboxRepository.claimEvents(batchSize);
+		// the producer batches the events per partition; it is idempotent by default, so the events of one process keep
+		// their order on the partition although several requests are in flight
+		final List<Future<RecordMetadata>> sends = events.stream().map(this::publish).toList();
+		for (int i = 0; i < events.size(); i++) {
+			awaitSent(events.get(i), sends.get(i));
+		}
+		publishedEvents.increment(events.size());
+		return events.size();
+	}
+
+	@AsyncPublisher(operation = @AsyncOperation(
+		channelName = "${topics.hintSaved}",
+		description = "Published after a hint was saved",
+		payloadType = HintSavedEvent.class
+	))
+	@KafkaAsyncOperationBinding
+	public Future<RecordMetadata> publish(HintSavedEvent event) {
+		// the events of one process share a partition
+		return producer.send(new ProducerRecord<>(topic, event.processId().getBytes(StandardCharsets.UTF_8),
+			jsonMapper.writeValueAsBytes(event)));
+	}
+
+	// a send completes within delivery.timeout.ms of the producer, acknowledged or failed
+	private static void awaitSent(HintSavedEvent event, Future<RecordMetadata> send) {
+		try {
+			send.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while publishing the hint-saved event of hint " + event.hintId(), e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Hint-saved event of hint " + event.hintId() + " could not be published",
+				e.getCause());
+		}
+	}
+
+	@Override
+	public void close() {
+		producer.close();
+	}
+}
@@ -0,0 +1,12 @@
+package de.signaliduna.elpa.hint.adapter.message.replay;
+
+/**
+ * Outcome of a replay of the hintCreated topic.
+ *
+ * @param records        number of records read within the replayed range
+ * @param hints          number of hints written, without the skipped duplicates
+ * @param invalidRecords number of records that could not be read as hint and were skipped
+ * @param durationMillis wall clock time of the whole run
+ */
+public record HintTopicReplayResult(long records, long hints, long invalidRecords, long durationMillis) {
+}
@@ -0,0 +1,33 @@
+package de.signaliduna.elpa.hint.adapter.message.replay;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the service as one-off replay job: the {@code replay} profile starts neither the web server nor the bindings,
+ * replays the configured range of the topic and shuts the service down afterward. A failed replay fails the start of the
+ * service, so the job ends with a non-zero exit code.
+ */
+@Component
+@Profile(HintTopicReplayRunner.PROFILE)
+public class HintTopicReplayRunner implements ApplicationRunner {
+	public static final String PROFILE = "replay";
+
+	private final HintTopicReplayer hintTopicReplayer;
+	private final ConfigurableApplicationContext applicationContext;
+
+	public HintTopicReplayRunner(HintTopicReplayer hintTopicReplayer, ConfigurableApplicationContext applicationContext) {
+		this.hintTopicReplayer = hintTopicReplayer;
+		this.applicationContext = applicationContext;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		hintTopicReplayer.replay();
+		SpringApplication.exit(applicationContext);
+	}
+}
@@ -0,0 +1,229 @@
+package de.signaliduna.elpa.hint.adapter.message.replay;
+
+import de.signaliduna.elpa.hint.adapter.message.HintKafkaConsumers;
+import de.signaliduna.elpa.hint.adapter.message.consumer.HintDtoDeserializer;
+import de.signaliduna.elpa.hint.config.properties.HintBulkIngestProperties;
+import de.signaliduna.elpa.hint.config.properties.HintReplayProperties;
+import de.signaliduna.elpa.hint.core.HintBulkIngestService;
+import de.signaliduna.elpa.hint.model.HintDto;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.SerializationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Rebuilds the hint table from a range of the hintCreated topic. The records are read with large fetches outside of the
+ * bindings and written with {@link HintBulkIngestService}; after every chunk the consumed offsets are committed in an
+ * own consumer group as checkpoint. An aborted replay continues after the last committed chunk, hints of a chunk that
+ * was written but not checkpointed are skipped by their idempotency key.
+ */
+@Component
+@Profile(HintTopicReplayRunner.PROFILE)
+public class HintTopicReplayer {
+	private static final Logger log = LoggerFactory.getLogger(HintTopicReplayer.class);
+	private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+	private final Supplier<Consumer<byte[], byte[]>> consumerFactory;
+	private final HintBulkIngestService hintBulkIngestService;
+	private final HintDtoDeserializer hintDtoDeserializer;
+	private final HintReplayProperties replay;
+	private final int chunkSize;
+
+	@Autowired
+	public HintTopicReplayer(Environment environment, HintBulkIngestService hintBulkIngestService, JsonMapper jsonMapper,
+		HintReplayProperties hintReplayProperties, HintBulkIngestProperties hintBulkIngestProperties) {
+		this(() -> HintKafkaConsumers.create(environment, hintReplayProperties.getGroup(),
+				hintReplayProperties.getConsumer()),
+			hintBulkIngestService, jsonMapper, hintReplayProperties, hintBulkIngestProperties.getChunkSize());
+	}
+
+	HintTopicReplayer(Supplier<Consumer<byte[], byte[]>> consumerFactory, HintBulkIngestService hintBulkIngestService,
+		JsonMapper jsonMapper, HintReplayProperties hintReplayProperties, int chunkSize) {
+		this.consumerFactory = consumerFactory;
+		this.hintBulkIngestService = hintBulkIngestService;
+		this.hintDtoDeserializer = new HintDtoDeserializer(jsonMapper);
+		this.replay = hintReplayProperties;
+		this.chunkSize = chunkSize;
+	}
+
+	public HintTopicReplayResult replay() {
+		final long start = System.nanoTime();
+		final long progressIntervalNanos = replay.getProgressInterval().toNanos();
+		long nextProgress = start + progressIntervalNanos;
+		long records = 0;
+		long hints = 0;
+		long invalidRecords = 0;
+		try (Consumer<byte[], byte[]> consumer = consumerFactory.get()) {
+			final List<TopicPartition> partitions = consumer.partitionsFor(replay.getTopic()).stream()
+				.map(partition -> new TopicPartition(partition.topic(), partition.partition()))
+				.toList();
+			consumer.assign(partitions);
+			final Map<TopicPartition, Long> endOffsets = endOffsets(consumer, partitions);
+			seekToStart(consumer, partitions);
+			final long total = partitions.stream()
+				.mapToLong(partition -> Math.max(0, endOffsets.get(partition) - consumer.position(partition)))
+				.sum();
+			log.info("Replaying {} records of {}.", total, replay.getTopic());
+
+			final List<HintDto> chunk = new ArrayList<>(chunkSize);
+			final Map<TopicPartition, OffsetAndMetadata> checkpoint = new HashMap<>();
+			while (!pauseCompletedPartitions(consumer, partitions, endOffsets)) {
+				for (ConsumerRecord<byte[], byte[]> hintRecord : consumer.poll(POLL_TIMEOUT)) {
+					final TopicPartition partition = new TopicPartition(hintRecord.topic(), hintRecord.partition());
+					if (hintRecord.offset() < endOffsets.get(partition)) {
+						records++;
+						final HintDto hint = read(hintRecord);
+						if (hint == null) {
+							invalidRecords++;
+						} else {
+							chunk.add(hint);
+						}
+						checkpoint.put(partition, new OffsetAndMetadata(hintRecord.offset() + 1));
+					}
+				}
+				if (chunk.size() >= chunkSize) {
+					hints += writeChunk(consumer, chunk, checkpoint);
+				}
+				if (System.nanoTime() >= nextProgress) {
+					log.info("Replayed {} of {} records ({} records/sec), {} hints written.", records, total,
+						recordsPerSecond(records, System.nanoTime() - start), hints);
+					nextProgress += progressIntervalNanos;
+				}
+			}
+			hints += writeChunk(consumer, chunk, checkpoint);
+		}
+		final long durationNanos = System.nanoTime() - start;
+		log.info("Replayed {} records of {} within {} ms ({} records/sec): {} hints written, {} invalid records skipped.",
+			records, replay.getTopic(), TimeUnit.NANOSECONDS.toMillis(durationNanos),
+			recordsPerSecond(records, durationNanos), hints, invalidRecords);
+		return new HintTopicReplayResult(records, hints, invalidRecords, TimeUnit.NANOSECONDS.toMillis(durationNanos));
+	}
+
+	/**
+	 * Continues after the committed checkpoint, otherwise starts at the configured offset or timestamp.
+	 */
+	private void seekToStart(Consumer<byte[], byte[]> consumer, List<TopicPartition> partitions) {
+		final Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(new HashSet<>(partitions));
+		final Map<TopicPartition, OffsetAndTimestamp> fromTimestamp = offsetsForTime(consumer, partitions,
+			replay.getFromTimestamp());
+		for (TopicPartition partition : partitions) {
+			final OffsetAndMetadata checkpoint = committed.get(partition);
+			final Long fromOffset = replay.getFromOffsets().get(partition.partition());
+			if (checkpoint != null) {
+				consumer.seek(partition, checkpoint.offset());
+			} else if (fromOffset != null) {
+				consumer.seek(partition, fromOffset);
+			} else if (replay.getFromTimestamp() != null) {
+				seek(consumer, partition, fromTimestamp.get(partition));
+			} else {
+				consumer.seekToBeginning(List.of(partition));
+			}
+		}
+	}
+
+	private static void seek(Consumer<byte[], byte[]> consumer, TopicPartition partition, OffsetAndTimestamp offset) {
+		if (offset == null) {
+			// no record at or after the timestamp
+			consumer.seekToEnd(List.of(partition));
+		} else {
+			consumer.seek(partition, offset.offset());
+		}
+	}
+
+	/**
+	 * Returns the first offset per partition that is not replayed, never beyond the end offsets at the start.
+	 */
+	private Map<TopicPartition, Long> endOffsets(Consumer<byte[], byte[]> consumer, List<TopicPartition> partitions) {
+		final Map<TopicPartition, Long> endOffsets = new HashMap<>(consumer.endOffsets(partitions));
+		final Map<TopicPartition, OffsetAndTimestamp> toTimestamp = offsetsForTime(consumer, partitions,
+			replay.getToTimestamp());
+		for (TopicPartition partition : partitions) {
+			final Long toOffset = replay.getToOffsets().get(partition.partition());
+			final OffsetAndTimestamp toTimestampOffset = toTimestamp.get(partition);
+			if (toOffset != null) {
+				endOffsets.merge(partition, toOffset, Math::min);
+			} else if (toTimestampOffset != null) {
+				endOffsets.merge(partition, toTimestampOffset.offset(), Math::min);
+			}
+		}
+		return endOffsets;
+	}
+
+	private static Map<TopicPartition, OffsetAndTimestamp> offsetsForTime(Consumer<byte[], byte[]> consumer,
+		List<TopicPartition> partitions, Instant timestamp) {
+		if (timestamp == null) {
+			return Map.of();
+		}
+		// the map contains null for partitions without record at or after the timestamp
+		return consumer.offsetsForTimes(partitions.stream()
+			.collect(Collectors.toMap(partition -> partition, partition -> timestamp.toEpochMilli())));
+	}
+
+	/**
+	 * Pauses the partitions that reached their end offset, so they are not fetched anymore.
+	 *
+	 * @return true if all partitions reached their end offset
+	 */
+	private static boolean pauseCompletedPartitions(Consumer<byte[], byte[]> consumer, List<TopicPartition> partitions,
+		Map<TopicPartition, Long> endOffsets) {
+		final List<TopicPartition> completed = partitions.stream()
+			.filter(partition -> consumer.position(partition) >= endOffsets.get(partition))
+			.toList();
+		consumer.pause(completed);
+		return completed.size() == partitions.size();
+	}
+
+	private HintDto read(ConsumerRecord<byte[], byte[]> hintRecord) {
+		if (hintRecord.value() == null) {
+			log.warn("Skipping record {} of partition {} without value.", hintRecord.offset(), hintRecord.partition());
+			return null;
+		}
+		try {
+			// JSON or the binary format, like the hintCreated binding
+			return hintDtoDeserializer.deserialize(hintRecord.topic(), hintRecord.headers(), hintRecord.value());
+		} catch (SerializationException e) {
+			log.warn("Skipping record {} of partition {}, it is no hint.", hintRecord.offset(), hintRecord.partition(), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the chunk and commits the offsets of its records afterward.
+	 *
+	 * @return number of written hints
+	 */
+	private long writeChunk(Consumer<byte[], byte[]> consumer, List<HintDto> chunk,
+		Map<TopicPartition, OffsetAndMetadata> checkpoint) {
+		final long written = chunk.isEmpty() ? 0 : hintBulkIngestService.ingest(chunk.iterator()).hints();
+		if (!checkpoint.isEmpty()) {
+			consumer.commitSync(checkpoint);
+		}
+		chunk.clear();
+		checkpoint.clear();
+		return written;
+	}
+
+	private static long recordsPerSecond(long records, long nanos) {
+		return Math.round(records * 1e9 / Math.max(nanos, 1));
+	}
+}
@@ -0,0 +1,7 @@
+package de.signaliduna.elpa.hint.adapter.message.retry;
+
+/**
+ * @param replayed number of hints sent from the dead letter topic back to the hintCreated topic
+ */
+public record HintDeadLetterReplayResult(long replayed) {
+}
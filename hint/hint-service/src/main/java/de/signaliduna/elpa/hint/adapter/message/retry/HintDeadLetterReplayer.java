@@ -0,0 +1,99 @@
+package de.signaliduna.elpa.hint.adapter.message.retry;
+
+import de.signaliduna.elpa.hint.adapter.message.HintKafkaConsumers;
+import de.signaliduna.elpa.hint.adapter.message.consumer.HintDtoDeserializer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sends the hints parked on the dead letter topic back to the hintCreated topic. Only the records that are on the dead
+ * letter topic when the replay starts are replayed. The progress is committed in an own consumer group, so every record
+ * is replayed once and an aborted replay continues where it stopped.
+ */
+@Component
+public class HintDeadLetterReplayer {
+	static final String REPLAY_BINDING = "hintReplay-out-0";
+	private static final Logger log = LoggerFactory.getLogger(HintDeadLetterReplayer.class);
+	private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+	private final Supplier<Consumer<byte[], byte[]>> consumerFactory;
+	private final StreamBridge streamBridge;
+	private final String deadLetterTopic;
+	private final Counter replayedHints;
+
+	@Autowired
+	public HintDeadLetterReplayer(Environment environment, StreamBridge streamBridge,
+		@Value("${topics.hintCreatedDlt}") String deadLetterTopic,
+		@Value("${spring.cloud.stream.bindings.hintCreated-in-0.group}") String group, MeterRegistry meterRegistry) {
+		this(() -> HintKafkaConsumers.create(environment, group + "-dlt-replay", Map.of()), streamBridge, deadLetterTopic,
+			meterRegistry);
+	}
+
+	HintDeadLetterReplayer(Supplier<Consumer<byte[], byte[]>> consumerFactory, StreamBridge streamBridge,
+		String deadLetterTopic, MeterRegistry meterRegistry) {
+		this.consumerFactory = consumerFactory;
+		this.streamBridge = streamBridge;
+		this.deadLetterTopic = deadLetterTopic;
+		this.replayedHints = Counter.builder("hint.ingest.replayed")
+			.description("Hints replayed from the dead letter topic")
+			.register(meterRegistry);
+	}
+
+	public synchronized HintDeadLetterReplayResult replay() {
+		long replayed = 0;
+		try (Consumer<byte[], byte[]> consumer = consumerFactory.get()) {
+			final List<TopicPartition> partitions = consumer.partitionsFor(deadLetterTopic).stream()
+				.map(partition -> new TopicPartition(partition.topic(), partition.partition()))
+				.toList();
+			consumer.assign(partitions);
+			final Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+			while (partitions.stream().anyMatch(partition -> consumer.position(partition) < endOffsets.get(partition))) {
+				final Map<TopicPartition, OffsetAndMetadata> replayedOffsets = new HashMap<>();
+				for (ConsumerRecord<byte[], byte[]> deadLetter : consumer.poll(POLL_TIMEOUT)) {
+					final TopicPartition partition = new TopicPartition(deadLetter.topic(), deadLetter.partition());
+					// records parked after the replay started stay uncommitted for the next replay
+					if (deadLetter.offset() < endOffsets.get(partition)) {
+						send(deadLetter);
+						replayedOffsets.put(partition, new OffsetAndMetadata(deadLetter.offset() + 1));
+						replayed++;
+					}
+				}
+				consumer.commitSync(replayedOffsets);
+			}
+		}
+		replayedHints.increment(replayed);
+		log.info("Replayed {} hints from {}.", replayed, deadLetterTopic);
+		return new HintDeadLetterReplayResult(replayed);
+	}
+
+	private void send(ConsumerRecord<byte[], byte[]> deadLetter) {
+		final boolean sent = streamBridge.send(REPLAY_BINDING, MessageBuilder.withPayload(deadLetter.value())
+			.setHeader(KafkaHeaders.KEY, deadLetter.key())
+			// binary records that could not be read are parked as received
+			.setHeader(MessageHeaders.CONTENT_TYPE, HintDtoDeserializer.contentType(deadLetter.headers()))
+			.build());
+		if (!sent) {
+			throw new IllegalStateException("Dead letter at offset " + deadLetter.offset() + " could not be replayed");
+		}
+	}
+}
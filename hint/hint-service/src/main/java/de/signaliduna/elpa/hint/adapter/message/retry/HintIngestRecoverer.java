@@ -0,0 +1,147 @@
+package de.signaliduna.elpa.hint.adapter.message.retry;
+
+import de.signaliduna.elpa.hint.config.properties.HintConsumerProperties;
+import de.signaliduna.elpa.hint.model.HintDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Parks hints that could not be saved on the retry topic, so the partition they came from keeps flowing. Every retry
+ * waits exponentially longer, once all attempts failed the hint is parked on the dead letter topic until it is replayed
+ * by {@link HintDeadLetterReplayer}.
+ */
+@Component
+public class HintIngestRecoverer {
+	static final String ATTEMPT_HEADER = "x-hint-retry-attempt";
+	static final String NOT_BEFORE_HEADER = "x-hint-retry-not-before";
+	static final String EXCEPTION_HEADER = "x-hint-exception";
+	static final String RETRY_BINDING = "hintRetry-out-0";
+	static final String DEAD_LETTER_BINDING = "hintDeadLetter-out-0";
+	private static final Logger log = LoggerFactory.getLogger(HintIngestRecoverer.class);
+
+	private final StreamBridge streamBridge;
+	private final HintConsumerProperties.Retry retry;
+	private final Clock clock;
+	private final Counter retriedHints;
+	private final Counter deadLetteredHints;
+
+	@Autowired
+	public HintIngestRecoverer(StreamBridge streamBridge, HintConsumerProperties hintConsumerProperties,
+		MeterRegistry meterRegistry) {
+		this(streamBridge, hintConsumerProperties, meterRegistry, Clock.systemUTC());
+	}
+
+	HintIngestRecoverer(StreamBridge streamBridge, HintConsumerProperties hintConsumerProperties,
+		MeterRegistry meterRegistry, Clock clock) {
+		this.streamBridge = streamBridge;
+		this.retry = hintConsumerProperties.getRetry();
+		this.clock = clock;
+		this.retriedHints = Counter.builder("hint.ingest.retried")
+			.description("Hints sent to the retry topic")
+			.register(meterRegistry);
+		this.deadLetteredHints = Counter.builder("hint.ingest.dead.lettered")
+			.description("Hints sent to the dead letter topic")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Sends the hints to the retry topic, or to the dead letter topic if the failed attempt was the last one.
+	 *
+	 * @param failedAttempt attempt that failed, {@code 0} for the hintCreated topic itself
+	 */
+	public void recover(List<HintDto> hints, int failedAttempt, RuntimeException cause) {
+		final int nextAttempt = failedAttempt + 1;
+		if (nextAttempt > retry.getMaxAttempts()) {
+			log.error("Saving {} hints failed in the last attempt {}, sending them to the dead letter topic.",
+				hints.size(), failedAttempt, cause);
+			hints.forEach(hint -> send(DEAD_LETTER_BINDING, messageBuilder(hint)
+				.setHeader(ATTEMPT_HEADER, String.valueOf(failedAttempt))
+				.setHeader(EXCEPTION_HEADER, String.valueOf(cause))
+				.build()));
+			deadLetteredHints.increment(hints.size());
+			return;
+		}
+		final Instant notBefore = clock.instant().plus(backoff(nextAttempt));
+		log.warn("Saving {} hints failed in attempt {}, retrying them not before {}.", hints.size(), failedAttempt,
+			notBefore, cause);
+		hints.forEach(hint -> send(RETRY_BINDING, messageBuilder(hint)
+			.setHeader(ATTEMPT_HEADER, String.valueOf(nextAttempt))
+			.setHeader(NOT_BEFORE_HEADER, String.valueOf(notBefore.toEpochMilli()))
+			.build()));
+		retriedHints.increment(hints.size());
+	}
+
+	/**
+	 * Sends a record that is no readable hint to the dead letter topic as it was received, e.g. a hint of a newer
+	 * hint-model with an unknown source. It keeps its content type, so it can be replayed once the consumer reads it.
+	 *
+	 * @param key key of the record, {@code null} if it has none
+	 */
+	public void deadLetterUndecodable(byte[] value, byte[] key, String contentType, Exception cause) {
+		log.error("Received a record that is no readable hint, sending it to the dead letter topic.", cause);
+		final MessageBuilder<byte[]> messageBuilder = MessageBuilder.withPayload(value)
+			.setHeader(ATTEMPT_HEADER, "0")
+			.setHeader(EXCEPTION_HEADER, String.valueOf(cause))
+			.setHeader(MessageHeaders.CONTENT_TYPE, contentType);
+		if (key != null) {
+			messageBuilder.setHeader(KafkaHeaders.KEY, key);
+		}
+		send(DEAD_LETTER_BINDING, messageBuilder.build());
+		deadLetteredHints.increment();
+	}
+
+	/**
+	 * Backoff before the given retry attempt, starting with the initial backoff for the first retry.
+	 */
+	Duration backoff(int attempt) {
+		final double backoffMillis = retry.getInitialBackoff().toMillis() * Math.pow(retry.getMultiplier(), attempt - 1.0);
+		return Duration.ofMillis((long) Math.min(backoffMillis, retry.getMaxBackoff().toMillis()));
+	}
+
+	/**
+	 * Returns the retry attempt of a record of the retry topic.
+	 */
+	public static int attempt(Message<?> message) {
+		return Integer.parseInt(header(message, ATTEMPT_HEADER));
+	}
+
+	/**
+	 * Returns the time before which a record of the retry topic must not be retried.
+	 */
+	public static Instant notBefore(Message<?> message) {
+		return Instant.ofEpochMilli(Long.parseLong(header(message, NOT_BEFORE_HEADER)));
+	}
+
+	// the header mapper returns the raw bytes if the header types are unknown
+	private static String header(Message<?> message, String name) {
+		final Object value = message.getHeaders().get(name);
+		return value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : String.valueOf(value);
+	}
+
+	private static MessageBuilder<HintDto> messageBuilder(HintDto hint) {
+		// keeps the hints of one process in one partition of the retry topic
+		return MessageBuilder.withPayload(hint)
+			.setHeader(KafkaHeaders.KEY, hint.processId().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void send(String bindingName, Message<?> message) {
+		if (!streamBridge.send(bindingName, message)) {
+			throw new IllegalStateException("Record could not be sent to " + bindingName);
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package de.signaliduna.elpa.hint.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import de.signaliduna.elpa.hint.adapter.database.HintReadOnlyDataSource;
+import de.signaliduna.elpa.hint.adapter.database.HintReplicaLagMonitor;
+import de.signaliduna.elpa.hint.config.properties.HintReplicaProperties;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes read-only transactions to the read replica. The primary datasource is wrapped into a
+ * {@link LazyConnectionDataSourceProxy}, which fetches the physical connection only after the transaction marked it
+ * read-only and then takes it from the {@link HintReadOnlyDataSource}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = HintReplicaProperties.PREFIX, name = "enabled", havingValue = "true")
+public class HintReplicaConfig {
+	static final String REPLICA_POOL_NAME = "hint-replica";
+	private static final String PRIMARY_DATA_SOURCE_BEAN = "dataSource";
+
+	// the replica pool is no DataSource bean, otherwise the primary datasource would not be auto-configured
+	@Bean
+	public HintReplicaLagMonitor hintReplicaLagMonitor(HintReplicaProperties hintReplicaProperties) {
+		final HikariDataSource replicaDataSource = new HikariDataSource();
+		replicaDataSource.setPoolName(REPLICA_POOL_NAME);
+		replicaDataSource.setJdbcUrl(hintReplicaProperties.getUrl());
+		replicaDataSource.setUsername(hintReplicaProperties.getUsername());
+		replicaDataSource.setPassword(hintReplicaProperties.getPassword());
+		replicaDataSource.setSchema(hintReplicaProperties.getSchema());
+		replicaDataSource.setMaximumPoolSize(hintReplicaProperties.getMaximumPoolSize());
+		replicaDataSource.setReadOnly(true);
+		return new HintReplicaLagMonitor(replicaDataSource, hintReplicaProperties.getMaxLag());
+	}
+
+	/**
+	 * Publishes the hikaricp metrics of the replica pool, tagged with {@code pool=hint-replica}.
+	 */
+	@Bean
+	public MeterBinder hintReplicaPoolMetrics(HintReplicaLagMonitor hintReplicaLagMonitor) {
+		return registry -> hintReplicaLagMonitor.getReplicaDataSource()
+			.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+	}
+
+	@Bean
+	public static BeanPostProcessor hintReadOnlyRoutingPostProcessor(ObjectProvider<HintReplicaLagMonitor> hintReplicaLagMonitor) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (!PRIMARY_DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource primaryDataSource)) {
+					return bean;
+				}
+				final LazyConnectionDataSourceProxy routingDataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+				routingDataSource.setReadOnlyDataSource(
+					new HintReadOnlyDataSource(primaryDataSource, hintReplicaLagMonitor.getObject()));
+				return routingDataSource;
+			}
+		};
+	}
+}
@@ -1,21 +1,155 @@
 package de.signaliduna.elpa.hint.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import de.signaliduna.elpa.hint.adapter.database.HintConsumerOffsetRepository;
+import de.signaliduna.elpa.hint.adapter.database.HintCopyWriter;
+import de.signaliduna.elpa.hint.adapter.database.HintDeduplicationRepository;
+import de.signaliduna.elpa.hint.adapter.database.HintMessageCompactionRepository;
+import de.signaliduna.elpa.hint.adapter.database.HintPartitionRepository;
 import de.signaliduna.elpa.hint.adapter.database.HintRepository;
+import de.signaliduna.elpa.hint.adapter.database.HintSourceBackfillRepository;
+import de.signaliduna.elpa.hint.adapter.database.HintSourceDictionary;
+import de.signaliduna.elpa.hint.config.properties.HintBulkIngestProperties;
+import de.signaliduna.elpa.hint.config.properties.HintCacheProperties;
+import de.signaliduna.elpa.hint.config.properties.HintConsumerProperties;
+import de.signaliduna.elpa.hint.config.properties.HintDeduplicationProperties;
+import de.signaliduna.elpa.hint.config.properties.HintMessageCompactionProperties;
+import de.signaliduna.elpa.hint.config.properties.HintPartitioningProperties;
+import de.signaliduna.elpa.hint.config.properties.HintProcessQueryCacheProperties;
+import de.signaliduna.elpa.hint.config.properties.HintSourceBackfillProperties;
+import de.signaliduna.elpa.hint.core.HintBulkIngestService;
+import de.signaliduna.elpa.hint.core.HintDeduplication;
+import de.signaliduna.elpa.hint.core.HintIdCache;
+import de.signaliduna.elpa.hint.core.HintMessageCompaction;
+import de.signaliduna.elpa.hint.core.HintParallelWriter;
+import de.signaliduna.elpa.hint.core.HintPartitionMaintenance;
+import de.signaliduna.elpa.hint.core.HintProcessQueryCache;
 import de.signaliduna.elpa.hint.core.HintService;
+import de.signaliduna.elpa.hint.core.HintSourceBackfill;
 import de.signaliduna.elpa.hint.adapter.mapper.HintMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Clock;
 
 @Configuration
+@ConfigurationPropertiesScan(basePackages = "de.signaliduna.elpa.hint.config.properties")
 public class HintServiceConfig {
 
 	@Bean
 	public HintService hintService(
 		HintRepository hintRepository,
-		HintMapper hintMapper
+		HintMapper hintMapper,
+		HintSourceDictionary hintSourceDictionary,
+		ObjectProvider<HintIdCache> hintIdCache,
+		ObjectProvider<HintProcessQueryCache> hintProcessQueryCache,
+		HintConsumerOffsetRepository hintConsumerOffsetRepository
 	) {
 		return new HintService(
 			hintRepository,
-			hintMapper);
+			hintMapper,
+			hintSourceDictionary,
+			hintIdCache.getIfAvailable(),
+			hintProcessQueryCache.getIfAvailable(),
+			hintConsumerOffsetRepository);
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = HintCacheProperties.PREFIX, name = "enabled", havingValue = "true", matchIfMissing = true)
+	public HintIdCache hintIdCache(HintCacheProperties hintCacheProperties) {
+		return new HintIdCache(
+			hintCacheProperties.getMaximumSize(),
+			hintCacheProperties.getTtl(),
+			hintCacheProperties.getMaximumMissingSize(),
+			hintCacheProperties.getMissingTtl());
+	}
+
+	@Bean
+	@ConditionalOnExpression(HintProcessQueryCacheProperties.ENABLED_CONDITION)
+	public HintProcessQueryCache hintProcessQueryCache(HintProcessQueryCacheProperties hintProcessQueryCacheProperties) {
+		return new HintProcessQueryCache(
+			hintProcessQueryCacheProperties.getMaximumHints(),
+			hintProcessQueryCacheProperties.getExpireAfterAccess());
+	}
+
+	@Bean
+	public HintParallelWriter hintParallelWriter(
+		HintService hintService,
+		DataSource dataSource,
+		HintConsumerProperties hintConsumerProperties
+	) throws SQLException {
+		return new HintParallelWriter(
+			hintService,
+			hintConsumerProperties.getParallelism(),
+			// the primary datasource may be wrapped for the read replica
+			dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+	}
+
+	@Bean
+	public HintBulkIngestService hintBulkIngestService(
+		HintCopyWriter hintCopyWriter,
+		HintBulkIngestProperties hintBulkIngestProperties
+	) {
+		return new HintBulkIngestService(
+			hintCopyWriter,
+			hintBulkIngestProperties.getChunkSize());
+	}
+
+	@Bean
+	public HintPartitionMaintenance hintPartitionMaintenance(
+		HintPartitionRepository hintPartitionRepository,
+		PlatformTransactionManager transactionManager,
+		HintPartitioningProperties hintPartitioningProperties
+	) {
+		return new HintPartitionMaintenance(
+			hintPartitionRepository,
+			new TransactionTemplate(transactionManager),
+			hintPartitioningProperties.getMonthsAhead(),
+			hintPartitioningProperties.getRetentionMonths(),
+			hintPartitioningProperties.getLegacyChunkSize(),
+			Clock.systemDefaultZone());
+	}
+
+	@Bean
+	public HintDeduplication hintDeduplication(
+		HintDeduplicationRepository hintDeduplicationRepository,
+		HintDeduplicationProperties hintDeduplicationProperties
+	) {
+		return new HintDeduplication(
+			hintDeduplicationRepository,
+			hintDeduplicationProperties.getChunkSize());
+	}
+
+	@Bean
+	public HintMessageCompaction hintMessageCompaction(
+		HintMessageCompactionRepository hintMessageCompactionRepository,
+		HintMessageCompactionProperties hintMessageCompactionProperties
+	) {
+		return new HintMessageCompaction(
+			hintMessageCompactionRepository,
+			hintMessageCompactionProperties.getChunkSize());
+	}
+
+	@Bean
+	public HintSourceBackfill hintSourceBackfill(
+		HintSourceBackfillRepository hintSourceBackfillRepository,
+		HintSourceDictionary hintSourceDictionary,
+		PlatformTransactionManager transactionManager,
+		HintSourceBackfillProperties hintSourceBackfillProperties
+	) {
+		return new HintSourceBackfill(
+			hintSourceBackfillRepository,
+			hintSourceDictionary,
+			new TransactionTemplate(transactionManager),
+			hintSourceBackfillProperties.getChunkSize(),
+			hintSourceBackfillProperties.getLockTimeout());
 	}
 }
@@ -0,0 +1,21 @@
+package de.signaliduna.elpa.hint.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = HintBulkIngestProperties.PREFIX)
+public class HintBulkIngestProperties {
+	public static final String PREFIX = "elpa.hint.bulk-ingest";
+
+	/**
+	 * Number of hints written by one COPY command and committed in one transaction.
+	 */
+	private int chunkSize = 5000;
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+}
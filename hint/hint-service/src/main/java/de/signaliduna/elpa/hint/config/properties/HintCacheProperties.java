@@ -0,0 +1,75 @@
+package de.signaliduna.elpa.hint.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = HintCacheProperties.PREFIX)
+public class HintCacheProperties {
+	public static final String PREFIX = "elpa.hint.cache";
+
+	/**
+	 * Caches the hints returned by GET /hints/{id} in-process.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Maximum number of cached hints.
+	 */
+	private long maximumSize = 10_000;
+
+	/**
+	 * Time a hint is cached, a deleted hint may be returned until then.
+	 */
+	private Duration ttl = Duration.ofMinutes(5);
+
+	/**
+	 * Maximum number of remembered ids without a hint.
+	 */
+	private long maximumMissingSize = 1_000;
+
+	/**
+	 * Time an id without a hint is remembered.
+	 */
+	private Duration missingTtl = Duration.ofSeconds(10);
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public long getMaximumSize() {
+		return maximumSize;
+	}
+
+	public void setMaximumSize(long maximumSize) {
+		this.maximumSize = maximumSize;
+	}
+
+	public Duration getTtl() {
+		return ttl;
+	}
+
+	public void setTtl(Duration ttl) {
+		this.ttl = ttl;
+	}
+
+	public long getMaximumMissingSize() {
+		return maximumMissingSize;
+	}
+
+	public void setMaximumMissingSize(long maximumMissingSize) {
+		this.maximumMissingSize = maximumMissingSize;
+	}
+
+	public Duration getMissingTtl() {
+		return missingTtl;
+	}
+
+	public void setMissingTtl(Duration missingTtl) {
+		this.missingTtl = missingTtl;
+	}
+}
@@ -0,0 +1,162 @@
+package de.signaliduna.elpa.hint.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = HintConsumerProperties.PREFIX)
+public class HintConsumerProperties {
+	public static final String PREFIX = "elpa.hint.consumer";
+
+	/**
+	 * Number of workers saving the hints of one hintCreated batch in parallel, sharded by process id. {@code 1} saves the
+	 * batch in the consumer thread. Has to leave two connections of the pool for reads and the background jobs.
+	 */
+	private int parallelism = 1;
+
+	/**
+	 * Stores the consumer offsets of the hintCreated records in the same transaction as their hints and seeks to them on
+	 * partition assignment. Every batch is saved in one transaction, {@link #parallelism} is not used.
+	 */
+	private boolean exactlyOnce = false;
+
+	private final Retry retry = new Retry();
+
+	private final Backpressure backpressure = new Backpressure();
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	public boolean isExactlyOnce() {
+		return exactlyOnce;
+	}
+
+	public void setExactlyOnce(boolean exactlyOnce) {
+		this.exactlyOnce = exactlyOnce;
+	}
+
+	public Retry getRetry() {
+		return retry;
+	}
+
+	public Backpressure getBackpressure() {
+		return backpressure;
+	}
+
+	/**
+	 * Hints that could not be saved are retried on the retry topic with exponential backoff and parked on the dead letter
+	 * topic once all attempts failed.
+	 */
+	public static class Retry {
+		private int maxAttempts = 4;
+
+		private Duration initialBackoff = Duration.ofSeconds(1);
+
+		private double multiplier = 4;
+
+		private Duration maxBackoff = Duration.ofMinutes(1);
+
+		public int getMaxAttempts() {
+			return maxAttempts;
+		}
+
+		public void setMaxAttempts(int maxAttempts) {
+			this.maxAttempts = maxAttempts;
+		}
+
+		public Duration getInitialBackoff() {
+			return initialBackoff;
+		}
+
+		public void setInitialBackoff(Duration initialBackoff) {
+			this.initialBackoff = initialBackoff;
+		}
+
+		public double getMultiplier() {
+			return multiplier;
+		}
+
+		public void setMultiplier(double multiplier) {
+			this.multiplier = multiplier;
+		}
+
+		public Duration getMaxBackoff() {
+			return maxBackoff;
+		}
+
+		public void setMaxBackoff(Duration maxBackoff) {
+			this.maxBackoff = maxBackoff;
+		}
+	}
+
+	/**
+	 * The hintCreated binding is paused while the database is saturated, i.e. too many threads wait for a connection of the
+	 * pool or saving a batch takes too long. It is resumed once the pool recovered and the minimum pause has passed.
+	 */
+	public static class Backpressure {
+		private boolean enabled = true;
+
+		private int maxPendingConnections = 2;
+
+		private Duration maxSaveLatency = Duration.ofSeconds(5);
+
+		private int resumePendingConnections = 0;
+
+		private Duration minPause = Duration.ofSeconds(5);
+
+		private Duration checkInterval = Duration.ofSeconds(1);
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getMaxPendingConnections() {
+			return maxPendingConnections;
+		}
+
+		public void setMaxPendingConnections(int maxPendingConnections) {
+			this.maxPendingConnections = maxPendingConnections;
+		}
+
+		public Duration getMaxSaveLatency() {
+			return maxSaveLatency;
+		}
+
+		public void setMaxSaveLatency(Duration maxSaveLatency) {
+			this.maxSaveLatency = maxSaveLatency;
+		}
+
+		public int getResumePendingConnections() {
+			return resumePendingConnections;
+		}
+
+		public void setResumePendingConnections(int resumePendingConnections) {
+			this.resumePendingConnections = resumePendingConnections;
+		}
+
+		public Duration getMinPause() {
+			return minPause;
+		}
+
+		public void setMinPause(Duration minPause) {
+			this.minPause = minPause;
+		}
+
+		public Duration getCheckInterval() {
+			return checkInterval;
+		}
+
+		public void setCheckInterval(Duration checkInterval) {
+			this.checkInterval = checkInterval;
+		}
+	}
+}
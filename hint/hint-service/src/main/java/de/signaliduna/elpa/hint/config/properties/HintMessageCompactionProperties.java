@@ -0,0 +1,36 @@
+package de.signaliduna.elpa.hint.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = HintMessageCompactionProperties.PREFIX)
+public class HintMessageCompactionProperties {
+	public static final String PREFIX = "elpa.hint.message-compaction";
+
+	/**
+	 * Number of hints whose message is checked against the templates in one transaction.
+	 */
+	private int chunkSize = 1000;
+
+	/**
+	 * Delay between two chunks.
+	 */
+	private Duration interval = Duration.ofSeconds(10);
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+
+	public Duration getInterval() {
+		return interval;
+	}
+
+	public void setInterval(Duration interval) {
+		this.interval = interval;
+	}
+}
@@ -0,0 +1,64 @@
+package de.signaliduna.elpa.hint.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = HintOutboxProperties.PREFIX)
+public class HintOutboxProperties {
+	public static final String PREFIX = "elpa.hint.outbox";
+
+	/**
+	 * Publishes the queued hint-saved events; without it they stay in the outbox.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Number of hint-saved events claimed, published and deleted in one transaction.
+	 */
+	private int batchSize = 500;
+
+	/**
+	 * Delay between two relay runs, every run publishes until the outbox is empty.
+	 */
+	private Duration interval = Duration.ofMillis(500);
+
+	/**
+	 * Kafka producer configuration of the relay replacing the binder configuration, e.g. linger.ms.
+	 */
+	private Map<String, String> producer = new HashMap<>();
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public Duration getInterval() {
+		return interval;
+	}
+
+	public void setInterval(Duration interval) {
+		this.interval = interval;
+	}
+
+	public Map<String, String> getProducer() {
+		return producer;
+	}
+
+	public void setProducer(Map<String, String> producer) {
+		this.producer = producer;
+	}
+}
@@ -0,0 +1,35 @@
+package de.signaliduna.elpa.hint.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = HintPagingProperties.PREFIX)
+public class HintPagingProperties {
+	public static final String PREFIX = "elpa.hint.paging";
+
+	/**
+	 * Upper bound for the page size of GET /hints, also used when the caller does not request a page size.
+	 */
+	private int maxPageSize = 1000;
+
+	/**
+	 * Upper bound for the number of ranked hints of GET /hints/search, also used when the caller does not request a page
+	 * size.
+	 */
+	private int maxSearchResults = 100;
+
+	public int getMaxPageSize() {
+		return maxPageSize;
+	}
+
+	public void setMaxPageSize(int maxPageSize) {
+		this.maxPageSize = maxPageSize;
+	}
+
+	public int getMaxSearchResults() {
+		return maxSearchResults;
+	}
+
+	public void setMaxSearchResults(int maxSearchResults) {
+		this.maxSearchResults = maxSearchResults;
+	}
+}
@@ -0,0 +1,60 @@
+package de.signaliduna.elpa.hint.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = HintPartitioningProperties.PREFIX)
+public class HintPartitioningProperties {
+	public static final String PREFIX = "elpa.hint.partitioning";
+
+	/**
+	 * Number of monthly partitions created ahead of the current month.
+	 */
+	private int monthsAhead = 3;
+
+	/**
+	 * Number of months before the current month whose partitions are kept, older partitions are dropped.
+	 */
+	private int retentionMonths = 24;
+
+	/**
+	 * Number of expired hints of the legacy partition deleted per transaction.
+	 */
+	private int legacyChunkSize = 1000;
+
+	/**
+	 * Cron expression of the partition maintenance.
+	 */
+	private String cron = "0 0 2 * * *";
+
+	public int getMonthsAhead() {
+		return monthsAhead;
+	}
+
+	public void setMonthsAhead(int monthsAhead) {
+		this.monthsAhead = monthsAhead;
+	}
+
+	public int getRetentionMonths() {
+		return retentionMonths;
+	}
+
+	public void setRetentionMonths(int retentionMonths) {
+		this.retentionMonths = retentionMonths;
+	}
+
+	public int getLegacyChunkSize() {
+		return legacyChunkSize;
+	}
+
+	public void setLegacyChunkSize(int legacyChunkSize) {
+		this.legacyChunkSize = legacyChunkSize;
+	}
+
+	public String getCron() {
+		return cron;
+	}
+
+	public void setCron(String cron) {
+		this.cron = cron;
+	}
+}
@@ -0,0 +1,54 @@
+package de.signaliduna.elpa.hint.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = HintProcessQueryCacheProperties.PREFIX)
+public class HintProcessQueryCacheProperties {
+	public static final String PREFIX = "elpa.hint.process-query-cache";
+	/**
+	 * The cache is only active without read replica, a page read from a lagging replica would outlive the invalidation.
+	 */
+	public static final String ENABLED_CONDITION =
+		"${" + PREFIX + ".enabled:true} and !${" + HintReplicaProperties.PREFIX + ".enabled:false}";
+
+	/**
+	 * Caches the pages of GET /hints queries by processId (and hintSourcePrefix) until hints of the process are inserted.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Maximum number of hints on all cached pages, every page counts at least one.
+	 */
+	private long maximumHints = 100_000;
+
+	/**
+	 * Processes not queried for this time are dropped from the cache.
+	 */
+	private Duration expireAfterAccess = Duration.ofMinutes(10);
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public long getMaximumHints() {
+		return maximumHints;
+	}
+
+	public void setMaximumHints(long maximumHints) {
+		this.maximumHints = maximumHints;
+	}
+
+	public Duration getExpireAfterAccess() {
+		return expireAfterAccess;
+	}
+
+	public void setExpireAfterAccess(Duration expireAfterAccess) {
+		this.expireAfterAccess = expireAfterAccess;
+	}
+}
@@ -0,0 +1,121 @@
+package de.signaliduna.elpa.hint.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Range of the topic replayed by the {@code replay} profile. Per partition an explicit offset wins over the timestamp;
+ * without both the replay starts at the beginning and ends at the end offsets at the start of the replay.
+ */
+@ConfigurationProperties(prefix = HintReplayProperties.PREFIX)
+public class HintReplayProperties {
+	public static final String PREFIX = "elpa.hint.replay";
+
+	/**
+	 * Topic to replay.
+	 */
+	private String topic;
+
+	/**
+	 * Consumer group the progress is committed in, a replay with the same group continues where the last one stopped.
+	 */
+	private String group;
+
+	/**
+	 * Replays the records with a timestamp at or after this instant.
+	 */
+	private Instant fromTimestamp;
+
+	/**
+	 * Replays the records with a timestamp before this instant.
+	 */
+	private Instant toTimestamp;
+
+	/**
+	 * First replayed offset per partition.
+	 */
+	private Map<Integer, Long> fromOffsets = new HashMap<>();
+
+	/**
+	 * First offset per partition that is not replayed anymore.
+	 */
+	private Map<Integer, Long> toOffsets = new HashMap<>();
+
+	/**
+	 * Interval of the progress log.
+	 */
+	private Duration progressInterval = Duration.ofSeconds(10);
+
+	/**
+	 * Kafka consumer configuration of the replay, e.g. larger fetch sizes than the hintCreated binding.
+	 */
+	private Map<String, String> consumer = new HashMap<>();
+
+	public String getTopic() {
+		return topic;
+	}
+
+	public void setTopic(String topic) {
+		this.topic = topic;
+	}
+
+	public String getGroup() {
+		return group;
+	}
+
+	public void setGroup(String group) {
+		this.group = group;
+	}
+
+	public Instant getFromTimestamp() {
+		return fromTimestamp;
+	}
+
+	public void setFromTimestamp(Instant fromTimestamp) {
+		this.fromTimestamp = fromTimestamp;
+	}
+
+	public Instant getToTimestamp() {
+		return toTimestamp;
+	}
+
+	public void setToTimestamp(Instant toTimestamp) {
+		this.toTimestamp = toTimestamp;
+	}
+
+	public Map<Integer, Long> getFromOffsets() {
+		return fromOffsets;
+	}
+
+	public void setFromOffsets(Map<Integer, Long> fromOffsets) {
+		this.fromOffsets = fromOffsets;
+	}
+
+	public Map<Integer, Long> getToOffsets() {
+		return toOffsets;
+	}
+
+	public void setToOffsets(Map<Integer, Long> toOffsets) {
+		this.toOffsets = toOffsets;
+	}
+
+	public Duration getProgressInterval() {
+		return progressInterval;
+	}
+
+	public void setProgressInterval(Duration progressInterval) {
+		this.progressInterval = progressInterval;
+	}
+
+	public Map<String, String> getConsumer() {
+		return consumer;
+	}
+
+	public void setConsumer(Map<String, String> consumer) {
+		this.consumer = consumer;
+	}
+}
@@ -0,0 +1,99 @@
+package de.signaliduna.elpa.hint.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = HintReplicaProperties.PREFIX)
+public class HintReplicaProperties {
+	public static final String PREFIX = "elpa.hint.replica";
+
+	/**
+	 * Routes read-only transactions to the replica, everything else stays on the primary datasource.
+	 */
+	private boolean enabled = false;
+
+	private String url;
+
+	private String username;
+
+	private String password;
+
+	private String schema;
+
+	private int maximumPoolSize = 4;
+
+	/**
+	 * Replication lag up to which the replica serves reads. Reads fall back to the primary beyond it.
+	 */
+	private Duration maxLag = Duration.ofSeconds(30);
+
+	/**
+	 * Interval in which the replication lag is measured.
+	 */
+	private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public String getUrl() {
+		return url;
+	}
+
+	public void setUrl(String url) {
+		this.url = url;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public void setUsername(String username) {
+		this.username = username;
+	}
+
+	public String getPassword() {
+		return password;
+	}
+
+	public void setPassword(String password) {
+		this.password = password;
+	}
+
+	public String getSchema() {
+		return schema;
+	}
+
+	public void setSchema(String schema) {
+		this.schema = schema;
+	}
+
+	public int getMaximumPoolSize() {
+		return maximumPoolSize;
+	}
+
+	public void setMaximumPoolSize(int maximumPoolSize) {
+		this.maximumPoolSize = maximumPoolSize;
+	}
+
+	public Duration getMaxLag() {
+		return maxLag;
+	}
+
+	public void setMaxLag(Duration maxLag) {
+		this.maxLag = maxLag;
+	}
+
+	public Duration getLagCheckInterval() {
+		return lagCheckInterval;
+	}
+
+	public void setLagCheckInterval(Duration lagCheckInterval) {
+		this.lagCheckInterval = lagCheckInterval;
+	}
+}
@@ -0,0 +1,50 @@
+package de.signaliduna.elpa.hint.config.properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = HintSourceBackfillProperties.PREFIX)
+public class HintSourceBackfillProperties {
+	public static final String PREFIX = "elpa.hint.source-backfill";
+
+	/**
+	 * Number of hints whose source id is stored in one transaction.
+	 */
+	private int chunkSize = 1000;
+
+	/**
+	 * Delay between two chunks.
+	 */
+	private Duration interval = Duration.ofSeconds(10);
+
+	/**
+	 * Maximum wait for the table locks of the steps completing the backfill, a step that times out is retried by the
+	 * next run.
+	 */
+	private Duration lockTimeout = Duration.ofSeconds(5);
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+
+	public Duration getInterval() {
+		return interval;
+	}
+
+	public void setInterval(Duration interval) {
+		this.interval = interval;
+	}
+
+	public Duration getLockTimeout() {
+		return lockTimeout;
+	}
+
+	public void setLockTimeout(Duration lockTimeout) {
+		this.lockTimeout = lockTimeout;
+	}
+}
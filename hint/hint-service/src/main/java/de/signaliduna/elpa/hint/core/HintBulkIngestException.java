@@ -0,0 +1,46 @@
+package de.signaliduna.elpa.hint.core;
+
+import java.sql.SQLException;
+
+/**
+ * Thrown when a chunk of a bulk ingest could not be written. All chunks before the failed one are already committed.
+ */
+public class HintBulkIngestException extends RuntimeException {
+	private final long consumedHints;
+	private final long committedHints;
+	private final int chunkHints;
+
+	/**
+	 * @param consumedHints  number of hints of the committed chunks, including the duplicates that were skipped
+	 * @param committedHints number of hints written by the committed chunks
+	 * @param chunkHints     number of hints of the failed chunk
+	 */
+	public HintBulkIngestException(long consumedHints, long committedHints, int chunkHints, Throwable cause) {
+		super("Bulk ingest failed after %d consumed and %d committed hints.".formatted(consumedHints, committedHints),
+			cause);
+		this.consumedHints = consumedHints;
+		this.committedHints = committedHints;
+		this.chunkHints = chunkHints;
+	}
+
+	public long getConsumedHints() {
+		return consumedHints;
+	}
+
+	public long getCommittedHints() {
+		return committedHints;
+	}
+
+	public int getChunkHints() {
+		return chunkHints;
+	}
+
+	/**
+	 * Returns whether the database rejected the hints of the failed chunk (SQLSTATE class 22 data exception or 23
+	 * integrity constraint violation), any other cause is a failure of the database or the connection.
+	 */
+	public boolean isCausedByInvalidHints() {
+		return getCause() instanceof SQLException e && e.getSQLState() != null
+			&& (e.getSQLState().startsWith("22") || e.getSQLState().startsWith("23"));
+	}
+}
@@ -0,0 +1,11 @@
+package de.signaliduna.elpa.hint.core;
+
+/**
+ * Outcome of a bulk ingest run.
+ *
+ * @param hints          number of hints written
+ * @param chunks         number of committed chunks
+ * @param durationMillis wall clock time of the whole run
+ */
+public record HintBulkIngestResult(long hints, int chunks, long durationMillis) {
+}
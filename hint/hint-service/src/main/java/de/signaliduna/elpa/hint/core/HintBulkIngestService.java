@@ -0,0 +1,59 @@
+package de.signaliduna.elpa.hint.core;
+
+import de.signaliduna.elpa.hint.adapter.database.HintCopyWriter;
+import de.signaliduna.elpa.hint.model.HintDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads large amounts of hints (backfills, replays) with PostgreSQL COPY instead of JPA. The hints are consumed lazily
+ * and written in chunks, every chunk is committed on its own.
+ */
+public class HintBulkIngestService {
+	private static final Logger log = LoggerFactory.getLogger(HintBulkIngestService.class);
+	private final HintCopyWriter hintCopyWriter;
+	private final int chunkSize;
+
+	public HintBulkIngestService(HintCopyWriter hintCopyWriter, int chunkSize) {
+		this.hintCopyWriter = hintCopyWriter;
+		this.chunkSize = chunkSize;
+	}
+
+	public HintBulkIngestResult ingest(Iterator<HintDto> hints) {
+		final long start = System.nanoTime();
+		long consumedHints = 0;
+		long committedHints = 0;
+		int chunks = 0;
+		List<HintDto> chunk = new ArrayList<>(chunkSize);
+		while (hints.hasNext()) {
+			chunk.add(hints.next());
+			if (chunk.size() == chunkSize || !hints.hasNext()) {
+				committedHints += copyChunk(chunk, consumedHints, committedHints);
+				consumedHints += chunk.size();
+				chunks++;
+				chunk = new ArrayList<>(chunkSize);
+			}
+		}
+		final long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		log.info("Bulk ingested {} hints in {} chunks within {} ms.", committedHints, chunks, durationMillis);
+		return new HintBulkIngestResult(committedHints, chunks, durationMillis);
+	}
+
+	// duplicates are skipped by the copy, so the committed hints can be less than the consumed ones
+	private long copyChunk(List<HintDto> chunk, long consumedHints, long committedHints) {
+		try {
+			long rows = hintCopyWriter.copy(chunk);
+			log.debug("Committed chunk of {} hints.", rows);
+			return rows;
+		} catch (SQLException | IOException e) {
+			throw new HintBulkIngestException(consumedHints, committedHints, chunk.size(), e);
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package de.signaliduna.elpa.hint.core;
+
+/**
+ * Consumer position in one partition of a topic, stored together with the hints of the consumed records.
+ *
+ * @param consumerGroup consumer group the position belongs to
+ * @param topic         consumed topic
+ * @param partition     consumed partition
+ * @param nextOffset    offset of the next record to consume
+ */
+public record HintConsumerOffset(String consumerGroup, String topic, int partition, long nextOffset) {
+}
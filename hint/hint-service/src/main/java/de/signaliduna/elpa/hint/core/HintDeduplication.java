@@ -0,0 +1,51 @@
+package de.signaliduna.elpa.hint.core;
+
+import de.signaliduna.elpa.hint.adapter.database.HintDeduplicationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Keys the hints stored before the idempotency key was introduced and removes their duplicates in small chunks. Every
+ * run handles one chunk in its own short transaction, so neither the hint table nor many rows are locked for long. Once
+ * all hints are keyed a run only scans the empty partial index {@code idx_hint_missing_idempotency_key}.
+ */
+public class HintDeduplication {
+	private static final Logger log = LoggerFactory.getLogger(HintDeduplication.class);
+
+	private final HintDeduplicationRepository hintDeduplicationRepository;
+	private final int chunkSize;
+
+	public HintDeduplication(HintDeduplicationRepository hintDeduplicationRepository, int chunkSize) {
+		this.hintDeduplicationRepository = hintDeduplicationRepository;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Deletes the duplicates among the next {@code chunkSize} hints without idempotency key and keys the remaining
+	 * ones. Skipped while another instance runs it.
+	 *
+	 * @return number of hints of the chunk, {@code 0} if there are none left or another instance runs it
+	 */
+	@Scheduled(fixedDelayString = "${elpa.hint.deduplication.interval:10s}",
+		initialDelayString = "${elpa.hint.deduplication.interval:10s}")
+	@Transactional
+	public int deduplicateChunk() {
+		if (!hintDeduplicationRepository.tryLockDeduplication()) {
+			log.debug("Hints are deduplicated by another instance.");
+			return 0;
+		}
+		final List<Long> ids = hintDeduplicationRepository.findIdsWithoutIdempotencyKey(chunkSize);
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		final int deleted = hintDeduplicationRepository.deleteDuplicates(ids);
+		final int keyed = hintDeduplicationRepository.setIdempotencyKeys(ids);
+		log.info("Deduplicated {} hints up to id {}: {} duplicates deleted, {} hints keyed.", ids.size(), ids.getLast(),
+			deleted, keyed);
+		return ids.size();
+	}
+}
@@ -0,0 +1,80 @@
+package de.signaliduna.elpa.hint.core;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import de.signaliduna.elpa.hint.model.HintDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * In-process cache for hints looked up by id. Hints are never updated after insert, but deduplication and partition
+ * retention delete them, on any instance; found hints therefore expire after {@code ttl}, which bounds how long a
+ * deleted hint is still served. Ids without a hint are remembered for a short time only, the hint may still be
+ * inserted later.
+ */
+public class HintIdCache implements MeterBinder {
+	static final String HINTS_CACHE_NAME = "hint-by-id";
+	static final String MISSING_HINTS_CACHE_NAME = "hint-by-id-missing";
+
+	private final Cache<Long, HintDto> hints;
+	private final Cache<Long, Boolean> missingHints;
+
+	public HintIdCache(long maximumSize, Duration ttl, long maximumMissingSize, Duration missingTtl) {
+		this(maximumSize, ttl, maximumMissingSize, missingTtl, Ticker.systemTicker(), ForkJoinPool.commonPool());
+	}
+
+	HintIdCache(long maximumSize, Duration ttl, long maximumMissingSize, Duration missingTtl, Ticker ticker,
+		Executor executor) {
+		this.hints = Caffeine.newBuilder()
+			.maximumSize(maximumSize)
+			.expireAfterWrite(ttl)
+			.ticker(ticker)
+			.executor(executor)
+			.recordStats()
+			.build();
+		this.missingHints = Caffeine.newBuilder()
+			.maximumSize(maximumMissingSize)
+			.expireAfterWrite(missingTtl)
+			.ticker(ticker)
+			.executor(executor)
+			.recordStats()
+			.build();
+	}
+
+	/**
+	 * Returns the cached hint or loads it. A miss of the loader is cached as well, so it is not repeated until the
+	 * missing TTL has passed.
+	 */
+	public Optional<HintDto> get(Long id, Function<Long, Optional<HintDto>> loader) {
+		if (missingHints.getIfPresent(id) != null) {
+			return Optional.empty();
+		}
+		final HintDto hint = hints.get(id, key -> loader.apply(key).orElse(null));
+		if (hint == null) {
+			missingHints.put(id, Boolean.TRUE);
+		}
+		return Optional.ofNullable(hint);
+	}
+
+	/**
+	 * Publishes the hit, miss and eviction metrics of both caches.
+	 */
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, hints, HINTS_CACHE_NAME);
+		CaffeineCacheMetrics.monitor(registry, missingHints, MISSING_HINTS_CACHE_NAME);
+	}
+
+	void cleanUp() {
+		hints.cleanUp();
+		missingHints.cleanUp();
+	}
+}
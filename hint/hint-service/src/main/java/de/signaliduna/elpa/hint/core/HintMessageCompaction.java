@@ -0,0 +1,60 @@
+package de.signaliduna.elpa.hint.core;
+
+import de.signaliduna.elpa.hint.adapter.database.HintMessageCompactionRepository;
+import de.signaliduna.elpa.hint.adapter.database.HintMessageCompactionRepository.StoredMessage;
+import de.signaliduna.elpa.hint.model.HintMessageTemplates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts the messages of hints stored as rendered text into template plus arguments in small chunks, in id order
+ * from the position stored in {@code hint_message_compaction}. Every run handles one chunk in its own short
+ * transaction. Hints saved by the service are already stored in the template form, so once the position caught up a
+ * run only reads the few new free-text hints.
+ */
+public class HintMessageCompaction {
+	private static final Logger log = LoggerFactory.getLogger(HintMessageCompaction.class);
+
+	private final HintMessageCompactionRepository hintMessageCompactionRepository;
+	private final int chunkSize;
+
+	public HintMessageCompaction(HintMessageCompactionRepository hintMessageCompactionRepository, int chunkSize) {
+		this.hintMessageCompactionRepository = hintMessageCompactionRepository;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Stores the messages of the next {@code chunkSize} hints with rendered message as template if they match one.
+	 * Skipped while another instance runs it.
+	 *
+	 * @return number of checked hints, {@code 0} if there are none left or another instance runs it
+	 */
+	@Scheduled(fixedDelayString = "${elpa.hint.message-compaction.interval:10s}",
+		initialDelayString = "${elpa.hint.message-compaction.interval:10s}")
+	@Transactional
+	public int compactChunk() {
+		if (!hintMessageCompactionRepository.tryLockCompaction()) {
+			log.debug("Hint messages are compacted by another instance.");
+			return 0;
+		}
+		final List<StoredMessage> messages = hintMessageCompactionRepository.findMessages(
+			hintMessageCompactionRepository.findLastCheckedId(), chunkSize);
+		if (messages.isEmpty()) {
+			return 0;
+		}
+		final Map<StoredMessage, HintMessageTemplates.Match> templates = new LinkedHashMap<>();
+		messages.forEach(message -> HintMessageTemplates.match(message.message())
+			.ifPresent(match -> templates.put(message, match)));
+		final int compacted = hintMessageCompactionRepository.storeTemplates(templates);
+		hintMessageCompactionRepository.setLastCheckedId(messages.getLast().id());
+		log.info("Checked {} hint messages up to id {}: {} stored as template.", messages.size(), messages.getLast().id(),
+			compacted);
+		return messages.size();
+	}
+}
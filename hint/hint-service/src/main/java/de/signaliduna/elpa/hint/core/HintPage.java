@@ -0,0 +1,17 @@
+package de.signaliduna.elpa.hint.core;
+
+import de.signaliduna.elpa.hint.model.HintDto;
+
+import java.util.List;
+
+/**
+ * One page of hints in id order.
+ *
+ * @param hints       the hints of this page
+ * @param nextAfterId id to continue after, {@code null} if this is the last page
+ */
+public record HintPage(List<HintDto> hints, Long nextAfterId) {
+	public boolean hasNext() {
+		return nextAfterId != null;
+	}
+}
@@ -0,0 +1,13 @@
+package de.signaliduna.elpa.hint.core;
+
+/**
+ * Requests the hints following {@code afterId} in id order.
+ *
+ * @param afterId  id of the last hint of the previous page, {@code 0} for the first page
+ * @param pageSize maximum number of hints of the page
+ */
+public record HintPageRequest(long afterId, int pageSize) {
+	public static HintPageRequest firstPage(int pageSize) {
+		return new HintPageRequest(0, pageSize);
+	}
+}
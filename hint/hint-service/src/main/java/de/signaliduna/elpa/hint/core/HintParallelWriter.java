@@ -0,0 +1,83 @@
+package de.signaliduna.elpa.hint.core;
+
+import de.signaliduna.elpa.hint.model.HintDto;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Saves a batch of hints with a pool of workers. The hints are sharded by process id, so all hints of one process are
+ * saved in their original order by the same worker; every shard is saved in its own transaction. Returns only after all
+ * shards are saved, so the offsets of the batch are committed after all of its hints are persisted. If shards fail, a
+ * {@link HintShardSaveException} with their hints is thrown once all shards are done, the committed shards must not be
+ * retried.
+ */
+public class HintParallelWriter implements AutoCloseable {
+	// every worker holds a connection while saving, REST reads and the background jobs need the others
+	static final int RESERVED_CONNECTIONS = 2;
+
+	private final HintService hintService;
+	private final int parallelism;
+	private final ExecutorService workers;
+
+	/**
+	 * @param maximumPoolSize size of the connection pool the workers save with
+	 * @throws IllegalArgumentException if the workers would leave less than {@value #RESERVED_CONNECTIONS} connections of
+	 *                                  the pool
+	 */
+	public HintParallelWriter(HintService hintService, int parallelism, int maximumPoolSize) {
+		if (parallelism > 1 && parallelism > maximumPoolSize - RESERVED_CONNECTIONS) {
+			throw new IllegalArgumentException("Parallelism %d leaves less than %d of %d pool connections for reads"
+				.formatted(parallelism, RESERVED_CONNECTIONS, maximumPoolSize));
+		}
+		this.hintService = hintService;
+		this.parallelism = parallelism;
+		this.workers = Executors.newFixedThreadPool(parallelism, Thread.ofPlatform().name("hint-writer-", 0).factory());
+	}
+
+	public void saveHints(List<HintDto> hints) {
+		if (parallelism == 1) {
+			hintService.saveHints(hints);
+			return;
+		}
+		final List<ShardResult> failedShards = hints.stream()
+			.collect(Collectors.groupingBy(hint -> Math.floorMod(hint.processId().hashCode(), parallelism),
+				LinkedHashMap::new, Collectors.toList()))
+			.values().stream()
+			.map(shard -> CompletableFuture.runAsync(() -> hintService.saveHints(shard), workers)
+				.handle((ignored, failure) -> new ShardResult(shard, failure == null ? null : unwrap(failure))))
+			// all shards are started before waiting for the first
+			.toList().stream()
+			.map(CompletableFuture::join)
+			.filter(result -> result.failure() != null)
+			.toList();
+		if (failedShards.isEmpty()) {
+			return;
+		}
+		final HintShardSaveException exception = new HintShardSaveException(
+			failedShards.stream().flatMap(result -> result.shard().stream()).toList(), failedShards.getFirst().failure());
+		failedShards.stream().skip(1).forEach(result -> exception.addSuppressed(result.failure()));
+		throw exception;
+	}
+
+	@Override
+	public void close() {
+		workers.close();
+	}
+
+	// saveHints throws no checked exceptions, errors are rethrown instead of being retried
+	private static RuntimeException unwrap(Throwable failure) {
+		if (failure.getCause() instanceof RuntimeException cause) {
+			return cause;
+		}
+		throw new CompletionException(failure.getCause());
+	}
+
+	private record ShardResult(List<HintDto> shard, RuntimeException failure) {
+	}
+}
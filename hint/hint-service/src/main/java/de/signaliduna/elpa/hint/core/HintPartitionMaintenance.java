@@ -0,0 +1,121 @@
+package de.signaliduna.elpa.hint.core;
+
+import de.signaliduna.elpa.hint.adapter.database.HintPartitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the monthly partitions of the hint table ahead of time and enforces the retention by dropping whole partitions
+ * instead of deleting rows. Every partition is handled in its own short transaction, a failing one is logged and
+ * retried by the next run without holding up the others. The hints stored before the table was partitioned are kept in
+ * the legacy partition, its expired hints are deleted chunk by chunk until it has expired completely and is dropped.
+ */
+public class HintPartitionMaintenance {
+	private static final Logger log = LoggerFactory.getLogger(HintPartitionMaintenance.class);
+
+	private final HintPartitionRepository hintPartitionRepository;
+	private final TransactionOperations transactionOperations;
+	private final int monthsAhead;
+	private final int retentionMonths;
+	private final int legacyChunkSize;
+	private final Clock clock;
+
+	public HintPartitionMaintenance(HintPartitionRepository hintPartitionRepository,
+		TransactionOperations transactionOperations, int monthsAhead, int retentionMonths, int legacyChunkSize,
+		Clock clock) {
+		this.hintPartitionRepository = hintPartitionRepository;
+		this.transactionOperations = transactionOperations;
+		this.monthsAhead = monthsAhead;
+		this.retentionMonths = retentionMonths;
+		this.legacyChunkSize = legacyChunkSize;
+		this.clock = clock;
+	}
+
+	/**
+	 * Creates the partitions of the current and the next {@code monthsAhead} months as well as the retained months
+	 * whose hints ended up in the default partition, and drops the partitions of the months older than
+	 * {@code retentionMonths} before the current month. Hints dated after the managed months stay in the default
+	 * partition until their month is created. The months covered by the legacy partition get no partition of their
+	 * own. Every step is skipped while another instance holds the lock.
+	 */
+	@Scheduled(cron = "${elpa.hint.partitioning.cron:0 0 2 * * *}")
+	public void maintainPartitions() {
+		final YearMonth currentMonth = YearMonth.now(clock);
+		final YearMonth lastMonth = currentMonth.plusMonths(monthsAhead);
+		final YearMonth oldestRetainedMonth = currentMonth.minusMonths(retentionMonths);
+		final List<YearMonth> existingMonths = hintPartitionRepository.findPartitionMonths();
+		final Optional<YearMonth> legacyPartitionEnd = hintPartitionRepository.findLegacyPartitionEnd();
+
+		final TreeSet<YearMonth> missingMonths = new TreeSet<>();
+		for (YearMonth month = currentMonth; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+			missingMonths.add(month);
+		}
+		hintPartitionRepository.findDefaultPartitionMonths().stream()
+			.filter(month -> !month.isBefore(oldestRetainedMonth) && !month.isAfter(lastMonth))
+			.forEach(missingMonths::add);
+		missingMonths.removeAll(existingMonths);
+		legacyPartitionEnd.ifPresent(end -> missingMonths.headSet(end).clear());
+		missingMonths.forEach(month -> maintain("Creating", month, hintPartitionRepository::createPartition));
+
+		existingMonths.stream()
+			.filter(month -> month.isBefore(oldestRetainedMonth))
+			.forEach(month -> maintain("Detaching expired", month, hintPartitionRepository::detachPartition));
+		// also picks up partitions whose drop failed after the detach
+		hintPartitionRepository.findDetachedPartitionMonths().stream()
+			.filter(month -> month.isBefore(oldestRetainedMonth))
+			.forEach(month -> maintain("Dropping expired", month, hintPartitionRepository::dropDetachedPartition));
+		maintain("Deleting default partition hints before", oldestRetainedMonth,
+			month -> log.info("Deleted {} expired hints of the default partition.",
+				hintPartitionRepository.deleteDefaultPartitionHintsBefore(month)));
+
+		legacyPartitionEnd.ifPresent(end -> {
+			if (end.isAfter(oldestRetainedMonth)) {
+				deleteLegacyPartitionHintsBefore(oldestRetainedMonth);
+			} else {
+				maintain("Detaching expired legacy", end, month -> hintPartitionRepository.detachLegacyPartition());
+				maintain("Dropping expired legacy", end, month -> hintPartitionRepository.dropDetachedLegacyPartition());
+			}
+		});
+	}
+
+	// one chunk per transaction until a chunk is not full, a lock held by another instance ends the run
+	private void deleteLegacyPartitionHintsBefore(YearMonth oldestRetainedMonth) {
+		long deleted = 0;
+		try {
+			Integer chunk;
+			do {
+				chunk = transactionOperations.execute(status -> hintPartitionRepository.tryLockMaintenance()
+					? hintPartitionRepository.deleteLegacyPartitionHintsBefore(oldestRetainedMonth, legacyChunkSize)
+					: 0);
+				deleted += chunk == null ? 0 : chunk;
+			} while (chunk != null && chunk == legacyChunkSize);
+		} catch (RuntimeException e) {
+			log.error("Deleting legacy partition hints before {} failed.", oldestRetainedMonth, e);
+		}
+		log.info("Deleted {} expired hints of the legacy partition.", deleted);
+	}
+
+	private void maintain(String step, YearMonth month, Consumer<YearMonth> action) {
+		try {
+			transactionOperations.executeWithoutResult(status -> {
+				if (!hintPartitionRepository.tryLockMaintenance()) {
+					log.info("{} hint partition {} skipped, partitions are maintained by another instance.", step, month);
+					return;
+				}
+				log.info("{} hint partition {}.", step, month);
+				action.accept(month);
+			});
+		} catch (RuntimeException e) {
+			log.error("{} hint partition {} failed.", step, month, e);
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package de.signaliduna.elpa.hint.core;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Caches the pages of process scoped hint queries, grouped by process, so all pages of a process are invalidated at
+ * once when hints of the process are inserted. The size is bounded by the number of cached hints across all pages. The
+ * pages of a process are replaced as a whole when a page is added, a page read while the process is invalidated
+ * therefore finds its group gone and is not cached.
+ */
+public class HintProcessQueryCache implements MeterBinder {
+	static final String CACHE_NAME = "hint-process-query";
+
+	private final Cache<String, ProcessPages> processes;
+
+	/**
+	 * @param maximumHints      maximum number of hints on all cached pages, every page counts at least one
+	 * @param expireAfterAccess processes not queried for this time are dropped, also limits the staleness if an
+	 *                          invalidation is missed
+	 */
+	public HintProcessQueryCache(long maximumHints, Duration expireAfterAccess) {
+		this.processes = Caffeine.newBuilder()
+			.maximumWeight(maximumHints)
+			.weigher((String processId, ProcessPages pages) -> pages.weight())
+			.expireAfterAccess(expireAfterAccess)
+			.recordStats()
+			.build();
+	}
+
+	/**
+	 * Returns the cached page or reads and caches it.
+	 *
+	 * @param hintSourcePrefix hint source prefix of the query, {@code null} if the query is by process id only
+	 */
+	public HintPage get(String processId, String hintSourcePrefix, HintPageRequest pageRequest, Supplier<HintPage> reader) {
+		final ProcessPages pages = processes.get(processId, key -> new ProcessPages(Map.of(), 0));
+		final Query query = new Query(hintSourcePrefix, pageRequest);
+		final HintPage cachedPage = pages.pages().get(query);
+		if (cachedPage != null) {
+			return cachedPage;
+		}
+		final HintPage page = reader.get();
+		// only if the pages were neither invalidated nor extended meanwhile, the cache weighs the new group again
+		processes.asMap().replace(processId, pages, pages.with(query, page));
+		return page;
+	}
+
+	public void invalidate(String processId) {
+		processes.invalidate(processId);
+	}
+
+	public void invalidateAll() {
+		processes.invalidateAll();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, processes, CACHE_NAME);
+	}
+
+	void cleanUp() {
+		processes.cleanUp();
+	}
+
+	private record Query(String hintSourcePrefix, HintPageRequest pageRequest) {
+	}
+
+	/**
+	 * Immutable pages of one process, compared by identity so a replaced or invalidated group is never mistaken for a
+	 * newer one.
+	 */
+	private static final class ProcessPages {
+		private final Map<Query, HintPage> pages;
+		private final int weight;
+
+		private ProcessPages(Map<Query, HintPage> pages, int weight) {
+			this.pages = pages;
+			this.weight = weight;
+		}
+
+		private Map<Query, HintPage> pages() {
+			return pages;
+		}
+
+		private int weight() {
+			return weight;
+		}
+
+		private ProcessPages with(Query query, HintPage page) {
+			final Map<Query, HintPage> extendedPages = new HashMap<>(pages);
+			extendedPages.put(query, page);
+			return new ProcessPages(Map.copyOf(extendedPages), weight + 1 + page.hints().size());
+		}
+	}
+}
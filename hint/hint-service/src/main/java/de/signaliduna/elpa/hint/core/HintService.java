@@ -1,52 +1,203 @@
 package de.signaliduna.elpa.hint.core;
 
+import de.signaliduna.elpa.hint.adapter.database.HintConsumerOffsetRepository;
 import de.signaliduna.elpa.hint.adapter.database.HintRepository;
+import de.signaliduna.elpa.hint.adapter.database.HintSourceDictionary;
 import de.signaliduna.elpa.hint.adapter.database.HintSpecifications;
 import de.signaliduna.elpa.hint.adapter.database.model.HintEntity;
+import de.signaliduna.elpa.hint.adapter.database.model.HintRow;
 import de.signaliduna.elpa.hint.adapter.mapper.HintMapper;
 import de.signaliduna.elpa.hint.model.HintDto;
 import de.signaliduna.elpa.hint.model.HintParams;
+import de.signaliduna.elpa.hint.model.HintSummary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public class HintService {
 	private static final Logger log = LoggerFactory.getLogger(HintService.class);
 	private final HintRepository hintRepository;
 	private final HintMapper hintMapper;
-	public HintService(HintRepository hintRepository, HintMapper hintMapper) {
+	private final HintSourceDictionary hintSourceDictionary;
+	// null if the id cache is disabled
+	private final HintIdCache hintIdCache;
+	// null if the process query cache is disabled
+	private final HintProcessQueryCache hintProcessQueryCache;
+	// null if the consumer offsets are not stored with the hints
+	private final HintConsumerOffsetRepository hintConsumerOffsetRepository;
+
+	public HintService(HintRepository hintRepository, HintMapper hintMapper, HintSourceDictionary hintSourceDictionary) {
+		this(hintRepository, hintMapper, hintSourceDictionary, null, null, null);
+	}
+
+	public HintService(HintRepository hintRepository, HintMapper hintMapper, HintSourceDictionary hintSourceDictionary,
+		HintIdCache hintIdCache, HintProcessQueryCache hintProcessQueryCache,
+		HintConsumerOffsetRepository hintConsumerOffsetRepository) {
 		this.hintRepository = hintRepository;
 		this.hintMapper = hintMapper;
+		this.hintSourceDictionary = hintSourceDictionary;
+		this.hintIdCache = hintIdCache;
+		this.hintProcessQueryCache = hintProcessQueryCache;
+		this.hintConsumerOffsetRepository = hintConsumerOffsetRepository;
 	}
 
-	public List<HintDto> getHints(Map<HintParams, Object> queryParams) {
-		List<HintEntity> hintEntities = new ArrayList<>();
+	/**
+	 * Returns one keyset page of the hints matching the query, ordered by id. The hints are read as {@link HintRow}
+	 * projections, no entities are loaded. One additional row is fetched to find out whether there is a next page.
+	 * Pages of the process scoped queries are served from the {@link HintProcessQueryCache} if it is enabled. A hint
+	 * source prefix is resolved to the matching sources by the {@link HintSourceDictionary}. Not transactional itself,
+	 * each repository read runs in its own read-only transaction.
+	 */
+	public HintPage getHints(Map<HintParams, Object> queryParams, HintPageRequest pageRequest) {
+		final int pageSize = pageRequest.pageSize();
+		final long afterId = pageRequest.afterId();
 		if (queryParams.containsKey(HintParams.PROCESS_ID) && queryParams.size() == 1) {
-			hintEntities.addAll(
-				this.hintRepository.findAllByProcessId(queryParams.get(HintParams.PROCESS_ID).toString()));
+			String processId = queryParams.get(HintParams.PROCESS_ID).toString();
+			return getProcessPage(processId, null, pageRequest, () -> toPage(this.hintRepository.findRowsByProcessId(
+				processId, afterId, Limit.of(pageSize + 1)), pageSize));
 		} else if (queryParams.containsKey(HintParams.PROCESS_ID) && queryParams.containsKey(HintParams.HINT_SOURCE_PREFIX) && queryParams.size() == 2) {
 			String processId = queryParams.get(HintParams.PROCESS_ID).toString();
 			String hintSourcePrefix = queryParams.get(HintParams.HINT_SOURCE_PREFIX).toString();
-			hintEntities.addAll(
-				this.hintRepository.findAllByProcessIdAndHintSourceStartingWith(processId, hintSourcePrefix));
-		} else {
-			Specification<HintEntity> hintEntitySpecification = HintSpecifications.fromQuery(queryParams);
-			hintEntities.addAll(
-				this.hintRepository.findAll(hintEntitySpecification)
-			);
+			return getProcessPage(processId, hintSourcePrefix, pageRequest, () -> {
+				final List<String> hintSources = hintSourceDictionary.findNames(hintSourcePrefix);
+				return hintSources.isEmpty() ? new HintPage(List.of(), null) : toPage(this.hintRepository
+					.findRowsByProcessIdAndHintSources(processId, hintSources, afterId, Limit.of(pageSize + 1)), pageSize);
+			});
+		}
+		Specification<HintEntity> hintEntitySpecification = HintSpecifications.fromQuery(queryParams, afterId,
+			hintSourceDictionary);
+		return toPage(this.hintRepository.findRows(hintEntitySpecification, pageSize + 1), pageSize);
+	}
+
+	/**
+	 * Returns at most {@code limit} hints matching the query and its message search, best ranked first, see
+	 * {@link HintSpecifications#ranking(Map)}. Ranked results are not paged.
+	 */
+	public List<HintDto> searchHints(Map<HintParams, Object> queryParams, int limit) {
+		return hintRepository.findRankedRows(HintSpecifications.fromQuery(queryParams, hintSourceDictionary),
+			HintSpecifications.ranking(queryParams), limit).stream().map(HintRow::hint).toList();
+	}
+
+	/**
+	 * Counts the hints matching the query per category and, if {@code byHintSource} is set, per hint source. The counts
+	 * are computed by the database, filters on process id or hint source are answered from the covering indexes of
+	 * {@code V17__Hint_summary_indexes}.
+	 */
+	public List<HintSummary> summarizeHints(Map<HintParams, Object> queryParams, boolean byHintSource) {
+		return hintRepository.countByCategory(HintSpecifications.fromQuery(queryParams, hintSourceDictionary), byHintSource);
+	}
+
+	private HintPage getProcessPage(String processId, String hintSourcePrefix, HintPageRequest pageRequest,
+		Supplier<HintPage> reader) {
+		if (hintProcessQueryCache == null) {
+			return reader.get();
+		}
+		return hintProcessQueryCache.get(processId, hintSourcePrefix, pageRequest, reader);
+	}
+
+	private static HintPage toPage(List<HintRow> hintRows, int pageSize) {
+		if (hintRows.size() <= pageSize) {
+			return new HintPage(hintRows.stream().map(HintRow::hint).toList(), null);
+		}
+		final List<HintRow> page = hintRows.subList(0, pageSize);
+		return new HintPage(page.stream().map(HintRow::hint).toList(), page.getLast().id());
+	}
+
+	/**
+	 * Hands all hints matching the query to the consumer in id order while they are read from the database. Runs in one
+	 * read-only transaction, the rows are fetched with a cursor as {@link HintRow} projections.
+	 *
+	 * @return number of streamed hints
+	 */
+	@Transactional(readOnly = true)
+	public long streamHints(Map<HintParams, Object> queryParams, Consumer<HintDto> consumer) {
+		long streamedHints = 0;
+		try (Stream<HintRow> hintRows = hintRepository.streamRows(
+			HintSpecifications.fromQuery(queryParams, hintSourceDictionary))) {
+			Iterator<HintRow> iterator = hintRows.iterator();
+			while (iterator.hasNext()) {
+				consumer.accept(iterator.next().hint());
+				streamedHints++;
+			}
 		}
-		return hintEntities.stream().map(hintMapper::entityToDto).toList();
+		log.info("Streamed {} hints for query params: {}", streamedHints, queryParams);
+		return streamedHints;
 	}
 
+	/**
+	 * Saves the hints in one transaction, hints with an already stored idempotency key are skipped. The cached pages of
+	 * their processes are invalidated once the transaction is committed.
+	 */
 	public void saveHints(List<HintDto> hints) {
 		hints.forEach(hint -> log.debug("Saving hint: {}", hint));
-		final List<HintEntity> hintEntities = hints.stream().map(hintMapper::dtoToEntity).toList();
-		hintRepository.saveAll(hintEntities);
+		hintRepository.insertHints(hints);
+		// the other instances are notified by the database, see HintInsertListener
+		if (hintProcessQueryCache != null) {
+			afterCommit(() -> hints.stream().map(HintDto::processId).distinct().forEach(hintProcessQueryCache::invalidate));
+		}
+	}
+
+	// inside an outer transaction a concurrent reader would cache the state before its commit again
+	private static void afterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+
+	/**
+	 * Saves the hints together with the consumer offsets of their records in one transaction, so a record is either
+	 * consumed and its hint saved or neither of both.
+	 */
+	@Transactional
+	public void saveHints(List<HintDto> hints, List<HintConsumerOffset> offsets) {
+		saveHints(hints);
+		saveOffsets(offsets);
 	}
 
+	/**
+	 * Stores consumer offsets without hints, e.g. for records that were handed over to the retry topic.
+	 */
+	@Transactional
+	public void saveOffsets(List<HintConsumerOffset> offsets) {
+		hintConsumerOffsetRepository.saveOffsets(offsets);
+	}
+
+	/**
+	 * Returns the stored next offsets of the given partitions, partitions without stored offset are missing.
+	 */
+	@Transactional(readOnly = true)
+	public Map<Integer, Long> getOffsets(String consumerGroup, String topic, Collection<Integer> partitions) {
+		return hintConsumerOffsetRepository.findOffsets(consumerGroup, topic, partitions);
+	}
+
+	/**
+	 * Returns the hint with the given id, served from the {@link HintIdCache} if it is enabled. Not transactional itself,
+	 * so cache hits do not open a transaction; the repository reads in its own read-only transaction.
+	 */
 	public Optional<HintDto> getHintById(Long id) {
+		if (hintIdCache == null) {
+			return loadHintById(id);
+		}
+		return hintIdCache.get(id, this::loadHintById);
+	}
+
+	private Optional<HintDto> loadHintById(Long id) {
 		return hintRepository.findById(id).map(hintMapper::entityToDto);
 	}
 }
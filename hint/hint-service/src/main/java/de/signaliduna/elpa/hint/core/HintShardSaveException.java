@@ -0,0 +1,27 @@
+package de.signaliduna.elpa.hint.core;
+
+import de.signaliduna.elpa.hint.model.HintDto;
+
+import java.util.List;
+
+/**
+ * Thrown when shards of a batch could not be saved by the {@link HintParallelWriter}. The other shards are already
+ * committed, only the hints of the failed shards have to be retried. The failures of further shards are suppressed.
+ */
+public class HintShardSaveException extends RuntimeException {
+	private final transient List<HintDto> failedHints;
+
+	public HintShardSaveException(List<HintDto> failedHints, RuntimeException cause) {
+		super("Saving %d hints failed.".formatted(failedHints.size()), cause);
+		this.failedHints = failedHints;
+	}
+
+	public List<HintDto> getFailedHints() {
+		return failedHints;
+	}
+
+	@Override
+	public synchronized RuntimeException getCause() {
+		return (RuntimeException) super.getCause();
+	}
+}
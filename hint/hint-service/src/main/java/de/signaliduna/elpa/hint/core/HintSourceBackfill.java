@@ -0,0 +1,113 @@
+package de.signaliduna.elpa.hint.core;
+
+import de.signaliduna.elpa.hint.adapter.database.HintSourceBackfillRepository;
+import de.signaliduna.elpa.hint.adapter.database.HintSourceBackfillRepository.StoredSource;
+import de.signaliduna.elpa.hint.adapter.database.HintSourceDictionary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+/**
+ * Stores the source of the hints saved before {@code V15__hint_source_dictionary.sql} as id of the {@code hint_source}
+ * dictionary in small chunks, in id order from the position stored in {@code hint_source_backfill}. Every run handles
+ * one chunk in its own short transaction. Once no hint is left without source id, the column is made not null, the
+ * foreign key is validated partition by partition and the column {@code hint_source} is dropped; every step is a short
+ * transaction of its own that waits at most {@code lockTimeout} for its locks, a failing step is logged and the
+ * remaining ones are retried by the next run.
+ */
+public class HintSourceBackfill {
+	private static final Logger log = LoggerFactory.getLogger(HintSourceBackfill.class);
+
+	private final HintSourceBackfillRepository hintSourceBackfillRepository;
+	private final HintSourceDictionary hintSourceDictionary;
+	private final TransactionOperations transactionOperations;
+	private final int chunkSize;
+	private final Duration lockTimeout;
+
+	public HintSourceBackfill(HintSourceBackfillRepository hintSourceBackfillRepository,
+		HintSourceDictionary hintSourceDictionary, TransactionOperations transactionOperations, int chunkSize,
+		Duration lockTimeout) {
+		this.hintSourceBackfillRepository = hintSourceBackfillRepository;
+		this.hintSourceDictionary = hintSourceDictionary;
+		this.transactionOperations = transactionOperations;
+		this.chunkSize = chunkSize;
+		this.lockTimeout = lockTimeout;
+	}
+
+	/**
+	 * Stores the source ids of the next {@code chunkSize} hints without one, completes the migration once there are
+	 * none left. Skipped while another instance runs it.
+	 *
+	 * @return number of backfilled hints, {@code 0} if there are none left or another instance runs it
+	 */
+	@Scheduled(fixedDelayString = "${elpa.hint.source-backfill.interval:10s}",
+		initialDelayString = "${elpa.hint.source-backfill.interval:10s}")
+	public int backfillChunk() {
+		// empty if skipped, 0 if all hints have a source id
+		final OptionalInt backfilled = transactionOperations.execute(status -> {
+			if (!hintSourceBackfillRepository.tryLockBackfill()) {
+				log.debug("Hint sources are backfilled by another instance.");
+				return OptionalInt.empty();
+			}
+			if (hintSourceBackfillRepository.isCompleted()) {
+				return OptionalInt.empty();
+			}
+			final List<StoredSource> sources = hintSourceBackfillRepository.findSources(
+				hintSourceBackfillRepository.findLastBackfilledId(), chunkSize);
+			if (sources.isEmpty()) {
+				return OptionalInt.of(0);
+			}
+			final Map<StoredSource, Short> sourceIds = new LinkedHashMap<>();
+			sources.forEach(source -> sourceIds.put(source, hintSourceDictionary.getOrCreateId(source.name())));
+			hintSourceBackfillRepository.storeSourceIds(sourceIds);
+			hintSourceBackfillRepository.setLastBackfilledId(sources.getLast().id());
+			log.info("Backfilled the source ids of {} hints up to id {}.", sources.size(), sources.getLast().id());
+			return OptionalInt.of(sources.size());
+		});
+		if (backfilled.isPresent() && backfilled.getAsInt() == 0) {
+			complete();
+		}
+		return backfilled.orElse(0);
+	}
+
+	private void complete() {
+		final boolean completed = step("Validating the hint source ids", hintSourceBackfillRepository::validateSourceIds)
+			&& step("Setting the hint source id not null", hintSourceBackfillRepository::setSourceIdNotNull)
+			&& hintSourceBackfillRepository.findPartitionNames().stream().allMatch(partitionName ->
+				step("Adding the hint source foreign key of " + partitionName,
+					() -> hintSourceBackfillRepository.addPartitionForeignKey(partitionName))
+					&& step("Validating the hint source foreign key of " + partitionName,
+					() -> hintSourceBackfillRepository.validatePartitionForeignKey(partitionName)))
+			&& step("Adding the hint source foreign key", hintSourceBackfillRepository::addForeignKey)
+			&& step("Dropping the hint source names", hintSourceBackfillRepository::dropSourceNames);
+		if (completed) {
+			log.info("Backfilled the source ids of all hints.");
+		}
+	}
+
+	// every step is repeated by the next run until all are done, so they have to be idempotent
+	private boolean step(String step, Runnable action) {
+		try {
+			return Boolean.TRUE.equals(transactionOperations.execute(status -> {
+				if (!hintSourceBackfillRepository.tryLockBackfill()) {
+					log.info("{} skipped, hint sources are backfilled by another instance.", step);
+					return false;
+				}
+				log.info("{}.", step);
+				hintSourceBackfillRepository.setLockTimeout(lockTimeout);
+				action.run();
+				return true;
+			}));
+		} catch (RuntimeException e) {
+			log.error("{} failed.", step, e);
+			return false;
+		}
+	}
+}
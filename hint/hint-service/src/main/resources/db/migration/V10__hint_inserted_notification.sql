@@ -0,0 +1,15 @@
+-- every inserted hint notifies the listening service instances about its process, so they drop their cached query
+-- results of this process; identical notifications of one transaction are delivered only once
+create or replace function notify_hint_inserted() returns trigger
+	language plpgsql as
+$$
+begin
+	perform pg_notify('hint_inserted', new.process_id);
+	return null;
+end;
+$$;
+
+create trigger hint_inserted_notification
+	after insert on hint
+	for each row
+execute function notify_hint_inserted();
@@ -0,0 +1,10 @@
+-- offsets of the hintCreated records, written in the same transaction as their hints if exactly-once ingest is enabled;
+-- next_offset is the offset of the next record to consume, the consumer seeks to it on partition assignment
+create table hint_consumer_offset
+(
+	consumer_group varchar(255) not null,
+	topic          varchar(255) not null,
+	partition_id   integer      not null,
+	next_offset    bigint       not null,
+	primary key (consumer_group, topic, partition_id)
+);
@@ -0,0 +1,32 @@
+-- hints are stored once per idempotency key; clients may set the key, otherwise it is derived from the content of the
+-- hint, so retried POST /hints requests and redelivered records do not create duplicates
+alter table hint add column idempotency_key text;
+
+-- fields separated by the unit separator, missing optional fields are marked with the record separator
+create or replace function hint_idempotency_key(hint_source text, message text, hint_category text,
+	show_to_user boolean, creation_date timestamp, process_id text, process_version text, resource_id text) returns text
+	language sql
+	stable as
+$$
+select encode(sha256(convert_to(concat_ws(chr(31), hint_source, message, hint_category,
+	coalesce(show_to_user, false)::text, to_char(creation_date, 'YYYY-MM-DD"T"HH24:MI:SS.US'), process_id,
+	coalesce(process_version, chr(30)), coalesce(resource_id, chr(30))), 'UTF8')), 'hex');
+$$;
+
+-- fires before the conflict check of insert ... on conflict and for COPY
+create or replace function set_hint_idempotency_key() returns trigger
+	language plpgsql as
+$$
+begin
+	new.idempotency_key := coalesce(new.idempotency_key, hint_idempotency_key(new.hint_source, new.message,
+		new.hint_category, new.show_to_user, new.creation_date, new.process_id, new.process_version, new.resource_id));
+	return new;
+end;
+$$;
+
+create trigger hint_idempotency_key
+	before insert on hint
+	for each row
+execute function set_hint_idempotency_key();
+
+-- the indexes are built concurrently by V12_1__Hint_idempotency_key_indexes
@@ -0,0 +1,25 @@
+-- every inserted hint is queued in the same transaction for the hint-saved change feed, HintOutboxRelay publishes and
+-- deletes the rows in id order; hints skipped by their idempotency key are not inserted and therefore not queued
+create table hint_outbox
+(
+	hint_id       bigint    not null primary key,
+	process_id    text      not null,
+	hint_source   text      not null,
+	hint_category text      not null,
+	creation_date timestamp not null
+);
+
+create or replace function queue_hint_saved() returns trigger
+	language plpgsql as
+$$
+begin
+	insert into hint_outbox (hint_id, process_id, hint_source, hint_category, creation_date)
+	values (new.id, new.process_id, new.hint_source, new.hint_category, new.creation_date);
+	return null;
+end;
+$$;
+
+create trigger hint_saved_outbox
+	after insert on hint
+	for each row
+execute function queue_hint_saved();
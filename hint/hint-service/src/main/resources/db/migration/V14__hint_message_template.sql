@@ -0,0 +1,44 @@
+-- dictionary of the HintMessage templates, the id is the ordinal of the constant; kept in sync with the enum by
+-- R__Hint_message_templates
+create table hint_message_template
+(
+	id       smallint not null primary key,
+	name     text     not null unique,
+	template text     not null
+);
+
+-- hints rendered from a template store its id and the arguments instead of the message, free text stays in message;
+-- existing hints are converted in chunks by HintMessageCompaction
+alter table hint alter column message drop not null;
+alter table hint add column message_template_id smallint references hint_message_template (id);
+alter table hint add column message_args text[];
+alter table hint add constraint hint_message_present check (message is not null or message_template_id is not null);
+
+-- renders like HintMessage.format, the templates only contain %s placeholders
+create or replace function hint_message(message text, message_template_id smallint, message_args text[]) returns text
+	language sql
+	stable as
+$$
+select coalesce(message, (select format(template, variadic coalesce(message_args, '{}'))
+                          from hint_message_template
+                          where id = message_template_id));
+$$;
+
+-- the idempotency key is derived from the rendered message, so it does not depend on the stored form
+create or replace function set_hint_idempotency_key() returns trigger
+	language plpgsql as
+$$
+begin
+	new.idempotency_key := coalesce(new.idempotency_key, hint_idempotency_key(new.hint_source,
+		hint_message(new.message, new.message_template_id, new.message_args), new.hint_category, new.show_to_user,
+		new.creation_date, new.process_id, new.process_version, new.resource_id));
+	return new;
+end;
+$$;
+
+-- position of HintMessageCompaction, the last hint id checked for a matching template
+create table hint_message_compaction
+(
+	last_id bigint not null
+);
+insert into hint_message_compaction (last_id) values (0);
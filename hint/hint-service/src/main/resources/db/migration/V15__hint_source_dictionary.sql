@@ -0,0 +1,67 @@
+-- dictionary of the hint sources, hints reference their source by a smallint instead of repeating the text; the service
+-- keeps the dictionary in memory and adds unknown sources, see HintSourceDictionary
+create table hint_source
+(
+	id   smallint generated by default as identity primary key,
+	name text not null unique
+);
+
+create or replace function hint_source_name(hint_source_id smallint) returns text
+	language sql
+	stable as
+$$
+select name from hint_source where id = hint_source_id;
+$$;
+
+-- the instances listening for inserted hints reload their copy of the dictionary, see HintInsertListener; the source is
+-- committed before the first hint that references it, so its notification arrives before the one of the hint
+create or replace function notify_hint_source_inserted() returns trigger
+	language plpgsql as
+$$
+begin
+	perform pg_notify('hint_source_inserted', new.name);
+	return null;
+end;
+$$;
+
+create trigger hint_source_inserted_notification
+	after insert on hint_source
+	for each row
+execute function notify_hint_source_inserted();
+
+-- hints saved from now on store the id of their source; the source of the existing hints is stored in chunks by
+-- HintSourceBackfill, which validates the constraints and drops hint_source afterwards, so hint is only locked briefly
+-- here. The check is not valid until then and only applies to new rows, the foreign key is added by the backfill.
+alter table hint add column hint_source_id smallint;
+alter table hint alter column hint_source drop not null;
+alter table hint add constraint hint_source_id_present check (hint_source_id is not null) not valid;
+
+-- the triggers of V12 and V13 read the name from the dictionary, so idempotency keys and hint-saved events stay the same
+create or replace function set_hint_idempotency_key() returns trigger
+	language plpgsql as
+$$
+begin
+	new.idempotency_key := coalesce(new.idempotency_key, hint_idempotency_key(hint_source_name(new.hint_source_id),
+		hint_message(new.message, new.message_template_id, new.message_args), new.hint_category, new.show_to_user,
+		new.creation_date, new.process_id, new.process_version, new.resource_id));
+	return new;
+end;
+$$;
+
+create or replace function queue_hint_saved() returns trigger
+	language plpgsql as
+$$
+begin
+	insert into hint_outbox (hint_id, process_id, hint_source, hint_category, creation_date)
+	values (new.id, new.process_id, hint_source_name(new.hint_source_id), new.hint_category, new.creation_date);
+	return null;
+end;
+$$;
+
+-- position of HintSourceBackfill, the last hint id whose source id was stored; completed once hint_source is dropped
+create table hint_source_backfill
+(
+	last_id   bigint  not null,
+	completed boolean not null
+);
+insert into hint_source_backfill (last_id, completed) values (0, false);
@@ -0,0 +1,49 @@
+-- message search of HintSpecifications: hintTextOriginal is a substring match served by a trigram index, hintTextSearch
+-- a word search over a German tsvector; pg_trgm is a trusted extension, the owner of the database may create it
+create extension if not exists pg_trgm;
+
+-- the indexed text of a hint is computed by the index expressions, nothing is stored per hint: templated hints keep
+-- only their arguments. An index expression must not read other tables, so hint_search_text renders the templates
+-- from literals instead of hint_message_template. R__Hint_message_templates generates it again whenever a template is
+-- appended; the templates are append-only, so the text of every stored hint and the indexes stay valid.
+-- Renders like HintMessage.format, the templates only contain %s placeholders.
+create or replace function create_hint_search_text() returns void
+	language plpgsql as
+$$
+declare
+	template_case text;
+begin
+	select 'case message_template_id ' || string_agg(format('when %s then %L', id, template), ' ' order by id) || ' end'
+	into template_case
+	from hint_message_template;
+	execute format($function$
+		create or replace function hint_search_text(message text, message_template_id smallint, message_args text[])
+			returns text
+			language sql
+			immutable
+			parallel safe as
+		$body$
+		select coalesce(message,
+			(select string_agg(part || coalesce(message_args[part_number::int], ''), '' order by part_number)
+			 from unnest(string_to_array(%s, '%%s')) with ordinality as parts (part, part_number)))
+		$body$
+		$function$, coalesce(template_case, 'null::text'));
+end;
+$$;
+
+select create_hint_search_text();
+
+-- inlined by the planner, the expressions match the indexes of V16_1__Hint_message_search_indexes
+create or replace function hint_message_matches(search_text text, search text) returns boolean
+	language sql
+	immutable as
+$$
+select to_tsvector('german', search_text) @@ websearch_to_tsquery('german', search);
+$$;
+
+create or replace function hint_message_rank(search_text text, search text) returns real
+	language sql
+	immutable as
+$$
+select ts_rank(to_tsvector('german', search_text), websearch_to_tsquery('german', search));
+$$;
@@ -0,0 +1,3 @@
+-- the hints are inserted through the column default of id (HintInsertRepositoryImpl, COPY), not through the pooled
+-- optimizer of Hibernate, so the increment of 50 of V6 burnt 50 ids per row
+alter sequence hint_id_seq increment by 1;
@@ -0,0 +1,8 @@
+-- identity columns disable JDBC insert batching in Hibernate, ids are taken from a pooled sequence instead
+alter table hint alter column id drop identity if exists;
+
+create sequence if not exists hint_id_seq increment by 50;
+-- the pooled optimizer uses the sequence value as upper bound of the allocated block
+select setval('hint_id_seq', (select coalesce(max(id), 0) + 50 from hint), false);
+alter sequence hint_id_seq owned by hint.id;
+alter table hint alter column id set default nextval('hint_id_seq');
@@ -0,0 +1,31 @@
+-- prepares the existing hint table to be attached as partition hint_legacy by V8 instead of being copied: V8 then only
+-- changes metadata. Runs outside of a transaction, so nothing here blocks the writes to hint for longer than a moment;
+-- every statement can be repeated after a failure.
+
+-- upper bound of the creation dates in hint_legacy, later months get their own partitions
+create table if not exists hint_legacy_partition
+(
+	upper_bound timestamp not null
+);
+
+insert into hint_legacy_partition (upper_bound)
+select date_trunc('month', now()) + interval '2 months'
+where not exists (select from hint_legacy_partition);
+
+-- the primary key of the partitioned table includes the partition key; a failed concurrent build leaves an invalid
+-- index behind, which has to be dropped before the migration is repeated
+create unique index concurrently if not exists hint_id_creation_date_key on hint (id, creation_date);
+
+-- the validated check proves the partition bound, so attaching the partition does not scan it; validate only blocks
+-- schema changes of hint while it scans
+do
+$$
+	begin
+		if not exists (select from pg_constraint where conname = 'hint_legacy_creation_date') then
+			execute format('alter table hint add constraint hint_legacy_creation_date check (creation_date < %L) not valid',
+										 (select upper_bound from hint_legacy_partition));
+		end if;
+	end
+$$;
+
+alter table hint validate constraint hint_legacy_creation_date;
@@ -0,0 +1,65 @@
+-- hint is range partitioned by creation_date into monthly partitions (hint_yyyy_mm), expired months are detached and
+-- dropped by HintPartitionMaintenance instead of being deleted row by row. The existing rows are not copied: the old
+-- table becomes the partition hint_legacy of all creation dates before hint_legacy_partition.upper_bound, which V7 has
+-- prepared, so this migration only changes metadata. HintPartitionMaintenance deletes its expired hints chunk by chunk
+-- and drops it once all of them are expired. The indexes are built concurrently by V8_1__Hint_filter_indexes.
+alter table hint rename to hint_legacy;
+-- the primary key of a partition has to match the one of the partitioned table
+alter table hint_legacy
+	drop constraint hint_pkey,
+	add constraint hint_legacy_pkey primary key using index hint_id_creation_date_key;
+-- superseded by idx_hint_process_id_hint_source_pattern
+drop index idx_hint_process_id_hint_source;
+-- the sequence would be dropped together with hint_legacy otherwise
+alter sequence hint_id_seq owned by none;
+
+-- the partition key has to be part of the primary key, ids stay unique through hint_id_seq
+create table hint
+(
+	id              bigint    not null default nextval('hint_id_seq'),
+	hint_source     text      not null,
+	message         text      not null,
+	hint_category   text      not null,
+	show_to_user    boolean,
+	creation_date   timestamp not null,
+	process_id      text      not null,
+	process_version text,
+	resource_id     text,
+	mongo_uuid      text,
+	primary key (id, creation_date)
+) partition by range (creation_date);
+
+alter sequence hint_id_seq owned by hint.id;
+
+-- catches rows without a monthly partition, stays empty as long as the partitions are created ahead of time
+create table hint_default partition of hint default;
+
+-- attaches the old table unless it is empty, then creates the monthly partitions after it up to three months ahead,
+-- later months are created by the maintenance job
+do
+$$
+	declare
+		legacy_upper_bound timestamp := (select upper_bound from hint_legacy_partition);
+		partition_month    date;
+		last_month         date      := (date_trunc('month', now()) + interval '3 months')::date;
+	begin
+		if exists (select from hint_legacy) then
+			-- the validated check of V7 implies the bound, the partition is not scanned
+			execute format('alter table hint attach partition hint_legacy for values from (minvalue) to (%L)',
+										 legacy_upper_bound);
+			alter table hint_legacy drop constraint hint_legacy_creation_date;
+			partition_month := legacy_upper_bound::date;
+		else
+			drop table hint_legacy;
+			delete from hint_legacy_partition;
+			partition_month := date_trunc('month', now())::date;
+		end if;
+		while partition_month <= last_month
+			loop
+				execute format('create table if not exists %I partition of hint for values from (%L) to (%L)',
+											 'hint_' || to_char(partition_month, 'YYYY_MM'), partition_month,
+											 (partition_month + interval '1 month')::date);
+				partition_month := (partition_month + interval '1 month')::date;
+			end loop;
+	end
+$$;
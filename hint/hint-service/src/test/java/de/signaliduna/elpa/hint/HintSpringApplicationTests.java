@@ -10,7 +10,8 @@ import org.springframework.context.annotation.Import;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@SpringBootTest
+// the outbox relay publishes with its own Kafka producer, the test binder provides no broker
+@SpringBootTest(properties = "elpa.hint.outbox.enabled=false")
 @Import(TestChannelBinderConfiguration.class)
 class HintSpringApplicationTests extends AbstractSingletonContainerTest {
 
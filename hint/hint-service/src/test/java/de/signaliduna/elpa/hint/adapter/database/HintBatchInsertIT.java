@@ -0,0 +1,224 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.adapter.mapper.HintMapper;
+import de.signaliduna.elpa.hint.core.HintService;
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.model.HintMessage;
+import de.signaliduna.elpa.hint.util.ContainerImageNames;
+import de.signaliduna.elpa.hint.util.HintTestDataGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@Import(HintSourceDictionary.class)
+@DisplayName("Hint batch insert Integration Tests")
+class HintBatchInsertIT {
+	private static final int HINT_COUNT = 100;
+	private static final int BATCH_SIZE = 50;
+
+	@Autowired
+	private HintRepository hintRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private HintSourceDictionary hintSourceDictionary;
+	@Autowired
+	private DataSource dataSource;
+
+	@Container
+	@ServiceConnection
+	static final PostgreSQLContainer POSTGRES_CONTAINER = new PostgreSQLContainer(
+		DockerImageName.parse(ContainerImageNames.POSTGRES.getImageName()).asCompatibleSubstituteFor(PostgreSQLContainer.IMAGE)
+	);
+
+	private HintService hintService;
+	private final AtomicInteger executedBatches = new AtomicInteger();
+	private final AtomicInteger executedStatements = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		hintRepository.deleteAllInBatch();
+		hintService = new HintService(hintRepository, Mappers.getMapper(HintMapper.class), hintSourceDictionary);
+	}
+
+	@Test
+	@DisplayName("Should save 100 hints in batches and derive their idempotency keys")
+	void shouldSaveHintsInJdbcBatches() {
+		List<HintDto> hints = Stream.generate(HintTestDataGenerator::createInfoHintDto).limit(HINT_COUNT).toList();
+
+		hintService.saveHints(hints);
+
+		assertThat(hintRepository.count()).isEqualTo(HINT_COUNT);
+		assertThat(jdbcTemplate.queryForObject("select count(distinct idempotency_key) from hint", Long.class))
+			.isEqualTo(HINT_COUNT);
+	}
+
+	@Test
+	@DisplayName("Should insert 100 hints with two JDBC batches")
+	void shouldInsertHintsWithOneRoundTripPerBatch() {
+		List<HintDto> hints = Stream.generate(HintTestDataGenerator::createInfoHintDto).limit(HINT_COUNT).toList();
+		HintInsertRepositoryImpl hintInsertRepository = new HintInsertRepositoryImpl(
+			new JdbcTemplate(countingStatements(dataSource)), hintSourceDictionary, BATCH_SIZE);
+
+		hintInsertRepository.insertHints(hints);
+
+		assertThat(executedBatches).hasValue(HINT_COUNT / BATCH_SIZE);
+		assertThat(executedStatements).hasValue(0);
+		assertThat(hintRepository.count()).isEqualTo(HINT_COUNT);
+	}
+
+	@Test
+	@DisplayName("Should skip hints that are saved again or repeated within the batch")
+	void shouldSkipDuplicates() {
+		HintDto hint = HintTestDataGenerator.createInfoHintDto();
+		HintDto otherHint = HintTestDataGenerator.createWarningHintDto();
+
+		hintService.saveHints(List.of(hint, hint));
+		hintService.saveHints(List.of(hint, otherHint));
+
+		assertThat(hintRepository.findAll()).extracting("message").containsExactlyInAnyOrder(hint.message(), otherHint.message());
+	}
+
+	@Test
+	@DisplayName("Should skip a hint that matches a row saved without idempotency key")
+	void shouldSkipHintSavedByJpa() {
+		HintDto hint = HintTestDataGenerator.createInfoHintDto();
+		hintRepository.saveAndFlush(Mappers.getMapper(HintMapper.class).dtoToEntity(hint));
+
+		hintService.saveHints(List.of(hint));
+
+		assertThat(hintRepository.count()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Should use the idempotency key of the client instead of the content")
+	void shouldUseClientIdempotencyKey() {
+		HintDto hint = HintTestDataGenerator.createInfoHintDto().withIdempotencyKey("request-1");
+
+		hintService.saveHints(List.of(hint, hint.withMessage("changed message"), hint.withIdempotencyKey("request-2")));
+
+		assertThat(jdbcTemplate.queryForList("select idempotency_key from hint", String.class))
+			.containsExactlyInAnyOrder("request-1", "request-2");
+	}
+
+	@Test
+	@DisplayName("Should store messages matching a template as template id plus arguments and render them on read")
+	void shouldStoreMessagesAsTemplate() {
+		HintDto templateHint = HintTestDataGenerator.createInfoHintDto()
+			.withMessage(HintMessage.PARTNER_VALIDATION_PANR_ASSIGNED.format("C000001243352665", "590227672"));
+		HintDto freeTextHint = HintTestDataGenerator.createErrorHintDto().withMessage("Freitext");
+
+		hintService.saveHints(List.of(templateHint, freeTextHint));
+
+		assertThat(jdbcTemplate.queryForList("select message, message_template_id::int as template_id, "
+			+ "array_to_string(message_args, '|') as args from hint order by message nulls first"))
+			.extracting(row -> row.get("message"), row -> row.get("template_id"), row -> row.get("args"))
+			.containsExactly(
+				tuple(null, HintMessage.PARTNER_VALIDATION_PANR_ASSIGNED.ordinal(), "C000001243352665|590227672"),
+				tuple("Freitext", null, null));
+		assertThat(hintRepository.findAll()).extracting("message")
+			.containsExactlyInAnyOrder(templateHint.message(), freeTextHint.message());
+	}
+
+	@Test
+	@DisplayName("Should derive the same idempotency key from the rendered message and the template form")
+	void shouldSkipHintSavedInTheOtherForm() {
+		HintDto hint = HintTestDataGenerator.createInfoHintDto()
+			.withMessage(HintMessage.PARTNER_VALIDATION_VNR_NOT_FOUND.format("56330402"));
+
+		hintService.saveHints(List.of(hint));
+		hintService.saveHints(List.of(hint.withMessage(null)
+			.withMessageTemplate(HintMessage.PARTNER_VALIDATION_VNR_NOT_FOUND)
+			.withMessageArgs(List.of("56330402"))));
+
+		assertThat(hintRepository.findAll()).extracting("message").containsExactly(hint.message());
+	}
+
+	@Test
+	@DisplayName("Should store the hint source as id of the source dictionary")
+	void shouldStoreHintSourceAsId() {
+		HintDto hint = HintTestDataGenerator.createInfoHintDto().withHintSource("PASYNC-Dictionary");
+
+		hintService.saveHints(List.of(hint, HintTestDataGenerator.createWarningHintDto().withHintSource("PASYNC-Dictionary")));
+
+		assertThat(jdbcTemplate.queryForList("select distinct hint_source_id from hint", Short.class))
+			.containsExactly(hintSourceDictionary.getOrCreateId("PASYNC-Dictionary"));
+		assertThat(hintRepository.findAll()).extracting("hintSource").containsOnly("PASYNC-Dictionary");
+	}
+
+	@Test
+	@DisplayName("Should reject a hint without source")
+	void shouldRejectHintWithoutSource() {
+		List<HintDto> hints = List.of(HintTestDataGenerator.createInfoHintDto().withHintSource(null));
+
+		assertThatThrownBy(() -> hintService.saveHints(hints)).isInstanceOf(DataIntegrityViolationException.class);
+	}
+
+	// joins the transaction of the test and counts the round trips of the prepared statements
+	private DataSource countingStatements(DataSource target) {
+		return new DelegatingDataSource(new TransactionAwareDataSourceProxy(target)) {
+			@Override
+			public Connection getConnection() throws SQLException {
+				return countingStatements(super.getConnection());
+			}
+		};
+	}
+
+	private Connection countingStatements(Connection connection) {
+		return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+			(proxy, method, args) -> {
+				Object result = invoke(connection, method, args);
+				return result instanceof PreparedStatement statement ? countingStatements(statement) : result;
+			});
+	}
+
+	private PreparedStatement countingStatements(PreparedStatement statement) {
+		return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+			new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+				switch (method.getName()) {
+					case "executeBatch" -> executedBatches.incrementAndGet();
+					case "execute", "executeUpdate", "executeLargeUpdate" -> executedStatements.incrementAndGet();
+					default -> {
+						// not a round trip
+					}
+				}
+				return invoke(statement, method, args);
+			});
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.adapter.mapper.HintMapper;
+import de.signaliduna.elpa.hint.core.HintBulkIngestResult;
+import de.signaliduna.elpa.hint.core.HintBulkIngestService;
+import de.signaliduna.elpa.hint.core.HintService;
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.util.ContainerImageNames;
+import de.signaliduna.elpa.hint.util.HintTestDataGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the throughput of the JDBC batch insert of {@link HintService#saveHints} with the COPY based bulk ingest.
+ * Both paths commit in chunks of {@link #CHUNK_SIZE} hints, the measured rows/sec are logged.
+ */
+@DataJpaTest
+@Import({HintCopyWriter.class, HintSourceDictionary.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Hint bulk ingest benchmark")
+class HintBulkIngestBenchmarkIT {
+	private static final Logger log = LoggerFactory.getLogger(HintBulkIngestBenchmarkIT.class);
+	private static final int HINT_COUNT = 20_000;
+	private static final int CHUNK_SIZE = 5_000;
+
+	@Autowired
+	private HintRepository hintRepository;
+	@Autowired
+	private HintCopyWriter hintCopyWriter;
+	@Autowired
+	private HintSourceDictionary hintSourceDictionary;
+
+	@Container
+	@ServiceConnection
+	static final PostgreSQLContainer POSTGRES_CONTAINER = new PostgreSQLContainer(
+		DockerImageName.parse(ContainerImageNames.POSTGRES.getImageName()).asCompatibleSubstituteFor(PostgreSQLContainer.IMAGE)
+	);
+
+	private List<HintDto> hints;
+
+	@BeforeEach
+	void setUp() {
+		hintRepository.deleteAllInBatch();
+		hints = Stream.generate(HintTestDataGenerator::createInfoHintDto).limit(HINT_COUNT).toList();
+	}
+
+	@Test
+	@DisplayName("COPY should ingest more rows per second than the batch insert")
+	void copyShouldOutperformBatchInsert() {
+		final HintService hintService = new HintService(hintRepository, Mappers.getMapper(HintMapper.class), hintSourceDictionary);
+		final HintBulkIngestService hintBulkIngestService = new HintBulkIngestService(hintCopyWriter, CHUNK_SIZE);
+		// warm up both paths so that class loading and connection setup are not measured
+		hintService.saveHints(hints.subList(0, 100));
+		hintBulkIngestService.ingest(hints.subList(0, 100).iterator());
+		hintRepository.deleteAllInBatch();
+
+		final long batchInsertStart = System.nanoTime();
+		for (int from = 0; from < HINT_COUNT; from += CHUNK_SIZE) {
+			hintService.saveHints(hints.subList(from, Math.min(from + CHUNK_SIZE, HINT_COUNT)));
+		}
+		final double batchInsertRowsPerSecond = rowsPerSecond(System.nanoTime() - batchInsertStart);
+		assertThat(hintRepository.count()).isEqualTo(HINT_COUNT);
+		hintRepository.deleteAllInBatch();
+
+		final long copyStart = System.nanoTime();
+		final HintBulkIngestResult result = hintBulkIngestService.ingest(hints.iterator());
+		final double copyRowsPerSecond = rowsPerSecond(System.nanoTime() - copyStart);
+		assertThat(result.hints()).isEqualTo(HINT_COUNT);
+		assertThat(hintRepository.count()).isEqualTo(HINT_COUNT);
+
+		log.info("Ingested {} hints: batch insert {} rows/sec, COPY {} rows/sec.",
+			HINT_COUNT, Math.round(batchInsertRowsPerSecond), Math.round(copyRowsPerSecond));
+		assertThat(copyRowsPerSecond).isGreaterThan(batchInsertRowsPerSecond);
+	}
+
+	private static double rowsPerSecond(long nanos) {
+		return HINT_COUNT / (nanos / (double) TimeUnit.SECONDS.toNanos(1));
+	}
+}
@@ -0,0 +1,58 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.core.HintConsumerOffset;
+import de.signaliduna.elpa.hint.util.ContainerImageNames;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({HintConsumerOffsetRepository.class, HintSourceDictionary.class})
+@DisplayName("HintConsumerOffsetRepository Integration Tests")
+class HintConsumerOffsetRepositoryIT {
+	private static final String GROUP = "group";
+	private static final String TOPIC = "elpa-hint-created";
+
+	@Autowired
+	private HintConsumerOffsetRepository hintConsumerOffsetRepository;
+
+	@Container
+	@ServiceConnection
+	static final PostgreSQLContainer POSTGRES_CONTAINER = new PostgreSQLContainer(
+		DockerImageName.parse(ContainerImageNames.POSTGRES.getImageName()).asCompatibleSubstituteFor(PostgreSQLContainer.IMAGE)
+	);
+
+	@Test
+	@DisplayName("Should insert new offsets and overwrite stored ones")
+	void shouldUpsertOffsets() {
+		hintConsumerOffsetRepository.saveOffsets(List.of(
+			new HintConsumerOffset(GROUP, TOPIC, 0, 10),
+			new HintConsumerOffset(GROUP, TOPIC, 1, 20)));
+		hintConsumerOffsetRepository.saveOffsets(List.of(new HintConsumerOffset(GROUP, TOPIC, 0, 15)));
+
+		assertThat(hintConsumerOffsetRepository.findOffsets(GROUP, TOPIC, List.of(0, 1, 2)))
+			.isEqualTo(Map.of(0, 15L, 1, 20L));
+	}
+
+	@Test
+	@DisplayName("Should keep the offsets of other consumer groups and topics apart")
+	void shouldSeparateGroupsAndTopics() {
+		hintConsumerOffsetRepository.saveOffsets(List.of(
+			new HintConsumerOffset(GROUP, TOPIC, 0, 10),
+			new HintConsumerOffset("other-group", TOPIC, 0, 20),
+			new HintConsumerOffset(GROUP, "other-topic", 0, 30)));
+
+		assertThat(hintConsumerOffsetRepository.findOffsets(GROUP, TOPIC, List.of(0))).isEqualTo(Map.of(0, 10L));
+	}
+}
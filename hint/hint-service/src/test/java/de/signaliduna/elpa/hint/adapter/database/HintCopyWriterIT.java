@@ -0,0 +1,127 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.adapter.database.model.HintEntity;
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.model.HintMessage;
+import de.signaliduna.elpa.hint.util.ContainerImageNames;
+import de.signaliduna.elpa.hint.util.HintTestDataGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@Import({HintCopyWriter.class, HintSourceDictionary.class})
+// COPY commits on its own connection, the rows have to be visible outside of the test transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("HintCopyWriter Integration Tests")
+class HintCopyWriterIT {
+
+	@Autowired
+	private HintCopyWriter hintCopyWriter;
+	@Autowired
+	private HintRepository hintRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Container
+	@ServiceConnection
+	static final PostgreSQLContainer POSTGRES_CONTAINER = new PostgreSQLContainer(
+		DockerImageName.parse(ContainerImageNames.POSTGRES.getImageName()).asCompatibleSubstituteFor(PostgreSQLContainer.IMAGE)
+	);
+
+	@BeforeEach
+	void setUp() {
+		hintRepository.deleteAll();
+	}
+
+	@Test
+	@DisplayName("Should copy hints including optional null values")
+	void shouldCopyHints() throws Exception {
+		final HintDto completeHint = new HintDto("PASYNC-Validations", "Ort abweichend. Ä Ö Ü ß",
+			HintDto.Category.WARNING, true, "E1234", LocalDateTime.of(2024, 2, 29, 23, 59, 58, 123456000), "2", "resourceId-1");
+		final HintDto sparseHint = new HintDto("ELISA", "PLZ abweichend.",
+			HintDto.Category.INFO, false, "E5678", LocalDateTime.of(1999, 12, 31, 12, 0), null, null);
+
+		long copied = hintCopyWriter.copy(List.of(completeHint, sparseHint));
+
+		assertThat(copied).isEqualTo(2);
+		List<HintEntity> entities = hintRepository.findAll();
+		assertThat(entities).extracting(HintEntity::getId).doesNotContainNull().doesNotHaveDuplicates();
+		assertThat(entities)
+			.extracting(HintEntity::getHintSource, HintEntity::getMessage, HintEntity::getHintCategory,
+				HintEntity::getShowToUser, HintEntity::getProcessId, HintEntity::getCreationDate,
+				HintEntity::getProcessVersion, HintEntity::getResourceId)
+			.containsExactlyInAnyOrder(
+				tuple(completeHint.hintSource(), completeHint.message(), HintDto.Category.WARNING, true,
+					"E1234", completeHint.creationDate(), "2", "resourceId-1"),
+				tuple(sparseHint.hintSource(), sparseHint.message(), HintDto.Category.INFO, false,
+					"E5678", sparseHint.creationDate(), null, null)
+			);
+	}
+
+	@Test
+	@DisplayName("Should copy messages matching a template as template id plus arguments")
+	void shouldCopyTemplates() throws Exception {
+		final HintDto hint = HintTestDataGenerator.createInfoHintDto()
+			.withMessage(HintMessage.PARTNER_VALIDATION_PANR_ASSIGNED.format("C000001243352665", "590227672 Ä"));
+
+		hintCopyWriter.copy(List.of(hint));
+
+		assertThat(jdbcTemplate.queryForList("select message, message_template_id::int as template_id, "
+			+ "array_to_string(message_args, '|') as args from hint"))
+			.extracting(row -> row.get("message"), row -> row.get("template_id"), row -> row.get("args"))
+			.containsExactly(tuple(null, HintMessage.PARTNER_VALIDATION_PANR_ASSIGNED.ordinal(), "C000001243352665|590227672 Ä"));
+		assertThat(hintRepository.findAll()).extracting(HintEntity::getMessage).containsExactly(hint.message());
+	}
+
+	@Test
+	@DisplayName("Should skip hints whose idempotency key is already stored")
+	void shouldSkipDuplicates() throws Exception {
+		final HintDto hint = HintTestDataGenerator.createInfoHintDto();
+		final HintDto otherHint = HintTestDataGenerator.createWarningHintDto();
+		hintCopyWriter.copy(List.of(hint));
+
+		long copied = hintCopyWriter.copy(List.of(hint, otherHint, otherHint));
+
+		assertThat(copied).isEqualTo(1);
+		assertThat(hintRepository.count()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("Should roll back the whole chunk when a row violates a constraint")
+	void shouldRollbackChunkOnFailure() {
+		final HintDto validHint = HintTestDataGenerator.createInfoHintDto();
+		final HintDto invalidHint = new HintDto("ELISA", "PLZ abweichend.", null, false, null, null, null, null);
+
+		assertThatThrownBy(() -> hintCopyWriter.copy(List.of(validHint, invalidHint)))
+			.isInstanceOf(SQLException.class);
+		assertThat(hintRepository.count()).isZero();
+	}
+
+	@Test
+	@DisplayName("Should reject a hint without source")
+	void shouldRejectHintWithoutSource() {
+		final HintDto hint = HintTestDataGenerator.createInfoHintDto().withHintSource(null);
+
+		assertThatThrownBy(() -> hintCopyWriter.copy(List.of(hint))).isInstanceOf(SQLException.class);
+		assertThat(hintRepository.count()).isZero();
+	}
+}
@@ -0,0 +1,84 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.util.ContainerImageNames;
+import de.signaliduna.elpa.hint.util.HintTestDataGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({HintDeduplicationRepository.class, HintSourceDictionary.class})
+@DisplayName("HintDeduplicationRepository Integration Tests")
+class HintDeduplicationRepositoryIT {
+
+	@Autowired
+	private HintDeduplicationRepository hintDeduplicationRepository;
+	@Autowired
+	private HintRepository hintRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Container
+	@ServiceConnection
+	static final PostgreSQLContainer POSTGRES_CONTAINER = new PostgreSQLContainer(
+		DockerImageName.parse(ContainerImageNames.POSTGRES.getImageName()).asCompatibleSubstituteFor(PostgreSQLContainer.IMAGE)
+	);
+
+	@BeforeEach
+	void setUp() {
+		hintRepository.deleteAllInBatch();
+	}
+
+	@Test
+	@DisplayName("Should delete the duplicates of hints stored without idempotency key and key the remaining ones")
+	void shouldDeduplicateHintsWithoutIdempotencyKey() {
+		HintDto keyedHint = HintTestDataGenerator.createInfoHintDto();
+		HintDto duplicatedHint = HintTestDataGenerator.createWarningHintDto();
+		HintDto uniqueHint = HintTestDataGenerator.createErrorHintDto();
+		// simulates hints stored before the idempotency key was introduced
+		hintRepository.insertHints(List.of(keyedHint, duplicatedHint, uniqueHint));
+		jdbcTemplate.update("update hint set idempotency_key = null");
+		hintRepository.insertHints(List.of(keyedHint, duplicatedHint));
+		jdbcTemplate.update("update hint set idempotency_key = null where hint_message(message, message_template_id, message_args) = ?",
+			duplicatedHint.message());
+
+		List<Long> ids = hintDeduplicationRepository.findIdsWithoutIdempotencyKey(10);
+
+		assertThat(ids).hasSize(4).isSorted();
+		assertThat(hintDeduplicationRepository.deleteDuplicates(ids)).isEqualTo(2);
+		assertThat(hintDeduplicationRepository.setIdempotencyKeys(ids)).isEqualTo(2);
+		assertThat(hintDeduplicationRepository.findIdsWithoutIdempotencyKey(10)).isEmpty();
+		assertThat(hintRepository.findAll()).extracting("message")
+			.containsExactlyInAnyOrder(keyedHint.message(), duplicatedHint.message(), uniqueHint.message());
+	}
+
+	@Test
+	@DisplayName("Should return the lowest ids without idempotency key up to the limit")
+	void shouldLimitIdsWithoutIdempotencyKey() {
+		hintRepository.insertHints(List.of(HintTestDataGenerator.createInfoHintDto(),
+			HintTestDataGenerator.createWarningHintDto(), HintTestDataGenerator.createErrorHintDto()));
+		jdbcTemplate.update("update hint set idempotency_key = null");
+		List<Long> allIds = jdbcTemplate.queryForList("select id from hint order by id", Long.class);
+
+		assertThat(hintDeduplicationRepository.findIdsWithoutIdempotencyKey(2)).isEqualTo(allIds.subList(0, 2));
+	}
+
+	@Test
+	@DisplayName("Should take the deduplication lock within a transaction")
+	void shouldLockDeduplication() {
+		assertThat(hintDeduplicationRepository.tryLockDeduplication()).isTrue();
+	}
+}
@@ -0,0 +1,141 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import com.zaxxer.hikari.HikariDataSource;
+import de.signaliduna.elpa.hint.adapter.database.model.HintEntity;
+import de.signaliduna.elpa.hint.core.HintProcessQueryCache;
+import de.signaliduna.elpa.hint.util.ContainerImageNames;
+import de.signaliduna.elpa.hint.util.HintTestDataGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@Import(HintSourceDictionary.class)
+// the notifications are sent on commit
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("HintInsertListener Integration Tests")
+class HintInsertListenerIT {
+	private static final long TIMEOUT_MILLIS = 5_000;
+
+	@Autowired
+	private DataSource dataSource;
+	@Autowired
+	private HintRepository hintRepository;
+	@Autowired
+	private HintSourceDictionary hintSourceDictionary;
+
+	private final HintProcessQueryCache hintProcessQueryCache = mock(HintProcessQueryCache.class);
+	private final HintSourceDictionary listenerHintSourceDictionary = mock(HintSourceDictionary.class);
+	private HintInsertListener classUnderTest;
+
+	@Container
+	@ServiceConnection
+	static final PostgreSQLContainer POSTGRES_CONTAINER = new PostgreSQLContainer(
+		DockerImageName.parse(ContainerImageNames.POSTGRES.getImageName()).asCompatibleSubstituteFor(PostgreSQLContainer.IMAGE)
+	);
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		classUnderTest = new HintInsertListener(HintInsertListener.unpooled(dataSource), hintProcessQueryCache,
+			listenerHintSourceDictionary, Duration.ofMillis(100));
+		classUnderTest.start();
+		// the cache is dropped and the dictionary reloaded as soon as the listener listens
+		verify(hintProcessQueryCache, timeout(TIMEOUT_MILLIS)).invalidateAll();
+		verify(listenerHintSourceDictionary).refresh(any(JdbcOperations.class));
+	}
+
+	@AfterEach
+	void tearDown() {
+		classUnderTest.stop();
+		hintRepository.deleteAll();
+	}
+
+	@Test
+	@DisplayName("Should invalidate the processes of inserted hints once per transaction")
+	void shouldInvalidateInsertedProcesses() {
+		HintEntity firstHint = HintTestDataGenerator.createInfoHintEntity();
+		HintEntity secondHint = HintTestDataGenerator.createWarningHintEntity();
+		secondHint.setProcessId(firstHint.getProcessId());
+		HintEntity otherProcessHint = HintTestDataGenerator.createErrorHintEntity();
+
+		hintRepository.saveAllAndFlush(List.of(firstHint, secondHint, otherProcessHint));
+
+		verify(hintProcessQueryCache, timeout(TIMEOUT_MILLIS)).invalidate(firstHint.getProcessId());
+		verify(hintProcessQueryCache, timeout(TIMEOUT_MILLIS)).invalidate(otherProcessHint.getProcessId());
+		verifyNoMoreInteractions(hintProcessQueryCache);
+	}
+
+	@Test
+	@DisplayName("Should refresh the source dictionary on the listener connection when a source is added")
+	void shouldRefreshDictionaryOnAddedSource() {
+		hintSourceDictionary.getOrCreateId("LISTENER-Added");
+
+		verify(listenerHintSourceDictionary, timeout(TIMEOUT_MILLIS).times(2)).refresh(any(JdbcOperations.class));
+		verify(listenerHintSourceDictionary, never()).refresh();
+		verifyNoMoreInteractions(hintProcessQueryCache);
+	}
+
+	@Test
+	@DisplayName("Should open the listener connections in the schema of the pool")
+	void shouldUseSchemaOfPool() throws SQLException {
+		try (Connection connection = HintInsertListener.unpooled(dataSource).getConnection()) {
+			// the tests use the hint schema of application.yml, not the default schema of the database user
+			assertThat(connection.getSchema()).isEqualTo(dataSource.unwrap(HikariDataSource.class).getSchema())
+				.isEqualTo("hint");
+		}
+	}
+
+	@Test
+	@DisplayName("Should load a real source dictionary on the listener connection before it listens")
+	void shouldLoadDictionaryOnListenerConnection() throws SQLException {
+		final short sourceId = hintSourceDictionary.getOrCreateId("LISTENER-Existing");
+		final HintProcessQueryCache listenerCache = mock(HintProcessQueryCache.class);
+		// loads nothing itself, the sources can only come from the listener connection
+		final HintSourceDictionary realHintSourceDictionary = new HintSourceDictionary(mock(JdbcTemplate.class));
+		final HintInsertListener listener = new HintInsertListener(HintInsertListener.unpooled(dataSource), listenerCache,
+			realHintSourceDictionary, Duration.ofMillis(100));
+		listener.start();
+		try {
+			// only reached once the dictionary is loaded
+			verify(listenerCache, timeout(TIMEOUT_MILLIS)).invalidateAll();
+			assertThat(realHintSourceDictionary.findId("LISTENER-Existing")).contains(sourceId);
+		} finally {
+			listener.stop();
+		}
+	}
+
+	@Test
+	@DisplayName("Should listen without holding a connection of the pool")
+	void shouldListenOutsideOfPool() throws SQLException {
+		assertThat(dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections()).isZero();
+	}
+
+	@Test
+	@DisplayName("Should stop listening when stopped")
+	void shouldStop() {
+		classUnderTest.stop();
+
+		assertThat(classUnderTest.isRunning()).isFalse();
+	}
+}
@@ -0,0 +1,41 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.core.HintProcessQueryCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HintInsertListener Test")
+class HintInsertListenerTest {
+	@Mock
+	private DataSource dataSource;
+	@Mock
+	private HintProcessQueryCache hintProcessQueryCache;
+	@Mock
+	private HintSourceDictionary hintSourceDictionary;
+
+	@Test
+	@DisplayName("should reconnect while the database is unreachable")
+	void shouldReconnect() throws SQLException {
+		when(dataSource.getConnection()).thenThrow(new SQLException("connection refused"));
+		HintInsertListener classUnderTest = new HintInsertListener(dataSource, hintProcessQueryCache, hintSourceDictionary,
+			Duration.ofMillis(10));
+
+		classUnderTest.start();
+		verify(dataSource, timeout(5_000).atLeast(2)).getConnection();
+		classUnderTest.stop();
+
+		assertThat(classUnderTest.isRunning()).isFalse();
+		verifyNoInteractions(hintProcessQueryCache, hintSourceDictionary);
+	}
+}
@@ -0,0 +1,118 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.adapter.database.HintMessageCompactionRepository.StoredMessage;
+import de.signaliduna.elpa.hint.adapter.database.model.HintEntity;
+import de.signaliduna.elpa.hint.model.HintMessage;
+import de.signaliduna.elpa.hint.model.HintMessageTemplates;
+import de.signaliduna.elpa.hint.util.ContainerImageNames;
+import de.signaliduna.elpa.hint.util.HintTestDataGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@Import({HintMessageCompactionRepository.class, HintSourceDictionary.class})
+@DisplayName("HintMessageCompactionRepository Integration Tests")
+class HintMessageCompactionRepositoryIT {
+
+	@Autowired
+	private HintMessageCompactionRepository hintMessageCompactionRepository;
+	@Autowired
+	private HintRepository hintRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Container
+	@ServiceConnection
+	static final PostgreSQLContainer POSTGRES_CONTAINER = new PostgreSQLContainer(
+		DockerImageName.parse(ContainerImageNames.POSTGRES.getImageName()).asCompatibleSubstituteFor(PostgreSQLContainer.IMAGE)
+	);
+
+	@BeforeEach
+	void setUp() {
+		hintRepository.deleteAllInBatch();
+	}
+
+	@Test
+	@DisplayName("Should return the hints with rendered message after the given id in id order")
+	void shouldFindRenderedMessages() {
+		// entities saved by JPA keep the rendered message
+		List<HintEntity> entities = hintRepository.saveAllAndFlush(List.of(HintTestDataGenerator.createInfoHintEntity(),
+			HintTestDataGenerator.createWarningHintEntity(), HintTestDataGenerator.createErrorHintEntity()));
+		HintEntity first = entities.getFirst();
+
+		assertThat(hintMessageCompactionRepository.findMessages(0, 10)).extracting(StoredMessage::id)
+			.containsExactlyElementsOf(entities.stream().map(HintEntity::getId).sorted().toList());
+		assertThat(hintMessageCompactionRepository.findMessages(0, 1))
+			.extracting(StoredMessage::id, StoredMessage::message)
+			.containsExactly(tuple(first.getId(), first.getMessage()));
+		assertThat(hintMessageCompactionRepository.findMessages(entities.getLast().getId(), 10)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Should replace the messages by template and arguments")
+	void shouldStoreTemplates() {
+		String message = HintMessage.PARTNER_VALIDATION_PANR_ASSIGNED.format("C000001243352665", "590227672");
+		HintEntity templateHint = HintTestDataGenerator.createInfoHintEntity();
+		templateHint.setMessage(message);
+		HintEntity withoutArgsHint = HintTestDataGenerator.createWarningHintEntity();
+		withoutArgsHint.setMessage(HintMessage.CITY_DIFFERENT.message);
+		hintRepository.saveAllAndFlush(List.of(templateHint, withoutArgsHint));
+		List<StoredMessage> messages = hintMessageCompactionRepository.findMessages(0, 10);
+
+		int stored = hintMessageCompactionRepository.storeTemplates(Map.of(
+			messages.getFirst(), HintMessageTemplates.match(message).orElseThrow(),
+			messages.getLast(), HintMessageTemplates.match(HintMessage.CITY_DIFFERENT.message).orElseThrow()));
+
+		assertThat(stored).isEqualTo(2);
+		assertThat(hintMessageCompactionRepository.findMessages(0, 10)).isEmpty();
+		assertThat(jdbcTemplate.queryForList("select array_to_string(message_args, '|') from hint order by id", String.class))
+			.containsExactly("C000001243352665|590227672", null);
+		assertThat(jdbcTemplate.queryForList("select hint_message(message, message_template_id, message_args) from hint "
+			+ "order by id", String.class)).containsExactly(message, HintMessage.CITY_DIFFERENT.message);
+		assertThat(jdbcTemplate.queryForList("select hint_search_text(message, message_template_id, message_args) from hint "
+			+ "order by id", String.class)).containsExactly(message, HintMessage.CITY_DIFFERENT.message);
+	}
+
+	@Test
+	@DisplayName("Should store the id of the last checked hint")
+	void shouldStoreLastCheckedId() {
+		hintMessageCompactionRepository.setLastCheckedId(42);
+
+		assertThat(hintMessageCompactionRepository.findLastCheckedId()).isEqualTo(42);
+	}
+
+	@Test
+	@DisplayName("Should render every template of the dictionary like HintMessage")
+	void shouldRenderDictionaryLikeHintMessage() {
+		String[] args = {"a", "b", "c"};
+
+		for (HintMessage message : HintMessage.values()) {
+			assertThat(jdbcTemplate.queryForObject("select hint_message(null, ?::smallint, ?::text[])", String.class,
+				message.ordinal(), args)).as(message.name()).isEqualTo(message.format((Object[]) args));
+			// the search indexes render from the literals generated by R__Hint_message_templates
+			assertThat(jdbcTemplate.queryForObject("select hint_search_text(null, ?::smallint, ?::text[])", String.class,
+				message.ordinal(), args)).as(message.name()).isEqualTo(message.format((Object[]) args));
+		}
+	}
+
+	@Test
+	@DisplayName("Should take the compaction lock within a transaction")
+	void shouldLockCompaction() {
+		assertThat(hintMessageCompactionRepository.tryLockCompaction()).isTrue();
+	}
+}
@@ -0,0 +1,124 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import db.migration.R__Hint_message_templates;
+import de.signaliduna.elpa.hint.model.HintMessage;
+import de.signaliduna.elpa.hint.util.ContainerImageNames;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@Import(HintSourceDictionary.class)
+// the migration reads the templates with its own connection, the changed templates have to be committed
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("R__Hint_message_templates Integration Tests")
+class HintMessageTemplatesMigrationIT {
+	private static final String TEMPLATE_QUERY = "select name || ': ' || template from hint_message_template where id = ?";
+	private static final String SEARCH_TEXT_QUERY = "select hint_search_text(null, ?::smallint, ?::text[])";
+
+	@Autowired
+	private DataSource dataSource;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Container
+	@ServiceConnection
+	static final PostgreSQLContainer POSTGRES_CONTAINER = new PostgreSQLContainer(
+		DockerImageName.parse(ContainerImageNames.POSTGRES.getImageName()).asCompatibleSubstituteFor(PostgreSQLContainer.IMAGE)
+	);
+
+	@AfterEach
+	void restoreTemplates() {
+		jdbcTemplate.update("delete from hint_message_template where id >= ?", (short) HintMessage.values().length);
+		for (HintMessage message : HintMessage.values()) {
+			jdbcTemplate.update("insert into hint_message_template (id, name, template) values (?, ?, ?)"
+					+ " on conflict (id) do update set name = excluded.name, template = excluded.template",
+				(short) message.ordinal(), message.name(), message.message);
+		}
+		jdbcTemplate.execute("select create_hint_search_text()");
+	}
+
+	@Test
+	@DisplayName("Should insert the templates that are appended")
+	void shouldInsertAppendedTemplates() throws Exception {
+		HintMessage lastMessage = HintMessage.values()[HintMessage.values().length - 1];
+		jdbcTemplate.update("delete from hint_message_template where id = ?", (short) lastMessage.ordinal());
+		jdbcTemplate.execute("select create_hint_search_text()");
+		String[] args = {"a", "b", "c"};
+		assertThat(jdbcTemplate.queryForObject(SEARCH_TEXT_QUERY, String.class, lastMessage.ordinal(), args)).isNull();
+
+		migrate();
+
+		assertThat(jdbcTemplate.queryForObject(TEMPLATE_QUERY, String.class, (short) lastMessage.ordinal()))
+			.isEqualTo(lastMessage.name() + ": " + lastMessage.message);
+		assertThat(jdbcTemplate.queryForObject(SEARCH_TEXT_QUERY, String.class, lastMessage.ordinal(), args))
+			.isEqualTo(lastMessage.format((Object[]) args));
+	}
+
+	@Test
+	@DisplayName("Should fail and insert nothing when a stored id belongs to another constant")
+	void shouldFailOnRenamedTemplate() {
+		HintMessage lastMessage = HintMessage.values()[HintMessage.values().length - 1];
+		jdbcTemplate.update("delete from hint_message_template where id = ?", (short) lastMessage.ordinal());
+		jdbcTemplate.update("update hint_message_template set name = 'POSTAL_CODE_REMOVED' where id = ?",
+			(short) HintMessage.POSTAL_CODE_NEW.ordinal());
+
+		assertThatThrownBy(this::migrate)
+			.isInstanceOf(FlywayException.class)
+			.hasMessageContaining("stored as POSTAL_CODE_REMOVED but is POSTAL_CODE_NEW");
+		assertThat(jdbcTemplate.queryForObject("select count(*) from hint_message_template where id = ?", Integer.class,
+			(short) lastMessage.ordinal())).isZero();
+	}
+
+	@Test
+	@DisplayName("Should fail when the text of a stored template changed")
+	void shouldFailOnChangedText() {
+		jdbcTemplate.update("update hint_message_template set template = 'Veraltete Vorlage.' where id = ?",
+			(short) HintMessage.POSTAL_CODE_NEW.ordinal());
+
+		assertThatThrownBy(this::migrate)
+			.isInstanceOf(FlywayException.class)
+			.hasMessageContaining("Text of hint message template POSTAL_CODE_NEW");
+		assertThat(jdbcTemplate.queryForObject(TEMPLATE_QUERY, String.class, (short) HintMessage.POSTAL_CODE_NEW.ordinal()))
+			.isEqualTo("POSTAL_CODE_NEW: Veraltete Vorlage.");
+	}
+
+	@Test
+	@DisplayName("Should fail when a stored template has no constant anymore")
+	void shouldFailOnRemovedTemplate() {
+		jdbcTemplate.update("insert into hint_message_template (id, name, template) values (?, 'REMOVED', 'Entfernt.')",
+			(short) HintMessage.values().length);
+
+		assertThatThrownBy(this::migrate)
+			.isInstanceOf(FlywayException.class)
+			.hasMessageContaining("[REMOVED]");
+	}
+
+	private void migrate() throws Exception {
+		try (Connection connection = dataSource.getConnection()) {
+			Context context = mock(Context.class);
+			when(context.getConnection()).thenReturn(connection);
+			new R__Hint_message_templates().migrate(context);
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.model.HintSavedEvent;
+import de.signaliduna.elpa.hint.util.ContainerImageNames;
+import de.signaliduna.elpa.hint.util.HintTestDataGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({HintOutboxRepository.class, HintSourceDictionary.class})
+@DisplayName("HintOutboxRepository Integration Tests")
+class HintOutboxRepositoryIT {
+
+	@Autowired
+	private HintOutboxRepository hintOutboxRepository;
+	@Autowired
+	private HintRepository hintRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Container
+	@ServiceConnection
+	static final PostgreSQLContainer POSTGRES_CONTAINER = new PostgreSQLContainer(
+		DockerImageName.parse(ContainerImageNames.POSTGRES.getImageName()).asCompatibleSubstituteFor(PostgreSQLContainer.IMAGE)
+	);
+
+	@BeforeEach
+	void setUp() {
+		hintRepository.deleteAllInBatch();
+		jdbcTemplate.update("delete from hint_outbox");
+	}
+
+	@Test
+	@DisplayName("Should queue every inserted hint once and claim the events in id order")
+	void shouldQueueInsertedHints() {
+		HintDto infoHint = HintTestDataGenerator.createInfoHintDto();
+		HintDto warningHint = HintTestDataGenerator.createWarningHintDto();
+		hintRepository.insertHints(List.of(infoHint, warningHint));
+		// skipped by the idempotency key
+		hintRepository.insertHints(List.of(infoHint));
+
+		List<HintSavedEvent> events = hintOutboxRepository.claimEvents(10);
+
+		assertThat(events).extracting(HintSavedEvent::hintId)
+			.containsExactlyElementsOf(jdbcTemplate.queryForList("select id from hint order by id", Long.class));
+		assertThat(events.getFirst()).isEqualTo(new HintSavedEvent(events.getFirst().hintId(), infoHint.processId(),
+			infoHint.hintSource(), infoHint.hintCategory(), infoHint.creationDate()));
+		assertThat(events.getLast().processId()).isEqualTo(warningHint.processId());
+		assertThat(hintOutboxRepository.claimEvents(10)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Should claim the oldest events up to the limit")
+	void shouldClaimUpToLimit() {
+		hintRepository.insertHints(List.of(HintTestDataGenerator.createInfoHintDto(),
+			HintTestDataGenerator.createErrorHintDto(), HintTestDataGenerator.createBlockerHintDto()));
+		List<Long> ids = jdbcTemplate.queryForList("select id from hint order by id", Long.class);
+
+		assertThat(hintOutboxRepository.claimEvents(2)).extracting(HintSavedEvent::hintId)
+			.containsExactlyElementsOf(ids.subList(0, 2));
+		assertThat(hintOutboxRepository.claimEvents(2)).extracting(HintSavedEvent::hintId)
+			.containsExactly(ids.get(2));
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	@DisplayName("Should let one transaction at a time hold the relay lock")
+	void shouldLockRelay() {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+		List<Boolean> locks = transactionTemplate.execute(status -> {
+			boolean lockedFirst = hintOutboxRepository.tryLockRelay();
+			// the other instance tries while the first transaction is still open
+			boolean lockedConcurrently = CompletableFuture.supplyAsync(() ->
+				transactionTemplate.execute(otherStatus -> hintOutboxRepository.tryLockRelay())).join();
+			return List.of(lockedFirst, lockedConcurrently);
+		});
+
+		assertThat(locks).containsExactly(true, false);
+		// released with the transaction
+		assertThat(transactionTemplate.execute(status -> hintOutboxRepository.tryLockRelay())).isTrue();
+	}
+}
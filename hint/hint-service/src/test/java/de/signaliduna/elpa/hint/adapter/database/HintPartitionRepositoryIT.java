@@ -0,0 +1,202 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.adapter.database.model.HintEntity;
+import de.signaliduna.elpa.hint.util.ContainerImageNames;
+import de.signaliduna.elpa.hint.util.HintTestDataGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({HintPartitionRepository.class, HintSourceDictionary.class})
+@DisplayName("HintPartitionRepository Integration Tests")
+class HintPartitionRepositoryIT {
+	private static final YearMonth MONTH = YearMonth.of(2030, 1);
+
+	@Autowired
+	private HintPartitionRepository hintPartitionRepository;
+	@Autowired
+	private HintRepository hintRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Container
+	@ServiceConnection
+	static final PostgreSQLContainer POSTGRES_CONTAINER = new PostgreSQLContainer(
+		DockerImageName.parse(ContainerImageNames.POSTGRES.getImageName()).asCompatibleSubstituteFor(PostgreSQLContainer.IMAGE)
+	);
+
+	@BeforeEach
+	void setUp() {
+		hintRepository.deleteAll();
+	}
+
+	@Test
+	@DisplayName("Should list the monthly partitions created by the migration")
+	void shouldFindMigratedPartitions() {
+		YearMonth currentMonth = YearMonth.now();
+
+		assertThat(hintPartitionRepository.findPartitionMonths())
+			.contains(currentMonth, currentMonth.plusMonths(3))
+			.isSorted();
+	}
+
+	@Test
+	@DisplayName("Should route hints into a created partition")
+	void shouldCreatePartition() {
+		hintPartitionRepository.createPartition(MONTH);
+		HintEntity hint = HintTestDataGenerator.createInfoHintEntity();
+		hint.setCreationDate(LocalDateTime.of(2030, 1, 15, 12, 0));
+		hintRepository.saveAndFlush(hint);
+
+		assertThat(hintPartitionRepository.findPartitionMonths()).contains(MONTH);
+		assertThat(jdbcTemplate.queryForObject("select count(*) from hint_2030_01", Long.class)).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Should move the hints of the month out of the default partition into a created partition")
+	void shouldMoveDefaultPartitionHints() {
+		HintEntity movedHint = HintTestDataGenerator.createInfoHintEntity();
+		movedHint.setCreationDate(LocalDateTime.of(2030, 1, 31, 23, 59));
+		HintEntity laterHint = HintTestDataGenerator.createWarningHintEntity();
+		laterHint.setCreationDate(LocalDateTime.of(2030, 2, 1, 0, 0));
+		hintRepository.saveAllAndFlush(List.of(movedHint, laterHint));
+		assertThat(hintPartitionRepository.findDefaultPartitionMonths()).containsExactly(MONTH, MONTH.plusMonths(1));
+		long outboxEvents = jdbcTemplate.queryForObject("select count(*) from hint_outbox", Long.class);
+
+		hintPartitionRepository.createPartition(MONTH);
+
+		assertThat(hintPartitionRepository.findPartitionMonths()).contains(MONTH);
+		assertThat(hintPartitionRepository.findDefaultPartitionMonths()).containsExactly(MONTH.plusMonths(1));
+		assertThat(jdbcTemplate.queryForList("select id from hint_2030_01", Long.class)).containsExactly(movedHint.getId());
+		assertThat(jdbcTemplate.queryForObject("select count(*) from hint_outbox", Long.class)).isEqualTo(outboxEvents);
+		assertThat(hintRepository.findAll()).hasSize(2);
+	}
+
+	@Test
+	@DisplayName("Should leave an existing partition as it is")
+	void shouldNotCreateExistingPartition() {
+		hintPartitionRepository.createPartition(MONTH);
+		HintEntity hint = HintTestDataGenerator.createInfoHintEntity();
+		hint.setCreationDate(LocalDateTime.of(2030, 1, 15, 12, 0));
+		hintRepository.saveAndFlush(hint);
+
+		hintPartitionRepository.createPartition(MONTH);
+
+		assertThat(jdbcTemplate.queryForObject("select count(*) from hint_2030_01", Long.class)).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Should detach a partition and drop it together with its hints")
+	void shouldDropPartition() {
+		hintPartitionRepository.createPartition(MONTH);
+		HintEntity expiredHint = HintTestDataGenerator.createInfoHintEntity();
+		expiredHint.setCreationDate(LocalDateTime.of(2030, 1, 15, 12, 0));
+		HintEntity keptHint = HintTestDataGenerator.createWarningHintEntity();
+		hintRepository.saveAllAndFlush(List.of(expiredHint, keptHint));
+
+		hintPartitionRepository.detachPartition(MONTH);
+		hintPartitionRepository.detachPartition(MONTH);
+
+		assertThat(hintPartitionRepository.findPartitionMonths()).doesNotContain(MONTH);
+		assertThat(hintPartitionRepository.findDetachedPartitionMonths()).containsExactly(MONTH);
+		assertThat(hintRepository.findAll()).extracting(HintEntity::getId).containsExactly(keptHint.getId());
+
+		hintPartitionRepository.dropDetachedPartition(MONTH);
+
+		assertThat(hintPartitionRepository.findDetachedPartitionMonths()).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Should delete the expired hints of the default partition")
+	void shouldDeleteExpiredDefaultPartitionHints() {
+		HintEntity expiredHint = HintTestDataGenerator.createInfoHintEntity();
+		expiredHint.setCreationDate(LocalDateTime.of(2000, 1, 15, 12, 0));
+		HintEntity keptHint = HintTestDataGenerator.createWarningHintEntity();
+		hintRepository.saveAllAndFlush(List.of(expiredHint, keptHint));
+
+		assertThat(hintPartitionRepository.deleteDefaultPartitionHintsBefore(YearMonth.of(2000, 2))).isEqualTo(1);
+
+		assertThat(hintRepository.findAll()).extracting(HintEntity::getId).containsExactly(keptHint.getId());
+	}
+
+	@Test
+	@DisplayName("Should have no legacy partition when the table was empty before it was partitioned")
+	void shouldFindNoLegacyPartition() {
+		assertThat(hintPartitionRepository.findLegacyPartitionEnd()).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Should delete the expired hints of the legacy partition in chunks")
+	void shouldDeleteExpiredLegacyPartitionHints() {
+		createLegacyPartition(LocalDate.of(2000, 3, 1));
+		HintEntity firstExpiredHint = HintTestDataGenerator.createInfoHintEntity();
+		firstExpiredHint.setCreationDate(LocalDateTime.of(2000, 1, 10, 12, 0));
+		HintEntity secondExpiredHint = HintTestDataGenerator.createWarningHintEntity();
+		secondExpiredHint.setCreationDate(LocalDateTime.of(2000, 1, 20, 12, 0));
+		HintEntity keptHint = HintTestDataGenerator.createErrorHintEntity();
+		keptHint.setCreationDate(LocalDateTime.of(2000, 2, 1, 0, 0));
+		hintRepository.saveAllAndFlush(List.of(firstExpiredHint, secondExpiredHint, keptHint));
+
+		assertThat(hintPartitionRepository.findLegacyPartitionEnd()).contains(YearMonth.of(2000, 3));
+		assertThat(jdbcTemplate.queryForObject("select count(*) from hint_legacy", Long.class)).isEqualTo(3);
+		assertThat(hintPartitionRepository.deleteLegacyPartitionHintsBefore(YearMonth.of(2000, 2), 1)).isEqualTo(1);
+		assertThat(hintPartitionRepository.deleteLegacyPartitionHintsBefore(YearMonth.of(2000, 2), 1)).isEqualTo(1);
+		assertThat(hintPartitionRepository.deleteLegacyPartitionHintsBefore(YearMonth.of(2000, 2), 1)).isZero();
+
+		assertThat(hintRepository.findAll()).extracting(HintEntity::getId).containsExactly(keptHint.getId());
+	}
+
+	@Test
+	@DisplayName("Should detach the legacy partition and drop it together with its hints")
+	void shouldDropLegacyPartition() {
+		createLegacyPartition(LocalDate.of(2000, 3, 1));
+		HintEntity expiredHint = HintTestDataGenerator.createInfoHintEntity();
+		expiredHint.setCreationDate(LocalDateTime.of(2000, 1, 15, 12, 0));
+		HintEntity keptHint = HintTestDataGenerator.createWarningHintEntity();
+		hintRepository.saveAllAndFlush(List.of(expiredHint, keptHint));
+
+		hintPartitionRepository.dropDetachedLegacyPartition();
+
+		assertThat(hintRepository.findAll()).hasSize(2);
+
+		hintPartitionRepository.detachLegacyPartition();
+		hintPartitionRepository.detachLegacyPartition();
+
+		assertThat(hintRepository.findAll()).extracting(HintEntity::getId).containsExactly(keptHint.getId());
+
+		hintPartitionRepository.dropDetachedLegacyPartition();
+
+		assertThat(hintPartitionRepository.findLegacyPartitionEnd()).isEmpty();
+		assertThat(jdbcTemplate.queryForObject("select to_regclass('hint_legacy') is null", Boolean.class)).isTrue();
+	}
+
+	@Test
+	@DisplayName("Should take the maintenance lock within the transaction")
+	void shouldTakeMaintenanceLock() {
+		assertThat(hintPartitionRepository.tryLockMaintenance()).isTrue();
+	}
+
+	// like V8 attaches the table of the hints stored before the partitioning
+	private void createLegacyPartition(LocalDate upperBound) {
+		jdbcTemplate.execute("create table hint_legacy (like hint including all)");
+		jdbcTemplate.execute("alter table hint attach partition hint_legacy for values from (minvalue) to ('%s')"
+			.formatted(upperBound));
+		jdbcTemplate.update("insert into hint_legacy_partition (upper_bound) values (?)", upperBound.atStartOfDay());
+	}
+}
@@ -0,0 +1,260 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.util.ContainerImageNames;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(HintSourceDictionary.class)
+// the seeded rows are committed once and shared by all plans
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Hint query plan Integration Tests")
+class HintQueryPlanIT {
+	private static final int SEEDED_HINTS = 1_000_000;
+	// all seeded hints are created within the first days of January 2024
+	private static final String SEEDED_PARTITION = "hint_2024_01";
+	// same shape as the keyset pages of HintService.getHints
+	private static final String PAGE_QUERY = "select id, hint_source_id, message, message_template_id, message_args, hint_category,"
+		+ " show_to_user, process_id, creation_date, process_version, resource_id from hint where %s and id > 0 order by id limit 101";
+	// same shape as HintService.streamHints
+	private static final String STREAM_QUERY = "select id, hint_source_id, message, message_template_id, message_args, hint_category,"
+		+ " show_to_user, process_id, creation_date, process_version, resource_id from hint where %s order by id";
+
+	// same shape as HintService.searchHints, filter and ranking of HintSpecifications
+	private static final String RANKED_QUERY = "select id, hint_source_id, message, message_template_id, message_args,"
+		+ " hint_category, show_to_user, process_id, creation_date, process_version, resource_id from hint where %s"
+		+ " order by %s desc, id limit 100";
+
+	// same shape as HintService.summarizeHints, counts the category instead of the id
+	private static final String SUMMARY_QUERY = "select %s, count(hint_category) from hint where %s group by %s";
+
+	// the expression of the message search indexes, as used by HintSpecifications
+	private static final String SEARCH_TEXT = "hint_search_text(message, message_template_id, message_args)";
+
+	// the ids HintSourceDictionary.findNames resolves a hint source prefix to
+	private static final String SOURCE_42_PREFIX_IDS = "array(select id from hint_source where name like 'SOURCE_42%')";
+	private static final String SOURCE_4242_PREFIX_IDS = "array(select id from hint_source where name like 'SOURCE_4242%')";
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Container
+	@ServiceConnection
+	static final PostgreSQLContainer POSTGRES_CONTAINER = new PostgreSQLContainer(
+		DockerImageName.parse(ContainerImageNames.POSTGRES.getImageName()).asCompatibleSubstituteFor(PostgreSQLContainer.IMAGE)
+	);
+
+	@BeforeAll
+	void seedHints() throws SQLException {
+		execute("truncate hint");
+		execute("create table if not exists " + SEEDED_PARTITION
+			+ " partition of hint for values from ('2024-01-01') to ('2024-02-01')");
+		execute("insert into hint_source (name) select 'SOURCE_' || n from generate_series(0, 9972) n on conflict do nothing");
+		execute("insert into hint (hint_source_id, message, hint_category, show_to_user, creation_date, process_id,"
+			+ " process_version, resource_id)"
+			+ " select hint_source.id, 'message ' || n, (array['INFO', 'WARNING', 'ERROR', 'BLOCKER'])[n % 4 + 1],"
+			+ " n % 2 = 0, timestamp '2024-01-01' + n * interval '1 second', 'process-' || n % 10000, '1.' || n % 5,"
+			+ " 'resource-' || n"
+			+ " from generate_series(1, " + SEEDED_HINTS + ") n join hint_source on hint_source.name = 'SOURCE_' || n % 9973");
+		// summarizes the BRIN block ranges, unsummarized ranges would always be read
+		execute("vacuum analyze hint");
+	}
+
+	@AfterAll
+	void removeHints() throws SQLException {
+		execute("drop table " + SEEDED_PARTITION);
+		execute("truncate hint");
+	}
+
+	// the indexes of the partitions are named after the partition and the indexed columns
+	@ParameterizedTest(name = "{0}")
+	@CsvSource(delimiter = '|', value = {
+		"process id                    | _process_id_id_idx | process_id = 'process-42'",
+		"process id and source prefix  | _process_id_       | process_id = 'process-42' and hint_source_id = any (" + SOURCE_42_PREFIX_IDS + ")",
+		"hint source                   | _hint_source_id_   | hint_source_id = (select id from hint_source where name = 'SOURCE_4242')",
+		"hint source prefix            | _hint_source_id_   | hint_source_id = any (" + SOURCE_4242_PREFIX_IDS + ")",
+		"resource id                   | _resource_id_idx   | resource_id = 'resource-4242'"
+	})
+	@DisplayName("Should read every indexed page shape with the index of its filter")
+	void shouldReadPagesWithIndexScan(String shape, String index, String filter) throws SQLException {
+		assertThat(explain(PAGE_QUERY.formatted(filter)))
+			.as(shape)
+			.contains(SEEDED_PARTITION + index)
+			.doesNotContain("Seq Scan on " + SEEDED_PARTITION);
+	}
+
+	// hint_category, show_to_user and process_version are deliberately not indexed: each value matches a large share of
+	// the hints, so the page is read from the primary key in id order and the filter stops after the page is full
+	@ParameterizedTest(name = "{0}")
+	@CsvSource(delimiter = '|', value = {
+		"hint category                 | hint_category = 'WARNING'",
+		"show to user                  | show_to_user = true",
+		"process version               | process_version = '1.3'",
+		"category and version          | hint_category = 'ERROR' and process_version = '1.2'"
+	})
+	@DisplayName("Should read the page shapes of the low-cardinality filters in primary key order")
+	void shouldReadLowCardinalityPagesInPrimaryKeyOrder(String shape, String filter) throws SQLException {
+		assertThat(explain(PAGE_QUERY.formatted(filter)))
+			.as(shape)
+			.contains("Index Scan using " + SEEDED_PARTITION + "_pkey")
+			.doesNotContain("Seq Scan on " + SEEDED_PARTITION);
+	}
+
+	@Test
+	@DisplayName("Should not index the low-cardinality filters")
+	void shouldNotIndexLowCardinalityColumns() throws SQLException {
+		assertThat(query("""
+			select count(*)
+			from pg_index
+			join pg_attribute on pg_attribute.attrelid = pg_index.indrelid and pg_attribute.attnum = pg_index.indkey[0]
+			where pg_index.indrelid = 'hint'::regclass
+				and pg_attribute.attname in ('hint_category', 'show_to_user', 'process_version')""")).isZero();
+	}
+
+	@Test
+	@DisplayName("Should use the hint source id index for a hint source prefix")
+	void shouldUseHintSourceIdIndexForHintSourcePrefix() throws SQLException {
+		assertThat(explain(PAGE_QUERY.formatted("hint_source_id = any (" + SOURCE_4242_PREFIX_IDS + ")")))
+			.contains(SEEDED_PARTITION + "_hint_source_id_");
+		assertThat(explain(STREAM_QUERY.formatted("hint_source_id = any (" + SOURCE_4242_PREFIX_IDS + ")")))
+			.contains(SEEDED_PARTITION + "_hint_source_id_");
+	}
+
+	@Test
+	@DisplayName("Should use the resource id index")
+	void shouldUseResourceIdIndex() throws SQLException {
+		assertThat(explain(PAGE_QUERY.formatted("resource_id = 'resource-4242'")))
+			.contains(SEEDED_PARTITION + "_resource_id_idx");
+		assertThat(explain(STREAM_QUERY.formatted("resource_id = 'resource-4242'")))
+			.contains(SEEDED_PARTITION + "_resource_id_idx");
+	}
+
+	@Test
+	@DisplayName("Should stream the hints of a process with an index scan")
+	void shouldStreamProcessWithIndexScan() throws SQLException {
+		assertThat(explain(STREAM_QUERY.formatted("process_id = 'process-42'")))
+			.contains(SEEDED_PARTITION + "_process_id")
+			.doesNotContain("Seq Scan on " + SEEDED_PARTITION);
+	}
+
+	@Test
+	@DisplayName("Should prune partitions and heap blocks for a creation date range")
+	void shouldPruneBlocksForCreationDateRange() throws SQLException {
+		String plan = explain("(analyze, buffers) " + STREAM_QUERY.formatted(
+			"creation_date >= '2024-01-05T10:00:00' and creation_date < '2024-01-05T11:00:00'"));
+
+		assertThat(plan)
+			.contains("Bitmap Index Scan on " + SEEDED_PARTITION + "_creation_date_idx")
+			.doesNotContain("hint_default")
+			.doesNotContain("Seq Scan");
+		Matcher lossyHeapBlocks = Pattern.compile("Heap Blocks: lossy=(\\d+)").matcher(plan);
+		assertThat(lossyHeapBlocks.find()).as(plan).isTrue();
+		// one hour of the seeded hints fills a few block ranges out of the whole partition
+		assertThat(Long.parseLong(lossyHeapBlocks.group(1))).isLessThan(partitionPages() / 50);
+	}
+
+	@Test
+	@DisplayName("Should page through a creation date range of one process without a sequential scan")
+	void shouldReadCreationDateRangePageWithIndexScan() throws SQLException {
+		assertThat(explain(PAGE_QUERY.formatted(
+			"process_id = 'process-42' and creation_date >= '2024-01-05' and creation_date < '2024-01-06'")))
+			.contains(SEEDED_PARTITION)
+			.doesNotContain("hint_default")
+			.doesNotContain("Seq Scan");
+	}
+
+	@Test
+	@DisplayName("Should find the messages containing a text with the trigram index")
+	void shouldSearchMessageTextWithIndex() throws SQLException {
+		assertThat(explain(RANKED_QUERY.formatted(
+			SEARCH_TEXT + " ilike '%message 4242%'", "word_similarity('message 4242', " + SEARCH_TEXT + ")")))
+			.contains("Bitmap Index Scan on " + SEEDED_PARTITION)
+			.doesNotContain("Seq Scan on " + SEEDED_PARTITION);
+	}
+
+	@Test
+	@DisplayName("Should find the messages containing words with the text search index")
+	void shouldSearchMessageWordsWithIndex() throws SQLException {
+		assertThat(explain(RANKED_QUERY.formatted(
+			"hint_message_matches(" + SEARCH_TEXT + ", '4242')", "hint_message_rank(" + SEARCH_TEXT + ", '4242')")))
+			.contains("Bitmap Index Scan on " + SEEDED_PARTITION)
+			.doesNotContain("Seq Scan on " + SEEDED_PARTITION);
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@CsvSource(delimiter = '|', value = {
+		"process id                    | hint_category               | process_id = 'process-42'",
+		"process id by source          | hint_source_id, hint_category | process_id = 'process-42'",
+		"process id and source prefix  | hint_source_id, hint_category | process_id = 'process-42' and hint_source_id = any (" + SOURCE_42_PREFIX_IDS + ")",
+		"hint source                   | hint_category               | hint_source_id = (select id from hint_source where name = 'SOURCE_4242')",
+		"hint source prefix            | hint_source_id, hint_category | hint_source_id = any (" + SOURCE_4242_PREFIX_IDS + ")"
+	})
+	@DisplayName("Should count the hints of a process or hint source with an index-only scan")
+	void shouldSummarizeWithIndexOnlyScan(String shape, String groups, String filter) throws SQLException {
+		// the seeded rows are vacuumed, the index-only scan does not have to check any heap page
+		assertThat(explain("(analyze) " + SUMMARY_QUERY.formatted(groups, filter, groups)))
+			.as(shape)
+			.contains("Index Only Scan using " + SEEDED_PARTITION)
+			.doesNotContain("Seq Scan on " + SEEDED_PARTITION)
+			.doesNotContainPattern("Heap Fetches: [1-9]");
+	}
+
+	private long partitionPages() throws SQLException {
+		return query("select relpages from pg_class where oid = '" + SEEDED_PARTITION + "'::regclass");
+	}
+
+	private long query(String sql) throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+				 Statement statement = connection.createStatement();
+				 ResultSet result = statement.executeQuery(sql)) {
+			result.next();
+			return result.getLong(1);
+		}
+	}
+
+	private String explain(String query) throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+				 Statement statement = connection.createStatement();
+				 ResultSet plan = statement.executeQuery("explain " + query)) {
+			Stream.Builder<String> lines = Stream.builder();
+			while (plan.next()) {
+				lines.add(plan.getString(1));
+			}
+			return lines.build().collect(Collectors.joining("\n"));
+		}
+	}
+
+	private void execute(String sql) throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+				 Statement statement = connection.createStatement()) {
+			statement.execute(sql);
+		}
+	}
+}
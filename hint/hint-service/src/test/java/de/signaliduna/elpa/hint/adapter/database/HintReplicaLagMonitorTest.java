@@ -0,0 +1,108 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HintReplicaLagMonitor Test")
+class HintReplicaLagMonitorTest {
+	private static final Duration MAX_LAG = Duration.ofSeconds(30);
+
+	@Mock
+	private HikariDataSource replicaDataSource;
+	@Mock
+	private Connection connection;
+	@Mock
+	private Statement statement;
+	@Mock
+	private ResultSet resultSet;
+
+	private HintReplicaLagMonitor classUnderTest;
+
+	@BeforeEach
+	void setUp() {
+		classUnderTest = new HintReplicaLagMonitor(replicaDataSource, MAX_LAG);
+	}
+
+	@Test
+	@DisplayName("should treat the replica as stale before the first check")
+	void shouldBeStaleBeforeFirstCheck() {
+		assertThat(classUnderTest.isReplicaFresh()).isFalse();
+	}
+
+	@Test
+	@DisplayName("should use the replica while the lag is within the limit and fall back beyond it")
+	void shouldFollowMeasuredLag() throws SQLException {
+		stubLagQuery();
+		when(resultSet.getLong(1)).thenReturn(MAX_LAG.toMillis(), MAX_LAG.toMillis() + 1);
+		when(resultSet.wasNull()).thenReturn(false);
+
+		classUnderTest.checkLag();
+		assertThat(classUnderTest.isReplicaFresh()).isTrue();
+
+		classUnderTest.checkLag();
+		assertThat(classUnderTest.isReplicaFresh()).isFalse();
+	}
+
+	@Test
+	@DisplayName("should keep the replica fresh on repeated checks")
+	void shouldStayFresh() throws SQLException {
+		stubLagQuery();
+		when(resultSet.getLong(1)).thenReturn(0L);
+		when(resultSet.wasNull()).thenReturn(false);
+
+		classUnderTest.checkLag();
+		classUnderTest.checkLag();
+
+		assertThat(classUnderTest.isReplicaFresh()).isTrue();
+	}
+
+	@Test
+	@DisplayName("should treat an unknown lag as stale")
+	void shouldBeStaleForUnknownLag() throws SQLException {
+		stubLagQuery();
+		when(resultSet.wasNull()).thenReturn(true);
+
+		classUnderTest.checkLag();
+
+		assertThat(classUnderTest.isReplicaFresh()).isFalse();
+	}
+
+	@Test
+	@DisplayName("should treat an unreachable replica as stale")
+	void shouldBeStaleForUnreachableReplica() throws SQLException {
+		when(replicaDataSource.getConnection()).thenThrow(new SQLException("connection refused"));
+
+		classUnderTest.checkLag();
+
+		assertThat(classUnderTest.isReplicaFresh()).isFalse();
+	}
+
+	@Test
+	@DisplayName("should close the replica pool")
+	void shouldClosePool() {
+		classUnderTest.close();
+
+		verify(replicaDataSource).close();
+	}
+
+	private void stubLagQuery() throws SQLException {
+		when(replicaDataSource.getConnection()).thenReturn(connection);
+		when(connection.createStatement()).thenReturn(statement);
+		when(statement.executeQuery(HintReplicaLagMonitor.LAG_QUERY)).thenReturn(resultSet);
+	}
+}
@@ -0,0 +1,219 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.core.HintPageRequest;
+import de.signaliduna.elpa.hint.core.HintService;
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.model.HintParams;
+import de.signaliduna.elpa.hint.util.ContainerImageNames;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the service against a primary and a streaming replica, the replica is cloned from the primary with
+ * {@code pg_basebackup}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+	properties = {
+		"AUTH_SERVICE_PASSWORD=somePassword",
+		"com.c4-soft.springaddons.oidc.resourceserver.enabled=false",
+		// the outbox relay publishes with its own Kafka producer, the test binder provides no broker
+		"elpa.hint.outbox.enabled=false"
+	}
+)
+@Import(TestChannelBinderConfiguration.class)
+@DisplayName("Hint read replica routing Integration Tests")
+class HintReplicaRoutingIT {
+	private static final Duration MAX_LAG = Duration.ofSeconds(5);
+	private static final String PRIMARY_ALIAS = "primary";
+	private static final DockerImageName POSTGRES_IMAGE =
+		DockerImageName.parse(ContainerImageNames.POSTGRES.getImageName()).asCompatibleSubstituteFor(PostgreSQLContainer.IMAGE);
+	private static final Network NETWORK = Network.newNetwork();
+
+	static final PostgreSQLContainer PRIMARY = new PostgreSQLContainer(POSTGRES_IMAGE)
+		.withNetwork(NETWORK)
+		.withNetworkAliases(PRIMARY_ALIAS)
+		// the default pg_hba.conf only allows replication connections from localhost
+		.withCopyToContainer(Transferable.of("echo 'host replication all all trust' >> \"$PGDATA/pg_hba.conf\""),
+			"/docker-entrypoint-initdb.d/replication.sh");
+
+	static final GenericContainer<?> REPLICA = new GenericContainer<>(POSTGRES_IMAGE)
+		.withNetwork(NETWORK)
+		.withExposedPorts(PostgreSQLContainer.POSTGRESQL_PORT)
+		.withEnv("PGDATA", "/var/lib/postgresql/replica")
+		.withCreateContainerCmdModifier(cmd -> cmd.withEntrypoint("sh", "-c", """
+			until pg_basebackup -h %s -U %s -D "$PGDATA" -R -X stream -c fast; do rm -rf "$PGDATA"; sleep 1; done
+			exec docker-entrypoint.sh postgres""".formatted(PRIMARY_ALIAS, PRIMARY.getUsername())))
+		.waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*\\s", 1));
+
+	static {
+		PRIMARY.start();
+		REPLICA.start();
+	}
+
+	@Autowired
+	private HintService hintService;
+	@Autowired
+	private HintReplicaLagMonitor hintReplicaLagMonitor;
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@DynamicPropertySource
+	static void configureProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", PRIMARY::getJdbcUrl);
+		registry.add("spring.datasource.username", PRIMARY::getUsername);
+		registry.add("spring.datasource.password", PRIMARY::getPassword);
+		registry.add("elpa.hint.replica.enabled", () -> true);
+		registry.add("elpa.hint.replica.url", HintReplicaRoutingIT::replicaJdbcUrl);
+		registry.add("elpa.hint.replica.max-lag", MAX_LAG::toString);
+		registry.add("elpa.hint.replica.lag-check-interval", () -> "1s");
+	}
+
+	@AfterEach
+	void resumeReplay() throws SQLException {
+		executeOnReplica("select pg_wal_replay_resume()");
+	}
+
+	@Test
+	@DisplayName("Should read from the replica and fall back to the primary once the replica is stale")
+	void shouldReadFromReplicaUntilStale() throws Exception {
+		final String processId = "replica-routing-process";
+		hintService.saveHints(List.of(createHint(processId)));
+		awaitReplicatedHints(processId, 1);
+		hintReplicaLagMonitor.checkLag();
+		assertThat(hintReplicaLagMonitor.isReplicaFresh()).isTrue();
+
+		executeOnReplica("select pg_wal_replay_pause()");
+		hintService.saveHints(List.of(createHint(processId)));
+		hintReplicaLagMonitor.checkLag();
+
+		// the replica lags behind by the second hint but is still within the max lag
+		assertThat(hintReplicaLagMonitor.isReplicaFresh()).isTrue();
+		assertThat(readHints(processId)).hasSize(1);
+
+		Thread.sleep(MAX_LAG.plusSeconds(1).toMillis());
+		hintReplicaLagMonitor.checkLag();
+
+		assertThat(hintReplicaLagMonitor.isReplicaFresh()).isFalse();
+		assertThat(readHints(processId)).hasSize(2);
+	}
+
+	@Test
+	@DisplayName("Should fall back to the primary while the replica does not stream from it")
+	void shouldFallBackWithoutWalReceiver() throws Exception {
+		final String processId = "replica-disconnected-process";
+		hintService.saveHints(List.of(createHint(processId)));
+		awaitReplicatedHints(processId, 1);
+		hintReplicaLagMonitor.checkLag();
+		assertThat(hintReplicaLagMonitor.isReplicaFresh()).isTrue();
+
+		final String primaryConninfo = queryOnReplica("show primary_conninfo");
+		try {
+			// stops the WAL receiver for good, the replica has replayed everything it received
+			executeOnReplica("alter system set primary_conninfo = ''");
+			executeOnReplica("select pg_reload_conf()");
+			awaitWalReceiverStopped();
+			hintService.saveHints(List.of(createHint(processId)));
+			hintReplicaLagMonitor.checkLag();
+
+			assertThat(hintReplicaLagMonitor.isReplicaFresh()).isFalse();
+			assertThat(readHints(processId)).hasSize(2);
+		} finally {
+			executeOnReplica("alter system set primary_conninfo = '" + primaryConninfo.replace("'", "''") + "'");
+			executeOnReplica("select pg_reload_conf()");
+		}
+	}
+
+	@Test
+	@DisplayName("Should publish the metrics of the replica pool separately")
+	void shouldPublishReplicaPoolMetrics() {
+		assertThat(meterRegistry.find("hikaricp.connections.max").gauges())
+			.extracting(gauge -> gauge.getId().getTag("pool"))
+			.contains("hint-replica")
+			.hasSizeGreaterThanOrEqualTo(2);
+	}
+
+	private List<HintDto> readHints(String processId) {
+		return hintService.getHints(Map.of(HintParams.PROCESS_ID, processId), HintPageRequest.firstPage(10)).hints();
+	}
+
+	private void awaitReplicatedHints(String processId, long expectedHints) throws Exception {
+		for (int attempt = 0; attempt < 50; attempt++) {
+			try (Connection connection = replicaConnection();
+					 Statement statement = connection.createStatement();
+					 ResultSet count = statement.executeQuery("select count(*) from hint.hint where process_id = '" + processId + "'")) {
+				count.next();
+				if (count.getLong(1) == expectedHints) {
+					return;
+				}
+			}
+			Thread.sleep(200);
+		}
+		throw new AssertionError("hints were not replicated");
+	}
+
+	private static void awaitWalReceiverStopped() throws Exception {
+		for (int attempt = 0; attempt < 50; attempt++) {
+			if ("0".equals(queryOnReplica("select count(*) from pg_stat_wal_receiver"))) {
+				return;
+			}
+			Thread.sleep(200);
+		}
+		throw new AssertionError("WAL receiver did not stop");
+	}
+
+	private static String queryOnReplica(String sql) throws SQLException {
+		try (Connection connection = replicaConnection();
+				 Statement statement = connection.createStatement();
+				 ResultSet result = statement.executeQuery(sql)) {
+			result.next();
+			return result.getString(1);
+		}
+	}
+
+	private static void executeOnReplica(String sql) throws SQLException {
+		try (Connection connection = replicaConnection();
+				 Statement statement = connection.createStatement()) {
+			statement.execute(sql);
+		}
+	}
+
+	private static Connection replicaConnection() throws SQLException {
+		return DriverManager.getConnection(replicaJdbcUrl(), PRIMARY.getUsername(), PRIMARY.getPassword());
+	}
+
+	private static String replicaJdbcUrl() {
+		return "jdbc:postgresql://%s:%d/%s".formatted(REPLICA.getHost(),
+			REPLICA.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), PRIMARY.getDatabaseName());
+	}
+
+	private static HintDto createHint(String processId) {
+		return new HintDto("ReplicaRouting", "Replica routing", HintDto.Category.INFO, true, processId,
+			LocalDateTime.now(), "1", "resourceId-1");
+	}
+}
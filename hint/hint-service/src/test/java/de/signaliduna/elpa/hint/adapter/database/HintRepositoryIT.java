@@ -1,6 +1,7 @@
 package de.signaliduna.elpa.hint.adapter.database;
 
 import de.signaliduna.elpa.hint.adapter.database.model.HintEntity;
+import de.signaliduna.elpa.hint.adapter.database.model.HintRow;
 import de.signaliduna.elpa.hint.model.HintDto;
 import de.signaliduna.elpa.hint.util.ContainerImageNames;
 import de.signaliduna.elpa.hint.util.HintTestDataGenerator;
@@ -11,22 +12,28 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 import org.testcontainers.postgresql.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.utility.DockerImageName;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
+@Import(HintSourceDictionary.class)
 @DisplayName("HintRepository Integration Tests")
 class HintRepositoryIT {
 
 	@Autowired
 	private HintRepository hintRepository;
+	@Autowired
+	private HintSourceDictionary hintSourceDictionary;
 
 	@Container
 	@ServiceConnection
@@ -162,21 +169,23 @@ class HintRepositoryIT {
 				.creationDate(LocalDateTime.now())
 				.build();
 
-			hintRepository.saveAll(List.of(pasyncHint1, pasyncHint2, pdcHint));
+			hintRepository.saveAllAndFlush(List.of(pasyncHint1, pasyncHint2, pdcHint));
 		}
 
 		@Test
 		@DisplayName("Should find hints with 'PASYNC' prefix")
-		void shouldFindAllByProcessIdAndPasyncHintSourceStartingWith() {
-			List<HintEntity> pasyncResults = hintRepository.findAllByProcessIdAndHintSourceStartingWith(processId, "PASYNC");
+		void shouldFindAllByProcessIdAndPasyncHintSourceIn() {
+			List<HintEntity> pasyncResults = hintRepository.findAllByProcessIdAndHintSourceIn(processId,
+				hintSourceDictionary.findNames("PASYNC"));
 			assertThat(pasyncResults).hasSize(2);
 			assertThat(pasyncResults).extracting(HintEntity::getHintSource).allMatch(source -> source.startsWith("PASYNC"));
 		}
 
 		@Test
 		@DisplayName("Should find hints with 'PDC' prefix")
-		void shouldFindAllByProcessIdAndPdcHintSourceStartingWith() {
-			List<HintEntity> pdcResults = hintRepository.findAllByProcessIdAndHintSourceStartingWith(processId, "PDC");
+		void shouldFindAllByProcessIdAndPdcHintSourceIn() {
+			List<HintEntity> pdcResults = hintRepository.findAllByProcessIdAndHintSourceIn(processId,
+				hintSourceDictionary.findNames("PDC"));
 			assertThat(pdcResults).hasSize(1);
 			assertThat(pdcResults.getFirst().getHintSource()).isEqualTo("PDC-Antragspruefung");
 		}
@@ -184,9 +193,49 @@ class HintRepositoryIT {
 		@Test
 		@DisplayName("Should return empty for non-matching prefix")
 		void shouldReturnEmptyForNonMatchingPrefix() {
-			List<HintEntity> emptyResults = hintRepository.findAllByProcessIdAndHintSourceStartingWith(processId, "NONEXISTENT");
+			List<HintEntity> emptyResults = hintRepository.findAllByProcessIdAndHintSourceIn(processId,
+				hintSourceDictionary.findNames("NONEXISTENT"));
 			assertThat(emptyResults).isEmpty();
 		}
 	}
-}
 
+	@Nested
+	@DisplayName("Keyset row pages by Process ID")
+	class KeysetPageTests {
+		private final String processId = "test-processId-789";
+		private List<Long> savedIds;
+
+		@BeforeEach
+		void setupHints() {
+			savedIds = hintRepository.saveAllAndFlush(HintTestDataGenerator.creatHintEntityWithSameProcessId(processId)).stream()
+				.map(HintEntity::getId).sorted().toList();
+		}
+
+		@Test
+		@DisplayName("Should return the first page ordered by id")
+		void shouldReturnFirstPageOrderedById() {
+			List<HintRow> page = hintRepository.findRowsByProcessId(processId, 0, Limit.of(2));
+
+			assertThat(page).extracting(HintRow::id).containsExactly(savedIds.get(0), savedIds.get(1));
+			assertThat(page).extracting(row -> row.hint().processId()).containsOnly(processId);
+		}
+
+		@Test
+		@DisplayName("Should continue after the last id of the previous page")
+		void shouldContinueAfterLastId() {
+			List<HintRow> page = hintRepository.findRowsByProcessId(processId, savedIds.get(1), Limit.of(2));
+
+			assertThat(page).extracting(HintRow::id).containsExactly(savedIds.get(2), savedIds.get(3));
+		}
+
+		@Test
+		@DisplayName("Should only return rows with the hint source prefix")
+		void shouldReturnRowsWithHintSourcePrefix() {
+			List<HintRow> page = hintRepository.findRowsByProcessIdAndHintSources(processId,
+				hintSourceDictionary.findNames("PASYNC"), 0, Limit.of(10));
+
+			assertThat(page).isNotEmpty().isSortedAccordingTo(Comparator.comparing(HintRow::id));
+			assertThat(page).extracting(row -> row.hint().hintSource()).allMatch(source -> source.startsWith("PASYNC"));
+		}
+	}
+}
@@ -0,0 +1,169 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.adapter.database.model.HintEntity;
+import de.signaliduna.elpa.hint.adapter.database.model.HintRow;
+import de.signaliduna.elpa.hint.adapter.mapper.HintMapper;
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.model.HintMessage;
+import de.signaliduna.elpa.hint.model.HintParams;
+import de.signaliduna.elpa.hint.model.HintSummary;
+import de.signaliduna.elpa.hint.util.ContainerImageNames;
+import de.signaliduna.elpa.hint.util.HintTestDataGenerator;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(HintSourceDictionary.class)
+@DisplayName("HintRowRepository Integration Tests")
+class HintRowRepositoryIT {
+	private static final String PROCESS_ID = "test-processId-stream";
+
+	@Autowired
+	private HintRepository hintRepository;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private HintSourceDictionary hintSourceDictionary;
+
+	private final HintMapper hintMapper = Mappers.getMapper(HintMapper.class);
+
+	@Container
+	@ServiceConnection
+	static final PostgreSQLContainer POSTGRES_CONTAINER = new PostgreSQLContainer(
+		DockerImageName.parse(ContainerImageNames.POSTGRES.getImageName()).asCompatibleSubstituteFor(PostgreSQLContainer.IMAGE)
+	);
+
+	private List<Long> savedIds;
+
+	@BeforeEach
+	void setUp() {
+		hintRepository.deleteAll();
+		hintRepository.saveAll(HintTestDataGenerator.createAllCategoryHintEntitys());
+		savedIds = hintRepository.saveAll(HintTestDataGenerator.creatHintEntityWithSameProcessId(PROCESS_ID)).stream()
+			.map(HintEntity::getId).sorted().toList();
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	@DisplayName("Should return limited rows after the given id ordered by id")
+	void shouldFindRowsOrderedById() {
+		List<HintRow> rows = hintRepository.findRows(
+			HintSpecifications.fromQuery(Map.of(HintParams.PROCESS_ID, PROCESS_ID), savedIds.getFirst(), hintSourceDictionary), 2);
+
+		assertThat(rows).extracting(HintRow::id).containsExactly(savedIds.get(1), savedIds.get(2));
+		assertThat(rows).extracting(row -> row.hint().processId()).containsOnly(PROCESS_ID);
+	}
+
+	@Test
+	@DisplayName("Should project the row into a hint without loading entities")
+	void shouldProjectRowIntoHint() {
+		HintEntity entity = hintRepository.findById(savedIds.getFirst()).orElseThrow();
+		entityManager.clear();
+
+		List<HintRow> rows = hintRepository.findRows(
+			HintSpecifications.fromQuery(Map.of(HintParams.PROCESS_ID, PROCESS_ID), hintSourceDictionary), 1);
+
+		assertThat(rows).singleElement().isEqualTo(new HintRow(entity.getId(), hintMapper.entityToDto(entity)));
+		assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+	}
+
+	@Test
+	@DisplayName("Should render messages stored as template into the row")
+	void shouldRenderMessageTemplate() {
+		HintDto hint = HintTestDataGenerator.createInfoHintDto().withProcessId("test-processId-template")
+			.withCreationDate(LocalDateTime.of(2024, 5, 20, 12, 0))
+			.withMessage(HintMessage.PARTNER_VALIDATION_PANR_ASSIGNED.format("C000001243352665", "590227672"));
+		hintRepository.insertHints(List.of(hint));
+
+		List<HintRow> rows = hintRepository.findRows(
+			HintSpecifications.fromQuery(Map.of(HintParams.PROCESS_ID, hint.processId()), hintSourceDictionary), 1);
+
+		assertThat(rows).singleElement().extracting(HintRow::hint).isEqualTo(hint);
+	}
+
+	@Test
+	@DisplayName("Should stream matching rows ordered by id")
+	void shouldStreamMatchingRowsOrderedById() {
+		try (Stream<HintRow> rows = hintRepository.streamRows(
+			HintSpecifications.fromQuery(Map.of(HintParams.PROCESS_ID, PROCESS_ID), hintSourceDictionary))) {
+			assertThat(rows.map(HintRow::id)).containsExactlyElementsOf(savedIds);
+		}
+	}
+
+	@Test
+	@DisplayName("Should stream all rows for an empty query")
+	void shouldStreamAllRows() {
+		try (Stream<HintRow> rows = hintRepository.streamRows(HintSpecifications.fromQuery(Map.of(), hintSourceDictionary))) {
+			assertThat(rows).hasSize(8);
+		}
+	}
+
+	@Test
+	@DisplayName("Should return the best ranked rows of a word search first")
+	void shouldFindRankedRowsOfWordSearch() {
+		HintDto hint = HintTestDataGenerator.createInfoHintDto().withProcessId("test-processId-search");
+		hintRepository.insertHints(List.of(hint.withMessage("Adresse fehlt."),
+			hint.withMessage(HintMessage.ADDRESS_DIFFERENT.message), hint.withMessage(HintMessage.POSTAL_CODE_NEW.message)));
+		Map<HintParams, Object> queryParams = Map.of(HintParams.HINT_TEXT_SEARCH, "Adressen");
+
+		List<HintRow> rows = hintRepository.findRankedRows(HintSpecifications.fromQuery(queryParams, hintSourceDictionary),
+			HintSpecifications.ranking(queryParams), 10);
+
+		assertThat(rows).extracting(row -> row.hint().message())
+			.containsExactly(HintMessage.ADDRESS_DIFFERENT.message, "Adresse fehlt.");
+	}
+
+	@Test
+	@DisplayName("Should return the limited rows of a substring search ordered by similarity")
+	void shouldFindRankedRowsOfSubstringSearch() {
+		HintDto hint = HintTestDataGenerator.createInfoHintDto().withProcessId("test-processId-search");
+		hintRepository.insertHints(List.of(hint.withMessage("Abweichende Angaben im Antrag."),
+			hint.withMessage(HintMessage.POSTAL_CODE_DIFFERENT.message), hint.withMessage(HintMessage.CITY_DIFFERENT.message),
+			hint.withMessage(HintMessage.POSTAL_CODE_NEW.message)));
+		Map<HintParams, Object> queryParams = Map.of(HintParams.HINT_TEXT_ORIGINAL, "abweichend");
+
+		List<HintRow> rows = hintRepository.findRankedRows(HintSpecifications.fromQuery(queryParams, hintSourceDictionary),
+			HintSpecifications.ranking(queryParams), 2);
+
+		// equally similar messages keep the id order
+		assertThat(rows).extracting(row -> row.hint().message())
+			.containsExactly(HintMessage.POSTAL_CODE_DIFFERENT.message, HintMessage.CITY_DIFFERENT.message);
+	}
+
+	@Test
+	@DisplayName("Should count the matching hints per category and optionally per hint source")
+	void shouldCountByCategory() {
+		HintDto hint = HintTestDataGenerator.createInfoHintDto().withProcessId("test-processId-summary");
+		hintRepository.insertHints(List.of(
+			hint.withHintSource("SUMMARY-B").withMessage("1"),
+			hint.withHintSource("SUMMARY-B").withMessage("2"),
+			hint.withHintSource("SUMMARY-A").withMessage("3"),
+			hint.withHintSource("SUMMARY-A").withHintCategory(HintDto.Category.BLOCKER).withMessage("4")));
+		Map<HintParams, Object> queryParams = Map.of(HintParams.PROCESS_ID, hint.processId());
+
+		assertThat(hintRepository.countByCategory(HintSpecifications.fromQuery(queryParams, hintSourceDictionary), false))
+			.containsExactly(new HintSummary(null, HintDto.Category.INFO, 3), new HintSummary(null, HintDto.Category.BLOCKER, 1));
+		assertThat(hintRepository.countByCategory(HintSpecifications.fromQuery(queryParams, hintSourceDictionary), true))
+			.containsExactly(new HintSummary("SUMMARY-A", HintDto.Category.INFO, 1),
+				new HintSummary("SUMMARY-A", HintDto.Category.BLOCKER, 1), new HintSummary("SUMMARY-B", HintDto.Category.INFO, 2));
+	}
+}
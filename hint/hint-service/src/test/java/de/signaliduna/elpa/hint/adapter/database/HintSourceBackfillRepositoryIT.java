@@ -0,0 +1,163 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import de.signaliduna.elpa.hint.adapter.database.HintSourceBackfillRepository.StoredSource;
+import de.signaliduna.elpa.hint.adapter.database.model.HintEntity;
+import de.signaliduna.elpa.hint.util.ContainerImageNames;
+import de.signaliduna.elpa.hint.util.HintTestDataGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+// every test runs in a rolled back transaction, so the migration completed by a test is undone afterwards
+@DataJpaTest
+@Import({HintSourceBackfillRepository.class, HintSourceDictionary.class})
+@DisplayName("HintSourceBackfillRepository Integration Tests")
+class HintSourceBackfillRepositoryIT {
+
+	@Autowired
+	private HintSourceBackfillRepository hintSourceBackfillRepository;
+	@Autowired
+	private HintRepository hintRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Container
+	@ServiceConnection
+	static final PostgreSQLContainer POSTGRES_CONTAINER = new PostgreSQLContainer(
+		DockerImageName.parse(ContainerImageNames.POSTGRES.getImageName()).asCompatibleSubstituteFor(PostgreSQLContainer.IMAGE)
+	);
+
+	@BeforeEach
+	void setUp() {
+		hintRepository.deleteAllInBatch();
+	}
+
+	@Test
+	@DisplayName("Should return the hints without source id after the given id in id order")
+	void shouldFindSourcesWithoutId() {
+		List<HintEntity> entities = hintRepository.saveAllAndFlush(List.of(HintTestDataGenerator.createInfoHintEntity(),
+			HintTestDataGenerator.createWarningHintEntity(), HintTestDataGenerator.createErrorHintEntity()));
+		HintEntity first = entities.getFirst();
+		HintEntity last = entities.getLast();
+		storeAsSourceName(first.getId(), "LEGACY_FIRST");
+		storeAsSourceName(last.getId(), "LEGACY_LAST");
+
+		assertThat(hintSourceBackfillRepository.findSources(0, 10))
+			.extracting(StoredSource::id, StoredSource::name)
+			.containsExactly(tuple(first.getId(), "LEGACY_FIRST"), tuple(last.getId(), "LEGACY_LAST"));
+		assertThat(hintSourceBackfillRepository.findSources(0, 1)).extracting(StoredSource::id)
+			.containsExactly(first.getId());
+		assertThat(hintSourceBackfillRepository.findSources(last.getId(), 10)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Should store the source ids of the hints")
+	void shouldStoreSourceIds() {
+		HintEntity entity = hintRepository.saveAndFlush(HintTestDataGenerator.createInfoHintEntity());
+		storeAsSourceName(entity.getId(), "LEGACY");
+		short sourceId = jdbcTemplate.queryForObject("insert into hint_source (name) values ('LEGACY') returning id",
+			Short.class);
+
+		int stored = hintSourceBackfillRepository.storeSourceIds(
+			Map.of(hintSourceBackfillRepository.findSources(0, 10).getFirst(), sourceId));
+
+		assertThat(stored).isEqualTo(1);
+		assertThat(hintSourceBackfillRepository.findSources(0, 10)).isEmpty();
+		assertThat(jdbcTemplate.queryForObject("select hint_source_name(hint_source_id) from hint", String.class))
+			.isEqualTo("LEGACY");
+	}
+
+	@Test
+	@DisplayName("Should complete the migration once all hints have a source id")
+	void shouldCompleteMigration() {
+		hintRepository.saveAllAndFlush(List.of(HintTestDataGenerator.createInfoHintEntity(),
+			HintTestDataGenerator.createWarningHintEntity()));
+
+		completeMigration();
+		// every step can be repeated after a failure of a later one
+		completeMigration();
+
+		assertThat(hintSourceBackfillRepository.isCompleted()).isTrue();
+		assertThat(jdbcTemplate.queryForList("""
+			select column_name from information_schema.columns
+			where table_name = 'hint' and column_name like 'hint_source%'""", String.class))
+			.containsExactly("hint_source_id");
+		assertThat(jdbcTemplate.queryForObject("""
+			select is_nullable from information_schema.columns
+			where table_name = 'hint' and column_name = 'hint_source_id'""", String.class)).isEqualTo("NO");
+		assertThat(jdbcTemplate.queryForObject("""
+			select convalidated from pg_constraint
+			where conrelid = 'hint'::regclass and conname = 'hint_hint_source_id_fkey'""", Boolean.class)).isTrue();
+		assertThat(jdbcTemplate.queryForObject("""
+			select count(*) from pg_constraint
+			where conrelid = 'hint'::regclass and conname = 'hint_source_id_present'""", Integer.class)).isZero();
+	}
+
+	@Test
+	@DisplayName("Should not validate the source ids while a hint has none")
+	void shouldRejectMissingSourceId() {
+		HintEntity entity = hintRepository.saveAndFlush(HintTestDataGenerator.createInfoHintEntity());
+		storeAsSourceName(entity.getId(), "LEGACY");
+
+		assertThatThrownBy(() -> hintSourceBackfillRepository.validateSourceIds())
+			.isInstanceOf(DataAccessException.class);
+	}
+
+	@Test
+	@DisplayName("Should reject hints without source id")
+	void shouldRejectHintWithoutSourceId() {
+		HintEntity entity = hintRepository.saveAndFlush(HintTestDataGenerator.createInfoHintEntity());
+
+		assertThatThrownBy(() -> jdbcTemplate.update("update hint set hint_source_id = null where id = ?", entity.getId()))
+			.isInstanceOf(DataAccessException.class);
+	}
+
+	@Test
+	@DisplayName("Should store the id of the last backfilled hint")
+	void shouldStoreLastBackfilledId() {
+		hintSourceBackfillRepository.setLastBackfilledId(42);
+
+		assertThat(hintSourceBackfillRepository.findLastBackfilledId()).isEqualTo(42);
+		assertThat(hintSourceBackfillRepository.isCompleted()).isFalse();
+	}
+
+	@Test
+	@DisplayName("Should take the backfill lock within a transaction")
+	void shouldLockBackfill() {
+		assertThat(hintSourceBackfillRepository.tryLockBackfill()).isTrue();
+	}
+
+	private void completeMigration() {
+		hintSourceBackfillRepository.validateSourceIds();
+		hintSourceBackfillRepository.setSourceIdNotNull();
+		for (String partitionName : hintSourceBackfillRepository.findPartitionNames()) {
+			hintSourceBackfillRepository.addPartitionForeignKey(partitionName);
+			hintSourceBackfillRepository.validatePartitionForeignKey(partitionName);
+		}
+		hintSourceBackfillRepository.addForeignKey();
+		hintSourceBackfillRepository.dropSourceNames();
+	}
+
+	// like the hints saved before V15, the check of the new column does not apply to existing rows
+	private void storeAsSourceName(long id, String name) {
+		jdbcTemplate.execute("alter table hint drop constraint hint_source_id_present");
+		jdbcTemplate.update("update hint set hint_source = ?, hint_source_id = null where id = ?", name, id);
+		jdbcTemplate.execute("alter table hint add constraint hint_source_id_present check (hint_source_id is not null) not valid");
+	}
+}
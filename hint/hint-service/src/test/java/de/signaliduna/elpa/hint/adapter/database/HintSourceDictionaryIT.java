@@ -0,0 +1,137 @@
+package de.signaliduna.elpa.hint.adapter.database;
+
+import com.zaxxer.hikari.HikariDataSource;
+import de.signaliduna.elpa.hint.util.ContainerImageNames;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import(HintSourceDictionary.class)
+// sources added by the test have to be committed to be seen by the dictionary
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("HintSourceDictionary Integration Tests")
+class HintSourceDictionaryIT {
+
+	@Autowired
+	private HintSourceDictionary hintSourceDictionary;
+	@Autowired
+	private DataSource dataSource;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Container
+	@ServiceConnection
+	static final PostgreSQLContainer POSTGRES_CONTAINER = new PostgreSQLContainer(
+		DockerImageName.parse(ContainerImageNames.POSTGRES.getImageName()).asCompatibleSubstituteFor(PostgreSQLContainer.IMAGE)
+	);
+
+	@Test
+	@DisplayName("Should add an unknown source once and reuse its id")
+	void shouldAddUnknownSourceOnce() {
+		short id = hintSourceDictionary.getOrCreateId("DICTIONARY-Created");
+
+		assertThat(hintSourceDictionary.getOrCreateId("DICTIONARY-Created")).isEqualTo(id);
+		assertThat(hintSourceDictionary.getName(id)).isEqualTo("DICTIONARY-Created");
+		assertThat(hintSourceDictionary.findId("DICTIONARY-Created")).contains(id);
+		assertThat(jdbcTemplate.queryForObject("select id from hint_source where name = ?", Short.class, "DICTIONARY-Created"))
+			.isEqualTo(id);
+	}
+
+	@Test
+	@DisplayName("Should find sources another instance added when storing and reading hints")
+	void shouldReloadSourcesOfOtherInstances() {
+		hintSourceDictionary.getOrCreateId("DICTIONARY-Loaded");
+
+		short readId = insertSource("DICTIONARY-Read");
+		assertThat(hintSourceDictionary.getName(readId)).isEqualTo("DICTIONARY-Read");
+
+		short otherId = insertSource("DICTIONARY-Other");
+		assertThat(hintSourceDictionary.getOrCreateId("DICTIONARY-Other")).isEqualTo(otherId);
+		assertThat(new HintSourceDictionary(jdbcTemplate).getName(otherId)).isEqualTo("DICTIONARY-Other");
+	}
+
+	@Test
+	@DisplayName("Should add a source on the connection of the transaction and keep it only if committed")
+	void shouldAddSourceInTransaction() {
+		hintSourceDictionary.refresh();
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+		short rolledBackId = transactionTemplate.execute(status -> {
+			short id = hintSourceDictionary.getOrCreateId("TRANSACTION-Source");
+			assertThat(activeConnections()).isEqualTo(1);
+			status.setRollbackOnly();
+			return id;
+		});
+
+		assertThat(hintSourceDictionary.findId("TRANSACTION-Source")).isEmpty();
+		short committedId = transactionTemplate.execute(status -> hintSourceDictionary.getOrCreateId("TRANSACTION-Source"));
+		assertThat(committedId).isNotEqualTo(rolledBackId);
+		assertThat(hintSourceDictionary.findId("TRANSACTION-Source")).contains(committedId);
+	}
+
+	@Test
+	@DisplayName("Should fail for an unknown id")
+	void shouldFailForUnknownId() {
+		assertThatThrownBy(() -> hintSourceDictionary.getName((short) -1))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("Unknown hint source id -1");
+	}
+
+	@Test
+	@DisplayName("Should resolve a prefix to the matching sources in name order")
+	void shouldFindNamesByPrefix() {
+		hintSourceDictionary.getOrCreateId("PREFIX-B");
+		hintSourceDictionary.getOrCreateId("PREFIX-A");
+		hintSourceDictionary.getOrCreateId("OTHER-PREFIX-C");
+
+		assertThat(hintSourceDictionary.findNames("PREFIX-")).containsExactly("PREFIX-A", "PREFIX-B");
+		assertThat(hintSourceDictionary.findNames("UNKNOWN-")).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Should see sources of other instances in queries after the refresh")
+	void shouldFindSourcesAfterRefresh() {
+		HintSourceDictionary dictionary = new HintSourceDictionary(jdbcTemplate);
+		assertThat(dictionary.findNames("REFRESH-")).isEmpty();
+
+		short id = insertSource("REFRESH-Added");
+
+		assertThat(dictionary.findNames("REFRESH-")).isEmpty();
+		assertThat(dictionary.findId("REFRESH-Added")).isEmpty();
+		dictionary.refresh();
+		assertThat(dictionary.findNames("REFRESH-")).containsExactly("REFRESH-Added");
+		assertThat(dictionary.findId("REFRESH-Added")).contains(id);
+	}
+
+	private int activeConnections() {
+		try {
+			return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections();
+		} catch (SQLException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private short insertSource(String name) {
+		return jdbcTemplate.queryForObject("insert into hint_source (name) values (?) returning id", Short.class, name);
+	}
+}
@@ -2,6 +2,7 @@ package de.signaliduna.elpa.hint.adapter.database;
 
 import de.signaliduna.elpa.hint.adapter.database.model.HintEntity;
 import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.model.HintMessage;
 import de.signaliduna.elpa.hint.model.HintParams;
 import de.signaliduna.elpa.hint.util.ContainerImageNames;
 import de.signaliduna.elpa.hint.util.HintTestDataGenerator;
@@ -12,21 +13,27 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.jpa.domain.Specification;
 import org.testcontainers.postgresql.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.utility.DockerImageName;
+import java.time.LocalDateTime;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
+@Import(HintSourceDictionary.class)
 class HintSpecificationsIT{
 
 	@Autowired
 	private HintRepository hintRepository;
+	@Autowired
+	private HintSourceDictionary hintSourceDictionary;
 
 	@Container
 	@ServiceConnection
@@ -45,13 +52,13 @@ class HintSpecificationsIT{
 	void shouldFilterByExactHintSource() {
 		// Given
 		List<HintEntity> testHints = HintTestDataGenerator.createAllCategoryHintEntitys();
-		hintRepository.saveAll(testHints);
+		hintRepository.saveAllAndFlush(testHints);
 		String targetHintSource = testHints.getFirst().getHintSource();
 
 		// When
 		Map<HintParams, Object> queryParams = new EnumMap<>(HintParams.class);
 		queryParams.put(HintParams.HINT_SOURCE, targetHintSource);
-		Specification<HintEntity> spec = HintSpecifications.fromQuery(queryParams);
+		Specification<HintEntity> spec = HintSpecifications.fromQuery(queryParams, hintSourceDictionary);
 		List<HintEntity> results = hintRepository.findAll(spec);
 
 		// Then
@@ -67,12 +74,12 @@ class HintSpecificationsIT{
 			HintTestDataGenerator.createInfoHintEntity(),
 			HintTestDataGenerator.createBlockerHintEntity()
 		);
-		hintRepository.saveAll(pasyncHints);
+		hintRepository.saveAllAndFlush(pasyncHints);
 
 		// When
 		Map<HintParams, Object> queryParams = new EnumMap<>(HintParams.class);
 		queryParams.put(HintParams.HINT_SOURCE_PREFIX, "PASYNC");
-		Specification<HintEntity> spec = HintSpecifications.fromQuery(queryParams);
+		Specification<HintEntity> spec = HintSpecifications.fromQuery(queryParams, hintSourceDictionary);
 		List<HintEntity> results = hintRepository.findAll(spec);
 
 		// Then
@@ -82,17 +89,35 @@ class HintSpecificationsIT{
 			.allMatch(source -> source.startsWith("PASYNC"));
 	}
 
+	@Test
+	@DisplayName("Should find no hints for an unknown hint source or prefix")
+	void shouldFindNothingForUnknownHintSource() {
+		// Given
+		hintRepository.saveAllAndFlush(HintTestDataGenerator.createAllCategoryHintEntitys());
+
+		// When
+		Map<HintParams, Object> sourceParams = new EnumMap<>(HintParams.class);
+		sourceParams.put(HintParams.HINT_SOURCE, "UNKNOWN-Source");
+		Map<HintParams, Object> prefixParams = new EnumMap<>(HintParams.class);
+		prefixParams.put(HintParams.HINT_SOURCE_PREFIX, "UNKNOWN");
+
+		// Then
+		assertThat(hintRepository.findAll(HintSpecifications.fromQuery(sourceParams, hintSourceDictionary))).isEmpty();
+		assertThat(hintRepository.findAll(HintSpecifications.fromQuery(prefixParams, hintSourceDictionary))).isEmpty();
+		assertThat(hintSourceDictionary.findId("UNKNOWN-Source")).isEmpty();
+	}
+
 	@Test
 	@DisplayName("Should filter by hint category")
 	void shouldFilterByBlockerHintCategory() {
 		// Given
 		List<HintEntity> testHints = HintTestDataGenerator.createAllCategoryHintEntitys();
-		hintRepository.saveAll(testHints);
+		hintRepository.saveAllAndFlush(testHints);
 
 		// When
 		Map<HintParams, Object> queryParams = new EnumMap<>(HintParams.class);
 		queryParams.put(HintParams.HINT_CATEGORY, HintDto.Category.BLOCKER);
-		Specification<HintEntity> spec = HintSpecifications.fromQuery(queryParams);
+		Specification<HintEntity> spec = HintSpecifications.fromQuery(queryParams, hintSourceDictionary);
 		List<HintEntity> results = hintRepository.findAll(spec);
 
 		// Then
@@ -115,16 +140,16 @@ class HintSpecificationsIT{
 			.resourceId("test-resource-specific")
 			.creationDate(java.time.LocalDateTime.now())
 			.build();
-		hintRepository.save(matchingHint);
+		hintRepository.saveAndFlush(matchingHint);
 
 		// create 4 dummies HintEntity
 		List<HintEntity> testHints = HintTestDataGenerator.creatHintEntityWithSameProcessId("other-test-processId");
-		hintRepository.saveAll(testHints);
+		hintRepository.saveAllAndFlush(testHints);
 
 		// When
 		Map<HintParams, Object> queryParams = new EnumMap<>(HintParams.class);
 		queryParams.put(HintParams.PROCESS_ID, matchingHint.getProcessId());
-		Specification<HintEntity> spec = HintSpecifications.fromQuery(queryParams);
+		Specification<HintEntity> spec = HintSpecifications.fromQuery(queryParams, hintSourceDictionary);
 		List<HintEntity> results = hintRepository.findAll(spec);
 
 		// Then
@@ -147,7 +172,7 @@ class HintSpecificationsIT{
 			.creationDate(java.time.LocalDateTime.now())
 			.build();
 
-		hintRepository.saveAll(
+		hintRepository.saveAllAndFlush(
 			List.of(
 				HintTestDataGenerator.createInfoHintEntity(),
 				HintTestDataGenerator.createWarningHintEntity(),
@@ -161,7 +186,7 @@ class HintSpecificationsIT{
 		queryParams.put(HintParams.HINT_SOURCE_PREFIX, "PASYNC");
 		queryParams.put(HintParams.HINT_CATEGORY, HintDto.Category.BLOCKER);
 		queryParams.put(HintParams.PROCESS_ID, matchingHint.getProcessId());
-		Specification<HintEntity> spec = HintSpecifications.fromQuery(queryParams);
+		Specification<HintEntity> spec = HintSpecifications.fromQuery(queryParams, hintSourceDictionary);
 		List<HintEntity> results = hintRepository.findAll(spec);
 
 		// Then
@@ -177,19 +202,38 @@ class HintSpecificationsIT{
 	@DisplayName("Should return all handle empty query parameters")
 	void shouldHandleEmptyQueryParameters() {
 		// Given
-		hintRepository.saveAll(
+		hintRepository.saveAllAndFlush(
 			HintTestDataGenerator.createAllCategoryHintEntitys()
 		);
 
 		// When
 		Map<HintParams, Object> queryParams = new EnumMap<>(HintParams.class);
-		Specification<HintEntity> spec = HintSpecifications.fromQuery(queryParams);
+		Specification<HintEntity> spec = HintSpecifications.fromQuery(queryParams, hintSourceDictionary);
 		List<HintEntity> results = hintRepository.findAll(spec);
 
 		// Verify
 		assertThat(results).hasSize(4);
 	}
 
+	@Test
+	@DisplayName("Should only return hints after the given id")
+	void shouldFilterByIdGreaterThanAfterId() {
+		// Given
+		List<HintEntity> savedHints = hintRepository.saveAllAndFlush(
+			HintTestDataGenerator.createAllCategoryHintEntitys()
+		);
+		long afterId = savedHints.get(1).getId();
+
+		// When
+		Map<HintParams, Object> queryParams = new EnumMap<>(HintParams.class);
+		Specification<HintEntity> spec = HintSpecifications.fromQuery(queryParams, afterId, hintSourceDictionary);
+		List<HintEntity> results = hintRepository.findAll(spec);
+
+		// Verify
+		assertThat(results).extracting(HintEntity::getId)
+			.containsExactlyInAnyOrder(savedHints.get(2).getId(), savedHints.get(3).getId());
+	}
+
 	@Test
 	@DisplayName("Should ignore null values in query parameters")
 	void shouldIgnoreNullValuesInQueryParameters() {
@@ -204,7 +248,7 @@ class HintSpecificationsIT{
 			.resourceId("test-resource-matching")
 			.creationDate(java.time.LocalDateTime.now())
 			.build();
-		hintRepository.save(matchingHint);
+		hintRepository.saveAndFlush(matchingHint);
 
 
 
@@ -213,7 +257,7 @@ class HintSpecificationsIT{
 		queryParams.put(HintParams.HINT_SOURCE_PREFIX, "PASYNC");
 		queryParams.put(HintParams.HINT_CATEGORY, null); // Should be ignored
 		queryParams.put(HintParams.SHOW_TO_USER, true);
-		Specification<HintEntity> spec = HintSpecifications.fromQuery(queryParams);
+		Specification<HintEntity> spec = HintSpecifications.fromQuery(queryParams, hintSourceDictionary);
 		List<HintEntity> results = hintRepository.findAll(spec);
 
 		assertThat(results).hasSize(1);
@@ -235,7 +279,7 @@ class HintSpecificationsIT{
 			HintTestDataGenerator.createBlockerHintEntity(),
                 targetHintEntity
 		);
-		hintRepository.saveAll(testHints);
+		hintRepository.saveAllAndFlush(testHints);
 
 		// When
 		Map<HintParams, Object> queryParams = new EnumMap<>(HintParams.class);
@@ -243,7 +287,7 @@ class HintSpecificationsIT{
 		queryParams.put(HintParams.HINT_CATEGORY, HintDto.Category.INFO);
 		queryParams.put(HintParams.SHOW_TO_USER, true);
 
-		Specification<HintEntity> spec = HintSpecifications.fromQuery(queryParams);
+		Specification<HintEntity> spec = HintSpecifications.fromQuery(queryParams, hintSourceDictionary);
 		List<HintEntity> results = hintRepository.findAll(spec);
 
 		// Then
@@ -253,4 +297,94 @@ class HintSpecificationsIT{
 				hint.getShowToUser() &&
 				hint.getProcessVersion().equals("1"));
 	}
+
+	@Test
+	@DisplayName("Should filter by a half-open creation date range")
+	void shouldFilterByCreationDateRange() {
+		// Given
+		List<HintEntity> testHints = HintTestDataGenerator.createAllCategoryHintEntitys();
+		testHints.get(0).setCreationDate(LocalDateTime.of(2024, 1, 31, 23, 59));
+		testHints.get(1).setCreationDate(LocalDateTime.of(2024, 2, 1, 0, 0));
+		testHints.get(2).setCreationDate(LocalDateTime.of(2024, 2, 29, 23, 59));
+		testHints.get(3).setCreationDate(LocalDateTime.of(2024, 3, 1, 0, 0));
+		hintRepository.saveAllAndFlush(testHints);
+
+		// When
+		Map<HintParams, Object> queryParams = new EnumMap<>(HintParams.class);
+		queryParams.put(HintParams.CREATED_AFTER, LocalDateTime.of(2024, 2, 1, 0, 0));
+		queryParams.put(HintParams.CREATED_BEFORE, LocalDateTime.of(2024, 3, 1, 0, 0));
+		List<HintEntity> results = hintRepository.findAll(HintSpecifications.fromQuery(queryParams, hintSourceDictionary));
+
+		// Then
+		assertThat(results)
+			.extracting(HintEntity::getCreationDate)
+			.containsExactlyInAnyOrder(LocalDateTime.of(2024, 2, 1, 0, 0), LocalDateTime.of(2024, 2, 29, 23, 59));
+	}
+
+	@Test
+	@DisplayName("Should find the rendered messages containing a text ignoring case")
+	void shouldFilterByMessageText() {
+		// Given
+		HintEntity templatedHint = HintTestDataGenerator.createInfoHintEntity();
+		templatedHint.setMessage(null);
+		templatedHint.setMessageTemplate(HintMessage.HINT_PLZ_CHANGED);
+		templatedHint.setMessageArgs(List.of("12345", "54321"));
+		HintEntity percentHint = HintTestDataGenerator.createWarningHintEntity();
+		percentHint.setMessage("Zu 100% geprüft");
+		HintEntity otherHint = HintTestDataGenerator.createErrorHintEntity();
+		otherHint.setMessage("Zu 100 Prozent geprüft");
+		hintRepository.saveAllAndFlush(List.of(templatedHint, percentHint, otherHint));
+
+		// When
+		Map<HintParams, Object> textParams = new EnumMap<>(HintParams.class);
+		textParams.put(HintParams.HINT_TEXT_ORIGINAL, "POSTLEITZAHL wurde von 12345");
+		Map<HintParams, Object> wildcardParams = new EnumMap<>(HintParams.class);
+		wildcardParams.put(HintParams.HINT_TEXT_ORIGINAL, "100%");
+
+		// Then
+		assertThat(hintRepository.findAll(HintSpecifications.fromQuery(textParams, hintSourceDictionary)))
+			.extracting(HintEntity::getMessage)
+			.containsExactly("Die Postleitzahl wurde von 12345 in 54321 geaendert.");
+		assertThat(hintRepository.findAll(HintSpecifications.fromQuery(wildcardParams, hintSourceDictionary)))
+			.extracting(HintEntity::getMessage)
+			.containsExactly("Zu 100% geprüft");
+	}
+
+	@Test
+	@DisplayName("Should find the messages containing the words of a web search")
+	void shouldFilterByMessageWords() {
+		// Given
+		HintEntity templatedHint = HintTestDataGenerator.createInfoHintEntity();
+		templatedHint.setMessage(null);
+		templatedHint.setMessageTemplate(HintMessage.ADDRESS_MISSING);
+		HintEntity freeTextHint = HintTestDataGenerator.createWarningHintEntity();
+		freeTextHint.setMessage("Adressen wurden abgeglichen.");
+		HintEntity otherHint = HintTestDataGenerator.createErrorHintEntity();
+		otherHint.setMessage("PLZ ergänzt.");
+		hintRepository.saveAllAndFlush(List.of(templatedHint, freeTextHint, otherHint));
+
+		// When
+		Map<HintParams, Object> wordParams = new EnumMap<>(HintParams.class);
+		wordParams.put(HintParams.HINT_TEXT_SEARCH, "Adresse");
+		Map<HintParams, Object> excludingParams = new EnumMap<>(HintParams.class);
+		excludingParams.put(HintParams.HINT_TEXT_SEARCH, "Adresse -fehlt");
+
+		// Then
+		assertThat(hintRepository.findAll(HintSpecifications.fromQuery(wordParams, hintSourceDictionary)))
+			.extracting(HintEntity::getMessage)
+			.containsExactlyInAnyOrder(HintMessage.ADDRESS_MISSING.message, "Adressen wurden abgeglichen.");
+		assertThat(hintRepository.findAll(HintSpecifications.fromQuery(excludingParams, hintSourceDictionary)))
+			.extracting(HintEntity::getMessage)
+			.containsExactly("Adressen wurden abgeglichen.");
+	}
+
+	@Test
+	@DisplayName("Should reject a ranking without message search")
+	void shouldRejectRankingWithoutMessageSearch() {
+		Map<HintParams, Object> queryParams = Map.of(HintParams.PROCESS_ID, "test-processId");
+
+		assertThatThrownBy(() -> HintSpecifications.ranking(queryParams))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Ranking requires hintTextSearch or hintTextOriginal");
+	}
 }
@@ -0,0 +1,155 @@
+package de.signaliduna.elpa.hint.adapter.http.api;
+
+import de.signaliduna.elpa.hint.adapter.app.exception.InvalidBulkIngestLineException;
+import de.signaliduna.elpa.hint.adapter.message.retry.HintDeadLetterReplayResult;
+import de.signaliduna.elpa.hint.adapter.message.retry.HintDeadLetterReplayer;
+import de.signaliduna.elpa.hint.core.HintBulkIngestResult;
+import de.signaliduna.elpa.hint.core.HintBulkIngestService;
+import de.signaliduna.elpa.hint.model.HintDto;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HintAdminApiTest {
+	private HintAdminApi classUnderTest;
+	@Mock
+	private HintBulkIngestService hintBulkIngestServiceMock;
+	@Mock
+	private HintDeadLetterReplayer hintDeadLetterReplayerMock;
+
+	@BeforeEach
+	void setup() {
+		this.classUnderTest = new HintAdminApi(hintBulkIngestServiceMock, hintDeadLetterReplayerMock, JsonMapper.builder().build(),
+			Validation.buildDefaultValidatorFactory().getValidator());
+	}
+
+	@Test
+	void shouldPassUploadedLinesLazilyToBulkIngest() {
+		final String ndjson = """
+			{"hintSource":"ELISA","message":"Test1","hintCategory":"BLOCKER","showToUser":true,"processId":"E1234","creationDate":"2023-05-22T09:01:02","processVersion":"1","resourceId":"resourceId-1"}
+			{"hintSource":"ELISA","message":"Test2","hintCategory":"INFO","showToUser":false,"processId":"E5678","creationDate":"2023-05-22T09:01:02"}
+			""";
+		final HintBulkIngestResult expectedResult = new HintBulkIngestResult(2, 1, 3);
+		final List<HintDto> ingestedHints = new ArrayList<>();
+		when(hintBulkIngestServiceMock.ingest(any())).thenAnswer(invocation -> {
+			Iterator<HintDto> hints = invocation.getArgument(0);
+			hints.forEachRemaining(ingestedHints::add);
+			return expectedResult;
+		});
+
+		ResponseEntity<HintBulkIngestResult> result = classUnderTest.bulkIngest(
+			new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+		assertThat(result.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+		assertThat(result.getBody()).isEqualTo(expectedResult);
+		assertThat(ingestedHints).containsExactly(
+			new HintDto("ELISA", "Test1", HintDto.Category.BLOCKER, true,
+				"E1234", LocalDateTime.of(2023, 5, 22, 9, 1, 2), "1", "resourceId-1"),
+			new HintDto("ELISA", "Test2", HintDto.Category.INFO, false,
+				"E5678", LocalDateTime.of(2023, 5, 22, 9, 1, 2), null, null)
+		);
+	}
+
+	@Test
+	void shouldRejectInvalidHintWithLineNumber() {
+		final String ndjson = """
+			{"hintSource":"ELISA","message":"Test1","hintCategory":"BLOCKER","showToUser":true,"processId":"E1234","creationDate":"2023-05-22T09:01:02"}
+			{"hintSource":"ELISA","message":"Test2","hintCategory":"INFO","showToUser":false,"creationDate":"2023-05-22T09:01:02"}
+			""";
+		final List<HintDto> ingestedHints = new ArrayList<>();
+		when(hintBulkIngestServiceMock.ingest(any())).thenAnswer(invocation -> {
+			Iterator<HintDto> hints = invocation.getArgument(0);
+			hints.forEachRemaining(ingestedHints::add);
+			return null;
+		});
+
+		assertThatThrownBy(() -> classUnderTest.bulkIngest(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8))))
+			.isInstanceOf(InvalidBulkIngestLineException.class)
+			.hasMessageStartingWith("Line 2: processId ")
+			.extracting("line").isEqualTo(2L);
+		assertThat(ingestedHints).hasSize(1);
+	}
+
+	@Test
+	void shouldRejectHintWithoutMessageWithLineNumber() {
+		final String ndjson = """
+			{"hintSource":"ELISA","message":"Test1","hintCategory":"BLOCKER","showToUser":true,"processId":"E1234","creationDate":"2023-05-22T09:01:02"}
+			{"hintSource":"ELISA","hintCategory":"INFO","showToUser":false,"processId":"E5678","creationDate":"2023-05-22T09:01:02"}
+			""";
+		when(hintBulkIngestServiceMock.ingest(any())).thenAnswer(invocation -> {
+			Iterator<HintDto> hints = invocation.getArgument(0);
+			hints.forEachRemaining(hint -> { });
+			return null;
+		});
+
+		assertThatThrownBy(() -> classUnderTest.bulkIngest(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8))))
+			.isInstanceOf(InvalidBulkIngestLineException.class)
+			.hasMessage("Line 2: message must not be empty if messageTemplate is not set");
+	}
+
+	@Test
+	void shouldRejectMalformedLineWithLineNumber() {
+		final String ndjson = """
+			{"hintSource":"ELISA","message":"Test1","hintCategory":"BLOCKER","showToUser":true,"processId":"E1234","creationDate":"2023-05-22T09:01:02"}
+			{"hintSource":"ELISA","message":"Test2","hintCategory":"UNKNOWN","showToUser":false,"processId":"E5678","creationDate":"2023-05-22T09:01:02"}
+			""";
+		when(hintBulkIngestServiceMock.ingest(any())).thenAnswer(invocation -> {
+			Iterator<HintDto> hints = invocation.getArgument(0);
+			hints.forEachRemaining(hint -> { });
+			return null;
+		});
+
+		assertThatThrownBy(() -> classUnderTest.bulkIngest(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8))))
+			.isInstanceOf(InvalidBulkIngestLineException.class)
+			.hasMessageStartingWith("Line 2: ");
+	}
+
+	@Test
+	void shouldRejectUnparsableLineWithLineNumber() {
+		final String ndjson = """
+			{"hintSource":"ELISA","message":"Test1","hintCategory":"BLOCKER","showToUser":true,"processId":"E1234","creationDate":"2023-05-22T09:01:02"}
+			not json
+			""";
+		when(hintBulkIngestServiceMock.ingest(any())).thenAnswer(invocation -> {
+			Iterator<HintDto> hints = invocation.getArgument(0);
+			while (hints.hasNext()) {
+				hints.next();
+			}
+			return null;
+		});
+
+		assertThatThrownBy(() -> classUnderTest.bulkIngest(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8))))
+			.isInstanceOf(InvalidBulkIngestLineException.class)
+			.hasMessageStartingWith("Line 2: ");
+	}
+
+	@Test
+	void shouldReplayDeadLetters() {
+		final HintDeadLetterReplayResult expectedResult = new HintDeadLetterReplayResult(3);
+		when(hintDeadLetterReplayerMock.replay()).thenReturn(expectedResult);
+
+		ResponseEntity<HintDeadLetterReplayResult> result = classUnderTest.replayDeadLetters();
+
+		assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(result.getBody()).isEqualTo(expectedResult);
+	}
+}
@@ -2,17 +2,26 @@ package de.signaliduna.elpa.hint.adapter.http.api;
 
 import com.c4_soft.springaddons.security.oauth2.test.annotations.WithMockAuthentication;
 import com.c4_soft.springaddons.security.oauth2.test.webmvc.AutoConfigureAddonsWebmvcResourceServerSecurity;
+import de.signaliduna.elpa.hint.adapter.database.HintCopyWriter;
+import de.signaliduna.elpa.hint.adapter.database.HintPartitionRepository;
 import de.signaliduna.elpa.hint.adapter.database.HintRepository;
+import de.signaliduna.elpa.hint.config.properties.HintPagingProperties;
+import de.signaliduna.elpa.hint.core.HintPage;
+import de.signaliduna.elpa.hint.core.HintPageRequest;
 import de.signaliduna.elpa.hint.core.HintService;
 import de.signaliduna.elpa.hint.model.HintDto;
 import de.signaliduna.elpa.hint.config.WebSecurityConfig;
 import de.signaliduna.elpa.hint.model.HintParams;
+import de.signaliduna.elpa.hint.model.HintQueryRequest;
+import de.signaliduna.elpa.hint.model.HintSummary;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -25,22 +34,31 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = HintApi.class, properties = "authorization.users=S12345")
-@MockitoBean(types = HintRepository.class)
+@MockitoBean(types = {HintRepository.class, HintCopyWriter.class, HintPartitionRepository.class})
 @AutoConfigureAddonsWebmvcResourceServerSecurity
 @ActiveProfiles("nodb")
 @Import({WebSecurityConfig.class})
+@EnableConfigurationProperties(HintPagingProperties.class)
 class HintApiIT {
 	public static final String AUTHORIZED_USER = "S12345";
+	private static final HintPageRequest FIRST_PAGE = HintPageRequest.firstPage(new HintPagingProperties().getMaxPageSize());
 
 	@Autowired
 	MockMvc mockMvc;
@@ -82,14 +100,14 @@ class HintApiIT {
 				 "E5678", getTestLocalDateTime(), "1", "resourceId-1")
 		);
 		Map<HintParams, Object> queryParams = Map.of();
-		when(hintService.getHints(queryParams)).thenReturn(hints);
+		when(hintService.getHints(queryParams, FIRST_PAGE)).thenReturn(new HintPage(hints, null));
 
 		MvcResult mvcResult = mockMvc.perform(get("/hints"))
 			.andExpect(status().isOk())
 			.andReturn();
 
 		assertThat(mvcResult.getResponse().getContentAsString()).isEqualTo(hintDtosJson.getContentAsString(StandardCharsets.UTF_8).replaceAll("\\s+", ""));
-		verify(hintService).getHints(queryParams);
+		verify(hintService).getHints(queryParams, FIRST_PAGE);
 	}
 
 	@Test
@@ -107,7 +125,7 @@ class HintApiIT {
 			HintParams.HINT_SOURCE, "ELISA",
 			HintParams.RESOURCE_ID, "resourceId-1"
 		);
-		when(hintService.getHints(queryParams)).thenReturn(hints);
+		when(hintService.getHints(queryParams, FIRST_PAGE)).thenReturn(new HintPage(hints, null));
 
 		MvcResult mvcResult = mockMvc.perform(get("/hints")
 				.queryParam("hintSource", "ELISA")
@@ -117,7 +135,26 @@ class HintApiIT {
 			.andReturn();
 
 		assertThat(mvcResult.getResponse().getContentAsString()).isEqualTo(hintDtosJson.getContentAsString(StandardCharsets.UTF_8).replaceAll("\\s+", ""));
-		verify(hintService).getHints(queryParams);
+		verify(hintService).getHints(queryParams, FIRST_PAGE);
+	}
+
+	@Test
+	@WithMockAuthentication(name = AUTHORIZED_USER)
+	void getHintsByCreationDateRange() throws Exception {
+		Map<HintParams, Object> queryParams = Map.of(
+			HintParams.PROCESS_ID, "E1234",
+			HintParams.CREATED_AFTER, LocalDateTime.of(2024, 1, 1, 0, 0),
+			HintParams.CREATED_BEFORE, LocalDateTime.of(2024, 2, 1, 12, 30)
+		);
+		when(hintService.getHints(queryParams, FIRST_PAGE)).thenReturn(new HintPage(List.of(), null));
+
+		mockMvc.perform(get("/hints")
+				.queryParam("processId", "E1234")
+				.queryParam("createdAfter", "2024-01-01T00:00:00")
+				.queryParam("createdBefore", "2024-02-01T12:30"))
+			.andExpect(status().isOk());
+
+		verify(hintService).getHints(queryParams, FIRST_PAGE);
 	}
 
 	@Test
@@ -129,7 +166,7 @@ class HintApiIT {
 			HintParams.HINT_CATEGORY, "INFO",
 			HintParams.SHOW_TO_USER, true,
 			HintParams.PROCESS_ID, "E12345678");
-		when(hintService.getHints(queryParams)).thenReturn(List.of());
+		when(hintService.getHints(queryParams, FIRST_PAGE)).thenReturn(new HintPage(List.of(), null));
 
 		MvcResult mvcResult = mockMvc.perform(get("/hints")
 				.queryParam("hintSource", "ELISA")
@@ -141,7 +178,139 @@ class HintApiIT {
 			.andReturn();
 
 		assertThat(mvcResult.getResponse().getContentAsString()).isEqualTo("[]");
-		verify(hintService).getHints(queryParams);
+		verify(hintService).getHints(queryParams, FIRST_PAGE);
+	}
+
+	@Test
+	@WithMockAuthentication(name = AUTHORIZED_USER)
+	void getHintsWithNextPage() throws Exception {
+		final HintDto hint = new HintDto("ELISA", "Test1", HintDto.Category.BLOCKER, true,
+			"E1234", getTestLocalDateTime(), "1", "resourceId-1");
+		final Map<HintParams, Object> queryParams = Map.of(HintParams.PROCESS_ID, "E1234");
+		when(hintService.getHints(queryParams, HintPageRequest.firstPage(1))).thenReturn(new HintPage(List.of(hint), 41L));
+		when(hintService.getHints(queryParams, new HintPageRequest(41L, 1))).thenReturn(new HintPage(List.of(hint), null));
+
+		MvcResult firstPage = mockMvc.perform(get("/hints")
+				.queryParam("processId", "E1234")
+				.queryParam("pageSize", "1"))
+			.andExpect(status().isOk())
+			.andReturn();
+		final String continuationToken = firstPage.getResponse().getHeader(HintQueryRequest.CONTINUATION_TOKEN_HEADER);
+		assertThat(continuationToken).isNotBlank();
+		assertThat(firstPage.getResponse().getHeader("Link"))
+			.isEqualTo("<http://localhost/hints?processId=E1234&pageSize=1&continuationToken=" + continuationToken + ">; rel=\"next\"");
+
+		MvcResult lastPage = mockMvc.perform(get("/hints")
+				.queryParam("processId", "E1234")
+				.queryParam("pageSize", "1")
+				.queryParam("continuationToken", continuationToken))
+			.andExpect(status().isOk())
+			.andReturn();
+		assertThat(lastPage.getResponse().getHeader(HintQueryRequest.CONTINUATION_TOKEN_HEADER)).isNull();
+		assertThat(lastPage.getResponse().getHeader("Link")).isNull();
+	}
+
+	@Test
+	@WithMockAuthentication(name = AUTHORIZED_USER)
+	void searchHints() throws Exception {
+		final HintDto hint = new HintDto("ELISA", "PLZ abweichend.", HintDto.Category.INFO, true,
+			"E1234", getTestLocalDateTime(), "1", "resourceId-1");
+		final Map<HintParams, Object> queryParams = Map.of(
+			HintParams.HINT_TEXT_SEARCH, "PLZ abweichend",
+			HintParams.PROCESS_ID, "E1234");
+		when(hintService.searchHints(queryParams, new HintPagingProperties().getMaxSearchResults())).thenReturn(List.of(hint));
+
+		MvcResult mvcResult = mockMvc.perform(get("/hints/search")
+				.queryParam("hintTextSearch", "PLZ abweichend")
+				.queryParam("processId", "E1234"))
+			.andExpect(status().isOk())
+			.andReturn();
+
+		assertThat(mvcResult.getResponse().getContentAsString()).isEqualTo(jsonMapper.writeValueAsString(List.of(hint)));
+	}
+
+	@Test
+	@WithMockAuthentication(name = AUTHORIZED_USER)
+	void searchHintsWithoutSearchText() throws Exception {
+		MvcResult mvcResult = mockMvc.perform(get("/hints/search")
+				.queryParam("processId", "E1234"))
+			.andExpect(status().isBadRequest())
+			.andReturn();
+
+		assertThat(mvcResult.getResponse().getContentAsString()).isEqualTo("""
+			{"message":"Request invalid","reason":"Search requires hintTextSearch or hintTextOriginal."}""");
+	}
+
+	@Test
+	@WithMockAuthentication(name = AUTHORIZED_USER)
+	void summarizeHints() throws Exception {
+		final Map<HintParams, Object> queryParams = Map.of(HintParams.PROCESS_ID, "E1234");
+		when(hintService.summarizeHints(queryParams, false)).thenReturn(List.of(new HintSummary(null, HintDto.Category.INFO, 2)));
+
+		MvcResult mvcResult = mockMvc.perform(get("/hints/summary")
+				.queryParam("processId", "E1234"))
+			.andExpect(status().isOk())
+			.andReturn();
+
+		assertThat(mvcResult.getResponse().getContentAsString()).isEqualTo("""
+			[{"hintCategory":"INFO","count":2}]""");
+	}
+
+	@Test
+	@WithMockAuthentication(name = AUTHORIZED_USER)
+	void summarizeHintsByHintSource() throws Exception {
+		final Map<HintParams, Object> queryParams = Map.of(HintParams.PROCESS_ID, "E1234");
+		when(hintService.summarizeHints(queryParams, true)).thenReturn(List.of(new HintSummary("ELISA", HintDto.Category.INFO, 2)));
+
+		MvcResult mvcResult = mockMvc.perform(get("/hints/summary")
+				.queryParam("processId", "E1234")
+				.queryParam(HintSummary.GROUP_BY_HINT_SOURCE_PARAM, "true"))
+			.andExpect(status().isOk())
+			.andReturn();
+
+		assertThat(mvcResult.getResponse().getContentAsString()).isEqualTo("""
+			[{"hintSource":"ELISA","hintCategory":"INFO","count":2}]""");
+	}
+
+	@Test
+	@WithMockAuthentication(name = AUTHORIZED_USER)
+	void getHintsWithInvalidContinuationToken() throws Exception {
+		MvcResult mvcResult = mockMvc.perform(get("/hints")
+				.queryParam("processId", "E1234")
+				.queryParam("continuationToken", "invalid!"))
+			.andExpect(status().isBadRequest())
+			.andReturn();
+
+		assertThat(mvcResult.getResponse().getContentAsString()).isEqualTo("""
+			{"message":"Request invalid","reason":"Invalid continuation token."}""");
+	}
+
+	@Test
+	@WithMockAuthentication(name = AUTHORIZED_USER)
+	void streamHintsAsNdjson() throws Exception {
+		final HintDto hint = new HintDto("ELISA", "Test", HintDto.Category.BLOCKER, true,
+			"E1234", getTestLocalDateTime(), "1", "resourceId-1");
+		final Map<HintParams, Object> queryParams = Map.of(HintParams.PROCESS_ID, "E1234");
+		when(hintService.streamHints(eq(queryParams), any())).thenAnswer(invocation -> {
+			Consumer<HintDto> consumer = invocation.getArgument(1);
+			consumer.accept(hint);
+			consumer.accept(hint);
+			return 2L;
+		});
+
+		MvcResult asyncResult = mockMvc.perform(get("/hints")
+				.queryParam("processId", "E1234")
+				.accept(MediaType.APPLICATION_NDJSON))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		MvcResult mvcResult = mockMvc.perform(asyncDispatch(asyncResult))
+			.andExpect(status().isOk())
+			.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+			.andReturn();
+
+		final String hintJson = getHintDtoJsonContentAsString();
+		assertThat(mvcResult.getResponse().getContentAsString()).isEqualTo(hintJson + "\n" + hintJson + "\n");
+		verify(hintService, never()).getHints(any(), any());
 	}
 
 	@Test
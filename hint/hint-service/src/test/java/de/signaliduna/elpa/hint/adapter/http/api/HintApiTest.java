@@ -1,32 +1,60 @@
 package de.signaliduna.elpa.hint.adapter.http.api;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import de.signaliduna.elpa.hint.adapter.app.exception.InvalidPageRequestException;
+import de.signaliduna.elpa.hint.adapter.app.exception.InvalidSearchRequestException;
+import de.signaliduna.elpa.hint.config.properties.HintPagingProperties;
+import de.signaliduna.elpa.hint.core.HintPage;
+import de.signaliduna.elpa.hint.core.HintPageRequest;
 import de.signaliduna.elpa.hint.core.HintService;
 import de.signaliduna.elpa.hint.model.HintDto;
 import de.signaliduna.elpa.hint.model.HintParams;
 import de.signaliduna.elpa.hint.model.HintQueryRequest;
+import de.signaliduna.elpa.hint.model.HintSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class HintApiTest {
+	private static final int MAX_PAGE_SIZE = 100;
+	private static final int MAX_SEARCH_RESULTS = 20;
 	private HintApi classUnderTest;
 	@Mock
 	private HintService hintServiceMock;
+	private final MockHttpServletRequest httpServletRequest = new MockHttpServletRequest("GET", "/api/hints");
 
 	@BeforeEach
 	void setup() {
-		this.classUnderTest = new HintApi(hintServiceMock);
+		HintPagingProperties hintPagingProperties = new HintPagingProperties();
+		hintPagingProperties.setMaxPageSize(MAX_PAGE_SIZE);
+		hintPagingProperties.setMaxSearchResults(MAX_SEARCH_RESULTS);
+		// like spring.jackson.default-property-inclusion
+		this.classUnderTest = new HintApi(hintServiceMock, hintPagingProperties, JsonMapper.builder()
+			.changeDefaultPropertyInclusion(inclusion -> inclusion.withValueInclusion(JsonInclude.Include.NON_NULL))
+			.build());
 	}
 
 	private HintDto createHintDTO() {
@@ -34,74 +62,260 @@ class HintApiTest {
 			"E1234", LocalDateTime.of(2023, 5, 22, 9, 1, 2), "1", "resourceId-1");
 	}
 
+	private static HintPage lastPage(HintDto... hints) {
+		return new HintPage(List.of(hints), null);
+	}
+
 	@Test
 	void shouldReturnHintsAsDtoFromService() {
 		HintDto hintDTO = createHintDTO();
-		when(hintServiceMock.getHints(any())).thenReturn(List.of(hintDTO));
+		when(hintServiceMock.getHints(any(), any())).thenReturn(lastPage(hintDTO));
 		HintQueryRequest request = new HintQueryRequest(
-			null, "ELISA", "Test1", "BLOCKER",
-			true, "E1234", "1", "resourceId-1"
+			null, "ELISA", "Test1", null, "BLOCKER",
+			true, "E1234", "1", "resourceId-1", null, null, null, null
 		);
-		ResponseEntity<List<HintDto>> result = classUnderTest.getHints(request);
+		ResponseEntity<List<HintDto>> result = classUnderTest.getHints(request, httpServletRequest);
 		List<HintDto> hintDtoList = result.getBody();
 		assertThat(hintDtoList).containsExactly(createHintDTO());
-		verify(hintServiceMock).getHints(request.toQueryParams());
+		assertThat(result.getHeaders().containsHeader(HintQueryRequest.CONTINUATION_TOKEN_HEADER)).isFalse();
+		assertThat(result.getHeaders().containsHeader(HttpHeaders.LINK)).isFalse();
+		verify(hintServiceMock).getHints(request.toQueryParams(), HintPageRequest.firstPage(MAX_PAGE_SIZE));
 	}
 
 	@Test
 	void shouldBuildEmptyQueryListIfNoQueryParamsProvided() {
 		HintDto hintDTO = createHintDTO();
 		HintQueryRequest request = new HintQueryRequest(
-			null, null, null, null,
-			null, null, null, null
+			null, null, null, null, null,
+			null, null, null, null, null, null, null, null
 		);
-		when(hintServiceMock.getHints(Map.of())).thenReturn(List.of(hintDTO));
-		classUnderTest.getHints(request);
-		verify(hintServiceMock).getHints(Map.of());
+		when(hintServiceMock.getHints(Map.of(), HintPageRequest.firstPage(MAX_PAGE_SIZE))).thenReturn(lastPage(hintDTO));
+		classUnderTest.getHints(request, httpServletRequest);
+		verify(hintServiceMock).getHints(Map.of(), HintPageRequest.firstPage(MAX_PAGE_SIZE));
 	}
 
 	@Test
 	void shouldBuildFullQueryListIfAllParamsProvided() {
 		HintDto hintDTO = createHintDTO();
 		HintQueryRequest request = new HintQueryRequest(
-			null, "ELISA", "Test1", "BLOCKER",
-			true, "E1234", "1", "resourceId-1"
+			null, "ELISA", "Test1", null, "BLOCKER",
+			true, "E1234", "1", "resourceId-1", null, null, null, null
 		);
 		Map<HintParams, Object> expectedParams = request.toQueryParams();
-		when(hintServiceMock.getHints(expectedParams)).thenReturn(List.of(hintDTO));
-		classUnderTest.getHints(request);
-		verify(hintServiceMock).getHints(expectedParams);
+		when(hintServiceMock.getHints(expectedParams, HintPageRequest.firstPage(MAX_PAGE_SIZE))).thenReturn(lastPage(hintDTO));
+		classUnderTest.getHints(request, httpServletRequest);
+		verify(hintServiceMock).getHints(expectedParams, HintPageRequest.firstPage(MAX_PAGE_SIZE));
 	}
 
 	@Test
 	void shouldUseHintSourcePrefixIfProvided() {
 		HintDto hintDTO = createHintDTO();
 		HintQueryRequest request = new HintQueryRequest(
-			"EL", null, null, null,
-			null, null, null, null
+			"EL", null, null, null, null,
+			null, null, null, null, null, null, null, null
 		);
 		Map<HintParams, Object> expectedParams = request.toQueryParams();
-		when(hintServiceMock.getHints(expectedParams)).thenReturn(List.of(hintDTO));
-		ResponseEntity<List<HintDto>> result = classUnderTest.getHints(request);
+		when(hintServiceMock.getHints(expectedParams, HintPageRequest.firstPage(MAX_PAGE_SIZE))).thenReturn(lastPage(hintDTO));
+		ResponseEntity<List<HintDto>> result = classUnderTest.getHints(request, httpServletRequest);
 		List<HintDto> hintDtoList = result.getBody();
 		assertThat(hintDtoList).containsExactly(createHintDTO());
-		verify(hintServiceMock).getHints(expectedParams);
+		verify(hintServiceMock).getHints(expectedParams, HintPageRequest.firstPage(MAX_PAGE_SIZE));
 	}
 
 	@Test
 	void shouldIgnoreHintSourceIfPrefixIsPresent() {
 		HintDto hintDTO = createHintDTO();
 		HintQueryRequest request = new HintQueryRequest(
-			"EL", "SHOULD_BE_IGNORED", null, null,
-			null, null, null, null
+			"EL", "SHOULD_BE_IGNORED", null, null, null,
+			null, null, null, null, null, null, null, null
 		);
 		Map<HintParams, Object> expectedParams = request.toQueryParams();
-		when(hintServiceMock.getHints(expectedParams)).thenReturn(List.of(hintDTO));
-		ResponseEntity<List<HintDto>> result = classUnderTest.getHints(request);
+		when(hintServiceMock.getHints(expectedParams, HintPageRequest.firstPage(MAX_PAGE_SIZE))).thenReturn(lastPage(hintDTO));
+		ResponseEntity<List<HintDto>> result = classUnderTest.getHints(request, httpServletRequest);
 		List<HintDto> hintDtoList = result.getBody();
 		assertThat(hintDtoList).containsExactly(createHintDTO());
-		verify(hintServiceMock).getHints(expectedParams);
+		verify(hintServiceMock).getHints(expectedParams, HintPageRequest.firstPage(MAX_PAGE_SIZE));
+	}
+
+	@Test
+	void shouldUseRequestedPageSizeBelowMaximum() {
+		HintQueryRequest request = new HintQueryRequest(
+			null, null, null, null, null,
+			null, "E1234", null, null, null, null, 10, null
+		);
+		when(hintServiceMock.getHints(request.toQueryParams(), HintPageRequest.firstPage(10))).thenReturn(lastPage());
+		classUnderTest.getHints(request, httpServletRequest);
+		verify(hintServiceMock).getHints(request.toQueryParams(), HintPageRequest.firstPage(10));
+	}
+
+	@Test
+	void shouldCapPageSizeAtMaximum() {
+		HintQueryRequest request = new HintQueryRequest(
+			null, null, null, null, null,
+			null, "E1234", null, null, null, null, MAX_PAGE_SIZE + 1, null
+		);
+		when(hintServiceMock.getHints(request.toQueryParams(), HintPageRequest.firstPage(MAX_PAGE_SIZE))).thenReturn(lastPage());
+		classUnderTest.getHints(request, httpServletRequest);
+		verify(hintServiceMock).getHints(request.toQueryParams(), HintPageRequest.firstPage(MAX_PAGE_SIZE));
+	}
+
+	@Test
+	void shouldRejectNonPositivePageSize() {
+		HintQueryRequest request = new HintQueryRequest(
+			null, null, null, null, null,
+			null, "E1234", null, null, null, null, 0, null
+		);
+		assertThatThrownBy(() -> classUnderTest.getHints(request, httpServletRequest))
+			.isInstanceOf(InvalidPageRequestException.class)
+			.hasMessage("Page size must be positive.");
+		verifyNoInteractions(hintServiceMock);
+	}
+
+	@Test
+	void shouldContinueAfterIdOfContinuationToken() {
+		HintQueryRequest request = new HintQueryRequest(
+			null, null, null, null, null,
+			null, "E1234", null, null, null, null, 10, HintContinuationToken.encode(42L)
+		);
+		when(hintServiceMock.getHints(request.toQueryParams(), new HintPageRequest(42L, 10))).thenReturn(lastPage());
+		classUnderTest.getHints(request, httpServletRequest);
+		verify(hintServiceMock).getHints(request.toQueryParams(), new HintPageRequest(42L, 10));
+	}
+
+	@Test
+	void shouldReturnTokenAndLinkOfNextPage() {
+		HintDto hintDTO = createHintDTO();
+		httpServletRequest.setQueryString("processId=E1234&pageSize=1&continuationToken=old");
+		HintQueryRequest request = new HintQueryRequest(
+			null, null, null, null, null,
+			null, "E1234", null, null, null, null, 1, null
+		);
+		when(hintServiceMock.getHints(request.toQueryParams(), HintPageRequest.firstPage(1)))
+			.thenReturn(new HintPage(List.of(hintDTO), 7L));
+
+		ResponseEntity<List<HintDto>> result = classUnderTest.getHints(request, httpServletRequest);
+
+		final String expectedToken = HintContinuationToken.encode(7L);
+		assertThat(result.getBody()).containsExactly(hintDTO);
+		assertThat(result.getHeaders().getFirst(HintQueryRequest.CONTINUATION_TOKEN_HEADER)).isEqualTo(expectedToken);
+		assertThat(result.getHeaders().getFirst(HttpHeaders.LINK)).isEqualTo(
+			"<http://localhost/api/hints?processId=E1234&pageSize=1&continuationToken=" + expectedToken + ">; rel=\"next\"");
+	}
+
+	@Test
+	void shouldStreamHintsAsNdjson() throws Exception {
+		HintDto hintDTO = createHintDTO();
+		HintQueryRequest request = new HintQueryRequest(
+			"EL", null, null, null, null,
+			null, "E1234", null, null, null, null, 1, null
+		);
+		when(hintServiceMock.streamHints(eq(request.toQueryParams()), any())).thenAnswer(invocation -> {
+			Consumer<HintDto> consumer = invocation.getArgument(1);
+			consumer.accept(hintDTO);
+			consumer.accept(hintDTO.withMessage("Test2"));
+			return 2L;
+		});
+
+		ResponseEntity<StreamingResponseBody> result = classUnderTest.streamHints(request);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		result.getBody().writeTo(outputStream);
+
+		assertThat(result.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+		assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo("""
+			{"hintSource":"ELISA","message":"Test1","hintCategory":"BLOCKER","showToUser":true,"processId":"E1234","creationDate":"2023-05-22T09:01:02","processVersion":"1","resourceId":"resourceId-1"}
+			{"hintSource":"ELISA","message":"Test2","hintCategory":"BLOCKER","showToUser":true,"processId":"E1234","creationDate":"2023-05-22T09:01:02","processVersion":"1","resourceId":"resourceId-1"}
+			""");
 	}
-}
 
+	@Test
+	void shouldAbortStreamingWhenClientIsGone() throws Exception {
+		HintQueryRequest request = new HintQueryRequest(
+			null, null, null, null, null,
+			null, "E1234", null, null, null, null, null, null
+		);
+		when(hintServiceMock.streamHints(eq(request.toQueryParams()), any())).thenAnswer(invocation -> {
+			Consumer<HintDto> consumer = invocation.getArgument(1);
+			consumer.accept(createHintDTO());
+			return 1L;
+		});
+		OutputStream brokenOutputStream = new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				throw new IOException("Broken pipe");
+			}
+		};
+
+		StreamingResponseBody body = classUnderTest.streamHints(request).getBody();
+
+		assertThatThrownBy(() -> body.writeTo(brokenOutputStream))
+			.isInstanceOf(UncheckedIOException.class)
+			.hasRootCauseMessage("Broken pipe");
+	}
+
+	@Test
+	void shouldSearchHintsWithMaxSearchResults() {
+		HintDto hintDTO = createHintDTO();
+		HintQueryRequest request = new HintQueryRequest(
+			null, null, null, "PLZ abweichend", null,
+			null, "E1234", null, null, null, null, null, null
+		);
+		when(hintServiceMock.searchHints(request.toQueryParams(), MAX_SEARCH_RESULTS)).thenReturn(List.of(hintDTO));
+
+		ResponseEntity<List<HintDto>> response = classUnderTest.searchHints(request);
+
+		assertThat(response.getStatusCode().value()).isEqualTo(200);
+		assertThat(response.getBody()).containsExactly(hintDTO);
+	}
+
+	@Test
+	void shouldSearchHintsByTextWithRequestedPageSize() {
+		HintQueryRequest request = new HintQueryRequest(
+			null, null, "abweichend", null, null,
+			null, null, null, null, null, null, 5, null
+		);
+		when(hintServiceMock.searchHints(Map.of(HintParams.HINT_TEXT_ORIGINAL, "abweichend"), 5)).thenReturn(List.of());
+
+		assertThat(classUnderTest.searchHints(request).getBody()).isEmpty();
+	}
 
+	@Test
+	void shouldRejectSearchWithoutSearchText() {
+		HintQueryRequest request = new HintQueryRequest(
+			null, null, null, " ", null,
+			null, "E1234", null, null, null, null, null, null
+		);
+
+		assertThatThrownBy(() -> classUnderTest.searchHints(request))
+			.isInstanceOf(InvalidSearchRequestException.class)
+			.hasMessage("Search requires hintTextSearch or hintTextOriginal.");
+		verifyNoInteractions(hintServiceMock);
+	}
+
+	@Test
+	void shouldRejectTooShortSearchText() {
+		HintQueryRequest request = new HintQueryRequest(
+			null, null, "ab", null, null,
+			null, null, null, null, null, null, null, null
+		);
+
+		assertThatThrownBy(() -> classUnderTest.searchHints(request))
+			.isInstanceOf(InvalidSearchRequestException.class)
+			.hasMessage("hintTextOriginal must contain at least 3 characters.");
+		verifyNoInteractions(hintServiceMock);
+	}
+
+	@Test
+	void shouldReturnSummaryFromService() {
+		HintQueryRequest request = new HintQueryRequest(
+			null, null, null, null, null,
+			null, "E1234", null, null, null, null, 10, null
+		);
+		List<HintSummary> summary = List.of(new HintSummary("ELISA", HintDto.Category.BLOCKER, 3));
+		when(hintServiceMock.summarizeHints(Map.of(HintParams.PROCESS_ID, "E1234"), true)).thenReturn(summary);
+
+		ResponseEntity<List<HintSummary>> response = classUnderTest.summarizeHints(request, true);
+
+		assertThat(response.getStatusCode().value()).isEqualTo(200);
+		assertThat(response.getBody()).isEqualTo(summary);
+	}
+}
@@ -0,0 +1,39 @@
+package de.signaliduna.elpa.hint.adapter.http.api;
+
+import de.signaliduna.elpa.hint.adapter.app.exception.InvalidPageRequestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HintContinuationTokenTest {
+
+	@Test
+	void shouldDecodeEncodedId() {
+		final String token = HintContinuationToken.encode(123_456_789L);
+
+		assertThat(token).doesNotContain("=", "+", "/");
+		assertThat(HintContinuationToken.decode(token)).isEqualTo(123_456_789L);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"not base64!", "AAAA"})
+	void shouldRejectMalformedToken(String token) {
+		assertThatThrownBy(() -> HintContinuationToken.decode(token))
+			.isInstanceOf(InvalidPageRequestException.class)
+			.hasMessage("Invalid continuation token.");
+	}
+
+	@Test
+	void shouldRejectNonPositiveId() {
+		final String token = Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[Long.BYTES]);
+
+		assertThatThrownBy(() -> HintContinuationToken.decode(token))
+			.isInstanceOf(InvalidPageRequestException.class)
+			.hasMessage("Invalid continuation token.");
+	}
+}
@@ -1,6 +1,10 @@
 package de.signaliduna.elpa.hint.adapter.http.api;
 
+import de.signaliduna.elpa.hint.adapter.app.exception.InvalidBulkIngestLineException;
+import de.signaliduna.elpa.hint.adapter.app.exception.InvalidPageRequestException;
+import de.signaliduna.elpa.hint.adapter.app.exception.InvalidSearchRequestException;
 import de.signaliduna.elpa.hint.adapter.app.exception.SiErrorMessage;
+import de.signaliduna.elpa.hint.core.HintBulkIngestException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -11,7 +15,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.security.Principal;
+import java.sql.SQLException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
@@ -73,4 +79,51 @@ class SecurityControllerAdviceTest {
 		assertThat(siErrorMessageResponseEntity.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
 		assertThat(siErrorMessageResponseEntity.getBody()).isEqualTo(new SiErrorMessage(RUNTIME_EXCEPTION_MESSAGE, "General runtime exception."));
 	}
+
+	@Test
+	void handleInvalidPageRequestException() {
+		ResponseEntity<SiErrorMessage> siErrorMessageResponseEntity = classUnderTest.handleInvalidPageRequestException(
+			new InvalidPageRequestException("Invalid continuation token."));
+
+		assertThat(siErrorMessageResponseEntity.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(siErrorMessageResponseEntity.getBody()).isEqualTo(new SiErrorMessage("Request invalid", "Invalid continuation token."));
+	}
+
+	@Test
+	void handleInvalidSearchRequestException() {
+		ResponseEntity<SiErrorMessage> siErrorMessageResponseEntity = classUnderTest.handleInvalidSearchRequestException(
+			new InvalidSearchRequestException("Search requires hintTextSearch or hintTextOriginal."));
+
+		assertThat(siErrorMessageResponseEntity.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(siErrorMessageResponseEntity.getBody()).isEqualTo(new SiErrorMessage("Request invalid", "Search requires hintTextSearch or hintTextOriginal."));
+	}
+
+	@Test
+	void handleInvalidBulkIngestLineException() {
+		ResponseEntity<SiErrorMessage> siErrorMessageResponseEntity = classUnderTest.handleInvalidBulkIngestLineException(
+			new InvalidBulkIngestLineException(3, "processId must not be empty", null));
+
+		assertThat(siErrorMessageResponseEntity.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(siErrorMessageResponseEntity.getBody()).isEqualTo(new SiErrorMessage("Request invalid", "Line 3: processId must not be empty"));
+	}
+
+	@Test
+	void handleHintBulkIngestException() {
+		ResponseEntity<SiErrorMessage> siErrorMessageResponseEntity = classUnderTest.handleHintBulkIngestException(
+			new HintBulkIngestException(5000, 4990, 1000, new SQLException("value too long for type character varying", "22001")));
+
+		assertThat(siErrorMessageResponseEntity.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(siErrorMessageResponseEntity.getBody()).isEqualTo(new SiErrorMessage("Request invalid",
+			"Lines 5001 to 6000: chunk contains hints the database rejected, the 5000 lines before are committed"));
+	}
+
+	@Test
+	void handleHintBulkIngestExceptionOfDatabaseFailure() {
+		ResponseEntity<SiErrorMessage> siErrorMessageResponseEntity = classUnderTest.handleHintBulkIngestException(
+			new HintBulkIngestException(5000, 4990, 1000, new IOException("Connection reset")));
+
+		assertThat(siErrorMessageResponseEntity.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+		assertThat(siErrorMessageResponseEntity.getBody()).isEqualTo(new SiErrorMessage("Bulk ingest failed",
+			"Lines 5001 to 6000: chunk could not be written, the 5000 lines before are committed"));
+	}
 }
@@ -2,11 +2,15 @@ package de.signaliduna.elpa.hint.adapter.mapper;
 
 import de.signaliduna.elpa.hint.adapter.database.model.HintEntity;
 import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.model.HintMessage;
 import de.signaliduna.elpa.hint.util.HintTestDataGenerator;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
+
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DisplayName("HintMapper Test")
@@ -54,6 +58,21 @@ class HintMapperTest {
 			assertThat(dto.resourceId()).isEqualTo(entity.getResourceId());
 		}
 
+		@Test
+		@DisplayName("should render a message stored as template")
+		void shouldRenderMessageTemplate() {
+			HintEntity entity = HintEntity.builder()
+				.hintSource("hintSource")
+				.messageTemplate(HintMessage.VNR_DIFFERENT)
+				.messageArgs(List.of("123456", "654321"))
+				.hintCategory(HintDto.Category.WARNING)
+				.build();
+			HintDto dto = mapper.entityToDto(entity);
+			assertThat(dto.message()).isEqualTo(HintMessage.VNR_DIFFERENT.format("123456", "654321"));
+			assertThat(dto.messageTemplate()).isNull();
+			assertThat(dto.messageArgs()).isNull();
+		}
+
 		@Test
 		@DisplayName("should handle null 'showToUser'")
 		void shouldMapEntityToDtoWhenShowToUserIsNull() {
@@ -13,16 +13,25 @@ import org.springframework.context.annotation.Import;
 import org.springframework.integration.support.MessageBuilder;
 import org.springframework.messaging.Message;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import tools.jackson.databind.json.JsonMapper;
+
 import java.time.LocalDateTime;
+import java.util.List;
 
-import static org.mockito.ArgumentMatchers.any;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
 	properties = {
 		"AUTH_SERVICE_PASSWORD=somePassword",
-		"com.c4-soft.springaddons.oidc.resourceserver.enabled=false"
+		"com.c4-soft.springaddons.oidc.resourceserver.enabled=false",
+		// the test binder runs no Kafka deserializer, the JSON payloads are converted by the binding
+		"spring.cloud.stream.bindings.hintCreated-in-0.consumer.use-native-decoding=false",
+		// the outbox relay publishes with its own Kafka producer, the test binder provides no broker
+		"elpa.hint.outbox.enabled=false"
 	}
 )
 @Import(TestChannelBinderConfiguration.class)
@@ -32,25 +41,42 @@ class HintAdapterIT extends AbstractSingletonContainerTest {
 	InputDestination inputDestination;
 	@Autowired
 	OutputDestination outputDestination;
+	@Autowired
+	JsonMapper jsonMapper;
 	@MockitoBean
 	HintService hintServiceMock;
 
+	private final HintDto hintDto = new HintDto(
+		"someSource",
+		"someMessage",
+		HintDto.Category.INFO,
+		false,
+		"someProcessId",
+		LocalDateTime.of(2020, 12, 12, 12, 12),
+		"1",
+		"resourceId-1"
+	);
+
 	@Test
 	void shouldCallApplicationReceived() {
-		var hintDto = new HintDto(
-			"someSource",
-			"someMessage",
-			HintDto.Category.INFO,
-			false,
-			"someProcessId",
-			LocalDateTime.of(2020, 12, 12, 12, 12),
-			"1",
-			"resourceId-1"
-		);
-		Message<HintDto> inputMessage = MessageBuilder.withPayload(hintDto).build();
+		// in batch mode the payload is the list of records of one poll
+		Message<byte[]> inputMessage = MessageBuilder.withPayload(jsonMapper.writeValueAsBytes(List.of(hintDto, hintDto))).build();
+
+		inputDestination.send(inputMessage, "elpa-hint-created");
+
+		verify(hintServiceMock).saveHints(List.of(hintDto, hintDto));
+	}
+
+	@Test
+	void shouldSendFailedHintsToRetryTopic() {
+		doThrow(new IllegalStateException("database down")).when(hintServiceMock).saveHints(anyList());
+		Message<byte[]> inputMessage = MessageBuilder.withPayload(jsonMapper.writeValueAsBytes(List.of(hintDto))).build();
 
 		inputDestination.send(inputMessage, "elpa-hint-created");
 
-		verify(hintServiceMock).saveHints(any());
+		Message<byte[]> retryMessage = outputDestination.receive(1000, "elpa-hint-created-retry");
+		assertThat(retryMessage).isNotNull();
+		assertThat(jsonMapper.readValue(retryMessage.getPayload(), HintDto.class)).isEqualTo(hintDto);
+		assertThat(retryMessage.getHeaders()).containsEntry("x-hint-retry-attempt", "1");
 	}
 }
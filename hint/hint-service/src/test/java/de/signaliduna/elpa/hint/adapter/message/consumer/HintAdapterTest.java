@@ -1,43 +1,178 @@
 package de.signaliduna.elpa.hint.adapter.message.consumer;
 
+import de.signaliduna.elpa.hint.adapter.message.retry.HintIngestRecoverer;
+import de.signaliduna.elpa.hint.model.HintBinaryCodec;
 import de.signaliduna.elpa.hint.model.HintDto;
-import de.signaliduna.elpa.hint.core.HintService;
+import de.signaliduna.elpa.hint.core.HintParallelWriter;
+import de.signaliduna.elpa.hint.core.HintShardSaveException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class HintAdapterTest {
 	@InjectMocks
 	HintAdapter hintAdapter;
 	@Mock
-	HintService hintService;
+	HintParallelWriter hintParallelWriter;
+	@Mock
+	HintIngestRecoverer hintIngestRecoverer;
+	@Mock
+	HintIngestBackpressure hintIngestBackpressure;
+	@Mock
+	ObjectProvider<HintExactlyOnceIngest> hintExactlyOnceIngestProvider;
+	@Mock
+	HintExactlyOnceIngest hintExactlyOnceIngest;
+
+	private final HintDto hintDto = new HintDto(
+		"someSource",
+		"someMessage",
+		HintDto.Category.INFO,
+		false,
+		"someProcessId",
+		LocalDateTime.of(2020, 12, 12, 12, 12),
+		"1",
+		"resourceId-1"
+	);
 
 	@Test
 	void handleHint() {
+		// When
+		hintAdapter.hintCreated().accept(batch());
+
+		// Then
+		verify(hintParallelWriter).saveHints(List.of(hintDto, hintDto));
+		verify(hintIngestBackpressure).recordSave(any(Duration.class));
+		verifyNoInteractions(hintIngestRecoverer);
+	}
+
+	@Test
+	void handleHintFailure() {
+		// Given
+		IllegalStateException exception = new IllegalStateException("database down");
+		doThrow(exception).when(hintParallelWriter).saveHints(List.of(hintDto, hintDto));
+
+		// When
+		hintAdapter.hintCreated().accept(batch());
+
+		// Then
+		verify(hintIngestRecoverer).recover(List.of(hintDto, hintDto), 0, exception);
+	}
+
+	@Test
+	void handleHintShardFailure() {
+		// Given
+		IllegalStateException cause = new IllegalStateException("database down");
+		doThrow(new HintShardSaveException(List.of(hintDto), cause)).when(hintParallelWriter).saveHints(List.of(hintDto, hintDto));
+
+		// When
+		hintAdapter.hintCreated().accept(batch());
+
+		// Then
+		verify(hintIngestRecoverer).recover(List.of(hintDto), 0, cause);
+	}
+
+	@Test
+	void handleHintExactlyOnce() {
 		// Given
-		HintDto hintDto = new HintDto(
-			"someSource",
-			"someMessage",
-			HintDto.Category.INFO,
-			false,
-			"someProcessId",
-			LocalDateTime.of(2020, 12, 12, 12, 12),
-			"1",
-			"resourceId-1"
-		);
+		when(hintExactlyOnceIngestProvider.getIfAvailable()).thenReturn(hintExactlyOnceIngest);
+		Message<List<HintDto>> batch = batch();
 
 		// When
-		hintAdapter.hintCreated().accept(hintDto);
+		hintAdapter.hintCreated().accept(batch);
 
 		// Then
-		verify(hintService).saveHints(List.of(hintDto));
+		verify(hintExactlyOnceIngest).saveHints(batch);
+		verifyNoInteractions(hintParallelWriter, hintIngestRecoverer);
+	}
+
+	@Test
+	void handleHintExactlyOnceFailure() {
+		// Given
+		when(hintExactlyOnceIngestProvider.getIfAvailable()).thenReturn(hintExactlyOnceIngest);
+		Message<List<HintDto>> batch = batch();
+		IllegalStateException exception = new IllegalStateException("database down");
+		doThrow(exception).when(hintExactlyOnceIngest).saveHints(batch);
+
+		// When
+		hintAdapter.hintCreated().accept(batch);
+
+		// Then
+		verify(hintIngestRecoverer).recover(List.of(hintDto, hintDto), 0, exception);
+		verify(hintExactlyOnceIngest).skipHints(batch);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void handleHintDeadLettersUndecodableRecords() {
+		// Given
+		when(hintExactlyOnceIngestProvider.getIfAvailable()).thenReturn(hintExactlyOnceIngest);
+		byte[] undecodable = {1, 42};
+		RecordHeaders undecodableHeaders = new RecordHeaders();
+		undecodableHeaders.add(MessageHeaders.CONTENT_TYPE, HintBinaryCodec.CONTENT_TYPE.getBytes(StandardCharsets.UTF_8));
+		DeserializationException failure = new DeserializationException("unknown source", undecodable, false,
+			new IllegalArgumentException("unknown source"));
+		failure.setHeaders(undecodableHeaders);
+		byte[] key = "otherProcessId".getBytes(StandardCharsets.UTF_8);
+		Message<List<HintDto>> batch = MessageBuilder.withPayload(Arrays.asList(hintDto, null, hintDto))
+			.setHeader(KafkaHeaders.OFFSET, List.of(0L, 1L, 2L))
+			.setHeader(KafkaHeaders.RECEIVED_KEY, Arrays.asList(null, key, null))
+			.setHeader(KafkaHeaders.BATCH_CONVERTED_HEADERS, List.of(Map.of(),
+				Map.of(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, failure), Map.of()))
+			.build();
+
+		// When
+		hintAdapter.hintCreated().accept(batch);
+
+		// Then
+		verify(hintIngestRecoverer).deadLetterUndecodable(undecodable, key, HintBinaryCodec.CONTENT_TYPE, failure);
+		ArgumentCaptor<Message<List<HintDto>>> saved = ArgumentCaptor.forClass(Message.class);
+		verify(hintExactlyOnceIngest).saveHints(saved.capture());
+		assertThat(saved.getValue().getPayload()).containsExactly(hintDto, hintDto);
+		assertThat(saved.getValue().getHeaders()).containsEntry(KafkaHeaders.OFFSET, List.of(0L, 1L, 2L));
+	}
+
+	@Test
+	void handleHintFailsForUndecodableRecordWithoutValue() {
+		// Given
+		Message<List<HintDto>> batch = MessageBuilder.withPayload(Arrays.asList(hintDto, null))
+			.setHeader(KafkaHeaders.BATCH_CONVERTED_HEADERS, List.of(Map.of(), Map.of()))
+			.build();
+
+		// When / Then
+		Consumer<Message<List<HintDto>>> hintCreated = hintAdapter.hintCreated();
+		assertThatThrownBy(() -> hintCreated.accept(batch)).isInstanceOf(IllegalStateException.class);
+		verifyNoInteractions(hintParallelWriter);
+	}
+
+	private Message<List<HintDto>> batch() {
+		return MessageBuilder.withPayload(List.of(hintDto, hintDto)).build();
 	}
 }
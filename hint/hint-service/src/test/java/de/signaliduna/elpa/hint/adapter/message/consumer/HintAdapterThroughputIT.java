@@ -0,0 +1,135 @@
+package de.signaliduna.elpa.hint.adapter.message.consumer;
+
+import de.signaliduna.elpa.hint.adapter.database.HintRepository;
+import de.signaliduna.elpa.hint.core.HintService;
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.util.AbstractSingletonContainerTest;
+import de.signaliduna.elpa.hint.util.ContainerImageNames;
+import de.signaliduna.elpa.hint.util.HintTestDataGenerator;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cloud.stream.binding.BindingsLifecycleController;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.kafka.KafkaContainer;
+import org.testcontainers.utility.DockerImageName;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the records/sec of the batch mode {@code hintCreated} binding with a per record consumer that saves every
+ * record in its own transaction, like {@code hintCreated} did before. Both bindings consume the same topic in their own
+ * consumer group and are started one after the other, the measured records/sec are logged.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+	properties = {
+		"AUTH_SERVICE_PASSWORD=somePassword",
+		"com.c4-soft.springaddons.oidc.resourceserver.enabled=false",
+		"spring.cloud.function.definition=hintCreated;hintCreatedPerRecord",
+		"spring.cloud.stream.bindings.hintCreated-in-0.group=hint-throughput-batch",
+		"spring.cloud.stream.bindings.hintCreated-in-0.consumer.auto-startup=false",
+		"spring.cloud.stream.bindings.hintCreatedPerRecord-in-0.destination=${topics.hintCreated}",
+		"spring.cloud.stream.bindings.hintCreatedPerRecord-in-0.group=hint-throughput-per-record",
+		"spring.cloud.stream.bindings.hintCreatedPerRecord-in-0.consumer.auto-startup=false"
+	}
+)
+@Import(HintAdapterThroughputIT.PerRecordConsumerConfiguration.class)
+@DisplayName("Hint Kafka consumer throughput")
+class HintAdapterThroughputIT extends AbstractSingletonContainerTest {
+	private static final Logger log = LoggerFactory.getLogger(HintAdapterThroughputIT.class);
+	private static final int RECORD_COUNT = 5_000;
+	private static final long TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+	static final KafkaContainer KAFKA_CONTAINER = new KafkaContainer(
+		DockerImageName.parse(ContainerImageNames.KAFKA.getImageName()).asCompatibleSubstituteFor("apache/kafka")
+	);
+
+	static {
+		KAFKA_CONTAINER.start();
+	}
+
+	@Autowired
+	private BindingsLifecycleController bindingsLifecycleController;
+	@Autowired
+	private HintRepository hintRepository;
+	@Autowired
+	private JsonMapper jsonMapper;
+	@Value("${topics.hintCreated}")
+	private String topic;
+
+	@DynamicPropertySource
+	static void configureKafkaProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.cloud.stream.kafka.binder.brokers", KAFKA_CONTAINER::getBootstrapServers);
+	}
+
+	@Test
+	@DisplayName("The batch consumer should save more records per second than a per record consumer")
+	void batchConsumerShouldOutperformPerRecordConsumer() throws InterruptedException {
+		produceHints();
+
+		hintRepository.deleteAllInBatch();
+		final double perRecordRecordsPerSecond = consume("hintCreatedPerRecord-in-0");
+		hintRepository.deleteAllInBatch();
+		final double batchRecordsPerSecond = consume("hintCreated-in-0");
+
+		log.info("Consumed {} records: per record {} records/sec, batch {} records/sec.",
+			RECORD_COUNT, Math.round(perRecordRecordsPerSecond), Math.round(batchRecordsPerSecond));
+		assertThat(batchRecordsPerSecond).isGreaterThan(perRecordRecordsPerSecond);
+	}
+
+	private void produceHints() {
+		try (KafkaProducer<String, byte[]> producer = new KafkaProducer<>(Map.of(
+			ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, KAFKA_CONTAINER.getBootstrapServers(),
+			ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+			ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class))) {
+			for (int i = 0; i < RECORD_COUNT; i++) {
+				final HintDto hint = HintTestDataGenerator.createInfoHintDto();
+				producer.send(new ProducerRecord<>(topic, hint.processId(), jsonMapper.writeValueAsBytes(hint)));
+			}
+		}
+	}
+
+	/**
+	 * Starts the binding, waits until all records are saved and stops the binding again.
+	 *
+	 * @return saved records per second, including the time to join the consumer group
+	 */
+	private double consume(String bindingName) throws InterruptedException {
+		final long start = System.nanoTime();
+		bindingsLifecycleController.changeState(bindingName, BindingsLifecycleController.State.STARTED);
+		while (hintRepository.count() < RECORD_COUNT) {
+			assertThat(System.nanoTime() - start).as("consume time of " + bindingName).isLessThan(TIMEOUT_NANOS);
+			Thread.sleep(50);
+		}
+		final long nanos = System.nanoTime() - start;
+		bindingsLifecycleController.changeState(bindingName, BindingsLifecycleController.State.STOPPED);
+		return RECORD_COUNT / (nanos / (double) TimeUnit.SECONDS.toNanos(1));
+	}
+
+	@TestConfiguration(proxyBeanMethods = false)
+	static class PerRecordConsumerConfiguration {
+		@Bean
+		Consumer<HintDto> hintCreatedPerRecord(HintService hintService) {
+			return hintDto -> hintService.saveHints(List.of(hintDto));
+		}
+	}
+}
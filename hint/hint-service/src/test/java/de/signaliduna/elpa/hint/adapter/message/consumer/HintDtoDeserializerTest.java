@@ -0,0 +1,90 @@
+package de.signaliduna.elpa.hint.adapter.message.consumer;
+
+import de.signaliduna.elpa.hint.model.HintBinaryCodec;
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.model.HintMessage;
+import de.signaliduna.elpa.hint.model.HintMessageTemplates;
+import de.signaliduna.elpa.hint.model.HintSource;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.MessageHeaders;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("HintDtoDeserializer Test")
+class HintDtoDeserializerTest {
+	private static final String TOPIC = "elpa-hint-created";
+	private static final HintDto HINT_DTO = new HintDto(HintSource.VNR_ASSIGNMENT.message,
+		HintMessage.VNR_NEW.format("123456"), HintDto.Category.INFO, true, "processId",
+		LocalDateTime.of(2024, 5, 20, 12, 0), "1", "resourceId");
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+	private final HintDtoDeserializer classUnderTest = new HintDtoDeserializer();
+
+	@Test
+	@DisplayName("should read JSON without headers")
+	void shouldReadJsonWithoutHeaders() {
+		assertThat(classUnderTest.deserialize(TOPIC, jsonMapper.writeValueAsBytes(HINT_DTO))).isEqualTo(HINT_DTO);
+	}
+
+	@Test
+	@DisplayName("should read JSON with JSON content type and ignore unknown properties")
+	void shouldReadJson() {
+		final byte[] json = "{\"hintSource\":\"hintSource\",\"message\":\"message\",\"showToUser\":false,\"unknown\":1}"
+			.getBytes(StandardCharsets.UTF_8);
+
+		assertThat(classUnderTest.deserialize(TOPIC, contentType("\"application/json\""), json))
+			.isEqualTo(HintDto.builder().hintSource("hintSource").message("message").build());
+		assertThat(classUnderTest.deserialize(TOPIC, new RecordHeaders(), json)).isNotNull();
+	}
+
+	@Test
+	@DisplayName("should read the binary format by the content type written by the binder or plain")
+	void shouldReadBinary() {
+		final byte[] binary = HintBinaryCodec.encode(HINT_DTO);
+
+		assertThat(classUnderTest.deserialize(TOPIC, contentType("\"" + HintBinaryCodec.CONTENT_TYPE + "\""), binary))
+			.isEqualTo(HintMessageTemplates.compact(HINT_DTO));
+		assertThat(classUnderTest.deserialize(TOPIC, contentType(HintBinaryCodec.CONTENT_TYPE), binary))
+			.isEqualTo(HintMessageTemplates.compact(HINT_DTO));
+	}
+
+	@Test
+	@DisplayName("should read JSON if the content type header has no value")
+	void shouldReadJsonWithoutContentTypeValue() {
+		final RecordHeaders headers = new RecordHeaders();
+		headers.add(MessageHeaders.CONTENT_TYPE, null);
+
+		assertThat(classUnderTest.deserialize(TOPIC, headers, jsonMapper.writeValueAsBytes(HINT_DTO))).isEqualTo(HINT_DTO);
+	}
+
+	@Test
+	@DisplayName("should return null for records without value")
+	void shouldReturnNullWithoutValue() {
+		assertThat(classUnderTest.deserialize(TOPIC, new RecordHeaders(), null)).isNull();
+	}
+
+	@Test
+	@DisplayName("should fail for records that are no hints")
+	void shouldFailForInvalidRecords() {
+		final byte[] noHint = "no hint".getBytes(StandardCharsets.UTF_8);
+
+		assertThatThrownBy(() -> classUnderTest.deserialize(TOPIC, new RecordHeaders(), noHint))
+			.isInstanceOf(SerializationException.class);
+		assertThatThrownBy(() -> classUnderTest.deserialize(TOPIC, contentType(HintBinaryCodec.CONTENT_TYPE), noHint))
+			.isInstanceOf(SerializationException.class);
+	}
+
+	private static RecordHeaders contentType(String contentType) {
+		final RecordHeaders headers = new RecordHeaders();
+		headers.add(MessageHeaders.CONTENT_TYPE, contentType.getBytes(StandardCharsets.UTF_8));
+		return headers;
+	}
+}
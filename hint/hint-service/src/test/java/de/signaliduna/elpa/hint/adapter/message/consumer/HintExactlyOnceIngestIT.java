@@ -0,0 +1,120 @@
+package de.signaliduna.elpa.hint.adapter.message.consumer;
+
+import de.signaliduna.elpa.hint.HintApplication;
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.util.AbstractSingletonContainerTest;
+import de.signaliduna.elpa.hint.util.ContainerImageNames;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.kafka.KafkaContainer;
+import org.testcontainers.utility.DockerImageName;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stops the service in the middle of consuming the hintCreated topic and starts it again. The Kafka offsets are never
+ * committed (ack mode {@code MANUAL} without acknowledging), like a crash right after every saved batch, so only the
+ * offsets stored with the hints tell where to continue. Every record has to be saved exactly once.
+ */
+@DisplayName("Exactly-once hint ingest")
+class HintExactlyOnceIngestIT extends AbstractSingletonContainerTest {
+	private static final String HINT_SOURCE = "HintExactlyOnceIngestIT";
+	private static final String CONSUMER_GROUP = "hint-exactly-once";
+	private static final String TOPIC = "elpa-hint-created-exactly-once";
+	private static final int RECORD_COUNT = 5_000;
+	private static final long TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+	static final KafkaContainer KAFKA_CONTAINER = new KafkaContainer(
+		DockerImageName.parse(ContainerImageNames.KAFKA.getImageName()).asCompatibleSubstituteFor("apache/kafka")
+	);
+
+	static {
+		KAFKA_CONTAINER.start();
+	}
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+	@Test
+	@DisplayName("should neither duplicate nor lose hints when the service is stopped while consuming")
+	void shouldSaveEveryRecordOnceAcrossRestart() throws InterruptedException {
+		produceHints();
+
+		try (ConfigurableApplicationContext firstRun = startService()) {
+			// stops while records are still waiting on the topic
+			awaitSavedHints(firstRun, saved -> saved >= RECORD_COUNT / 5);
+		}
+		try (ConfigurableApplicationContext secondRun = startService()) {
+			final JdbcTemplate jdbcTemplate = secondRun.getBean(JdbcTemplate.class);
+			awaitSavedHints(secondRun, saved -> saved >= RECORD_COUNT);
+			awaitStoredOffsets(jdbcTemplate);
+
+			assertThat(jdbcTemplate.queryForObject("select count(*) from hint where hint_source_name(hint_source_id) = ?", Long.class,
+				HINT_SOURCE)).isEqualTo(RECORD_COUNT);
+			assertThat(jdbcTemplate.queryForObject("select count(distinct message) from hint where hint_source_name(hint_source_id) = ?",
+				Long.class, HINT_SOURCE)).isEqualTo(RECORD_COUNT);
+		}
+	}
+
+	private void produceHints() {
+		try (KafkaProducer<String, byte[]> producer = new KafkaProducer<>(Map.of(
+			ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, KAFKA_CONTAINER.getBootstrapServers(),
+			ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+			ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class))) {
+			for (int i = 0; i < RECORD_COUNT; i++) {
+				final HintDto hint = new HintDto(HINT_SOURCE, "hint-" + i, HintDto.Category.INFO, true,
+					"process-" + i % 10, LocalDateTime.now(), "1", "resourceId");
+				producer.send(new ProducerRecord<>(TOPIC, hint.processId(), jsonMapper.writeValueAsBytes(hint)));
+			}
+		}
+	}
+
+	private static ConfigurableApplicationContext startService() {
+		return new SpringApplicationBuilder(HintApplication.class).run(
+			"--spring.main.web-application-type=none",
+			"--AUTH_SERVICE_PASSWORD=somePassword",
+			"--com.c4-soft.springaddons.oidc.resourceserver.enabled=false",
+			"--spring.datasource.url=" + POSTGRES_CONTAINER.getJdbcUrl(),
+			"--spring.datasource.username=" + POSTGRES_CONTAINER.getUsername(),
+			"--spring.datasource.password=" + POSTGRES_CONTAINER.getPassword(),
+			"--spring.cloud.stream.kafka.binder.brokers=" + KAFKA_CONTAINER.getBootstrapServers(),
+			"--topics.hintCreated=" + TOPIC,
+			"--spring.cloud.stream.bindings.hintCreated-in-0.group=" + CONSUMER_GROUP,
+			"--spring.cloud.stream.kafka.bindings.hintCreated-in-0.consumer.ack-mode=MANUAL",
+			"--HINT_CONSUMER_MAX_BATCH_SIZE=100",
+			"--elpa.hint.consumer.exactly-once=true");
+	}
+
+	private static void awaitSavedHints(ConfigurableApplicationContext context, LongPredicate condition)
+		throws InterruptedException {
+		final JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+		final long start = System.nanoTime();
+		while (!condition.test(jdbcTemplate.queryForObject("select count(*) from hint where hint_source_name(hint_source_id) = ?", Long.class,
+			HINT_SOURCE))) {
+			assertThat(System.nanoTime() - start).as("consume time").isLessThan(TIMEOUT_NANOS);
+			Thread.sleep(50);
+		}
+	}
+
+	private static void awaitStoredOffsets(JdbcTemplate jdbcTemplate) throws InterruptedException {
+		final long start = System.nanoTime();
+		while (jdbcTemplate.queryForObject("select coalesce(sum(next_offset), 0) from hint_consumer_offset"
+			+ " where consumer_group = ? and topic = ?", Long.class, CONSUMER_GROUP, TOPIC) < RECORD_COUNT) {
+			assertThat(System.nanoTime() - start).as("offset store time").isLessThan(TIMEOUT_NANOS);
+			Thread.sleep(50);
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package de.signaliduna.elpa.hint.adapter.message.consumer;
+
+import de.signaliduna.elpa.hint.core.HintConsumerOffset;
+import de.signaliduna.elpa.hint.core.HintService;
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.util.HintTestDataGenerator;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HintExactlyOnceIngest Test")
+class HintExactlyOnceIngestTest {
+	private static final String GROUP = "group";
+	private static final String TOPIC = "elpa-hint-created";
+
+	@Mock
+	private HintService hintService;
+	@Mock
+	private Consumer<byte[], byte[]> consumer;
+
+	private HintExactlyOnceIngest classUnderTest;
+
+	@BeforeEach
+	void setUp() {
+		classUnderTest = new HintExactlyOnceIngest(hintService, GROUP);
+	}
+
+	@Test
+	@DisplayName("should save the hints with the offset following the last record of every partition")
+	void shouldSaveHintsWithOffsets() {
+		Message<List<HintDto>> batch = batch();
+
+		classUnderTest.saveHints(batch);
+
+		verify(hintService).saveHints(batch.getPayload(), List.of(
+			new HintConsumerOffset(GROUP, TOPIC, 0, 8),
+			new HintConsumerOffset(GROUP, TOPIC, 1, 4)));
+	}
+
+	@Test
+	@DisplayName("should store only the offsets of a batch handed over to the retry topic")
+	void shouldSkipHints() {
+		classUnderTest.skipHints(batch());
+
+		verify(hintService).saveOffsets(List.of(
+			new HintConsumerOffset(GROUP, TOPIC, 0, 8),
+			new HintConsumerOffset(GROUP, TOPIC, 1, 4)));
+		verifyNoMoreInteractions(hintService);
+	}
+
+	@Test
+	@DisplayName("should seek the assigned partitions with stored offset")
+	void shouldSeekToStoredOffsets() {
+		when(hintService.getOffsets(GROUP, TOPIC, List.of(0, 1))).thenReturn(Map.of(1, 42L));
+
+		classUnderTest.onPartitionsAssigned(HintExactlyOnceIngest.BINDING, consumer,
+			List.of(new TopicPartition(TOPIC, 0), new TopicPartition(TOPIC, 1)), true);
+
+		verify(consumer).seek(new TopicPartition(TOPIC, 1), 42L);
+		verifyNoMoreInteractions(consumer);
+	}
+
+	@Test
+	@DisplayName("should not seek the partitions of other bindings")
+	void shouldIgnoreOtherBindings() {
+		classUnderTest.onPartitionsAssigned("hintCreatedRetry-in-0", consumer, List.of(new TopicPartition(TOPIC, 0)), true);
+
+		verifyNoInteractions(hintService, consumer);
+	}
+
+	private static Message<List<HintDto>> batch() {
+		HintDto hint = HintTestDataGenerator.createInfoHintDto();
+		return MessageBuilder.withPayload(List.of(hint, hint, hint))
+			.setHeader(KafkaHeaders.RECEIVED_TOPIC, List.of(TOPIC, TOPIC, TOPIC))
+			.setHeader(KafkaHeaders.RECEIVED_PARTITION, List.of(0, 1, 0))
+			.setHeader(KafkaHeaders.OFFSET, List.of(6L, 3L, 7L))
+			.build();
+	}
+}
@@ -0,0 +1,142 @@
+package de.signaliduna.elpa.hint.adapter.message.consumer;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import de.signaliduna.elpa.hint.config.properties.HintConsumerProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.stream.binding.BindingsLifecycleController;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HintIngestBackpressure Test")
+class HintIngestBackpressureTest {
+	private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+
+	@Mock
+	private BindingsLifecycleController bindingsLifecycleController;
+	@Mock
+	private Clock clock;
+
+	private final AtomicInteger pendingConnections = new AtomicInteger();
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final HintConsumerProperties properties = new HintConsumerProperties();
+	private HintIngestBackpressure classUnderTest;
+
+	@BeforeEach
+	void setUp() {
+		properties.getBackpressure().setMaxPendingConnections(2);
+		properties.getBackpressure().setMaxSaveLatency(Duration.ofSeconds(5));
+		properties.getBackpressure().setResumePendingConnections(0);
+		properties.getBackpressure().setMinPause(Duration.ofSeconds(5));
+		classUnderTest = new HintIngestBackpressure(bindingsLifecycleController, pendingConnections::get, properties,
+			meterRegistry, clock);
+	}
+
+	@Test
+	@DisplayName("should keep consuming while the database keeps up")
+	void shouldKeepConsuming() {
+		pendingConnections.set(2);
+		classUnderTest.recordSave(Duration.ofSeconds(5));
+
+		classUnderTest.check();
+
+		verifyNoInteractions(bindingsLifecycleController);
+		assertThat(throttled()).isZero();
+	}
+
+	@Test
+	@DisplayName("should pause when too many threads wait for a connection")
+	void shouldPauseOnPendingConnections() {
+		when(clock.instant()).thenReturn(NOW);
+		pendingConnections.set(3);
+
+		classUnderTest.check();
+		classUnderTest.check();
+
+		verify(bindingsLifecycleController).changeState(HintIngestBackpressure.BINDING, BindingsLifecycleController.State.PAUSED);
+		assertThat(classUnderTest.isThrottled()).isTrue();
+		assertThat(throttled()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("should pause when saving a batch takes too long")
+	void shouldPauseOnSaveLatency() {
+		when(clock.instant()).thenReturn(NOW);
+		classUnderTest.recordSave(Duration.ofSeconds(6));
+
+		classUnderTest.check();
+
+		verify(bindingsLifecycleController).changeState(HintIngestBackpressure.BINDING, BindingsLifecycleController.State.PAUSED);
+	}
+
+	@Test
+	@DisplayName("should resume once the pool recovered and the minimum pause has passed")
+	void shouldResume() {
+		when(clock.instant()).thenReturn(NOW);
+		classUnderTest.recordSave(Duration.ofSeconds(6));
+		classUnderTest.check();
+
+		// minimum pause has not passed
+		when(clock.instant()).thenReturn(NOW.plusSeconds(4));
+		classUnderTest.check();
+		// threads still wait for a connection
+		pendingConnections.set(1);
+		when(clock.instant()).thenReturn(NOW.plusSeconds(5));
+		classUnderTest.check();
+		verify(bindingsLifecycleController, never()).changeState(HintIngestBackpressure.BINDING, BindingsLifecycleController.State.RESUMED);
+
+		pendingConnections.set(0);
+		classUnderTest.check();
+		verify(bindingsLifecycleController).changeState(HintIngestBackpressure.BINDING, BindingsLifecycleController.State.RESUMED);
+		assertThat(classUnderTest.isThrottled()).isFalse();
+
+		// the latency measured before the pause does not pause again
+		classUnderTest.check();
+		verify(bindingsLifecycleController, times(1)).changeState(HintIngestBackpressure.BINDING, BindingsLifecycleController.State.PAUSED);
+	}
+
+	@Test
+	@DisplayName("should never pause if disabled")
+	void shouldNotPauseIfDisabled() {
+		properties.getBackpressure().setEnabled(false);
+		pendingConnections.set(10);
+
+		classUnderTest.check();
+
+		verifyNoInteractions(bindingsLifecycleController);
+	}
+
+	@Test
+	@DisplayName("should read the threads waiting for a connection of the Hikari pool")
+	void shouldReadPendingConnections() throws Exception {
+		DataSource dataSource = mock(DataSource.class);
+		HikariDataSource hikariDataSource = mock(HikariDataSource.class);
+		HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+		when(dataSource.unwrap(HikariDataSource.class)).thenReturn(hikariDataSource);
+		when(pool.getThreadsAwaitingConnection()).thenReturn(3);
+
+		assertThat(HintIngestBackpressure.pendingConnections(dataSource)).isZero();
+
+		when(hikariDataSource.getHikariPoolMXBean()).thenReturn(pool);
+		assertThat(HintIngestBackpressure.pendingConnections(dataSource)).isEqualTo(3);
+	}
+
+	private double throttled() {
+		return meterRegistry.get("hint.ingest.throttled").gauge().value();
+	}
+}
@@ -0,0 +1,85 @@
+package de.signaliduna.elpa.hint.adapter.message.consumer;
+
+import de.signaliduna.elpa.hint.adapter.message.retry.HintIngestRecoverer;
+import de.signaliduna.elpa.hint.core.HintService;
+import de.signaliduna.elpa.hint.model.HintDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class HintRetryAdapterTest {
+	@InjectMocks
+	HintRetryAdapter hintRetryAdapter;
+	@Mock
+	HintService hintService;
+	@Mock
+	HintIngestRecoverer hintIngestRecoverer;
+
+	private final HintDto hintDto = new HintDto(
+		"someSource",
+		"someMessage",
+		HintDto.Category.INFO,
+		false,
+		"someProcessId",
+		LocalDateTime.of(2020, 12, 12, 12, 12),
+		"1",
+		"resourceId-1"
+	);
+
+	@Test
+	void retryHint() {
+		// When
+		hintRetryAdapter.hintCreatedRetry().accept(retryMessage(2, Instant.now().minusSeconds(1)));
+
+		// Then
+		verify(hintService).saveHints(List.of(hintDto));
+		verifyNoInteractions(hintIngestRecoverer);
+	}
+
+	@Test
+	void retryHintAfterBackoff() {
+		// Given
+		Instant notBefore = Instant.now().plusMillis(100);
+
+		// When
+		hintRetryAdapter.hintCreatedRetry().accept(retryMessage(1, notBefore));
+
+		// Then
+		assertThat(Instant.now()).isAfterOrEqualTo(notBefore);
+		verify(hintService).saveHints(List.of(hintDto));
+	}
+
+	@Test
+	void retryHintFailure() {
+		// Given
+		IllegalStateException exception = new IllegalStateException("database down");
+		doThrow(exception).when(hintService).saveHints(List.of(hintDto));
+
+		// When
+		hintRetryAdapter.hintCreatedRetry().accept(retryMessage(2, Instant.now()));
+
+		// Then
+		verify(hintIngestRecoverer).recover(List.of(hintDto), 2, exception);
+	}
+
+	private Message<HintDto> retryMessage(int attempt, Instant notBefore) {
+		return MessageBuilder.withPayload(hintDto)
+			.setHeader("x-hint-retry-attempt", String.valueOf(attempt))
+			.setHeader("x-hint-retry-not-before", String.valueOf(notBefore.toEpochMilli()))
+			.build();
+	}
+}
@@ -0,0 +1,98 @@
+package de.signaliduna.elpa.hint.adapter.message.outbox;
+
+import de.signaliduna.elpa.hint.adapter.message.HintKafkaConsumers;
+import de.signaliduna.elpa.hint.core.HintService;
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.model.HintSavedEvent;
+import de.signaliduna.elpa.hint.util.AbstractSingletonContainerTest;
+import de.signaliduna.elpa.hint.util.ContainerImageNames;
+import de.signaliduna.elpa.hint.util.HintTestDataGenerator;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.kafka.KafkaContainer;
+import org.testcontainers.utility.DockerImageName;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Publishes against a local Kafka container, the relay sends with its own producer instead of a binding.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+	properties = {
+		"AUTH_SERVICE_PASSWORD=somePassword",
+		"com.c4-soft.springaddons.oidc.resourceserver.enabled=false",
+		"elpa.hint.outbox.interval=100ms"
+	}
+)
+@DisplayName("Hint-saved change feed")
+class HintOutboxRelayIT extends AbstractSingletonContainerTest {
+	private static final String HINT_SAVED_TOPIC = "elpa-hint-saved";
+	private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+	static final KafkaContainer KAFKA_CONTAINER = new KafkaContainer(
+		DockerImageName.parse(ContainerImageNames.KAFKA.getImageName()).asCompatibleSubstituteFor("apache/kafka")
+	);
+
+	static {
+		KAFKA_CONTAINER.start();
+	}
+
+	@Autowired
+	HintService hintService;
+	@Autowired
+	Environment environment;
+	@Autowired
+	JsonMapper jsonMapper;
+
+	@DynamicPropertySource
+	static void configureKafkaProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.cloud.stream.kafka.binder.brokers", KAFKA_CONTAINER::getBootstrapServers);
+	}
+
+	@Test
+	@DisplayName("should publish a hint-saved event per saved hint in id order")
+	void shouldPublishSavedHints() {
+		HintDto firstHint = HintTestDataGenerator.createInfoHintDto();
+		HintDto secondHint = HintTestDataGenerator.createWarningHintDto().withProcessId(firstHint.processId());
+
+		hintService.saveHints(List.of(firstHint, secondHint));
+
+		List<HintSavedEvent> events = receiveEvents(firstHint.processId(), 2);
+		assertThat(events).extracting(HintSavedEvent::hintSource)
+			.containsExactly(firstHint.hintSource(), secondHint.hintSource());
+		assertThat(events.getFirst().hintId()).isLessThan(events.getLast().hintId());
+		assertThat(hintService.getHintById(events.getFirst().hintId())).map(HintDto::message).contains(firstHint.message());
+	}
+
+	// the shared database may contain hints of other tests, their events are skipped
+	private List<HintSavedEvent> receiveEvents(String processId, int count) {
+		final List<HintSavedEvent> events = new ArrayList<>();
+		try (Consumer<byte[], byte[]> consumer = HintKafkaConsumers.create(environment, "hint-saved-it", Map.of())) {
+			consumer.subscribe(List.of(HINT_SAVED_TOPIC));
+			final long start = System.nanoTime();
+			while (events.size() < count && System.nanoTime() - start < TIMEOUT_NANOS) {
+				for (ConsumerRecord<byte[], byte[]> record : consumer.poll(Duration.ofMillis(500))) {
+					final HintSavedEvent event = jsonMapper.readValue(record.value(), HintSavedEvent.class);
+					if (event.processId().equals(processId)) {
+						events.add(event);
+					}
+				}
+			}
+		}
+		return events;
+	}
+}
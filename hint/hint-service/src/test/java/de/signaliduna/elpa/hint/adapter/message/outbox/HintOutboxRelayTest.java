@@ -0,0 +1,116 @@
+package de.signaliduna.elpa.hint.adapter.message.outbox;
+
+import de.signaliduna.elpa.hint.adapter.database.HintOutboxRepository;
+import de.signaliduna.elpa.hint.config.properties.HintOutboxProperties;
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.model.HintSavedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HintOutboxRelay Test")
+class HintOutboxRelayTest {
+	private static final String TOPIC = "elpa-hint-saved";
+
+	@Mock
+	private HintOutboxRepository hintOutboxRepository;
+	@Mock
+	private Producer<byte[], byte[]> producer;
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private HintOutboxRelay classUnderTest;
+
+	@BeforeEach
+	void setUp() {
+		final HintOutboxProperties hintOutboxProperties = new HintOutboxProperties();
+		hintOutboxProperties.setBatchSize(2);
+		classUnderTest = new HintOutboxRelay(hintOutboxRepository, producer, jsonMapper, TOPIC,
+			TransactionOperations.withoutTransaction(), hintOutboxProperties, meterRegistry);
+	}
+
+	@Test
+	@DisplayName("should publish full batches until the outbox is drained")
+	@SuppressWarnings("unchecked")
+	void shouldPublishUntilDrained() {
+		when(hintOutboxRepository.tryLockRelay()).thenReturn(true);
+		when(hintOutboxRepository.claimEvents(2)).thenReturn(List.of(event(1), event(2)), List.of(event(3)));
+		when(producer.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+		assertThat(classUnderTest.relay()).isEqualTo(3);
+
+		ArgumentCaptor<ProducerRecord<byte[], byte[]>> records = ArgumentCaptor.forClass(ProducerRecord.class);
+		verify(producer, times(3)).send(records.capture());
+		assertThat(records.getAllValues()).extracting(ProducerRecord::topic).containsOnly(TOPIC);
+		assertThat(records.getAllValues())
+			.extracting(record -> jsonMapper.readValue(record.value(), HintSavedEvent.class).hintId())
+			.containsExactly(1L, 2L, 3L);
+		assertThat(records.getValue().key()).isEqualTo("process-3".getBytes(StandardCharsets.UTF_8));
+		assertThat(meterRegistry.counter("hint.outbox.published").count()).isEqualTo(3);
+	}
+
+	@Test
+	@DisplayName("should publish nothing if the outbox is empty")
+	void shouldPublishNothing() {
+		when(hintOutboxRepository.tryLockRelay()).thenReturn(true);
+		when(hintOutboxRepository.claimEvents(2)).thenReturn(List.of());
+
+		assertThat(classUnderTest.relay()).isZero();
+		verifyNoInteractions(producer);
+	}
+
+	@Test
+	@DisplayName("should send the whole batch before it waits for the acknowledgements and fail it if one is missing")
+	@SuppressWarnings("unchecked")
+	void shouldFailIfNotPublished() {
+		when(hintOutboxRepository.tryLockRelay()).thenReturn(true);
+		when(hintOutboxRepository.claimEvents(2)).thenReturn(List.of(event(1), event(2)));
+		when(producer.send(any(ProducerRecord.class)))
+			.thenReturn(CompletableFuture.failedFuture(new TimeoutException("Expiring 1 record(s)")))
+			.thenReturn(CompletableFuture.completedFuture(null));
+
+		assertThatThrownBy(() -> classUnderTest.relay())
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("hint 1")
+			.hasCauseInstanceOf(TimeoutException.class);
+		verify(producer, times(2)).send(any(ProducerRecord.class));
+		assertThat(meterRegistry.counter("hint.outbox.published").count()).isZero();
+	}
+
+	@Test
+	@DisplayName("should skip the run while another instance holds the relay lock")
+	void shouldSkipWithoutLock() {
+		when(hintOutboxRepository.tryLockRelay()).thenReturn(false);
+
+		assertThat(classUnderTest.relay()).isZero();
+		verify(hintOutboxRepository, never()).claimEvents(anyInt());
+		verifyNoInteractions(producer);
+	}
+
+	private static HintSavedEvent event(long hintId) {
+		return new HintSavedEvent(hintId, "process-" + hintId, "hintSource", HintDto.Category.INFO,
+			LocalDateTime.of(2024, 5, 20, 12, 0));
+	}
+}
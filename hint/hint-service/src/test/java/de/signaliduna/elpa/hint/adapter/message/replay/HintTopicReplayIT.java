@@ -0,0 +1,117 @@
+package de.signaliduna.elpa.hint.adapter.message.replay;
+
+import de.signaliduna.elpa.hint.HintApplication;
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.util.AbstractSingletonContainerTest;
+import de.signaliduna.elpa.hint.util.ContainerImageNames;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.kafka.KafkaContainer;
+import org.testcontainers.utility.DockerImageName;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the service with the {@code replay} profile against a local Kafka container, like the replay job after an
+ * incident. Every run shuts the service down after the replay.
+ */
+@DisplayName("Replay of the hintCreated topic")
+class HintTopicReplayIT extends AbstractSingletonContainerTest {
+	private static final String HINT_SOURCE = "HintTopicReplayIT";
+	private static final String TOPIC = "elpa-hint-created-replay";
+	private static final Instant OLD = Instant.parse("2026-01-01T00:00:00Z");
+	private static final Instant INCIDENT = Instant.parse("2026-02-01T00:00:00Z");
+	private static final Instant RECENT = Instant.parse("2026-03-01T00:00:00Z");
+
+	static final KafkaContainer KAFKA_CONTAINER = new KafkaContainer(
+		DockerImageName.parse(ContainerImageNames.KAFKA.getImageName()).asCompatibleSubstituteFor("apache/kafka")
+	);
+
+	static {
+		KAFKA_CONTAINER.start();
+	}
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+	private final JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+		POSTGRES_CONTAINER.getJdbcUrl(), POSTGRES_CONTAINER.getUsername(), POSTGRES_CONTAINER.getPassword()));
+
+	@Test
+	@DisplayName("should replay a timestamp range with the bulk insert and continue after the checkpoint")
+	void shouldReplayRangeAndResume() {
+		produceHints(0, 1_000, OLD);
+		produceHints(1_000, 4_000, INCIDENT);
+		produceHints(4_000, 5_000, RECENT);
+
+		try (ConfigurableApplicationContext replay = runReplay("hint-replay",
+			"--elpa.hint.replay.from-timestamp=" + INCIDENT, "--elpa.hint.replay.to-timestamp=" + RECENT)) {
+			assertThat(replay.isActive()).as("shut down after the replay").isFalse();
+		}
+		assertThat(savedHints()).isEqualTo(3_000);
+		assertThat(jdbcTemplate.queryForObject("select min(message) from hint where hint_source_name(hint_source_id) = ?", String.class,
+			HINT_SOURCE)).isEqualTo(message(1_000));
+
+		// the same group continues after the checkpoint of the first run up to the current end of the topic
+		runReplay("hint-replay").close();
+		assertThat(savedHints()).isEqualTo(4_000);
+
+		// nothing was produced after the recent hints
+		runReplay("hint-replay-recent", "--elpa.hint.replay.from-timestamp=" + RECENT.plusSeconds(1)).close();
+		assertThat(savedHints()).isEqualTo(4_000);
+	}
+
+	private long savedHints() {
+		return jdbcTemplate.queryForObject("select count(*) from hint where hint_source_name(hint_source_id) = ?", Long.class, HINT_SOURCE);
+	}
+
+	private void produceHints(int from, int to, Instant timestamp) {
+		try (KafkaProducer<String, byte[]> producer = new KafkaProducer<>(Map.of(
+			ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, KAFKA_CONTAINER.getBootstrapServers(),
+			ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+			ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class))) {
+			for (int i = from; i < to; i++) {
+				final HintDto hint = new HintDto(HINT_SOURCE, message(i), HintDto.Category.INFO, true,
+					"process-" + i % 10, LocalDateTime.now(), "1", "resourceId");
+				producer.send(new ProducerRecord<>(TOPIC, 0, timestamp.toEpochMilli(), hint.processId(),
+					jsonMapper.writeValueAsBytes(hint)));
+			}
+		}
+	}
+
+	// sorts like the offsets
+	private static String message(int i) {
+		return "hint-%05d".formatted(i);
+	}
+
+	private static ConfigurableApplicationContext runReplay(String group, String... range) {
+		final String[] args = {
+			"--spring.profiles.active=" + HintTopicReplayRunner.PROFILE,
+			"--AUTH_SERVICE_PASSWORD=somePassword",
+			"--com.c4-soft.springaddons.oidc.resourceserver.enabled=false",
+			"--spring.datasource.url=" + POSTGRES_CONTAINER.getJdbcUrl(),
+			"--spring.datasource.username=" + POSTGRES_CONTAINER.getUsername(),
+			"--spring.datasource.password=" + POSTGRES_CONTAINER.getPassword(),
+			"--spring.cloud.stream.kafka.binder.brokers=" + KAFKA_CONTAINER.getBootstrapServers(),
+			"--elpa.hint.replay.topic=" + TOPIC,
+			"--elpa.hint.replay.group=" + group,
+			"--elpa.hint.bulk-ingest.chunk-size=500",
+			"--elpa.hint.replay.consumer.max.poll.records=250"};
+		final String[] allArgs = new String[args.length + range.length];
+		System.arraycopy(args, 0, allArgs, 0, args.length);
+		System.arraycopy(range, 0, allArgs, args.length, range.length);
+		return new SpringApplicationBuilder(HintApplication.class).run(allArgs);
+	}
+}
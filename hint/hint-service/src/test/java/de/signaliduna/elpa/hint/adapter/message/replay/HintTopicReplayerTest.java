@@ -0,0 +1,195 @@
+package de.signaliduna.elpa.hint.adapter.message.replay;
+
+import de.signaliduna.elpa.hint.config.properties.HintReplayProperties;
+import de.signaliduna.elpa.hint.core.HintBulkIngestResult;
+import de.signaliduna.elpa.hint.core.HintBulkIngestService;
+import de.signaliduna.elpa.hint.model.HintBinaryCodec;
+import de.signaliduna.elpa.hint.model.HintDto;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.MessageHeaders;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HintTopicReplayer Test")
+class HintTopicReplayerTest {
+	private static final String TOPIC = "elpa-hint-created";
+	private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+	private static final int CHUNK_SIZE = 2;
+
+	@Mock
+	private HintBulkIngestService hintBulkIngestService;
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+	private final HintReplayProperties hintReplayProperties = new HintReplayProperties();
+	private final List<List<String>> ingestedChunks = new ArrayList<>();
+	private MockConsumer<byte[], byte[]> consumer;
+	private HintTopicReplayer classUnderTest;
+
+	@BeforeEach
+	void setUp() {
+		consumer = new MockConsumer<>("earliest") {
+			@Override
+			public synchronized void close() {
+				// keeps the committed offsets readable
+			}
+		};
+		consumer.updatePartitions(TOPIC, List.of(new PartitionInfo(TOPIC, 0, Node.noNode(), new Node[0], new Node[0])));
+		consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+		hintReplayProperties.setTopic(TOPIC);
+		classUnderTest = new HintTopicReplayer(() -> consumer, hintBulkIngestService, jsonMapper, hintReplayProperties,
+			CHUNK_SIZE);
+	}
+
+	@Test
+	@DisplayName("should write the records up to the end offsets in chunks and checkpoint every chunk")
+	void shouldReplayUpToEndOffsets() {
+		hintReplayProperties.setProgressInterval(Duration.ZERO);
+		consumer.updateEndOffsets(Map.of(PARTITION, 3L));
+		consumer.schedulePollTask(() -> {
+			consumer.addRecord(hintRecord(0));
+			consumer.addRecord(hintRecord(1));
+			consumer.addRecord(hintRecord(2));
+			// produced while the replay is running
+			consumer.addRecord(hintRecord(3));
+		});
+		collectIngestedChunks();
+
+		HintTopicReplayResult result = classUnderTest.replay();
+
+		assertThat(result.records()).isEqualTo(3);
+		assertThat(result.hints()).isEqualTo(3);
+		assertThat(result.invalidRecords()).isZero();
+		assertThat(ingestedChunks).containsExactly(List.of("hint-0", "hint-1", "hint-2"));
+		assertThat(committedOffset()).isEqualTo(3);
+	}
+
+	@Test
+	@DisplayName("should continue after the checkpoint of an aborted replay")
+	void shouldResumeAfterCheckpoint() {
+		hintReplayProperties.setFromOffsets(Map.of(0, 0L));
+		consumer.commitSync(Map.of(PARTITION, new OffsetAndMetadata(2)));
+		consumer.updateEndOffsets(Map.of(PARTITION, 4L));
+		consumer.schedulePollTask(() -> {
+			consumer.addRecord(hintRecord(2));
+			consumer.addRecord(hintRecord(3));
+		});
+		collectIngestedChunks();
+
+		HintTopicReplayResult result = classUnderTest.replay();
+
+		assertThat(result.records()).isEqualTo(2);
+		assertThat(ingestedChunks).containsExactly(List.of("hint-2", "hint-3"));
+		assertThat(committedOffset()).isEqualTo(4);
+	}
+
+	@Test
+	@DisplayName("should replay the configured offset range only")
+	void shouldReplayOffsetRange() {
+		hintReplayProperties.setFromOffsets(Map.of(0, 1L));
+		hintReplayProperties.setToOffsets(Map.of(0, 2L));
+		consumer.updateEndOffsets(Map.of(PARTITION, 5L));
+		consumer.schedulePollTask(() -> {
+			consumer.addRecord(hintRecord(1));
+			consumer.addRecord(hintRecord(2));
+		});
+		collectIngestedChunks();
+
+		HintTopicReplayResult result = classUnderTest.replay();
+
+		assertThat(result.records()).isEqualTo(1);
+		assertThat(ingestedChunks).containsExactly(List.of("hint-1"));
+		assertThat(committedOffset()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("should read hints in the binary format")
+	void shouldReplayBinaryHints() {
+		consumer.updateEndOffsets(Map.of(PARTITION, 1L));
+		final HintDto hint = new HintDto("hintSource", "hint-0", HintDto.Category.INFO, true, "processId",
+			LocalDateTime.of(2024, 5, 20, 12, 0), "1", "resourceId");
+		final RecordHeaders headers = new RecordHeaders();
+		headers.add(MessageHeaders.CONTENT_TYPE, HintBinaryCodec.CONTENT_TYPE.getBytes(StandardCharsets.UTF_8));
+		consumer.schedulePollTask(() -> consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, 0, 0L,
+			TimestampType.CREATE_TIME, 0, 0, null, HintBinaryCodec.encode(hint), headers, Optional.empty())));
+		collectIngestedChunks();
+
+		assertThat(classUnderTest.replay().hints()).isEqualTo(1);
+		assertThat(ingestedChunks).containsExactly(List.of("hint-0"));
+	}
+
+	@Test
+	@DisplayName("should skip records that are no hints and still checkpoint them")
+	void shouldSkipInvalidRecords() {
+		consumer.updateEndOffsets(Map.of(PARTITION, 2L));
+		consumer.schedulePollTask(() -> {
+			consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, 0, null, "no hint".getBytes(StandardCharsets.UTF_8)));
+			consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, 1, null, null));
+		});
+
+		HintTopicReplayResult result = classUnderTest.replay();
+
+		assertThat(result.records()).isEqualTo(2);
+		assertThat(result.invalidRecords()).isEqualTo(2);
+		assertThat(result.hints()).isZero();
+		verifyNoInteractions(hintBulkIngestService);
+		assertThat(committedOffset()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("should replay nothing if the topic is empty")
+	void shouldReplayNothing() {
+		consumer.updateEndOffsets(Map.of(PARTITION, 0L));
+
+		assertThat(classUnderTest.replay().records()).isZero();
+		verifyNoInteractions(hintBulkIngestService);
+		assertThat(consumer.committed(Set.of(PARTITION))).isEmpty();
+	}
+
+	private void collectIngestedChunks() {
+		when(hintBulkIngestService.ingest(any())).thenAnswer(invocation -> {
+			final Iterator<HintDto> hints = invocation.getArgument(0);
+			final List<String> messages = new ArrayList<>();
+			hints.forEachRemaining(hint -> messages.add(hint.message()));
+			ingestedChunks.add(messages);
+			return new HintBulkIngestResult(messages.size(), 1, 0);
+		});
+	}
+
+	private long committedOffset() {
+		return consumer.committed(Set.of(PARTITION)).get(PARTITION).offset();
+	}
+
+	private ConsumerRecord<byte[], byte[]> hintRecord(long offset) {
+		final HintDto hint = new HintDto("hintSource", "hint-" + offset, HintDto.Category.INFO, true, "processId",
+			LocalDateTime.of(2024, 5, 20, 12, 0), "1", "resourceId");
+		return new ConsumerRecord<>(TOPIC, 0, offset, "processId".getBytes(StandardCharsets.UTF_8),
+			jsonMapper.writeValueAsBytes(hint));
+	}
+}
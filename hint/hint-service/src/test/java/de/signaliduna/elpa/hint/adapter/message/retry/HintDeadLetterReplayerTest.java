@@ -0,0 +1,130 @@
+package de.signaliduna.elpa.hint.adapter.message.retry;
+
+import de.signaliduna.elpa.hint.model.HintBinaryCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HintDeadLetterReplayer Test")
+class HintDeadLetterReplayerTest {
+	private static final String DEAD_LETTER_TOPIC = "elpa-hint-created-dlt";
+	private static final TopicPartition PARTITION = new TopicPartition(DEAD_LETTER_TOPIC, 0);
+
+	@Mock
+	private StreamBridge streamBridge;
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private MockConsumer<byte[], byte[]> consumer;
+	private HintDeadLetterReplayer classUnderTest;
+
+	@BeforeEach
+	void setUp() {
+		consumer = new MockConsumer<>("earliest") {
+			@Override
+			public synchronized void close() {
+				// keeps the committed offsets readable
+			}
+		};
+		consumer.updatePartitions(DEAD_LETTER_TOPIC,
+			List.of(new PartitionInfo(DEAD_LETTER_TOPIC, 0, Node.noNode(), new Node[0], new Node[0])));
+		consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+		classUnderTest = new HintDeadLetterReplayer(() -> consumer, streamBridge, DEAD_LETTER_TOPIC, meterRegistry);
+	}
+
+	@Test
+	@DisplayName("should replay the records parked before the replay started and commit them")
+	@SuppressWarnings("unchecked")
+	void shouldReplayParkedRecords() {
+		consumer.updateEndOffsets(Map.of(PARTITION, 2L));
+		consumer.schedulePollTask(() -> {
+			consumer.addRecord(deadLetter(0));
+			consumer.addRecord(deadLetter(1));
+			// parked while the replay is running
+			consumer.addRecord(deadLetter(2));
+		});
+		when(streamBridge.send(eq(HintDeadLetterReplayer.REPLAY_BINDING), any(Message.class))).thenReturn(true);
+		ArgumentCaptor<Message<byte[]>> messages = ArgumentCaptor.forClass(Message.class);
+
+		HintDeadLetterReplayResult result = classUnderTest.replay();
+
+		assertThat(result.replayed()).isEqualTo(2);
+		verify(streamBridge, times(2)).send(eq(HintDeadLetterReplayer.REPLAY_BINDING), messages.capture());
+		assertThat(messages.getAllValues()).extracting(message -> new String(message.getPayload(), StandardCharsets.UTF_8))
+			.containsExactly("hint-0", "hint-1");
+		assertThat(messages.getAllValues()).extracting(message -> message.getHeaders().get(MessageHeaders.CONTENT_TYPE))
+			.containsOnly(MimeTypeUtils.APPLICATION_JSON_VALUE);
+		assertThat(consumer.committed(Set.of(PARTITION)).get(PARTITION).offset()).isEqualTo(2);
+		assertThat(meterRegistry.get("hint.ingest.replayed").counter().count()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("should replay binary records with their content type")
+	@SuppressWarnings("unchecked")
+	void shouldReplayBinaryRecords() {
+		consumer.updateEndOffsets(Map.of(PARTITION, 1L));
+		ConsumerRecord<byte[], byte[]> deadLetter = deadLetter(0);
+		// written as JSON string by the binder
+		deadLetter.headers().add(MessageHeaders.CONTENT_TYPE,
+			("\"" + HintBinaryCodec.CONTENT_TYPE + "\"").getBytes(StandardCharsets.UTF_8));
+		consumer.schedulePollTask(() -> consumer.addRecord(deadLetter));
+		when(streamBridge.send(eq(HintDeadLetterReplayer.REPLAY_BINDING), any(Message.class))).thenReturn(true);
+		ArgumentCaptor<Message<byte[]>> message = ArgumentCaptor.forClass(Message.class);
+
+		assertThat(classUnderTest.replay().replayed()).isEqualTo(1);
+
+		verify(streamBridge).send(eq(HintDeadLetterReplayer.REPLAY_BINDING), message.capture());
+		assertThat(message.getValue().getHeaders()).containsEntry(MessageHeaders.CONTENT_TYPE, HintBinaryCodec.CONTENT_TYPE);
+	}
+
+	@Test
+	@DisplayName("should replay nothing if the dead letter topic is empty")
+	void shouldReplayNothing() {
+		consumer.updateEndOffsets(Map.of(PARTITION, 0L));
+
+		assertThat(classUnderTest.replay().replayed()).isZero();
+		verifyNoInteractions(streamBridge);
+	}
+
+	@Test
+	@DisplayName("should fail and keep the record uncommitted if it cannot be replayed")
+	@SuppressWarnings("unchecked")
+	void shouldFailIfNotSent() {
+		consumer.updateEndOffsets(Map.of(PARTITION, 1L));
+		consumer.schedulePollTask(() -> consumer.addRecord(deadLetter(0)));
+		when(streamBridge.send(eq(HintDeadLetterReplayer.REPLAY_BINDING), any(Message.class))).thenReturn(false);
+
+		assertThatThrownBy(() -> classUnderTest.replay()).isInstanceOf(IllegalStateException.class);
+	}
+
+	private static ConsumerRecord<byte[], byte[]> deadLetter(long offset) {
+		return new ConsumerRecord<>(DEAD_LETTER_TOPIC, 0, offset, "processId".getBytes(StandardCharsets.UTF_8),
+			("hint-" + offset).getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,141 @@
+package de.signaliduna.elpa.hint.adapter.message.retry;
+
+import de.signaliduna.elpa.hint.config.properties.HintConsumerProperties;
+import de.signaliduna.elpa.hint.model.HintBinaryCodec;
+import de.signaliduna.elpa.hint.model.HintDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HintIngestRecoverer Test")
+class HintIngestRecovererTest {
+	private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+	private static final HintDto HINT = new HintDto("HintIngestRecovererTest", "retried", HintDto.Category.INFO, true,
+		"processId", LocalDateTime.of(2024, 1, 1, 12, 0), "1", "resourceId");
+	private static final RuntimeException CAUSE = new IllegalStateException("database down");
+
+	@Mock
+	private StreamBridge streamBridge;
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private HintIngestRecoverer classUnderTest;
+
+	@BeforeEach
+	void setUp() {
+		HintConsumerProperties properties = new HintConsumerProperties();
+		properties.getRetry().setMaxAttempts(3);
+		properties.getRetry().setInitialBackoff(Duration.ofSeconds(1));
+		properties.getRetry().setMultiplier(4);
+		properties.getRetry().setMaxBackoff(Duration.ofSeconds(10));
+		classUnderTest = new HintIngestRecoverer(streamBridge, properties, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+	}
+
+	@Test
+	@DisplayName("should send failed hints to the retry topic with the backoff of the next attempt")
+	@SuppressWarnings("unchecked")
+	void shouldRetry() {
+		when(streamBridge.send(eq(HintIngestRecoverer.RETRY_BINDING), any(Message.class))).thenReturn(true);
+		ArgumentCaptor<Message<HintDto>> messages = ArgumentCaptor.forClass(Message.class);
+
+		classUnderTest.recover(List.of(HINT, HINT), 1, CAUSE);
+
+		verify(streamBridge, times(2)).send(eq(HintIngestRecoverer.RETRY_BINDING), messages.capture());
+		Message<HintDto> message = messages.getValue();
+		assertThat(message.getPayload()).isEqualTo(HINT);
+		assertThat(HintIngestRecoverer.attempt(message)).isEqualTo(2);
+		assertThat(HintIngestRecoverer.notBefore(message)).isEqualTo(NOW.plusSeconds(4));
+		assertThat(meterRegistry.get("hint.ingest.retried").counter().count()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("should send hints to the dead letter topic once all attempts failed")
+	@SuppressWarnings("unchecked")
+	void shouldDeadLetter() {
+		when(streamBridge.send(eq(HintIngestRecoverer.DEAD_LETTER_BINDING), any(Message.class))).thenReturn(true);
+		ArgumentCaptor<Message<HintDto>> messages = ArgumentCaptor.forClass(Message.class);
+
+		classUnderTest.recover(List.of(HINT), 3, CAUSE);
+
+		verify(streamBridge).send(eq(HintIngestRecoverer.DEAD_LETTER_BINDING), messages.capture());
+		assertThat(messages.getValue().getHeaders()).containsEntry(HintIngestRecoverer.EXCEPTION_HEADER, CAUSE.toString());
+		assertThat(meterRegistry.get("hint.ingest.dead.lettered").counter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("hint.ingest.retried").counter().count()).isZero();
+	}
+
+	@Test
+	@DisplayName("should send an undecodable record to the dead letter topic as received")
+	@SuppressWarnings("unchecked")
+	void shouldDeadLetterUndecodable() {
+		when(streamBridge.send(eq(HintIngestRecoverer.DEAD_LETTER_BINDING), any(Message.class))).thenReturn(true);
+		ArgumentCaptor<Message<byte[]>> messages = ArgumentCaptor.forClass(Message.class);
+		byte[] value = {1, 2, 3};
+		byte[] key = "processId".getBytes(StandardCharsets.UTF_8);
+
+		classUnderTest.deadLetterUndecodable(value, key, HintBinaryCodec.CONTENT_TYPE, CAUSE);
+
+		verify(streamBridge).send(eq(HintIngestRecoverer.DEAD_LETTER_BINDING), messages.capture());
+		Message<byte[]> message = messages.getValue();
+		assertThat(message.getPayload()).isEqualTo(value);
+		assertThat(message.getHeaders())
+			.containsEntry(KafkaHeaders.KEY, key)
+			.containsEntry(MessageHeaders.CONTENT_TYPE, HintBinaryCodec.CONTENT_TYPE)
+			.containsEntry(HintIngestRecoverer.EXCEPTION_HEADER, CAUSE.toString());
+		assertThat(meterRegistry.get("hint.ingest.dead.lettered").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("should fail if a hint cannot be sent, so the record is delivered again")
+	@SuppressWarnings("unchecked")
+	void shouldFailIfNotSent() {
+		when(streamBridge.send(eq(HintIngestRecoverer.RETRY_BINDING), any(Message.class))).thenReturn(false);
+
+		assertThatThrownBy(() -> classUnderTest.recover(List.of(HINT), 0, CAUSE))
+			.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	@DisplayName("should back off exponentially up to the maximum")
+	void shouldBackOffExponentially() {
+		assertThat(classUnderTest.backoff(1)).isEqualTo(Duration.ofSeconds(1));
+		assertThat(classUnderTest.backoff(2)).isEqualTo(Duration.ofSeconds(4));
+		assertThat(classUnderTest.backoff(3)).isEqualTo(Duration.ofSeconds(10));
+	}
+
+	@Test
+	@DisplayName("should read the retry headers as mapped from Kafka")
+	void shouldReadRawHeaders() {
+		Message<HintDto> message = MessageBuilder.withPayload(HINT)
+			.setHeader(HintIngestRecoverer.ATTEMPT_HEADER, "2".getBytes(StandardCharsets.UTF_8))
+			.setHeader(HintIngestRecoverer.NOT_BEFORE_HEADER, String.valueOf(NOW.toEpochMilli()).getBytes(StandardCharsets.UTF_8))
+			.build();
+
+		assertThat(HintIngestRecoverer.attempt(message)).isEqualTo(2);
+		assertThat(HintIngestRecoverer.notBefore(message)).isEqualTo(NOW);
+	}
+}
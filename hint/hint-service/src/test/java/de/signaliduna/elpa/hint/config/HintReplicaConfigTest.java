@@ -0,0 +1,60 @@
+package de.signaliduna.elpa.hint.config;
+
+import de.signaliduna.elpa.hint.adapter.database.HintReplicaLagMonitor;
+import de.signaliduna.elpa.hint.config.properties.HintReplicaProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("HintReplicaConfig Test")
+class HintReplicaConfigTest {
+	@SuppressWarnings("unchecked")
+	private final BeanPostProcessor classUnderTest =
+		HintReplicaConfig.hintReadOnlyRoutingPostProcessor(mock(ObjectProvider.class));
+
+	@Test
+	@DisplayName("should wrap the primary datasource into a lazy read-only routing proxy")
+	void shouldWrapPrimaryDataSource() throws SQLException {
+		DataSource primaryDataSource = mock(DataSource.class);
+		when(primaryDataSource.getConnection()).thenReturn(mock(Connection.class));
+
+		assertThat(classUnderTest.postProcessAfterInitialization(primaryDataSource, "dataSource"))
+			.isInstanceOf(LazyConnectionDataSourceProxy.class);
+	}
+
+	@Test
+	@DisplayName("should leave other beans untouched")
+	void shouldLeaveOtherBeansUntouched() {
+		DataSource otherDataSource = mock(DataSource.class);
+		Object otherBean = new Object();
+
+		assertThat(classUnderTest.postProcessAfterInitialization(otherDataSource, "otherDataSource")).isSameAs(otherDataSource);
+		assertThat(classUnderTest.postProcessAfterInitialization(otherBean, "dataSource")).isSameAs(otherBean);
+	}
+
+	@Test
+	@DisplayName("should configure a read-only replica pool")
+	void shouldConfigureReplicaPool() {
+		HintReplicaProperties properties = new HintReplicaProperties();
+		properties.setUrl("jdbc:postgresql://replica:5432/postgresql");
+		properties.setSchema("hint");
+		properties.setMaxLag(Duration.ofSeconds(5));
+
+		try (HintReplicaLagMonitor monitor = new HintReplicaConfig().hintReplicaLagMonitor(properties)) {
+			assertThat(monitor.getReplicaDataSource().getPoolName()).isEqualTo(HintReplicaConfig.REPLICA_POOL_NAME);
+			assertThat(monitor.getReplicaDataSource().isReadOnly()).isTrue();
+			assertThat(monitor.getReplicaDataSource().getSchema()).isEqualTo("hint");
+		}
+	}
+}
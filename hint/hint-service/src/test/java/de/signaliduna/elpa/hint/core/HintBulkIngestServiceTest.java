@@ -0,0 +1,100 @@
+package de.signaliduna.elpa.hint.core;
+
+import de.signaliduna.elpa.hint.adapter.database.HintCopyWriter;
+import de.signaliduna.elpa.hint.model.HintDto;
+import de.signaliduna.elpa.hint.util.HintTestDataGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HintBulkIngestService Test")
+class HintBulkIngestServiceTest {
+	private static final int CHUNK_SIZE = 2;
+
+	@Mock
+	private HintCopyWriter hintCopyWriter;
+
+	private HintBulkIngestService classUnderTest;
+
+	@BeforeEach
+	void setUp() {
+		classUnderTest = new HintBulkIngestService(hintCopyWriter, CHUNK_SIZE);
+	}
+
+	@Test
+	@DisplayName("should copy hints in chunks and commit the remainder")
+	void shouldCopyHintsInChunks() throws Exception {
+		List<HintDto> hints = Stream.generate(HintTestDataGenerator::createInfoHintDto).limit(5).toList();
+		List<Integer> chunkSizes = new ArrayList<>();
+		when(hintCopyWriter.copy(anyList())).thenAnswer(invocation -> {
+			List<HintDto> chunk = invocation.getArgument(0);
+			chunkSizes.add(chunk.size());
+			return (long) chunk.size();
+		});
+
+		HintBulkIngestResult result = classUnderTest.ingest(hints.iterator());
+
+		assertThat(chunkSizes).containsExactly(2, 2, 1);
+		assertThat(result.hints()).isEqualTo(5);
+		assertThat(result.chunks()).isEqualTo(3);
+	}
+
+	@Test
+	@DisplayName("should not copy anything for an empty upload")
+	void shouldNotCopyEmptyUpload() throws Exception {
+		HintBulkIngestResult result = classUnderTest.ingest(Collections.emptyIterator());
+
+		assertThat(result.hints()).isZero();
+		assertThat(result.chunks()).isZero();
+		verify(hintCopyWriter, never()).copy(anyList());
+	}
+
+	@Test
+	@DisplayName("should report consumed and committed hints when a chunk fails")
+	void shouldReportCommittedHintsOnFailure() throws Exception {
+		List<HintDto> hints = Stream.generate(HintTestDataGenerator::createInfoHintDto).limit(5).toList();
+		// the second hint of the first chunk is a skipped duplicate
+		when(hintCopyWriter.copy(anyList()))
+			.thenReturn(1L)
+			.thenReturn((long) CHUNK_SIZE)
+			.thenThrow(new SQLException("null value in column \"process_id\"", "23502"));
+
+		assertThatThrownBy(() -> classUnderTest.ingest(hints.iterator()))
+			.isInstanceOf(HintBulkIngestException.class)
+			.hasMessage("Bulk ingest failed after 4 consumed and 3 committed hints.")
+			.hasCauseInstanceOf(SQLException.class)
+			.satisfies(e -> {
+				HintBulkIngestException exception = (HintBulkIngestException) e;
+				assertThat(exception.getConsumedHints()).isEqualTo(4);
+				assertThat(exception.getCommittedHints()).isEqualTo(3);
+				assertThat(exception.getChunkHints()).isEqualTo(1);
+				assertThat(exception.isCausedByInvalidHints()).isTrue();
+			});
+	}
+
+	@Test
+	@DisplayName("should not blame the hints for a failure of the database")
+	void shouldReportDatabaseFailure() throws Exception {
+		List<HintDto> hints = Stream.generate(HintTestDataGenerator::createInfoHintDto).limit(2).toList();
+		when(hintCopyWriter.copy(anyList())).thenThrow(new SQLException("connection refused", "08001"));
+
+		assertThatThrownBy(() -> classUnderTest.ingest(hints.iterator()))
+			.isInstanceOf(HintBulkIngestException.class)
+			.extracting(e -> ((HintBulkIngestException) e).isCausedByInvalidHints()).isEqualTo(false);
+	}
+}
@@ -0,0 +1,70 @@
+package de.signaliduna.elpa.hint.core;
+
+import de.signaliduna.elpa.hint.adapter.database.HintDeduplicationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HintDeduplication Test")
+class HintDeduplicationTest {
+	private static final int CHUNK_SIZE = 3;
+
+	@Mock
+	private HintDeduplicationRepository hintDeduplicationRepository;
+
+	private HintDeduplication classUnderTest;
+
+	@BeforeEach
+	void setUp() {
+		classUnderTest = new HintDeduplication(hintDeduplicationRepository, CHUNK_SIZE);
+	}
+
+	@Test
+	@DisplayName("should delete the duplicates of the next chunk and key the remaining hints")
+	void shouldDeduplicateChunk() {
+		final List<Long> ids = List.of(1L, 2L, 5L);
+		when(hintDeduplicationRepository.tryLockDeduplication()).thenReturn(true);
+		when(hintDeduplicationRepository.findIdsWithoutIdempotencyKey(CHUNK_SIZE)).thenReturn(ids);
+		when(hintDeduplicationRepository.deleteDuplicates(ids)).thenReturn(1);
+		when(hintDeduplicationRepository.setIdempotencyKeys(ids)).thenReturn(2);
+
+		assertThat(classUnderTest.deduplicateChunk()).isEqualTo(3);
+
+		final var inOrder = inOrder(hintDeduplicationRepository);
+		inOrder.verify(hintDeduplicationRepository).deleteDuplicates(ids);
+		inOrder.verify(hintDeduplicationRepository).setIdempotencyKeys(ids);
+	}
+
+	@Test
+	@DisplayName("should do nothing once all hints are keyed")
+	void shouldSkipWithoutHintsToDeduplicate() {
+		when(hintDeduplicationRepository.tryLockDeduplication()).thenReturn(true);
+		when(hintDeduplicationRepository.findIdsWithoutIdempotencyKey(CHUNK_SIZE)).thenReturn(List.of());
+
+		assertThat(classUnderTest.deduplicateChunk()).isZero();
+
+		verify(hintDeduplicationRepository, never()).deleteDuplicates(any());
+		verify(hintDeduplicationRepository, never()).setIdempotencyKeys(any());
+	}
+
+	@Test
+	@DisplayName("should skip the chunk while another instance holds the lock")
+	void shouldSkipWhenLocked() {
+		when(hintDeduplicationRepository.tryLockDeduplication()).thenReturn(false);
+
+		assertThat(classUnderTest.deduplicateChunk()).isZero();
+
+		verify(hintDeduplicationRepository, never()).findIdsWithoutIdempotencyKey(anyInt());
+	}
+}
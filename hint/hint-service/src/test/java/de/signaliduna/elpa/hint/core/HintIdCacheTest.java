@@ -0,0 +1,109 @@
+package de.signaliduna.elpa.hint.core;
+
+import de.signaliduna.elpa.hint.model.HintDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HintIdCache Test")
+class HintIdCacheTest {
+	private static final Duration TTL = Duration.ofMinutes(5);
+	private static final Duration MISSING_TTL = Duration.ofSeconds(10);
+	private static final HintDto HINT = new HintDto("HintIdCacheTest", "cached", HintDto.Category.INFO, true, "processId",
+		LocalDateTime.of(2024, 1, 1, 12, 0), "1", "resourceId");
+
+	private final AtomicLong nanos = new AtomicLong();
+	private final AtomicInteger loads = new AtomicInteger();
+	private HintIdCache classUnderTest;
+
+	@BeforeEach
+	void setUp() {
+		classUnderTest = new HintIdCache(2, TTL, 2, MISSING_TTL, nanos::get, Runnable::run);
+	}
+
+	@Test
+	@DisplayName("should load a hint only once")
+	void shouldCacheFoundHint() {
+		assertThat(classUnderTest.get(1L, loader(Optional.of(HINT)))).contains(HINT);
+		assertThat(classUnderTest.get(1L, loader(Optional.of(HINT)))).contains(HINT);
+
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	@DisplayName("should load a hint again after the TTL has passed, it may have been deleted")
+	void shouldExpireFoundHintAfterTtl() {
+		assertThat(classUnderTest.get(1L, loader(Optional.of(HINT)))).contains(HINT);
+
+		nanos.addAndGet(TTL.plusSeconds(1).toNanos());
+
+		assertThat(classUnderTest.get(1L, loader(Optional.empty()))).isEmpty();
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	@DisplayName("should remember a missing hint until the missing TTL has passed")
+	void shouldCacheMissingHintForTtl() {
+		assertThat(classUnderTest.get(1L, loader(Optional.empty()))).isEmpty();
+		assertThat(classUnderTest.get(1L, loader(Optional.of(HINT)))).isEmpty();
+		assertThat(loads).hasValue(1);
+
+		nanos.addAndGet(MISSING_TTL.plusSeconds(1).toNanos());
+
+		assertThat(classUnderTest.get(1L, loader(Optional.of(HINT)))).contains(HINT);
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	@DisplayName("should evict hints beyond the maximum size")
+	void shouldEvictBySize() {
+		for (long id = 1; id <= 10; id++) {
+			classUnderTest.get(id, loader(Optional.of(HINT)));
+		}
+		classUnderTest.cleanUp();
+
+		final MeterRegistry registry = new SimpleMeterRegistry();
+		classUnderTest.bindTo(registry);
+
+		assertThat(registry.get("cache.evictions").tag("cache", HintIdCache.HINTS_CACHE_NAME).functionCounter().count())
+			.isEqualTo(8);
+	}
+
+	@Test
+	@DisplayName("should publish hit and miss metrics for both caches")
+	void shouldPublishMetrics() {
+		final MeterRegistry registry = new SimpleMeterRegistry();
+		classUnderTest.bindTo(registry);
+
+		classUnderTest.get(1L, loader(Optional.of(HINT)));
+		classUnderTest.get(1L, loader(Optional.of(HINT)));
+		classUnderTest.get(2L, loader(Optional.empty()));
+		classUnderTest.get(2L, loader(Optional.empty()));
+
+		assertThat(cacheGets(registry, HintIdCache.HINTS_CACHE_NAME, "hit")).isEqualTo(1);
+		assertThat(cacheGets(registry, HintIdCache.HINTS_CACHE_NAME, "miss")).isEqualTo(2);
+		assertThat(cacheGets(registry, HintIdCache.MISSING_HINTS_CACHE_NAME, "hit")).isEqualTo(1);
+	}
+
+	private Function<Long, Optional<HintDto>> loader(Optional<HintDto> result) {
+		return id -> {
+			loads.incrementAndGet();
+			return result;
+		};
+	}
+
+	private static double cacheGets(MeterRegistry registry, String cacheName, String result) {
+		return registry.get("cache.gets").tag("cache", cacheName).tag("result", result).functionCounter().count();
+	}
+}
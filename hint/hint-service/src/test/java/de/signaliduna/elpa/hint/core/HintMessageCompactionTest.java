@@ -0,0 +1,79 @@
+package de.signaliduna.elpa.hint.core;
+
+import de.signaliduna.elpa.hint.adapter.database.HintMessageCompactionRepository;
+import de.signaliduna.elpa.hint.adapter.database.HintMessageCompactionRepository.StoredMessage;
+import de.signaliduna.elpa.hint.model.HintMessage;
+import de.signaliduna.elpa.hint.model.HintMessageTemplates;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HintMessageCompaction Test")
+class HintMessageCompactionTest {
+	private static final int CHUNK_SIZE = 3;
+	private static final LocalDateTime CREATION_DATE = LocalDateTime.of(2024, 5, 20, 12, 0);
+
+	@Mock
+	private HintMessageCompactionRepository hintMessageCompactionRepository;
+
+	private HintMessageCompaction classUnderTest;
+
+	@BeforeEach
+	void setUp() {
+		classUnderTest = new HintMessageCompaction(hintMessageCompactionRepository, CHUNK_SIZE);
+	}
+
+	@Test
+	@DisplayName("should store the matching messages of the next chunk as template and move the position")
+	void shouldCompactChunk() {
+		final StoredMessage template = new StoredMessage(11, CREATION_DATE, HintMessage.VNR_DIFFERENT.format("1", "2"));
+		final StoredMessage freeText = new StoredMessage(12, CREATION_DATE, "Freitext");
+		when(hintMessageCompactionRepository.tryLockCompaction()).thenReturn(true);
+		when(hintMessageCompactionRepository.findLastCheckedId()).thenReturn(10L);
+		when(hintMessageCompactionRepository.findMessages(10, CHUNK_SIZE)).thenReturn(List.of(template, freeText));
+		when(hintMessageCompactionRepository.storeTemplates(any())).thenReturn(1);
+
+		assertThat(classUnderTest.compactChunk()).isEqualTo(2);
+
+		final var inOrder = inOrder(hintMessageCompactionRepository);
+		inOrder.verify(hintMessageCompactionRepository).storeTemplates(
+			Map.of(template, new HintMessageTemplates.Match(HintMessage.VNR_DIFFERENT, List.of("1", "2"))));
+		inOrder.verify(hintMessageCompactionRepository).setLastCheckedId(12);
+	}
+
+	@Test
+	@DisplayName("should do nothing once all messages are checked")
+	void shouldSkipWithoutMessagesToCheck() {
+		when(hintMessageCompactionRepository.tryLockCompaction()).thenReturn(true);
+		when(hintMessageCompactionRepository.findLastCheckedId()).thenReturn(12L);
+		when(hintMessageCompactionRepository.findMessages(12, CHUNK_SIZE)).thenReturn(List.of());
+
+		assertThat(classUnderTest.compactChunk()).isZero();
+
+		verify(hintMessageCompactionRepository, never()).storeTemplates(any());
+		verify(hintMessageCompactionRepository, never()).setLastCheckedId(anyLong());
+	}
+
+	@Test
+	@DisplayName("should skip the chunk while another instance holds the lock")
+	void shouldSkipWhenLocked() {
+		when(hintMessageCompactionRepository.tryLockCompaction()).thenReturn(false);
+
+		assertThat(classUnderTest.compactChunk()).isZero();
+
+		verify(hintMessageCompactionRepository, never()).findLastCheckedId();
+	}
+}
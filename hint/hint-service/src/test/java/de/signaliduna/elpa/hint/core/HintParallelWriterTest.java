@@ -0,0 +1,157 @@
+package de.signaliduna.elpa.hint.core;
+
+import de.signaliduna.elpa.hint.model.HintDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HintParallelWriter Test")
+class HintParallelWriterTest {
+	private static final int PARALLELISM = 4;
+	private static final int PROCESSES = 20;
+	private static final int MAXIMUM_POOL_SIZE = 6;
+
+	@Mock
+	private HintService hintService;
+
+	private HintParallelWriter classUnderTest;
+
+	@AfterEach
+	void tearDown() {
+		classUnderTest.close();
+	}
+
+	@Test
+	@DisplayName("should save the hints of every process in order while saving in parallel")
+	void shouldKeepOrderWithinProcess() {
+		classUnderTest = new HintParallelWriter(hintService, PARALLELISM, MAXIMUM_POOL_SIZE);
+		final Map<String, List<String>> savedMessages = new ConcurrentHashMap<>();
+		final AtomicInteger activeWorkers = new AtomicInteger();
+		final AtomicInteger maxActiveWorkers = new AtomicInteger();
+		doAnswer(invocation -> {
+			maxActiveWorkers.accumulateAndGet(activeWorkers.incrementAndGet(), Math::max);
+			List<HintDto> shard = invocation.getArgument(0);
+			for (HintDto hint : shard) {
+				Thread.sleep(ThreadLocalRandom.current().nextInt(2));
+				savedMessages.computeIfAbsent(hint.processId(), processId -> new ArrayList<>()).add(hint.message());
+			}
+			activeWorkers.decrementAndGet();
+			return null;
+		}).when(hintService).saveHints(anyList());
+
+		for (int batch = 0; batch < 10; batch++) {
+			classUnderTest.saveHints(createBatch(batch));
+		}
+
+		assertThat(savedMessages).hasSize(PROCESSES);
+		savedMessages.values().forEach(messages -> assertThat(messages)
+			.hasSize(10 * 10)
+			.isSortedAccordingTo((first, second) -> Integer.compare(sequence(first), sequence(second))));
+		assertThat(maxActiveWorkers).hasValueGreaterThan(1);
+	}
+
+	@Test
+	@DisplayName("should throw the hints of the failed shards after all shards are done")
+	void shouldThrowFailedShards() {
+		classUnderTest = new HintParallelWriter(hintService, PARALLELISM, MAXIMUM_POOL_SIZE);
+		final List<HintDto> savedHints = Collections.synchronizedList(new ArrayList<>());
+		final IllegalStateException firstFailure = new IllegalStateException("database down");
+		final IllegalStateException secondFailure = new IllegalStateException("database still down");
+		final List<HintDto> batch = createBatch(0);
+		final int failedShard = shard(batch.getFirst());
+		final int secondFailedShard = shard(batch.get(1));
+		doAnswer(invocation -> {
+			List<HintDto> shard = invocation.getArgument(0);
+			if (shard(shard.getFirst()) == failedShard) {
+				throw firstFailure;
+			}
+			if (shard(shard.getFirst()) == secondFailedShard) {
+				throw secondFailure;
+			}
+			Thread.sleep(10);
+			savedHints.addAll(shard);
+			return null;
+		}).when(hintService).saveHints(anyList());
+
+		assertThatThrownBy(() -> classUnderTest.saveHints(batch))
+			.isInstanceOfSatisfying(HintShardSaveException.class, exception -> {
+				assertThat(exception.getCause()).isSameAs(firstFailure);
+				assertThat(exception.getSuppressed()).containsExactly(secondFailure);
+				assertThat(exception.getFailedHints())
+					.containsExactlyInAnyOrderElementsOf(batch.stream().filter(hint -> !savedHints.contains(hint)).toList())
+					.allMatch(hint -> shard(hint) == failedShard || shard(hint) == secondFailedShard);
+			});
+		assertThat(savedHints).isNotEmpty();
+	}
+
+	@Test
+	@DisplayName("should rethrow an error of a shard instead of retrying its hints")
+	void shouldRethrowError() {
+		classUnderTest = new HintParallelWriter(hintService, PARALLELISM, MAXIMUM_POOL_SIZE);
+		final OutOfMemoryError error = new OutOfMemoryError("heap");
+		doThrow(error).when(hintService).saveHints(anyList());
+
+		assertThatThrownBy(() -> classUnderTest.saveHints(createBatch(0)))
+			.isInstanceOf(CompletionException.class)
+			.hasCause(error);
+	}
+
+	@Test
+	@DisplayName("should reject a parallelism that leaves too few pool connections")
+	void shouldRejectParallelismBeyondPool() {
+		assertThatThrownBy(() -> new HintParallelWriter(hintService, 3, 4))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Parallelism 3 leaves less than 2 of 4 pool connections for reads");
+		classUnderTest = new HintParallelWriter(hintService, 2, 4);
+	}
+
+	@Test
+	@DisplayName("should save the whole batch in the calling thread without parallelism")
+	void shouldSaveBatchWithoutParallelism() {
+		classUnderTest = new HintParallelWriter(hintService, 1, MAXIMUM_POOL_SIZE);
+		final List<HintDto> batch = createBatch(0);
+
+		classUnderTest.saveHints(batch);
+
+		verify(hintService).saveHints(batch);
+	}
+
+	/**
+	 * Ten hints per process, interleaved across the processes like records of different keys in one partition.
+	 */
+	private static List<HintDto> createBatch(int batch) {
+		return IntStream.range(0, 10).boxed()
+			.flatMap(index -> IntStream.range(0, PROCESSES).mapToObj(process -> new HintDto("HintParallelWriterTest",
+				String.valueOf(batch * 10 + index), HintDto.Category.INFO, true, "process-" + process,
+				LocalDateTime.of(2024, 1, 1, 12, 0), "1", "resourceId")))
+			.toList();
+	}
+
+	private static int shard(HintDto hint) {
+		return Math.floorMod(hint.processId().hashCode(), PARALLELISM);
+	}
+
+	private static int sequence(String message) {
+		return Integer.parseInt(message);
+	}
+}
@@ -0,0 +1,168 @@
+package de.signaliduna.elpa.hint.core;
+
+import de.signaliduna.elpa.hint.adapter.database.HintPartitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HintPartitionMaintenance Test")
+class HintPartitionMaintenanceTest {
+	private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-18T10:00:00Z"), ZoneId.of("Europe/Berlin"));
+	private static final int LEGACY_CHUNK_SIZE = 2;
+
+	@Mock
+	private HintPartitionRepository hintPartitionRepository;
+
+	private HintPartitionMaintenance classUnderTest;
+
+	@BeforeEach
+	void setUp() {
+		classUnderTest = new HintPartitionMaintenance(hintPartitionRepository, TransactionOperations.withoutTransaction(),
+			2, 12, LEGACY_CHUNK_SIZE, CLOCK);
+	}
+
+	@Test
+	@DisplayName("should create the missing partitions up to the months ahead")
+	void shouldCreateMissingPartitions() {
+		when(hintPartitionRepository.tryLockMaintenance()).thenReturn(true);
+		when(hintPartitionRepository.findPartitionMonths()).thenReturn(List.of(YearMonth.of(2026, 10)));
+
+		classUnderTest.maintainPartitions();
+
+		verify(hintPartitionRepository).createPartition(YearMonth.of(2026, 11));
+		verify(hintPartitionRepository).createPartition(YearMonth.of(2026, 12));
+		verify(hintPartitionRepository, never()).createPartition(YearMonth.of(2026, 10));
+		verify(hintPartitionRepository, never()).detachPartition(any());
+		verify(hintPartitionRepository).deleteDefaultPartitionHintsBefore(YearMonth.of(2025, 10));
+	}
+
+	@Test
+	@DisplayName("should create the retained partitions of hints in the default partition")
+	void shouldCreatePartitionsOfDefaultPartitionHints() {
+		when(hintPartitionRepository.tryLockMaintenance()).thenReturn(true);
+		when(hintPartitionRepository.findPartitionMonths()).thenReturn(List.of(
+			YearMonth.of(2026, 10), YearMonth.of(2026, 11), YearMonth.of(2026, 12)));
+		when(hintPartitionRepository.findDefaultPartitionMonths()).thenReturn(List.of(
+			YearMonth.of(2025, 9), YearMonth.of(2026, 3), YearMonth.of(2027, 1)));
+
+		classUnderTest.maintainPartitions();
+
+		verify(hintPartitionRepository).createPartition(YearMonth.of(2026, 3));
+		verify(hintPartitionRepository, never()).createPartition(YearMonth.of(2025, 9));
+		verify(hintPartitionRepository, never()).createPartition(YearMonth.of(2027, 1));
+	}
+
+	@Test
+	@DisplayName("should detach and drop the partitions older than the retention")
+	void shouldDropExpiredPartitions() {
+		when(hintPartitionRepository.tryLockMaintenance()).thenReturn(true);
+		when(hintPartitionRepository.findPartitionMonths()).thenReturn(List.of(
+			YearMonth.of(2025, 9), YearMonth.of(2025, 10), YearMonth.of(2026, 10), YearMonth.of(2026, 11), YearMonth.of(2026, 12)));
+		when(hintPartitionRepository.findDetachedPartitionMonths()).thenReturn(List.of(
+			YearMonth.of(2025, 8), YearMonth.of(2025, 9), YearMonth.of(2025, 10)));
+
+		classUnderTest.maintainPartitions();
+
+		InOrder inOrder = inOrder(hintPartitionRepository);
+		inOrder.verify(hintPartitionRepository).detachPartition(YearMonth.of(2025, 9));
+		inOrder.verify(hintPartitionRepository).dropDetachedPartition(YearMonth.of(2025, 8));
+		inOrder.verify(hintPartitionRepository).dropDetachedPartition(YearMonth.of(2025, 9));
+		verify(hintPartitionRepository, never()).detachPartition(YearMonth.of(2025, 10));
+		verify(hintPartitionRepository, never()).dropDetachedPartition(YearMonth.of(2025, 10));
+		verify(hintPartitionRepository, never()).createPartition(any());
+	}
+
+	@Test
+	@DisplayName("should go on with the next partition when one fails")
+	void shouldContinueAfterFailedPartition() {
+		when(hintPartitionRepository.tryLockMaintenance()).thenReturn(true);
+		when(hintPartitionRepository.findPartitionMonths()).thenReturn(List.of(YearMonth.of(2025, 8), YearMonth.of(2025, 9)));
+		doThrow(new IllegalStateException("updated partition constraint for default partition would be violated"))
+			.when(hintPartitionRepository).createPartition(YearMonth.of(2026, 10));
+		doThrow(new IllegalStateException("lock timeout"))
+			.when(hintPartitionRepository).detachPartition(YearMonth.of(2025, 8));
+
+		classUnderTest.maintainPartitions();
+
+		verify(hintPartitionRepository).createPartition(YearMonth.of(2026, 11));
+		verify(hintPartitionRepository).createPartition(YearMonth.of(2026, 12));
+		verify(hintPartitionRepository).detachPartition(YearMonth.of(2025, 9));
+		verify(hintPartitionRepository).deleteDefaultPartitionHintsBefore(YearMonth.of(2025, 10));
+	}
+
+	@Test
+	@DisplayName("should create no partitions for the months of the legacy partition")
+	void shouldNotCreatePartitionsOfLegacyMonths() {
+		when(hintPartitionRepository.tryLockMaintenance()).thenReturn(true);
+		when(hintPartitionRepository.findLegacyPartitionEnd()).thenReturn(Optional.of(YearMonth.of(2026, 12)));
+
+		classUnderTest.maintainPartitions();
+
+		verify(hintPartitionRepository).createPartition(YearMonth.of(2026, 12));
+		verify(hintPartitionRepository, never()).createPartition(YearMonth.of(2026, 10));
+		verify(hintPartitionRepository, never()).createPartition(YearMonth.of(2026, 11));
+	}
+
+	@Test
+	@DisplayName("should delete the expired hints of the legacy partition chunk by chunk")
+	void shouldDeleteExpiredLegacyPartitionHints() {
+		when(hintPartitionRepository.tryLockMaintenance()).thenReturn(true);
+		when(hintPartitionRepository.findLegacyPartitionEnd()).thenReturn(Optional.of(YearMonth.of(2026, 12)));
+		when(hintPartitionRepository.deleteLegacyPartitionHintsBefore(YearMonth.of(2025, 10), LEGACY_CHUNK_SIZE))
+			.thenReturn(LEGACY_CHUNK_SIZE, LEGACY_CHUNK_SIZE, 1);
+
+		classUnderTest.maintainPartitions();
+
+		verify(hintPartitionRepository, times(3)).deleteLegacyPartitionHintsBefore(YearMonth.of(2025, 10), LEGACY_CHUNK_SIZE);
+		verify(hintPartitionRepository, never()).detachLegacyPartition();
+		verify(hintPartitionRepository, never()).dropDetachedLegacyPartition();
+	}
+
+	@Test
+	@DisplayName("should detach and drop the legacy partition once all its hints are expired")
+	void shouldDropExpiredLegacyPartition() {
+		when(hintPartitionRepository.tryLockMaintenance()).thenReturn(true);
+		when(hintPartitionRepository.findLegacyPartitionEnd()).thenReturn(Optional.of(YearMonth.of(2025, 10)));
+
+		classUnderTest.maintainPartitions();
+
+		InOrder inOrder = inOrder(hintPartitionRepository);
+		inOrder.verify(hintPartitionRepository).detachLegacyPartition();
+		inOrder.verify(hintPartitionRepository).dropDetachedLegacyPartition();
+		verify(hintPartitionRepository, never()).deleteLegacyPartitionHintsBefore(any(), anyInt());
+	}
+
+	@Test
+	@DisplayName("should skip the maintenance while another instance holds the lock")
+	void shouldSkipWithoutLock() {
+		when(hintPartitionRepository.tryLockMaintenance()).thenReturn(false);
+		when(hintPartitionRepository.findPartitionMonths()).thenReturn(List.of(YearMonth.of(2025, 9)));
+		when(hintPartitionRepository.findDetachedPartitionMonths()).thenReturn(List.of(YearMonth.of(2025, 8)));
+		when(hintPartitionRepository.findLegacyPartitionEnd()).thenReturn(Optional.of(YearMonth.of(2026, 12)));
+
+		classUnderTest.maintainPartitions();
+
+		verify(hintPartitionRepository, never()).createPartition(any());
+		verify(hintPartitionRepository, never()).detachPartition(any());
+		verify(hintPartitionRepository, never()).dropDetachedPartition(any());
+		verify(hintPartitionRepository, never()).deleteDefaultPartitionHintsBefore(any());
+		verify(hintPartitionRepository, never()).deleteLegacyPartitionHintsBefore(any(), anyInt());
+	}
+}
@@ -0,0 +1,115 @@
+package de.signaliduna.elpa.hint.core;
+
+import de.signaliduna.elpa.hint.model.HintDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HintProcessQueryCache Test")
+class HintProcessQueryCacheTest {
+	private static final HintPageRequest FIRST_PAGE = HintPageRequest.firstPage(10);
+	private static final HintPage PAGE = new HintPage(List.of(new HintDto("HintProcessQueryCacheTest", "cached",
+		HintDto.Category.INFO, true, "processId", LocalDateTime.of(2024, 1, 1, 12, 0), "1", "resourceId")), null);
+
+	private final AtomicInteger reads = new AtomicInteger();
+	private final HintProcessQueryCache classUnderTest = new HintProcessQueryCache(10, Duration.ofMinutes(10));
+
+	@Test
+	@DisplayName("should read a page only once")
+	void shouldCachePage() {
+		assertThat(classUnderTest.get("P1", null, FIRST_PAGE, reader())).isSameAs(PAGE);
+		assertThat(classUnderTest.get("P1", null, FIRST_PAGE, reader())).isSameAs(PAGE);
+
+		assertThat(reads).hasValue(1);
+	}
+
+	@Test
+	@DisplayName("should cache the pages of a process per query")
+	void shouldCachePerQuery() {
+		classUnderTest.get("P1", null, FIRST_PAGE, reader());
+		classUnderTest.get("P1", "Source", FIRST_PAGE, reader());
+		classUnderTest.get("P1", null, new HintPageRequest(5, 10), reader());
+		classUnderTest.get("P2", null, FIRST_PAGE, reader());
+
+		assertThat(reads).hasValue(4);
+	}
+
+	@Test
+	@DisplayName("should read the pages of an invalidated process again")
+	void shouldInvalidateProcess() {
+		classUnderTest.get("P1", null, FIRST_PAGE, reader());
+		classUnderTest.get("P2", null, FIRST_PAGE, reader());
+
+		classUnderTest.invalidate("P1");
+		classUnderTest.get("P1", null, FIRST_PAGE, reader());
+		classUnderTest.get("P2", null, FIRST_PAGE, reader());
+
+		assertThat(reads).hasValue(3);
+
+		classUnderTest.invalidateAll();
+		classUnderTest.get("P2", null, FIRST_PAGE, reader());
+
+		assertThat(reads).hasValue(4);
+	}
+
+	@Test
+	@DisplayName("should not serve a page read while the process was invalidated")
+	void shouldDropPageReadDuringInvalidation() {
+		classUnderTest.get("P1", null, FIRST_PAGE, () -> {
+			classUnderTest.invalidate("P1");
+			return reader().get();
+		});
+		classUnderTest.get("P1", null, FIRST_PAGE, reader());
+
+		assertThat(reads).hasValue(2);
+	}
+
+	@Test
+	@DisplayName("should evict processes beyond the maximum number of cached hints")
+	void shouldEvictByCachedHints() {
+		final HintProcessQueryCache cache = new HintProcessQueryCache(3, Duration.ofMinutes(10));
+		final MeterRegistry registry = new SimpleMeterRegistry();
+		cache.bindTo(registry);
+
+		// every page of one hint weighs two
+		cache.get("P1", null, FIRST_PAGE, reader());
+		cache.cleanUp();
+		assertThat(evictions(registry)).isZero();
+
+		cache.get("P1", "Source", FIRST_PAGE, reader());
+		cache.cleanUp();
+		assertThat(evictions(registry)).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("should publish the cache metrics")
+	void shouldPublishMetrics() {
+		final MeterRegistry registry = new SimpleMeterRegistry();
+		classUnderTest.bindTo(registry);
+
+		classUnderTest.get("P1", null, FIRST_PAGE, reader());
+
+		assertThat(registry.get("cache.gets").tag("cache", HintProcessQueryCache.CACHE_NAME).tag("result", "miss")
+			.functionCounter().count()).isEqualTo(1);
+	}
+
+	private static double evictions(MeterRegistry registry) {
+		return registry.get("cache.evictions").tag("cache", HintProcessQueryCache.CACHE_NAME).functionCounter().count();
+	}
+
+	private Supplier<HintPage> reader() {
+		return () -> {
+			reads.incrementAndGet();
+			return PAGE;
+		};
+	}
+}
@@ -1,11 +1,16 @@
 package de.signaliduna.elpa.hint.core;
 
+import de.signaliduna.elpa.hint.adapter.database.HintConsumerOffsetRepository;
+import de.signaliduna.elpa.hint.adapter.database.HintRanking;
 import de.signaliduna.elpa.hint.adapter.database.HintRepository;
+import de.signaliduna.elpa.hint.adapter.database.HintSourceDictionary;
 import de.signaliduna.elpa.hint.adapter.database.HintSpecifications;
 import de.signaliduna.elpa.hint.adapter.database.model.HintEntity;
+import de.signaliduna.elpa.hint.adapter.database.model.HintRow;
 import de.signaliduna.elpa.hint.adapter.mapper.HintMapper;
 import de.signaliduna.elpa.hint.model.HintDto;
 import de.signaliduna.elpa.hint.model.HintParams;
+import de.signaliduna.elpa.hint.model.HintSummary;
 import de.signaliduna.elpa.hint.util.HintTestDataGenerator;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -17,14 +22,21 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mapstruct.factory.Mappers;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -35,6 +47,12 @@ class HintServiceTest {
 	@Mock
 	private HintRepository hintRepository;
 
+	@Mock
+	private HintConsumerOffsetRepository hintConsumerOffsetRepository;
+
+	@Mock
+	private HintSourceDictionary hintSourceDictionary;
+
 	@Spy
 	private HintMapper hintMapper = Mappers.getMapper(HintMapper.class);
 
@@ -47,6 +65,8 @@ class HintServiceTest {
 	@Nested
 	@DisplayName("test getHints")
 	class GetHints {
+		private static final int PAGE_SIZE = 2;
+		private static final HintPageRequest PAGE_REQUEST = new HintPageRequest(10L, PAGE_SIZE);
 
 		private static Stream<Arguments> provideArgs4FirstCondition() {
 			return Stream.of(
@@ -75,28 +95,29 @@ class HintServiceTest {
 			if (isConditionTrue) {
 				// Given - Test the successful path
 				String processId = (String) queryParams.get(HintParams.PROCESS_ID);
-				List<HintEntity> expectedEntities = List.of(HintTestDataGenerator.createInfoHintEntity());
-				when(hintRepository.findAllByProcessId(processId)).thenReturn(expectedEntities);
+				List<HintRow> expectedRows = createRowsWithIds(11L);
+				when(hintRepository.findRowsByProcessId(processId, 10L, Limit.of(PAGE_SIZE + 1)))
+					.thenReturn(expectedRows);
 
 				// When
-				List<HintDto> result = hintService.getHints(queryParams);
+				HintPage result = hintService.getHints(queryParams, PAGE_REQUEST);
 
 				// Then
-				assertThat(result).hasSize(expectedEntities.size());
-				verify(hintRepository).findAllByProcessId(processId);
-				verify(hintRepository, never()).findAll(mockSpec);
+				assertThat(result.hints()).hasSize(expectedRows.size());
+				verify(hintRepository).findRowsByProcessId(processId, 10L, Limit.of(PAGE_SIZE + 1));
+				verify(hintRepository, never()).findRows(any(), anyInt());
 
 			} else {
 				try (MockedStatic<HintSpecifications> mockedStatic = mockStatic(HintSpecifications.class)) {
-					mockedStatic.when(() -> HintSpecifications.fromQuery(queryParams)).thenReturn(mockSpec);
-					when(hintRepository.findAll(mockSpec)).thenReturn(Collections.emptyList());
+					mockedStatic.when(() -> HintSpecifications.fromQuery(queryParams, 10L, hintSourceDictionary)).thenReturn(mockSpec);
+					when(hintRepository.findRows(mockSpec, PAGE_SIZE + 1)).thenReturn(Collections.emptyList());
 
 					// When
-					hintService.getHints(queryParams);
+					hintService.getHints(queryParams, PAGE_REQUEST);
 
-					// Then - Verify the logic fell through and did NOT use the findAllByProcessId method
-					verify(hintRepository, never()).findAllByProcessId(anyString());
-					verify(hintRepository).findAll(mockSpec); // Confirms it fell through to the end
+					// Then - Verify the logic fell through and did NOT use the findByProcessId method
+					verify(hintRepository, never()).findRowsByProcessId(anyString(), anyLong(), any());
+					verify(hintRepository).findRows(mockSpec, PAGE_SIZE + 1); // Confirms it fell through to the end
 				}
 			}
 		}
@@ -133,32 +154,52 @@ class HintServiceTest {
 				// Given - Test the successful path
 				String processId = (String) queryParams.get(HintParams.PROCESS_ID);
 				String prefix = (String) queryParams.get(HintParams.HINT_SOURCE_PREFIX);
-				List<HintEntity> expectedEntities = List.of(HintTestDataGenerator.createInfoHintEntity());
-				when(hintRepository.findAllByProcessIdAndHintSourceStartingWith(processId, prefix)).thenReturn(expectedEntities);
+				List<HintRow> expectedRows = createRowsWithIds(11L);
+				when(hintSourceDictionary.findNames(prefix)).thenReturn(List.of("PASYNC-Validations"));
+				when(hintRepository.findRowsByProcessIdAndHintSources(
+					processId, List.of("PASYNC-Validations"), 10L, Limit.of(PAGE_SIZE + 1))).thenReturn(expectedRows);
 
 				// When
-				List<HintDto> result = hintService.getHints(queryParams);
+				HintPage result = hintService.getHints(queryParams, PAGE_REQUEST);
 
 				// Then
-				assertThat(result).hasSize(expectedEntities.size());
-				verify(hintRepository).findAllByProcessIdAndHintSourceStartingWith(processId, prefix);
-				verify(hintRepository, never()).findAll(mockSpec);
+				assertThat(result.hints()).hasSize(expectedRows.size());
+				verify(hintRepository).findRowsByProcessIdAndHintSources(
+					processId, List.of("PASYNC-Validations"), 10L, Limit.of(PAGE_SIZE + 1));
+				verify(hintRepository, never()).findRows(any(), anyInt());
 
 			} else {
 				try (MockedStatic<HintSpecifications> mockedStatic = mockStatic(HintSpecifications.class)) {
-					mockedStatic.when(() -> HintSpecifications.fromQuery(queryParams)).thenReturn(mockSpec);
-					when(hintRepository.findAll(mockSpec)).thenReturn(Collections.emptyList());
+					mockedStatic.when(() -> HintSpecifications.fromQuery(queryParams, 10L, hintSourceDictionary)).thenReturn(mockSpec);
+					when(hintRepository.findRows(mockSpec, PAGE_SIZE + 1)).thenReturn(Collections.emptyList());
 
 					// When
-					hintService.getHints(queryParams);
+					hintService.getHints(queryParams, PAGE_REQUEST);
 
 					// Then
-					verify(hintRepository, never()).findAllByProcessIdAndHintSourceStartingWith(anyString(), anyString());
-					verify(hintRepository).findAll(mockSpec);
+					verify(hintRepository, never()).findRowsByProcessIdAndHintSources(
+						anyString(), any(), anyLong(), any());
+					verify(hintRepository).findRows(mockSpec, PAGE_SIZE + 1);
 				}
 			}
 		}
 
+		@Test
+		@DisplayName("returns an empty page without query if no hint source has the prefix")
+		void shouldReturnEmptyPageForUnknownHintSourcePrefix() {
+			// Given
+			Map<HintParams, Object> queryParams = Map.of(HintParams.PROCESS_ID, "E123", HintParams.HINT_SOURCE_PREFIX, "UNKNOWN");
+			when(hintSourceDictionary.findNames("UNKNOWN")).thenReturn(List.of());
+
+			// When
+			HintPage result = hintService.getHints(queryParams, PAGE_REQUEST);
+
+			// Then
+			assertThat(result.hints()).isEmpty();
+			assertThat(result.nextAfterId()).isNull();
+			verifyNoInteractions(hintRepository);
+		}
+
 		@Test
 		@DisplayName("if queryParams contains any combinations (Specification Path)")
 		void shouldUseSpecificationForOtherCombinations() {
@@ -167,23 +208,132 @@ class HintServiceTest {
 				HintParams.PROCESS_ID, "E123",
 				HintParams.HINT_CATEGORY, HintDto.Category.ERROR
 			);
-			List<HintEntity> expectedEntities = List.of(HintTestDataGenerator.createErrorHintEntity());
+			List<HintRow> expectedRows = createRowsWithIds(11L);
 
 			try (MockedStatic<HintSpecifications> mockedStatic = mockStatic(HintSpecifications.class)) {
-				mockedStatic.when(() -> HintSpecifications.fromQuery(queryParams)).thenReturn(mockSpec);
-				when(hintRepository.findAll(mockSpec)).thenReturn(expectedEntities);
+				mockedStatic.when(() -> HintSpecifications.fromQuery(queryParams, 10L, hintSourceDictionary)).thenReturn(mockSpec);
+				when(hintRepository.findRows(mockSpec, PAGE_SIZE + 1)).thenReturn(expectedRows);
 
 				// When
-				List<HintDto> result = hintService.getHints(queryParams);
+				HintPage result = hintService.getHints(queryParams, PAGE_REQUEST);
 
 				// Then
-				assertThat(result).hasSize(expectedEntities.size());
-				verify(hintRepository).findAll(mockSpec);
-				verify(hintRepository, never()).findAllByProcessId(anyString());
-				verify(hintRepository, never()).findAllByProcessIdAndHintSourceStartingWith(anyString(), anyString());
+				assertThat(result.hints()).hasSize(expectedRows.size());
+				verify(hintRepository).findRows(mockSpec, PAGE_SIZE + 1);
+				verify(hintRepository, never()).findRowsByProcessId(anyString(), anyLong(), any());
+				verify(hintRepository, never()).findRowsByProcessIdAndHintSources(
+					anyString(), any(), anyLong(), any());
 			}
 		}
 
+		@Test
+		@DisplayName("returns the last page without next id")
+		void shouldReturnLastPageWithoutNextId() {
+			// Given
+			List<HintRow> expectedRows = createRowsWithIds(11L, 12L);
+			when(hintRepository.findRowsByProcessId("E123", 10L, Limit.of(PAGE_SIZE + 1)))
+				.thenReturn(expectedRows);
+
+			// When
+			HintPage result = hintService.getHints(Map.of(HintParams.PROCESS_ID, "E123"), PAGE_REQUEST);
+
+			// Then
+			assertThat(result.hints()).hasSize(PAGE_SIZE);
+			assertThat(result.hasNext()).isFalse();
+			assertThat(result.nextAfterId()).isNull();
+		}
+
+		@Test
+		@DisplayName("drops the look-ahead row and returns the id of the last hint of the page")
+		void shouldReturnNextIdIfMoreHintsExist() {
+			// Given
+			List<HintRow> expectedRows = createRowsWithIds(11L, 12L, 13L);
+			when(hintRepository.findRowsByProcessId("E123", 10L, Limit.of(PAGE_SIZE + 1)))
+				.thenReturn(expectedRows);
+
+			// When
+			HintPage result = hintService.getHints(Map.of(HintParams.PROCESS_ID, "E123"), PAGE_REQUEST);
+
+			// Then
+			assertThat(result.hints()).hasSize(PAGE_SIZE)
+				.containsExactly(expectedRows.get(0).hint(), expectedRows.get(1).hint());
+			assertThat(result.hasNext()).isTrue();
+			assertThat(result.nextAfterId()).isEqualTo(12L);
+		}
+
+		private static List<HintRow> createRowsWithIds(Long... ids) {
+			return Stream.of(ids).map(id -> new HintRow(id, HintTestDataGenerator.createInfoHintDto())).toList();
+		}
+	}
+
+	@Nested
+	@DisplayName("test searchHints")
+	class SearchHints {
+		@Test
+		@DisplayName("returns the ranked rows of the message search in their order")
+		void shouldReturnRankedHints() {
+			// Given
+			Map<HintParams, Object> queryParams = Map.of(HintParams.HINT_TEXT_SEARCH, "PLZ abweichend");
+			HintRanking ranking = (root, criteriaBuilder) -> criteriaBuilder.literal(1);
+			List<HintRow> rows = List.of(
+				new HintRow(2L, HintTestDataGenerator.createBlockerHintDto()), new HintRow(1L, HintTestDataGenerator.createInfoHintDto()));
+
+			try (MockedStatic<HintSpecifications> mockedStatic = mockStatic(HintSpecifications.class)) {
+				mockedStatic.when(() -> HintSpecifications.fromQuery(queryParams, hintSourceDictionary)).thenReturn(mockSpec);
+				mockedStatic.when(() -> HintSpecifications.ranking(queryParams)).thenReturn(ranking);
+				when(hintRepository.findRankedRows(mockSpec, ranking, 10)).thenReturn(rows);
+
+				// When
+				List<HintDto> result = hintService.searchHints(queryParams, 10);
+
+				// Then
+				assertThat(result).containsExactly(rows.get(0).hint(), rows.get(1).hint());
+			}
+		}
+	}
+
+	@Nested
+	@DisplayName("test summarizeHints")
+	class SummarizeHints {
+		@Test
+		@DisplayName("returns the counts of the repository for the specification of the query")
+		void shouldReturnCounts() {
+			// Given
+			Map<HintParams, Object> queryParams = Map.of(HintParams.PROCESS_ID, "E123");
+			List<HintSummary> counts = List.of(new HintSummary("Source-1", HintDto.Category.INFO, 2));
+
+			try (MockedStatic<HintSpecifications> mockedStatic = mockStatic(HintSpecifications.class)) {
+				mockedStatic.when(() -> HintSpecifications.fromQuery(queryParams, hintSourceDictionary)).thenReturn(mockSpec);
+				when(hintRepository.countByCategory(mockSpec, true)).thenReturn(counts);
+
+				// When / Then
+				assertThat(hintService.summarizeHints(queryParams, true)).isEqualTo(counts);
+			}
+		}
+	}
+
+	@Nested
+	@DisplayName("test streamHints")
+	class StreamHints {
+		@Test
+		@DisplayName("hands every hint to the consumer and closes the stream")
+		void shouldStreamHintsToConsumer() {
+			// Given
+			Map<HintParams, Object> queryParams = Map.of(HintParams.PROCESS_ID, "E123");
+			List<HintRow> rows = List.of(
+				new HintRow(1L, HintTestDataGenerator.createInfoHintDto()), new HintRow(2L, HintTestDataGenerator.createBlockerHintDto()));
+			AtomicBoolean closed = new AtomicBoolean();
+			when(hintRepository.streamRows(any())).thenReturn(rows.stream().onClose(() -> closed.set(true)));
+			List<HintDto> streamedHints = new ArrayList<>();
+
+			// When
+			long result = hintService.streamHints(queryParams, streamedHints::add);
+
+			// Then
+			assertThat(result).isEqualTo(2);
+			assertThat(streamedHints).containsExactly(rows.get(0).hint(), rows.get(1).hint());
+			assertThat(closed).isTrue();
+		}
 	}
 
 	@Nested
@@ -191,21 +341,125 @@ class HintServiceTest {
 	class SaveHints {
 		@Test
 		@DisplayName("successfully")
-		void shouldMapDtosToEntitiesAndSave() {
+		void shouldInsertHints() {
 			// Given
 			List<HintDto> dtosToSave = List.of(HintTestDataGenerator.createInfoHintDto(), HintTestDataGenerator.createBlockerHintDto());
-			@SuppressWarnings("unchecked")
-			ArgumentCaptor<List<HintEntity>> argumentCaptor = ArgumentCaptor.forClass(List.class);
 
 			// When
 			hintService.saveHints(dtosToSave);
 
 			// Then
-			verify(hintRepository).saveAll(argumentCaptor.capture());
-			List<HintEntity> savedEntities = argumentCaptor.getValue();
-			assertThat(savedEntities).hasSize(2);
-			assertThat(savedEntities.get(0).getMessage()).isEqualTo(dtosToSave.get(0).message());
-			assertThat(savedEntities.get(1).getHintCategory()).isEqualTo(dtosToSave.get(1).hintCategory());
+			verify(hintRepository).insertHints(dtosToSave);
+		}
+
+		@Test
+		@DisplayName("together with the consumer offsets")
+		void shouldSaveHintsWithOffsets() {
+			// Given
+			List<HintDto> dtosToSave = List.of(HintTestDataGenerator.createInfoHintDto());
+			List<HintConsumerOffset> offsets = List.of(new HintConsumerOffset("group", "topic", 0, 42));
+
+			// When
+			hintService.saveHints(dtosToSave, offsets);
+
+			// Then
+			verify(hintRepository).insertHints(dtosToSave);
+			verify(hintConsumerOffsetRepository).saveOffsets(offsets);
+		}
+
+		@Test
+		@DisplayName("returns the stored consumer offsets")
+		void shouldReturnOffsets() {
+			// Given
+			when(hintConsumerOffsetRepository.findOffsets("group", "topic", List.of(0, 1))).thenReturn(Map.of(0, 42L));
+
+			// When
+			Map<Integer, Long> offsets = hintService.getOffsets("group", "topic", List.of(0, 1));
+
+			// Then
+			assertThat(offsets).containsExactly(Map.entry(0, 42L));
+		}
+	}
+
+	@Nested
+	@DisplayName("test process query cache")
+	class ProcessQueryCache {
+		private final HintProcessQueryCache hintProcessQueryCache = new HintProcessQueryCache(10, java.time.Duration.ofMinutes(10));
+
+		@Test
+		@DisplayName("reads the pages of process scoped queries once until the process is saved to")
+		void shouldCacheProcessPagesUntilSaved() {
+			// Given
+			HintService cachingHintService = new HintService(hintRepository, hintMapper, hintSourceDictionary, null, hintProcessQueryCache, null);
+			HintDto hint = HintTestDataGenerator.createInfoHintDto();
+			Map<HintParams, Object> byProcess = Map.of(HintParams.PROCESS_ID, hint.processId());
+			Map<HintParams, Object> byProcessAndSource = Map.of(
+				HintParams.PROCESS_ID, hint.processId(), HintParams.HINT_SOURCE_PREFIX, "Source");
+			HintPageRequest pageRequest = HintPageRequest.firstPage(10);
+			when(hintRepository.findRowsByProcessId(eq(hint.processId()), anyLong(), any(Limit.class)))
+				.thenReturn(List.of(new HintRow(1L, hint)));
+			when(hintSourceDictionary.findNames("Source")).thenReturn(List.of("Source-1"));
+			when(hintRepository.findRowsByProcessIdAndHintSources(eq(hint.processId()), eq(List.of("Source-1")), anyLong(), any(Limit.class)))
+				.thenReturn(List.of());
+
+			// When
+			cachingHintService.getHints(byProcess, pageRequest);
+			cachingHintService.getHints(byProcessAndSource, pageRequest);
+			HintPage cachedPage = cachingHintService.getHints(byProcess, pageRequest);
+			cachingHintService.getHints(byProcessAndSource, pageRequest);
+			cachingHintService.saveHints(List.of(hint));
+			cachingHintService.getHints(byProcess, pageRequest);
+
+			// Then
+			assertThat(cachedPage.hints()).containsExactly(hint);
+			verify(hintRepository, times(2)).findRowsByProcessId(eq(hint.processId()), anyLong(), any(Limit.class));
+			verify(hintRepository, times(1))
+				.findRowsByProcessIdAndHintSources(eq(hint.processId()), eq(List.of("Source-1")), anyLong(), any(Limit.class));
+		}
+
+		@Test
+		@DisplayName("invalidates the pages of a process only after the surrounding transaction is committed")
+		void shouldInvalidateAfterCommit() {
+			// Given
+			HintService cachingHintService = new HintService(hintRepository, hintMapper, hintSourceDictionary, null, hintProcessQueryCache, hintConsumerOffsetRepository);
+			HintDto hint = HintTestDataGenerator.createInfoHintDto();
+			Map<HintParams, Object> byProcess = Map.of(HintParams.PROCESS_ID, hint.processId());
+			HintPageRequest pageRequest = HintPageRequest.firstPage(10);
+			when(hintRepository.findRowsByProcessId(eq(hint.processId()), anyLong(), any(Limit.class)))
+				.thenReturn(List.of(new HintRow(1L, hint)));
+			cachingHintService.getHints(byProcess, pageRequest);
+
+			// When
+			TransactionSynchronizationManager.initSynchronization();
+			try {
+				cachingHintService.saveHints(List.of(hint), List.of(new HintConsumerOffset("group", "topic", 0, 42)));
+				// a reader before the commit is still served the cached page
+				cachingHintService.getHints(byProcess, pageRequest);
+				verify(hintRepository, times(1)).findRowsByProcessId(eq(hint.processId()), anyLong(), any(Limit.class));
+				TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+			} finally {
+				TransactionSynchronizationManager.clearSynchronization();
+			}
+			cachingHintService.getHints(byProcess, pageRequest);
+
+			// Then
+			verify(hintRepository, times(2)).findRowsByProcessId(eq(hint.processId()), anyLong(), any(Limit.class));
+		}
+
+		@Test
+		@DisplayName("does not cache other queries")
+		void shouldNotCacheOtherQueries() {
+			// Given
+			HintService cachingHintService = new HintService(hintRepository, hintMapper, hintSourceDictionary, null, hintProcessQueryCache, null);
+			Map<HintParams, Object> byProcessAndCategory = Map.of(HintParams.PROCESS_ID, "E123", HintParams.HINT_CATEGORY, "INFO");
+			when(hintRepository.findRows(any(), anyInt())).thenReturn(List.of());
+
+			// When
+			cachingHintService.getHints(byProcessAndCategory, HintPageRequest.firstPage(10));
+			cachingHintService.getHints(byProcessAndCategory, HintPageRequest.firstPage(10));
+
+			// Then
+			verify(hintRepository, times(2)).findRows(any(), anyInt());
 		}
 	}
 
@@ -249,6 +503,26 @@ class HintServiceTest {
 			verify(hintRepository).findById(hintId);
 			verify(hintMapper, never()).entityToDto(any(HintEntity.class));
 		}
+
+		@Test
+		@DisplayName("reads a hint only once when the id cache is enabled")
+		void shouldReadHintOnceWithCache() {
+			// Given
+			Long hintId = 1L;
+			HintEntity hintEntity = HintTestDataGenerator.createInfoHintEntity();
+			hintEntity.setId(hintId);
+			HintService cachingHintService = new HintService(hintRepository, hintMapper, hintSourceDictionary,
+				new HintIdCache(10, java.time.Duration.ofMinutes(5), 10, java.time.Duration.ofSeconds(10)), null, null);
+			when(hintRepository.findById(hintId)).thenReturn(java.util.Optional.of(hintEntity));
+
+			// When
+			java.util.Optional<HintDto> first = cachingHintService.getHintById(hintId);
+			java.util.Optional<HintDto> second = cachingHintService.getHintById(hintId);
+
+			// Then
+			assertThat(second).isPresent().isEqualTo(first);
+			verify(hintRepository, times(1)).findById(hintId);
+		}
 	}
 }
 
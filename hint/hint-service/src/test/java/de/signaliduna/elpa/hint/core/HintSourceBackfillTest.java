@@ -0,0 +1,131 @@
+package de.signaliduna.elpa.hint.core;
+
+import de.signaliduna.elpa.hint.adapter.database.HintSourceBackfillRepository;
+import de.signaliduna.elpa.hint.adapter.database.HintSourceBackfillRepository.StoredSource;
+import de.signaliduna.elpa.hint.adapter.database.HintSourceDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HintSourceBackfill Test")
+class HintSourceBackfillTest {
+	private static final int CHUNK_SIZE = 3;
+	private static final Duration LOCK_TIMEOUT = Duration.ofSeconds(5);
+	private static final LocalDateTime CREATION_DATE = LocalDateTime.of(2024, 5, 20, 12, 0);
+
+	@Mock
+	private HintSourceBackfillRepository hintSourceBackfillRepository;
+	@Mock
+	private HintSourceDictionary hintSourceDictionary;
+
+	private HintSourceBackfill classUnderTest;
+
+	@BeforeEach
+	void setUp() {
+		classUnderTest = new HintSourceBackfill(hintSourceBackfillRepository, hintSourceDictionary,
+			TransactionOperations.withoutTransaction(), CHUNK_SIZE, LOCK_TIMEOUT);
+	}
+
+	@Test
+	@DisplayName("should store the source ids of the next chunk and move the position")
+	void shouldBackfillChunk() {
+		final StoredSource first = new StoredSource(11, CREATION_DATE, "SOURCE_A");
+		final StoredSource second = new StoredSource(12, CREATION_DATE, "SOURCE_B");
+		when(hintSourceBackfillRepository.tryLockBackfill()).thenReturn(true);
+		when(hintSourceBackfillRepository.findLastBackfilledId()).thenReturn(10L);
+		when(hintSourceBackfillRepository.findSources(10, CHUNK_SIZE)).thenReturn(List.of(first, second));
+		when(hintSourceDictionary.getOrCreateId("SOURCE_A")).thenReturn((short) 1);
+		when(hintSourceDictionary.getOrCreateId("SOURCE_B")).thenReturn((short) 2);
+
+		assertThat(classUnderTest.backfillChunk()).isEqualTo(2);
+
+		final Map<StoredSource, Short> sourceIds = new LinkedHashMap<>();
+		sourceIds.put(first, (short) 1);
+		sourceIds.put(second, (short) 2);
+		final InOrder inOrder = inOrder(hintSourceBackfillRepository);
+		inOrder.verify(hintSourceBackfillRepository).storeSourceIds(sourceIds);
+		inOrder.verify(hintSourceBackfillRepository).setLastBackfilledId(12);
+		verify(hintSourceBackfillRepository, never()).validateSourceIds();
+	}
+
+	@Test
+	@DisplayName("should complete the migration step by step once all hints have a source id")
+	void shouldCompleteMigration() {
+		when(hintSourceBackfillRepository.tryLockBackfill()).thenReturn(true);
+		when(hintSourceBackfillRepository.findLastBackfilledId()).thenReturn(12L);
+		when(hintSourceBackfillRepository.findSources(12, CHUNK_SIZE)).thenReturn(List.of());
+		when(hintSourceBackfillRepository.findPartitionNames()).thenReturn(List.of("hint_2026_09", "hint_default"));
+
+		assertThat(classUnderTest.backfillChunk()).isZero();
+
+		final InOrder inOrder = inOrder(hintSourceBackfillRepository);
+		inOrder.verify(hintSourceBackfillRepository).validateSourceIds();
+		inOrder.verify(hintSourceBackfillRepository).setSourceIdNotNull();
+		inOrder.verify(hintSourceBackfillRepository).addPartitionForeignKey("hint_2026_09");
+		inOrder.verify(hintSourceBackfillRepository).validatePartitionForeignKey("hint_2026_09");
+		inOrder.verify(hintSourceBackfillRepository).addPartitionForeignKey("hint_default");
+		inOrder.verify(hintSourceBackfillRepository).validatePartitionForeignKey("hint_default");
+		inOrder.verify(hintSourceBackfillRepository).addForeignKey();
+		inOrder.verify(hintSourceBackfillRepository).dropSourceNames();
+		verify(hintSourceBackfillRepository, times(8)).setLockTimeout(LOCK_TIMEOUT);
+		verify(hintSourceBackfillRepository, never()).storeSourceIds(any());
+	}
+
+	@Test
+	@DisplayName("should stop completing the migration at a failing step")
+	void shouldStopAtFailingStep() {
+		when(hintSourceBackfillRepository.tryLockBackfill()).thenReturn(true);
+		when(hintSourceBackfillRepository.findSources(0, CHUNK_SIZE)).thenReturn(List.of());
+		when(hintSourceBackfillRepository.findPartitionNames()).thenReturn(List.of("hint_2026_09", "hint_default"));
+		doThrow(new IllegalStateException("canceling statement due to lock timeout"))
+			.when(hintSourceBackfillRepository).validatePartitionForeignKey("hint_2026_09");
+
+		assertThat(classUnderTest.backfillChunk()).isZero();
+
+		verify(hintSourceBackfillRepository, never()).addPartitionForeignKey("hint_default");
+		verify(hintSourceBackfillRepository, never()).addForeignKey();
+		verify(hintSourceBackfillRepository, never()).dropSourceNames();
+	}
+
+	@Test
+	@DisplayName("should do nothing once the migration is completed")
+	void shouldSkipWhenCompleted() {
+		when(hintSourceBackfillRepository.tryLockBackfill()).thenReturn(true);
+		when(hintSourceBackfillRepository.isCompleted()).thenReturn(true);
+
+		assertThat(classUnderTest.backfillChunk()).isZero();
+
+		verify(hintSourceBackfillRepository, never()).findSources(anyLong(), anyInt());
+		verify(hintSourceBackfillRepository, never()).validateSourceIds();
+	}
+
+	@Test
+	@DisplayName("should skip the chunk while another instance holds the lock")
+	void shouldSkipWhenLocked() {
+		when(hintSourceBackfillRepository.tryLockBackfill()).thenReturn(false);
+
+		assertThat(classUnderTest.backfillChunk()).isZero();
+
+		verify(hintSourceBackfillRepository, never()).findLastBackfilledId();
+		verify(hintSourceBackfillRepository, never()).validateSourceIds();
+		verify(hintSourceDictionary, never()).getOrCreateId(anyString());
+	}
+}
@@ -1,7 +1,8 @@
 package de.signaliduna.elpa.hint.util;
 
 public enum ContainerImageNames {
-	POSTGRES("hub.docker.system.local/postgres:16-alpine");
+	POSTGRES("hub.docker.system.local/postgres:16-alpine"),
+	KAFKA("hub.docker.system.local/apache/kafka:3.9.1");
 
 	private final String imageName;
 